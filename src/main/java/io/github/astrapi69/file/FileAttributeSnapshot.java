@@ -0,0 +1,398 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.io.file.FilenameExtensions;
+
+/**
+ * The class {@link FileAttributeSnapshot} holds the attributes of a file that are read once with
+ * one call of {@link Files#readAttributes(java.nio.file.Path, Class, java.nio.file.LinkOption...)}.
+ * A comparison of many files can reuse the snapshots instead of asking the file system again for
+ * the length and the last modified time of a file for every pair. The absolute path, the extension
+ * and the name without the extension are computed at most once. The attributes of a file that
+ * does not exist are the same as the values of the methods of {@link File}, the length and the
+ * last modified time are zero. If the snapshot is created from {@link PosixFileAttributes} the
+ * owner and the permissions of the file are kept too
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class FileAttributeSnapshot
+{
+
+	/** The absolute path of the file. */
+	private final String absolutePath;
+
+	/** The flag if the file is a directory. */
+	private final boolean directory;
+
+	/** The flag if the file exists. */
+	private final boolean exists;
+
+	/** The file. */
+	private final File file;
+
+	/** The key that identifies the file in the file system or null if not available. */
+	private final Object fileKey;
+
+	/** The last modified time in milliseconds. */
+	private final long lastModified;
+
+	/** The length in bytes. */
+	private final long length;
+
+	/** The name of the owner or null if the POSIX attributes were not read. */
+	private final String owner;
+
+	/** The POSIX permissions or null if the POSIX attributes were not read. */
+	private final Set<PosixFilePermission> permissions;
+
+	/** The flag if the file is a regular file. */
+	private final boolean regularFile;
+
+	/** The flag if the file is a symbolic link. */
+	private final boolean symbolicLink;
+
+	/** The extension of the file, computed on the first call. */
+	private String extension;
+
+	/** The name of the file without the extension, computed on the first call. */
+	private String nameWithoutExtension;
+
+	private FileAttributeSnapshot(final File file, final BasicFileAttributes attributes)
+	{
+		this.file = file;
+		this.absolutePath = file.getAbsolutePath();
+		this.exists = attributes != null;
+		this.length = exists ? attributes.size() : 0L;
+		this.lastModified = exists ? attributes.lastModifiedTime().toMillis() : 0L;
+		this.fileKey = exists ? attributes.fileKey() : null;
+		this.directory = exists && attributes.isDirectory();
+		this.regularFile = exists && attributes.isRegularFile();
+		this.symbolicLink = exists && attributes.isSymbolicLink();
+		if (attributes instanceof PosixFileAttributes)
+		{
+			final PosixFileAttributes posixAttributes = (PosixFileAttributes)attributes;
+			this.owner = posixAttributes.owner().getName();
+			this.permissions = Collections.unmodifiableSet(posixAttributes.permissions());
+		}
+		else
+		{
+			this.owner = null;
+			this.permissions = null;
+		}
+	}
+
+	/**
+	 * Factory method for create a new {@link FileAttributeSnapshot} from the given file. The
+	 * attributes are read with one call to the file system
+	 *
+	 * @param file
+	 *            the file
+	 * @return the new {@link FileAttributeSnapshot}
+	 */
+	public static FileAttributeSnapshot of(final File file)
+	{
+		Objects.requireNonNull(file);
+		BasicFileAttributes attributes;
+		try
+		{
+			attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		}
+		catch (final IOException e)
+		{
+			attributes = null;
+		}
+		return new FileAttributeSnapshot(file, attributes);
+	}
+
+	/**
+	 * Factory method for create a new {@link FileAttributeSnapshot} from the given file and the
+	 * given attributes that are already read, for instance in a directory walk
+	 *
+	 * @param file
+	 *            the file
+	 * @param attributes
+	 *            the attributes of the file or null if the file does not exist
+	 * @return the new {@link FileAttributeSnapshot}
+	 */
+	public static FileAttributeSnapshot of(final File file, final BasicFileAttributes attributes)
+	{
+		return new FileAttributeSnapshot(Objects.requireNonNull(file), attributes);
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof FileAttributeSnapshot;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof FileAttributeSnapshot))
+			return false;
+		final FileAttributeSnapshot other = (FileAttributeSnapshot)o;
+		if (!other.canEqual(this))
+			return false;
+		if (this.isDirectory() != other.isDirectory())
+			return false;
+		if (this.isExists() != other.isExists())
+			return false;
+		if (this.getLastModified() != other.getLastModified())
+			return false;
+		if (this.getLength() != other.getLength())
+			return false;
+		if (this.isRegularFile() != other.isRegularFile())
+			return false;
+		if (this.isSymbolicLink() != other.isSymbolicLink())
+			return false;
+		final Object this$file = this.getFile();
+		final Object other$file = other.getFile();
+		if (this$file == null ? other$file != null : !this$file.equals(other$file))
+			return false;
+		final Object this$fileKey = this.getFileKey();
+		final Object other$fileKey = other.getFileKey();
+		if (this$fileKey == null ? other$fileKey != null : !this$fileKey.equals(other$fileKey))
+			return false;
+		final Object this$owner = this.getOwner();
+		final Object other$owner = other.getOwner();
+		if (this$owner == null ? other$owner != null : !this$owner.equals(other$owner))
+			return false;
+		final Object this$permissions = this.getPermissions();
+		final Object other$permissions = other.getPermissions();
+		return this$permissions == null
+			? other$permissions == null
+			: this$permissions.equals(other$permissions);
+	}
+
+	/**
+	 * Gets the absolute path of the file
+	 *
+	 * @return the absolute path of the file
+	 */
+	public String getAbsolutePath()
+	{
+		return this.absolutePath;
+	}
+
+	/**
+	 * Gets the extension of the file as it is returned from
+	 * {@link FilenameExtensions#getFilenameSuffix(File)}
+	 *
+	 * @return the extension of the file
+	 */
+	public String getExtension()
+	{
+		String extension = this.extension;
+		if (extension == null)
+		{
+			extension = FilenameExtensions.getFilenameSuffix(file);
+			this.extension = extension;
+		}
+		return extension;
+	}
+
+	/**
+	 * Gets the file
+	 *
+	 * @return the file
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Gets the key that identifies the file in the file system
+	 *
+	 * @return the key of the file or null if not available
+	 * @see BasicFileAttributes#fileKey()
+	 */
+	public Object getFileKey()
+	{
+		return this.fileKey;
+	}
+
+	/**
+	 * Gets the last modified time in milliseconds
+	 *
+	 * @return the last modified time in milliseconds or zero if the file does not exist
+	 */
+	public long getLastModified()
+	{
+		return this.lastModified;
+	}
+
+	/**
+	 * Gets the length in bytes
+	 *
+	 * @return the length in bytes or zero if the file does not exist
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * Gets the name of the file without the extension as it is returned from
+	 * {@link FilenameExtensions#getFilenameWithoutExtension(File)}
+	 *
+	 * @return the name of the file without the extension
+	 */
+	public String getNameWithoutExtension()
+	{
+		String nameWithoutExtension = this.nameWithoutExtension;
+		if (nameWithoutExtension == null)
+		{
+			nameWithoutExtension = FilenameExtensions.getFilenameWithoutExtension(file);
+			this.nameWithoutExtension = nameWithoutExtension;
+		}
+		return nameWithoutExtension;
+	}
+
+	/**
+	 * Gets the name of the owner of the file
+	 *
+	 * @return the name of the owner or null if the POSIX attributes were not read
+	 */
+	public String getOwner()
+	{
+		return this.owner;
+	}
+
+	/**
+	 * Gets the POSIX permissions of the file
+	 *
+	 * @return the unmodifiable set of the permissions or null if the POSIX attributes were not read
+	 */
+	public Set<PosixFilePermission> getPermissions()
+	{
+		return this.permissions;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		result = result * PRIME + (this.isDirectory() ? 79 : 97);
+		result = result * PRIME + (this.isExists() ? 79 : 97);
+		final long $lastModified = this.getLastModified();
+		result = result * PRIME + (int)($lastModified >>> 32 ^ $lastModified);
+		final long $length = this.getLength();
+		result = result * PRIME + (int)($length >>> 32 ^ $length);
+		result = result * PRIME + (this.isRegularFile() ? 79 : 97);
+		result = result * PRIME + (this.isSymbolicLink() ? 79 : 97);
+		final Object $file = this.getFile();
+		result = result * PRIME + ($file == null ? 43 : $file.hashCode());
+		final Object $fileKey = this.getFileKey();
+		result = result * PRIME + ($fileKey == null ? 43 : $fileKey.hashCode());
+		final Object $owner = this.getOwner();
+		result = result * PRIME + ($owner == null ? 43 : $owner.hashCode());
+		final Object $permissions = this.getPermissions();
+		result = result * PRIME + ($permissions == null ? 43 : $permissions.hashCode());
+		return result;
+	}
+
+	/**
+	 * Checks if the file is a directory
+	 *
+	 * @return true if the file is a directory otherwise false
+	 */
+	public boolean isDirectory()
+	{
+		return this.directory;
+	}
+
+	/**
+	 * Checks if the file existed when the attributes were read
+	 *
+	 * @return true if the file exists otherwise false
+	 */
+	public boolean isExists()
+	{
+		return this.exists;
+	}
+
+	/**
+	 * Checks if the file is a regular file
+	 *
+	 * @return true if the file is a regular file otherwise false
+	 */
+	public boolean isRegularFile()
+	{
+		return this.regularFile;
+	}
+
+	/**
+	 * Checks if the file is a symbolic link. This is only the case if the attributes were read
+	 * without following links
+	 *
+	 * @return true if the file is a symbolic link otherwise false
+	 */
+	public boolean isSymbolicLink()
+	{
+		return this.symbolicLink;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "FileAttributeSnapshot(file=" + this.getFile() + ", exists=" + this.isExists()
+			+ ", length=" + this.getLength() + ", lastModified=" + this.getLastModified()
+			+ ", fileKey=" + this.getFileKey() + ", directory=" + this.isDirectory()
+			+ ", regularFile=" + this.isRegularFile() + ", symbolicLink=" + this.isSymbolicLink()
+			+ ", owner=" + this.getOwner() + ", permissions=" + this.getPermissions() + ")";
+	}
+
+}
@@ -0,0 +1,584 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.astrapi69.checksum.FileChecksumExtensions;
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link ChecksumCache} caches checksums of files, so that a file whose content did not
+ * change is hashed only once. An entry is identified by the absolute path of the file and the
+ * algorithm and is only valid as long as the length, the last modified time and the file key of
+ * the file are the same as at the time the checksum was computed. The most recently used entries
+ * are held in memory, the number of entries is bounded and the least recently used entry is
+ * evicted first. Optionally the entries can be loaded from and saved to a store file, so that a
+ * following run can reuse them.<br>
+ * <br>
+ * All checksum based comparisons of this library use the {@link #getDefault() default} instance,
+ * which can be replaced with {@link #setDefault(ChecksumCache)}, for instance with a cache that
+ * has a store file. An instance is safe for use by multiple threads
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class ChecksumCache
+{
+
+	/** The name of the algorithm Adler32. */
+	public static final String ADLER32 = "Adler32";
+
+	/** The name of the algorithm CRC32. */
+	public static final String CRC32 = "CRC32";
+
+	/** The default maximum number of entries. */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * The time span in milliseconds in which a file counts as recently modified. The checksum of
+	 * such a file is not cached, because a following modification in the same time unit of the
+	 * file system would not change the last modified time.
+	 */
+	public static final long RACY_INTERVAL_MILLIS = 2000L;
+
+	/** The magic number at the beginning of a store file. */
+	private static final int STORE_MAGIC = 0x46434b53;
+
+	/** The version of the format of a store file. */
+	private static final int STORE_VERSION = 1;
+
+	/** The default instance. */
+	private static volatile ChecksumCache defaultInstance = new ChecksumCache(
+		DEFAULT_MAX_ENTRIES);
+
+	/** The entries in the order of their last access. */
+	private final LinkedHashMap<String, Entry> entries;
+
+	/** The number of lookups that could be answered from the cache. */
+	private final AtomicLong hits = new AtomicLong();
+
+	/** The maximum number of entries. */
+	private final int maxEntries;
+
+	/** The number of lookups that needed to compute the checksum. */
+	private final AtomicLong misses = new AtomicLong();
+
+	/** The optional store file. */
+	private final Path storeFile;
+
+	/**
+	 * Instantiates a new {@link ChecksumCache} that is only held in memory
+	 *
+	 * @param maxEntries
+	 *            the maximum number of entries
+	 */
+	public ChecksumCache(final int maxEntries)
+	{
+		this(maxEntries, null);
+	}
+
+	/**
+	 * Instantiates a new {@link ChecksumCache} with the given store file. If the store file exists
+	 * the entries are loaded from it
+	 *
+	 * @param maxEntries
+	 *            the maximum number of entries
+	 * @param storeFile
+	 *            the store file or null if the cache should only be held in memory
+	 * @throws IllegalArgumentException
+	 *             if the given maximum number of entries is less than one
+	 */
+	public ChecksumCache(final int maxEntries, final Path storeFile)
+	{
+		if (maxEntries < 1)
+		{
+			throw new IllegalArgumentException("maxEntries must be greater than 0");
+		}
+		this.maxEntries = maxEntries;
+		this.storeFile = storeFile;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest)
+			{
+				return size() > ChecksumCache.this.maxEntries;
+			}
+		};
+		if (storeFile != null && Files.isRegularFile(storeFile))
+		{
+			try
+			{
+				load();
+			}
+			catch (final IOException e)
+			{
+				// a damaged store file is treated like a missing one
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * Gets the default instance that is used by the checksum based comparisons of this library
+	 *
+	 * @return the default instance
+	 */
+	public static ChecksumCache getDefault()
+	{
+		return defaultInstance;
+	}
+
+	/**
+	 * Sets the default instance that is used by the checksum based comparisons of this library
+	 *
+	 * @param checksumCache
+	 *            the new default instance
+	 */
+	public static void setDefault(final ChecksumCache checksumCache)
+	{
+		defaultInstance = Objects.requireNonNull(checksumCache);
+	}
+
+	/**
+	 * Gets the checksum of the given file with the given algorithm
+	 *
+	 * @param file
+	 *            the file
+	 * @param algorithm
+	 *            the algorithm
+	 * @return the checksum
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String getChecksum(final File file, final Algorithm algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksum(file, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum of the given file with the given algorithm. Beside the algorithms of the
+	 * {@link java.security.MessageDigest} the algorithms {@link #CRC32} and {@link #ADLER32} are
+	 * supported, their checksum is returned as decimal number
+	 *
+	 * @param file
+	 *            the file
+	 * @param algorithm
+	 *            the name of the algorithm
+	 * @return the checksum
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String getChecksum(final File file, final String algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksum(file, algorithm, () -> computeChecksum(file, algorithm));
+	}
+
+	/**
+	 * Gets the checksum of the given file that is computed by the given strategy. The entries are
+	 * identified by the {@link ContentHashStrategy#getName() name} of the strategy
+	 *
+	 * @param file
+	 *            the file
+	 * @param strategy
+	 *            the strategy that computes the checksum
+	 * @return the checksum
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String getChecksum(final File file, final ContentHashStrategy strategy)
+		throws IOException
+	{
+		try
+		{
+			return getChecksum(file, strategy.getName(), () -> strategy.computeChecksum(file));
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// a strategy signals an unsupported algorithm with an IOException
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String getChecksum(final File file, final String algorithm,
+		final ChecksumComputation computation) throws NoSuchAlgorithmException, IOException
+	{
+		final Path path = file.toPath().toAbsolutePath();
+		final String key = newKey(path.toString(), algorithm);
+		final BasicFileAttributes before = Files.readAttributes(path, BasicFileAttributes.class);
+		Entry entry;
+		synchronized (entries)
+		{
+			entry = entries.get(key);
+		}
+		if (entry != null && entry.matches(before))
+		{
+			hits.incrementAndGet();
+			return entry.checksum;
+		}
+		misses.incrementAndGet();
+		final String checksum = computation.compute();
+		final BasicFileAttributes after = Files.readAttributes(path, BasicFileAttributes.class);
+		entry = new Entry(path.toString(), algorithm, after, checksum);
+		if (entry.matches(before) && !isRecentlyModified(after))
+		{
+			synchronized (entries)
+			{
+				entries.put(key, entry);
+			}
+		}
+		return checksum;
+	}
+
+	/**
+	 * Gets the checksum of the given file with the algorithm Adler32
+	 *
+	 * @param file
+	 *            the file
+	 * @return the checksum
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long getCheckSumAdler32(final File file) throws IOException
+	{
+		return Long.parseLong(getChecksumUnchecked(file, ADLER32));
+	}
+
+	/**
+	 * Gets the checksum of the given file with the algorithm CRC32
+	 *
+	 * @param file
+	 *            the file
+	 * @return the checksum
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long getCheckSumCRC32(final File file) throws IOException
+	{
+		return Long.parseLong(getChecksumUnchecked(file, CRC32));
+	}
+
+	/**
+	 * Removes all entries of the given file
+	 *
+	 * @param file
+	 *            the file
+	 */
+	public void invalidate(final File file)
+	{
+		final String path = file.toPath().toAbsolutePath().toString();
+		synchronized (entries)
+		{
+			entries.values().removeIf(entry -> entry.path.equals(path));
+		}
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public void clear()
+	{
+		synchronized (entries)
+		{
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of entries
+	 *
+	 * @return the number of entries
+	 */
+	public int size()
+	{
+		synchronized (entries)
+		{
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Gets the number of lookups that could be answered from the cache
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * Gets the maximum number of entries
+	 *
+	 * @return the maximum number of entries
+	 */
+	public int getMaxEntries()
+	{
+		return maxEntries;
+	}
+
+	/**
+	 * Gets the number of lookups that needed to compute the checksum
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * Gets the store file
+	 *
+	 * @return the store file or null if the cache is only held in memory
+	 */
+	public Path getStoreFile()
+	{
+		return storeFile;
+	}
+
+	/**
+	 * Loads the entries from the store file. Loaded entries replace entries with the same key
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the store file is damaged
+	 * @throws IllegalStateException
+	 *             if this cache has no store file
+	 */
+	public void load() throws IOException
+	{
+		final Path store = requireStoreFile();
+		try (DataInputStream in = new DataInputStream(
+			new BufferedInputStream(Files.newInputStream(store))))
+		{
+			if (in.readInt() != STORE_MAGIC || in.readInt() != STORE_VERSION)
+			{
+				throw new IOException("The file " + store + " is not a checksum store");
+			}
+			final int count = in.readInt();
+			final List<Entry> loaded = new ArrayList<>(Math.min(count, maxEntries));
+			for (int i = 0; i < count; i++)
+			{
+				loaded.add(Entry.read(in));
+			}
+			synchronized (entries)
+			{
+				for (final Entry entry : loaded)
+				{
+					entries.put(newKey(entry.path, entry.algorithm), entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Saves all entries to the store file. The store file is replaced atomically if the file
+	 * system supports it
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalStateException
+	 *             if this cache has no store file
+	 */
+	public void save() throws IOException
+	{
+		final Path store = requireStoreFile().toAbsolutePath();
+		final List<Entry> snapshot;
+		synchronized (entries)
+		{
+			snapshot = new ArrayList<>(entries.values());
+		}
+		final Path parent = store.getParent();
+		if (parent != null)
+		{
+			Files.createDirectories(parent);
+		}
+		final Path tmp = Files.createTempFile(parent, store.getFileName().toString(), ".tmp");
+		try
+		{
+			try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp))))
+			{
+				out.writeInt(STORE_MAGIC);
+				out.writeInt(STORE_VERSION);
+				out.writeInt(snapshot.size());
+				for (final Entry entry : snapshot)
+				{
+					entry.write(out);
+				}
+			}
+			try
+			{
+				Files.move(tmp, store, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (final IOException e)
+			{
+				Files.move(tmp, store, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	private String getChecksumUnchecked(final File file, final String algorithm)
+		throws IOException
+	{
+		try
+		{
+			return getChecksum(file, algorithm);
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Path requireStoreFile()
+	{
+		if (storeFile == null)
+		{
+			throw new IllegalStateException("This checksum cache has no store file");
+		}
+		return storeFile;
+	}
+
+	private static String computeChecksum(final File file, final String algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		if (CRC32.equals(algorithm))
+		{
+			return Long.toString(FileChecksumExtensions.getCheckSumCRC32(file));
+		}
+		if (ADLER32.equals(algorithm))
+		{
+			return Long.toString(FileChecksumExtensions.getCheckSumAdler32(file));
+		}
+		return FileChecksumExtensions.getChecksum(file, algorithm);
+	}
+
+	private static boolean isRecentlyModified(final BasicFileAttributes attributes)
+	{
+		return System.currentTimeMillis()
+			- attributes.lastModifiedTime().toMillis() < RACY_INTERVAL_MILLIS;
+	}
+
+	private static String newKey(final String path, final String algorithm)
+	{
+		return algorithm + File.pathSeparatorChar + path;
+	}
+
+	@FunctionalInterface
+	private interface ChecksumComputation
+	{
+		String compute() throws NoSuchAlgorithmException, IOException;
+	}
+
+	private static final class Entry
+	{
+		private final String algorithm;
+		private final String checksum;
+		private final String fileKey;
+		private final long lastModified;
+		private final long length;
+		private final String path;
+
+		private Entry(final String path, final String algorithm, final long length,
+			final long lastModified, final String fileKey, final String checksum)
+		{
+			this.path = path;
+			this.algorithm = algorithm;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.fileKey = fileKey;
+			this.checksum = checksum;
+		}
+
+		private Entry(final String path, final String algorithm,
+			final BasicFileAttributes attributes, final String checksum)
+		{
+			this(path, algorithm, attributes.size(),
+				attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+				toFileKey(attributes), checksum);
+		}
+
+		private static Entry read(final DataInputStream in) throws IOException
+		{
+			return new Entry(in.readUTF(), in.readUTF(), in.readLong(), in.readLong(),
+				in.readUTF(), in.readUTF());
+		}
+
+		private static String toFileKey(final BasicFileAttributes attributes)
+		{
+			final Object fileKey = attributes.fileKey();
+			return fileKey != null ? fileKey.toString() : "";
+		}
+
+		private boolean matches(final BasicFileAttributes attributes)
+		{
+			return length == attributes.size()
+				&& lastModified == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+				&& fileKey.equals(toFileKey(attributes));
+		}
+
+		private void write(final DataOutputStream out) throws IOException
+		{
+			out.writeUTF(path);
+			out.writeUTF(algorithm);
+			out.writeLong(length);
+			out.writeLong(lastModified);
+			out.writeUTF(fileKey);
+			out.writeUTF(checksum);
+		}
+	}
+
+}
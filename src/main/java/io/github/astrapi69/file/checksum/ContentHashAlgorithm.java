@@ -0,0 +1,171 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * The enum {@link ContentHashAlgorithm} provides the built-in {@link ContentHashStrategy}
+ * constants. The non cryptographic hashes are much faster than the cryptographic hashes and are
+ * suitable for the detection of equal content within a trust boundary. All strategies read the
+ * file as a stream, so the memory usage does not depend on the file length
+ */
+public enum ContentHashAlgorithm implements ContentHashStrategy
+{
+
+	/** The 32 bit checksum CRC32C of the JDK */
+	CRC32C("CRC32C", false),
+
+	/** The 64 bit hash xxHash (XXH64) */
+	XXHASH64("XXH64", false),
+
+	/**
+	 * The 128 bit hash that consists of two 64 bit xxHash (XXH64) values with different seeds,
+	 * both computed in the same pass
+	 */
+	XXHASH128("XXH64x2", false),
+
+	/** The cryptographic hash MD5 */
+	MD5("MD5", true),
+
+	/** The cryptographic hash SHA-256 */
+	SHA_256("SHA-256", true),
+
+	/** The cryptographic hash SHA-512 */
+	SHA_512("SHA-512", true);
+
+	/** The size in bytes of the buffer that is used for reading a file. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The seed of the second value of {@link #XXHASH128}. */
+	private static final long XXHASH128_SECOND_SEED = 0x9E3779B97F4A7C15L;
+
+	/** The flag that signals if this algorithm is a cryptographic hash. */
+	private final boolean cryptographic;
+
+	/** The name of this algorithm. */
+	private final String name;
+
+	ContentHashAlgorithm(final String name, final boolean cryptographic)
+	{
+		this.name = name;
+		this.cryptographic = cryptographic;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String computeChecksum(final File file) throws IOException
+	{
+		final HexFormat hexFormat = HexFormat.of();
+		switch (this)
+		{
+			case CRC32C :
+				final Checksum crc32c = new CRC32C();
+				update(file, crc32c, null);
+				return hexFormat.toHexDigits((int)crc32c.getValue());
+			case XXHASH64 :
+				final Checksum xxHash64 = new XxHash64();
+				update(file, xxHash64, null);
+				return hexFormat.toHexDigits(xxHash64.getValue());
+			case XXHASH128 :
+				final Checksum first = new XxHash64();
+				final Checksum second = new XxHash64(XXHASH128_SECOND_SEED);
+				update(file, first, second);
+				return hexFormat.toHexDigits(first.getValue())
+					+ hexFormat.toHexDigits(second.getValue());
+			default :
+				final MessageDigest messageDigest = newMessageDigest();
+				try (InputStream inputStream = Files.newInputStream(file.toPath()))
+				{
+					final byte[] buffer = new byte[BUFFER_SIZE];
+					int read;
+					while ((read = inputStream.read(buffer)) != -1)
+					{
+						messageDigest.update(buffer, 0, read);
+					}
+				}
+				return hexFormat.formatHex(messageDigest.digest());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCryptographic()
+	{
+		return cryptographic;
+	}
+
+	private MessageDigest newMessageDigest() throws IOException
+	{
+		try
+		{
+			return MessageDigest.getInstance(name);
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			throw new IOException("The algorithm " + name + " is not supported", e);
+		}
+	}
+
+	private static void update(final File file, final Checksum checksum, final Checksum other)
+		throws IOException
+	{
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				checksum.update(buffer, 0, read);
+				if (other != null)
+				{
+					other.update(buffer, 0, read);
+				}
+			}
+		}
+	}
+
+}
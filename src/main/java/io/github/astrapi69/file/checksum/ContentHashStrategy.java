@@ -0,0 +1,68 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The interface {@link ContentHashStrategy} computes the checksum of the content of a file. The
+ * name of a strategy identifies the checksums it computes, so two checksums are only comparable if
+ * they were computed by strategies with the same name. The built-in strategies are provided by
+ * {@link ContentHashAlgorithm}
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public interface ContentHashStrategy
+{
+
+	/**
+	 * Computes the checksum of the content of the given file
+	 *
+	 * @param file
+	 *            the file
+	 * @return the checksum as hexadecimal string
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	String computeChecksum(File file) throws IOException;
+
+	/**
+	 * Gets the name that identifies the checksums of this strategy
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Checks if this strategy is a cryptographic hash, so that collisions can not be constructed on
+	 * purpose
+	 *
+	 * @return true if this strategy is a cryptographic hash, otherwise false
+	 */
+	boolean isCryptographic();
+
+}
@@ -0,0 +1,239 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link XxHash64} computes the 64 bit hash of the non cryptographic hash algorithm
+ * xxHash (XXH64) incrementally. It is much faster than a cryptographic hash and suitable for the
+ * detection of equal content within a trust boundary, but it must not be used where an attacker
+ * could construct collisions. An instance is not safe for use by multiple threads
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class XxHash64 implements Checksum
+{
+
+	private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME64_3 = 0x165667B19E3779F9L;
+	private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	/** The size in bytes of a stripe that is consumed by the four accumulators at once. */
+	private static final int STRIPE_SIZE = 32;
+
+	/** The bytes that do not fill a whole stripe yet. */
+	private final byte[] buffer = new byte[STRIPE_SIZE];
+
+	/** The seed. */
+	private final long seed;
+
+	/** The number of bytes in the buffer. */
+	private int bufferSize;
+
+	/** The total number of bytes. */
+	private long totalLength;
+
+	private long v1;
+	private long v2;
+	private long v3;
+	private long v4;
+
+	/**
+	 * Instantiates a new {@link XxHash64} with the seed 0
+	 */
+	public XxHash64()
+	{
+		this(0L);
+	}
+
+	/**
+	 * Instantiates a new {@link XxHash64} with the given seed
+	 *
+	 * @param seed
+	 *            the seed
+	 */
+	public XxHash64(final long seed)
+	{
+		this.seed = seed;
+		reset();
+	}
+
+	/**
+	 * Computes the hash of the given bytes with the seed 0
+	 *
+	 * @param bytes
+	 *            the bytes
+	 * @return the hash
+	 */
+	public static long hash(final byte[] bytes)
+	{
+		final XxHash64 xxHash64 = new XxHash64();
+		xxHash64.update(bytes, 0, bytes.length);
+		return xxHash64.getValue();
+	}
+
+	private static long mergeRound(final long acc, final long value)
+	{
+		return (acc ^ round(0L, value)) * PRIME64_1 + PRIME64_4;
+	}
+
+	private static long readLong(final byte[] bytes, final int offset)
+	{
+		return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8
+			| (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24
+			| (bytes[offset + 4] & 0xFFL) << 32 | (bytes[offset + 5] & 0xFFL) << 40
+			| (bytes[offset + 6] & 0xFFL) << 48 | (bytes[offset + 7] & 0xFFL) << 56;
+	}
+
+	private static long readUnsignedInt(final byte[] bytes, final int offset)
+	{
+		return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8
+			| (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24;
+	}
+
+	private static long round(final long acc, final long input)
+	{
+		return Long.rotateLeft(acc + input * PRIME64_2, 31) * PRIME64_1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getValue()
+	{
+		long hash;
+		if (STRIPE_SIZE <= totalLength)
+		{
+			hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+				+ Long.rotateLeft(v4, 18);
+			hash = mergeRound(hash, v1);
+			hash = mergeRound(hash, v2);
+			hash = mergeRound(hash, v3);
+			hash = mergeRound(hash, v4);
+		}
+		else
+		{
+			hash = seed + PRIME64_5;
+		}
+		hash += totalLength;
+		int offset = 0;
+		while (offset + 8 <= bufferSize)
+		{
+			hash ^= round(0L, readLong(buffer, offset));
+			hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+			offset += 8;
+		}
+		if (offset + 4 <= bufferSize)
+		{
+			hash ^= readUnsignedInt(buffer, offset) * PRIME64_1;
+			hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+			offset += 4;
+		}
+		while (offset < bufferSize)
+		{
+			hash ^= (buffer[offset] & 0xFFL) * PRIME64_5;
+			hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+			offset++;
+		}
+		hash ^= hash >>> 33;
+		hash *= PRIME64_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME64_3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset()
+	{
+		v1 = seed + PRIME64_1 + PRIME64_2;
+		v2 = seed + PRIME64_2;
+		v3 = seed;
+		v4 = seed - PRIME64_1;
+		totalLength = 0L;
+		bufferSize = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final byte[] bytes, final int offset, final int length)
+	{
+		if (offset < 0 || length < 0 || bytes.length - length < offset)
+		{
+			throw new ArrayIndexOutOfBoundsException();
+		}
+		totalLength += length;
+		int position = offset;
+		final int end = offset + length;
+		if (0 < bufferSize)
+		{
+			final int toCopy = Math.min(STRIPE_SIZE - bufferSize, length);
+			System.arraycopy(bytes, position, buffer, bufferSize, toCopy);
+			bufferSize += toCopy;
+			position += toCopy;
+			if (bufferSize < STRIPE_SIZE)
+			{
+				return;
+			}
+			consumeStripe(buffer, 0);
+			bufferSize = 0;
+		}
+		while (position + STRIPE_SIZE <= end)
+		{
+			consumeStripe(bytes, position);
+			position += STRIPE_SIZE;
+		}
+		bufferSize = end - position;
+		System.arraycopy(bytes, position, buffer, 0, bufferSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final int b)
+	{
+		update(new byte[] { (byte)b }, 0, 1);
+	}
+
+	private void consumeStripe(final byte[] bytes, final int offset)
+	{
+		v1 = round(v1, readLong(bytes, offset));
+		v2 = round(v2, readLong(bytes, offset + 8));
+		v3 = round(v3, readLong(bytes, offset + 16));
+		v4 = round(v4, readLong(bytes, offset + 24));
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides classes for computing and caching checksums of files
+ */
+package io.github.astrapi69.file.checksum;
\ No newline at end of file
@@ -0,0 +1,195 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * The class {@link ChunkSignature} holds the chunks of the content of a file that were cut with
+ * content defined chunking. Every chunk is described by the hash and the length of its bytes.
+ * Because the boundaries of the chunks depend only on the content, an insertion or a deletion
+ * changes only the chunks around it and all other chunks of two versions of a file are equal
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class ChunkSignature
+{
+
+	/** The file of the chunks. */
+	private final File file;
+
+	/** The hashes of the chunks. */
+	private final long[] hashes;
+
+	/** The length in bytes of the file. */
+	private final long length;
+
+	/** The lengths in bytes of the chunks. */
+	private final int[] lengths;
+
+	/**
+	 * Instantiates a new {@link ChunkSignature}
+	 *
+	 * @param file
+	 *            the file of the chunks
+	 * @param hashes
+	 *            the hashes of the chunks
+	 * @param lengths
+	 *            the lengths in bytes of the chunks
+	 */
+	public ChunkSignature(final File file, final long[] hashes, final int[] lengths)
+	{
+		if (hashes.length != lengths.length)
+		{
+			throw new IllegalArgumentException(
+				"The number of hashes and lengths must be equal: " + hashes.length + " != "
+					+ lengths.length);
+		}
+		this.file = file;
+		this.hashes = hashes.clone();
+		this.lengths = lengths.clone();
+		long sum = 0L;
+		for (final int chunkLength : lengths)
+		{
+			sum += chunkLength;
+		}
+		this.length = sum;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof ChunkSignature;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof ChunkSignature))
+			return false;
+		final ChunkSignature other = (ChunkSignature)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$file = this.file;
+		final Object other$file = other.file;
+		if (this$file == null ? other$file != null : !this$file.equals(other$file))
+			return false;
+		if (!Arrays.equals(this.hashes, other.hashes))
+			return false;
+		return Arrays.equals(this.lengths, other.lengths);
+	}
+
+	/**
+	 * Gets the number of chunks
+	 *
+	 * @return the number of chunks
+	 */
+	public int getChunkCount()
+	{
+		return this.hashes.length;
+	}
+
+	/**
+	 * Gets the hash of the chunk with the given index
+	 *
+	 * @param index
+	 *            the index of the chunk
+	 * @return the hash of the chunk
+	 */
+	public long getChunkHash(final int index)
+	{
+		return this.hashes[index];
+	}
+
+	/**
+	 * Gets the length in bytes of the chunk with the given index
+	 *
+	 * @param index
+	 *            the index of the chunk
+	 * @return the length in bytes of the chunk
+	 */
+	public int getChunkLength(final int index)
+	{
+		return this.lengths[index];
+	}
+
+	/**
+	 * Gets the file of the chunks
+	 *
+	 * @return the file
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Gets the length in bytes of the file, that is the sum of the lengths of all chunks
+	 *
+	 * @return the length in bytes
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $file = this.file;
+		result = result * PRIME + ($file == null ? 43 : $file.hashCode());
+		result = result * PRIME + Arrays.hashCode(this.hashes);
+		result = result * PRIME + Arrays.hashCode(this.lengths);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ChunkSignature(file=" + this.file + ", length=" + this.length + ", chunkCount="
+			+ this.hashes.length + ")";
+	}
+}
@@ -0,0 +1,266 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+
+import io.github.astrapi69.file.compare.api.IFileContentResultBean;
+
+/**
+ * The class {@link CompactFileCompareResultBean} is a lightweight {@link IFileContentResultBean}
+ * view of one result in a {@link CompactFileCompareResults} object. The view holds no flags of its
+ * own, every getter reads and every setter writes the bitmask of the result
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+final class CompactFileCompareResultBean implements IFileContentResultBean
+{
+
+	/** The index of the result. */
+	private final int index;
+
+	/** The results that hold the flags. */
+	private final CompactFileCompareResults results;
+
+	/**
+	 * Instantiates a new {@link CompactFileCompareResultBean}
+	 *
+	 * @param results
+	 *            the results that hold the flags
+	 * @param index
+	 *            the index of the result
+	 */
+	CompactFileCompareResultBean(final CompactFileCompareResults results, final int index)
+	{
+		this.results = results;
+		this.index = index;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof CompactFileCompareResultBean;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof CompactFileCompareResultBean))
+			return false;
+		final CompactFileCompareResultBean other = (CompactFileCompareResultBean)o;
+		if (!other.canEqual(this))
+			return false;
+		if (this.getFlags() != other.getFlags())
+			return false;
+		final Object this$source = this.getSourceFile();
+		final Object other$source = other.getSourceFile();
+		if (this$source == null ? other$source != null : !this$source.equals(other$source))
+			return false;
+		final Object this$compare = this.getFileToCompare();
+		final Object other$compare = other.getFileToCompare();
+		return this$compare == null ? other$compare == null : this$compare.equals(other$compare);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getAbsolutePathEquality()
+	{
+		return FileCompareFlag.ABSOLUTE_PATH.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setAbsolutePathEquality(final Boolean absolutePathEquality)
+	{
+		setFlag(FileCompareFlag.ABSOLUTE_PATH, absolutePathEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getContentEquality()
+	{
+		return FileCompareFlag.CONTENT.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setContentEquality(final boolean contentEquality)
+	{
+		setFlag(FileCompareFlag.CONTENT, contentEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getFileExtensionEquality()
+	{
+		return FileCompareFlag.FILE_EXTENSION.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setFileExtensionEquality(final Boolean fileExtensionEquality)
+	{
+		setFlag(FileCompareFlag.FILE_EXTENSION, fileExtensionEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public File getFileToCompare()
+	{
+		return results.getFileToCompare(index);
+	}
+
+	/**
+	 * Gets the bitmask with the equality flags
+	 *
+	 * @return the bitmask with the equality flags
+	 */
+	public int getFlags()
+	{
+		return results.getFlags(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getLastModifiedEquality()
+	{
+		return FileCompareFlag.LAST_MODIFIED.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setLastModifiedEquality(final Boolean lastModifiedEquality)
+	{
+		setFlag(FileCompareFlag.LAST_MODIFIED, lastModifiedEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getLengthEquality()
+	{
+		return FileCompareFlag.LENGTH.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setLengthEquality(final Boolean lengthEquality)
+	{
+		setFlag(FileCompareFlag.LENGTH, lengthEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getNameEquality()
+	{
+		return FileCompareFlag.NAME.isSet(getFlags());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setNameEquality(final Boolean nameEquality)
+	{
+		setFlag(FileCompareFlag.NAME, nameEquality);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public File getSourceFile()
+	{
+		return results.getSourceFile(index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		result = result * PRIME + this.getFlags();
+		final Object $source = this.getSourceFile();
+		result = result * PRIME + ($source == null ? 43 : $source.hashCode());
+		final Object $compare = this.getFileToCompare();
+		result = result * PRIME + ($compare == null ? 43 : $compare.hashCode());
+		return result;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "CompactFileCompareResultBean(source=" + this.getSourceFile() + ", compare="
+			+ this.getFileToCompare() + ", absolutePathEquality="
+			+ this.getAbsolutePathEquality() + ", contentEquality=" + this.getContentEquality()
+			+ ", fileExtensionEquality=" + this.getFileExtensionEquality()
+			+ ", lastModifiedEquality=" + this.getLastModifiedEquality() + ", lengthEquality="
+			+ this.getLengthEquality() + ", nameEquality=" + this.getNameEquality() + ")";
+	}
+
+	private void setFlag(final FileCompareFlag flag, final Boolean value)
+	{
+		results.setFlags(index, flag.apply(getFlags(), Boolean.TRUE.equals(value)));
+	}
+
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.astrapi69.file.compare.api.IFileCompareResultBean;
+import io.github.astrapi69.file.compare.api.IFileContentResultBean;
+
+/**
+ * The class {@link CompactFileCompareResults} holds the results of many file comparisons in three
+ * int arrays. Every result consists of the index of the source file and the index of the file to
+ * compare in a shared {@link FileTable} and of the equality flags as a bitmask of
+ * {@link FileCompareFlag} constants. So a result needs twelve bytes instead of a bean with a file
+ * reference and a boxed flag for every attribute. The method {@link #get(int)} provides a result
+ * as an {@link IFileContentResultBean} view that reads and writes the arrays
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class CompactFileCompareResults
+{
+
+	/** The table with the files of the results. */
+	private final FileTable fileTable;
+
+	/** The indexes of the files to compare. */
+	private int[] compareIndexes;
+
+	/** The bitmasks with the equality flags. */
+	private int[] flags;
+
+	/** The number of results. */
+	private int size;
+
+	/** The indexes of the source files. */
+	private int[] sourceIndexes;
+
+	/**
+	 * Instantiates a new empty {@link CompactFileCompareResults} with a new {@link FileTable}
+	 */
+	public CompactFileCompareResults()
+	{
+		this(new FileTable());
+	}
+
+	/**
+	 * Instantiates a new empty {@link CompactFileCompareResults} that shares the given
+	 * {@link FileTable}
+	 *
+	 * @param fileTable
+	 *            the table with the files of the results
+	 */
+	public CompactFileCompareResults(final FileTable fileTable)
+	{
+		this.fileTable = Objects.requireNonNull(fileTable);
+		this.sourceIndexes = new int[16];
+		this.compareIndexes = new int[16];
+		this.flags = new int[16];
+	}
+
+	/**
+	 * Adds a new result with the given files and the given flags
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param bitmask
+	 *            the bitmask with the equality flags
+	 * @return the index of the new result
+	 */
+	public int add(final File sourceFile, final File fileToCompare, final int bitmask)
+	{
+		return add(fileTable.add(sourceFile), fileTable.add(fileToCompare), bitmask);
+	}
+
+	/**
+	 * Adds a new result with the files and the flags of the given {@link IFileCompareResultBean}.
+	 * The content flag is only taken from an {@link IFileContentResultBean}
+	 *
+	 * @param fileCompareResultBean
+	 *            the result bean
+	 * @return the index of the new result
+	 */
+	public int add(final IFileCompareResultBean fileCompareResultBean)
+	{
+		return add(fileCompareResultBean.getSourceFile(),
+			fileCompareResultBean.getFileToCompare(), toBitmask(fileCompareResultBean));
+	}
+
+	/**
+	 * Adds a new result with the given file indexes and the given flags
+	 *
+	 * @param sourceIndex
+	 *            the index of the source file in the file table
+	 * @param compareIndex
+	 *            the index of the file to compare in the file table
+	 * @param bitmask
+	 *            the bitmask with the equality flags
+	 * @return the index of the new result
+	 */
+	public int add(final int sourceIndex, final int compareIndex, final int bitmask)
+	{
+		if (size == flags.length)
+		{
+			final int capacity = size + (size >> 1);
+			sourceIndexes = Arrays.copyOf(sourceIndexes, capacity);
+			compareIndexes = Arrays.copyOf(compareIndexes, capacity);
+			flags = Arrays.copyOf(flags, capacity);
+		}
+		sourceIndexes[size] = sourceIndex;
+		compareIndexes[size] = compareIndex;
+		flags[size] = bitmask;
+		return size++;
+	}
+
+	/**
+	 * Gets a view of all results as a list. The list is backed by this object
+	 *
+	 * @return the list view of all results
+	 */
+	public List<IFileContentResultBean> asList()
+	{
+		return new AbstractList<>()
+		{
+			@Override
+			public IFileContentResultBean get(final int index)
+			{
+				return CompactFileCompareResults.this.get(index);
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Gets the result with the given index as an {@link IFileContentResultBean} view. The view
+	 * reads and writes the flags of this object
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the view of the result
+	 */
+	public IFileContentResultBean get(final int index)
+	{
+		Objects.checkIndex(index, size);
+		return new CompactFileCompareResultBean(this, index);
+	}
+
+	/**
+	 * Gets the index of the file to compare of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the index of the file to compare in the file table
+	 */
+	public int getCompareIndex(final int index)
+	{
+		return compareIndexes[Objects.checkIndex(index, size)];
+	}
+
+	/**
+	 * Gets the file table
+	 *
+	 * @return the file table
+	 */
+	public FileTable getFileTable()
+	{
+		return fileTable;
+	}
+
+	/**
+	 * Gets the file to compare of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the file to compare
+	 */
+	public File getFileToCompare(final int index)
+	{
+		return fileTable.get(getCompareIndex(index));
+	}
+
+	/**
+	 * Gets the bitmask with the equality flags of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the bitmask with the equality flags
+	 */
+	public int getFlags(final int index)
+	{
+		return flags[Objects.checkIndex(index, size)];
+	}
+
+	/**
+	 * Gets the source file of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the source file
+	 */
+	public File getSourceFile(final int index)
+	{
+		return fileTable.get(getSourceIndex(index));
+	}
+
+	/**
+	 * Gets the index of the source file of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @return the index of the source file in the file table
+	 */
+	public int getSourceIndex(final int index)
+	{
+		return sourceIndexes[Objects.checkIndex(index, size)];
+	}
+
+	/**
+	 * Checks if the given flag is set in the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @param flag
+	 *            the flag
+	 * @return true if the given flag is set otherwise false
+	 */
+	public boolean isSet(final int index, final FileCompareFlag flag)
+	{
+		return flag.isSet(getFlags(index));
+	}
+
+	/**
+	 * Sets the bitmask with the equality flags of the result with the given index
+	 *
+	 * @param index
+	 *            the index of the result
+	 * @param bitmask
+	 *            the new bitmask with the equality flags
+	 */
+	public void setFlags(final int index, final int bitmask)
+	{
+		flags[Objects.checkIndex(index, size)] = bitmask;
+	}
+
+	/**
+	 * Gets the number of results
+	 *
+	 * @return the number of results
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	private static int toBitmask(final IFileCompareResultBean fileCompareResultBean)
+	{
+		int bitmask = 0;
+		bitmask = FileCompareFlag.ABSOLUTE_PATH.apply(bitmask,
+			fileCompareResultBean.getAbsolutePathEquality());
+		bitmask = FileCompareFlag.FILE_EXTENSION.apply(bitmask,
+			fileCompareResultBean.getFileExtensionEquality());
+		bitmask = FileCompareFlag.LAST_MODIFIED.apply(bitmask,
+			fileCompareResultBean.getLastModifiedEquality());
+		bitmask = FileCompareFlag.LENGTH.apply(bitmask, fileCompareResultBean.getLengthEquality());
+		bitmask = FileCompareFlag.NAME.apply(bitmask, fileCompareResultBean.getNameEquality());
+		if (fileCompareResultBean instanceof IFileContentResultBean)
+		{
+			bitmask = FileCompareFlag.CONTENT.apply(bitmask,
+				((IFileContentResultBean)fileCompareResultBean).getContentEquality());
+		}
+		return bitmask;
+	}
+
+}
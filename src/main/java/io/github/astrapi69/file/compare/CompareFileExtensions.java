@@ -28,18 +28,24 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
-import io.github.astrapi69.checksum.FileChecksumExtensions;
-import io.github.astrapi69.crypt.api.algorithm.HashAlgorithm;
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.checksum.ContentHashAlgorithm;
+import io.github.astrapi69.file.checksum.ContentHashStrategy;
 import io.github.astrapi69.file.compare.api.IFileCompareResultBean;
 import io.github.astrapi69.file.compare.api.IFileContentResultBean;
 import io.github.astrapi69.file.search.FileSearchExtensions;
 import io.github.astrapi69.io.StreamExtensions;
-import io.github.astrapi69.io.file.FilenameExtensions;
 
 /**
  * The class {@link CompareFileExtensions} helps you to compare files.
@@ -79,71 +85,137 @@ public final class CompareFileExtensions
 		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
 		final boolean ignoreNameEquality)
 	{
-		final File source = fileCompareResultBean.getSourceFile();
-		final File compare = fileCompareResultBean.getFileToCompare();
+		setFlags(fileCompareResultBean,
+			compareToBitmask(fileCompareResultBean.getSourceFile(),
+				fileCompareResultBean.getFileToCompare(), ignoreAbsolutePathEquality,
+				ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified,
+				ignoreNameEquality));
+	}
+
+	/**
+	 * Compares the given files according to the given boolean flag what to ignore and returns the
+	 * equality flags as a bitmask of {@link FileCompareFlag} constants. An ignored attribute is
+	 * set as equal. The content flag is not set by this method
+	 *
+	 * @param source
+	 *            the source file
+	 * @param compare
+	 *            the file to compare
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            If this is true then the extension equality will be ignored.
+	 * @param ignoreLengthEquality
+	 *            If this is true then the length equality will be ignored.
+	 * @param ignoreLastModified
+	 *            If this is true then the last modified equality will be ignored.
+	 * @param ignoreNameEquality
+	 *            If this is true then the name equality will be ignored.
+	 * @return the bitmask with the equality flags
+	 */
+	public static int compareToBitmask(final File source, final File compare,
+		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality)
+	{
+		return compareToBitmask(FileAttributeSnapshot.of(source), FileAttributeSnapshot.of(compare),
+			ignoreAbsolutePathEquality, ignoreExtensionEquality, ignoreLengthEquality,
+			ignoreLastModified, ignoreNameEquality);
+	}
+
+	/**
+	 * Compares the given file attribute snapshots according to the given boolean flag what to
+	 * ignore and returns the equality flags as a bitmask of {@link FileCompareFlag} constants. The
+	 * attributes are taken from the snapshots, so a snapshot can be reused for many comparisons
+	 * without asking the file system again. An ignored attribute is set as equal. The content flag
+	 * is not set by this method
+	 *
+	 * @param source
+	 *            the snapshot of the source file
+	 * @param compare
+	 *            the snapshot of the file to compare
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            If this is true then the extension equality will be ignored.
+	 * @param ignoreLengthEquality
+	 *            If this is true then the length equality will be ignored.
+	 * @param ignoreLastModified
+	 *            If this is true then the last modified equality will be ignored.
+	 * @param ignoreNameEquality
+	 *            If this is true then the name equality will be ignored.
+	 * @return the bitmask with the equality flags
+	 */
+	public static int compareToBitmask(final FileAttributeSnapshot source,
+		final FileAttributeSnapshot compare, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality)
+	{
+		int bitmask = 0;
 		if (!ignoreAbsolutePathEquality)
 		{
 			// check the absolute path from the files...
 			final String sourceAbsolutePath = source.getAbsolutePath();
 			final String compareAbsolutePath = compare.getAbsolutePath();
 			final boolean absolutePathEquality = sourceAbsolutePath.equals(compareAbsolutePath);
-			fileCompareResultBean.setAbsolutePathEquality(absolutePathEquality);
+			bitmask = FileCompareFlag.ABSOLUTE_PATH.apply(bitmask, absolutePathEquality);
 		}
 		else
 		{
-			fileCompareResultBean.setAbsolutePathEquality(true);
+			bitmask = FileCompareFlag.ABSOLUTE_PATH.apply(bitmask, true);
 		}
 		if (!ignoreExtensionEquality)
 		{
 			// check the file extension...
-			final String sourceFileExtension = FilenameExtensions.getFilenameSuffix(source);
-			final String compareFileExtension = FilenameExtensions.getFilenameSuffix(compare);
+			final String sourceFileExtension = source.getExtension();
+			final String compareFileExtension = compare.getExtension();
 
 			final boolean extensionEquality = compareFileExtension
 				.equalsIgnoreCase(sourceFileExtension);
-			fileCompareResultBean.setFileExtensionEquality(extensionEquality);
+			bitmask = FileCompareFlag.FILE_EXTENSION.apply(bitmask, extensionEquality);
 		}
 		else
 		{
-			fileCompareResultBean.setFileExtensionEquality(true);
+			bitmask = FileCompareFlag.FILE_EXTENSION.apply(bitmask, true);
 		}
 
 		if (!ignoreLengthEquality)
 		{
 			// check the file length...
-			final boolean length = source.length() == compare.length();
-			fileCompareResultBean.setLengthEquality(length);
+			final boolean length = source.getLength() == compare.getLength();
+			bitmask = FileCompareFlag.LENGTH.apply(bitmask, length);
 		}
 		else
 		{
-			fileCompareResultBean.setLengthEquality(true);
+			bitmask = FileCompareFlag.LENGTH.apply(bitmask, true);
 		}
 
 		if (!ignoreLastModified)
 		{
 			// check the last modified date...
-			final long lastModified1 = source.lastModified();
-			final long lastModified2 = compare.lastModified();
+			final long lastModified1 = source.getLastModified();
+			final long lastModified2 = compare.getLastModified();
 			final boolean lastModified = lastModified1 == lastModified2;
-			fileCompareResultBean.setLastModifiedEquality(lastModified);
+			bitmask = FileCompareFlag.LAST_MODIFIED.apply(bitmask, lastModified);
 		}
 		else
 		{
-			fileCompareResultBean.setLastModifiedEquality(true);
+			bitmask = FileCompareFlag.LAST_MODIFIED.apply(bitmask, true);
 		}
 
 		if (!ignoreNameEquality)
 		{
 			// check the filename...
-			final String sourceFilename = FilenameExtensions.getFilenameWithoutExtension(source);
-			final String compareFilename = FilenameExtensions.getFilenameWithoutExtension(compare);
+			final String sourceFilename = source.getNameWithoutExtension();
+			final String compareFilename = compare.getNameWithoutExtension();
 			final boolean nameEquality = compareFilename.equalsIgnoreCase(sourceFilename);
-			fileCompareResultBean.setNameEquality(nameEquality);
+			bitmask = FileCompareFlag.NAME.apply(bitmask, nameEquality);
 		}
 		else
 		{
-			fileCompareResultBean.setNameEquality(true);
+			bitmask = FileCompareFlag.NAME.apply(bitmask, true);
 		}
+		return bitmask;
 	}
 
 	/**
@@ -169,6 +241,79 @@ public final class CompareFileExtensions
 		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
 		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
 		final boolean ignoreNameEquality, final boolean ignoreContentEquality)
+	{
+		compare(fileContentResultBean, ignoreAbsolutePathEquality, ignoreExtensionEquality,
+			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality, ignoreContentEquality,
+			new ContentComparisonStatistics());
+	}
+
+	/**
+	 * Sets the flags in the FileContentResultBean object according to the given boolean flag what
+	 * to ignore. The content is compared in stages with
+	 * {@link ContentEqualityExtensions#isEqualContent(File, File, ContentComparisonStatistics)} and
+	 * the result of every stage is counted in the given statistics.
+	 *
+	 * @param fileContentResultBean
+	 *            The FileContentResultBean.
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            If this is true then the extension equality will be ignored.
+	 * @param ignoreLengthEquality
+	 *            If this is true then the length equality will be ignored.
+	 * @param ignoreLastModified
+	 *            If this is true then the last modified equality will be ignored.
+	 * @param ignoreNameEquality
+	 *            If this is true then the name equality will be ignored.
+	 * @param ignoreContentEquality
+	 *            If this is true then the content equality will be ignored.
+	 * @param statistics
+	 *            the statistics of the content comparison to update
+	 */
+	public static void compare(final IFileContentResultBean fileContentResultBean,
+		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality, final boolean ignoreContentEquality,
+		final ContentComparisonStatistics statistics)
+	{
+		compare(fileContentResultBean, ignoreAbsolutePathEquality, ignoreExtensionEquality,
+			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality, ignoreContentEquality,
+			statistics, ContentHashAlgorithm.SHA_512, false);
+	}
+
+	/**
+	 * Sets the flags in the FileContentResultBean object according to the given boolean flag what
+	 * to ignore. The content is compared in stages with
+	 * {@link ContentEqualityExtensions#isEqualContent(File, File, ContentComparisonStatistics, ContentHashStrategy, boolean)}
+	 * and the whole content is hashed with the given strategy.
+	 *
+	 * @param fileContentResultBean
+	 *            The FileContentResultBean.
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            If this is true then the extension equality will be ignored.
+	 * @param ignoreLengthEquality
+	 *            If this is true then the length equality will be ignored.
+	 * @param ignoreLastModified
+	 *            If this is true then the last modified equality will be ignored.
+	 * @param ignoreNameEquality
+	 *            If this is true then the name equality will be ignored.
+	 * @param ignoreContentEquality
+	 *            If this is true then the content equality will be ignored.
+	 * @param statistics
+	 *            the statistics of the content comparison to update
+	 * @param strategy
+	 *            the strategy that computes the checksum of the whole content
+	 * @param verifyBytes
+	 *            If this is true then files with the same checksum are compared byte by byte.
+	 */
+	public static void compare(final IFileContentResultBean fileContentResultBean,
+		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality, final boolean ignoreContentEquality,
+		final ContentComparisonStatistics statistics, final ContentHashStrategy strategy,
+		final boolean verifyBytes)
 	{
 		compare(fileContentResultBean, ignoreAbsolutePathEquality, ignoreExtensionEquality,
 			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality);
@@ -176,31 +321,13 @@ public final class CompareFileExtensions
 		final File compare = fileContentResultBean.getFileToCompare();
 		if (!ignoreContentEquality)
 		{
-			boolean contentEquality;
 			try
 			{
-				final String sourceChecksum = FileChecksumExtensions.getChecksum(source,
-					HashAlgorithm.SHA_512.getAlgorithm());
-				final String compareChecksum = FileChecksumExtensions.getChecksum(compare,
-					HashAlgorithm.SHA_512.getAlgorithm());
-				contentEquality = sourceChecksum.equals(compareChecksum);
-				fileContentResultBean.setContentEquality(contentEquality);
-			}
-			catch (final NoSuchAlgorithmException e)
-			{
-				// if the algorithm is not supported check it with CRC32.
-				try
-				{
-					contentEquality = FileChecksumExtensions.getCheckSumCRC32(
-						source) == FileChecksumExtensions.getCheckSumCRC32(compare);
-					fileContentResultBean.setContentEquality(contentEquality);
-				}
-				catch (IOException e1)
-				{
-					fileContentResultBean.setContentEquality(false);
-				}
+				fileContentResultBean.setContentEquality(
+					ContentEqualityExtensions.isEqualContent(source, compare, statistics,
+						strategy, verifyBytes));
 			}
-			catch (IOException e)
+			catch (final IOException e)
 			{
 				fileContentResultBean.setContentEquality(false);
 			}
@@ -212,7 +339,9 @@ public final class CompareFileExtensions
 	}
 
 	/**
-	 * Compare file content for every single byte.
+	 * Compare file content for every single byte. The files are compared window by window with
+	 * {@link ContentEqualityExtensions#findFirstMismatch(File, File)}, so the memory usage does not
+	 * depend on the file length. The offset of the first differing byte is set in the result bean.
 	 *
 	 * @param sourceFile
 	 *            the source file
@@ -227,30 +356,19 @@ public final class CompareFileExtensions
 		final IFileContentResultBean fileContentResultBean = new FileContentResultBean(sourceFile,
 			fileToCompare);
 		completeCompare(fileContentResultBean);
-		final boolean simpleEquality = validateEquality(fileContentResultBean);
+		// the metadata equality decides if the content has to be compared
+		final boolean simpleEquality = validateEquality(
+			(IFileCompareResultBean)fileContentResultBean);
 		boolean contentEquality = true;
 		// Compare the content...
 		if (simpleEquality)
 		{
-			try (InputStream sourceReader = StreamExtensions.getInputStream(sourceFile);
-				InputStream compareReader = StreamExtensions.getInputStream(fileToCompare))
-			{
-
-				final byte[] source = StreamExtensions.getByteArray(sourceReader);
-				final byte[] compare = StreamExtensions.getByteArray(compareReader);
-
-				for (int i = 0; 0 < source.length; i++)
-				{
-					if (source[i] != compare[i])
-					{
-						contentEquality = false;
-						break;
-					}
-				}
-			}
-			catch (final FileNotFoundException e)
+			try
 			{
-				contentEquality = false;
+				final long firstMismatchOffset = ContentEqualityExtensions
+					.findFirstMismatch(sourceFile, fileToCompare);
+				fileContentResultBean.setFirstMismatchOffset(firstMismatchOffset);
+				contentEquality = firstMismatchOffset == -1L;
 			}
 			catch (final IOException e)
 			{
@@ -447,6 +565,41 @@ public final class CompareFileExtensions
 		return fileCompareResultBean;
 	}
 
+	/**
+	 * Compare the files of the given file attribute snapshots. The attributes are taken from the
+	 * snapshots, so a snapshot can be reused for many comparisons without asking the file system
+	 * again
+	 *
+	 * @param source
+	 *            the snapshot of the source file
+	 * @param compare
+	 *            the snapshot of the file to compare
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 *
+	 * @return the i file compare result bean
+	 */
+	public static IFileCompareResultBean compareFiles(final FileAttributeSnapshot source,
+		final FileAttributeSnapshot compare, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality)
+	{
+		final IFileCompareResultBean fileCompareResultBean = new FileCompareResultBean(
+			source.getFile(), compare.getFile());
+		setFlags(fileCompareResultBean,
+			compareToBitmask(source, compare, ignoreAbsolutePathEquality, ignoreExtensionEquality,
+				ignoreLengthEquality, ignoreLastModified, ignoreNameEquality));
+		return fileCompareResultBean;
+	}
+
 	/**
 	 * Compare files.
 	 *
@@ -503,29 +656,7 @@ public final class CompareFileExtensions
 	 */
 	public static List<IFileCompareResultBean> findEqualFiles(final File dirToSearch)
 	{
-		final List<File> allFiles = FileSearchExtensions.findFilesRecursive(dirToSearch, "*");
-		final List<IFileCompareResultBean> equalFiles = new ArrayList<>();
-		for (int i = 0; i < allFiles.size(); i++)
-		{
-			final File toCompare = allFiles.get(i);
-			for (final File file : allFiles)
-			{
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileCompareResultBean compareResultBean = CompareFileExtensions
-					.simpleCompareFiles(toCompare, file);
-				final boolean equal = CompareFileExtensions.validateEquality(compareResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(compareResultBean))
-				{
-					equalFiles.add(compareResultBean);
-				}
-			}
-		}
-		return equalFiles;
+		return findEqualFiles(dirToSearch, true, false, false, true, false);
 	}
 
 	/**
@@ -551,30 +682,14 @@ public final class CompareFileExtensions
 		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
 		final boolean ignoreNameEquality)
 	{
-		final List<File> allFiles = FileSearchExtensions.findFilesRecursive(dirToSearch, "*");
+		final List<FileAttributeSnapshot> allFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(dirToSearch);
 		final List<IFileCompareResultBean> equalFiles = new ArrayList<>();
-		for (int i = 0; i < allFiles.size(); i++)
-		{
-			final File toCompare = allFiles.get(i);
-			for (int j = 0; j < allFiles.size(); j++)
-			{
-				final File file = allFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileCompareResultBean compareResultBean = CompareFileExtensions.compareFiles(
-					toCompare, file, ignoreAbsolutePathEquality, ignoreExtensionEquality,
-					ignoreLengthEquality, ignoreLastModified, ignoreNameEquality);
-				final boolean equal = CompareFileExtensions.validateEquality(compareResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(compareResultBean))
-				{
-					equalFiles.add(compareResultBean);
-				}
-			}
-		}
+		findEqualFilePairs(allFiles, allFiles, ignoreExtensionEquality, ignoreLengthEquality,
+			ignoreLastModified, ignoreNameEquality, true, HashingExecutor.SEQUENTIAL,
+			(toCompare, file) -> equalFiles.add(compareFiles(toCompare, file,
+				ignoreAbsolutePathEquality, ignoreExtensionEquality, ignoreLengthEquality,
+				ignoreLastModified, ignoreNameEquality)));
 		return equalFiles;
 	}
 
@@ -590,31 +705,7 @@ public final class CompareFileExtensions
 	 */
 	public static List<IFileCompareResultBean> findEqualFiles(final File source, final File compare)
 	{
-		final List<File> allSourceFiles = FileSearchExtensions.findFilesRecursive(source, "*");
-		final List<File> allCompareFiles = FileSearchExtensions.findFilesRecursive(compare, "*");
-		final List<IFileCompareResultBean> equalFiles = new ArrayList<>();
-		for (int i = 0; i < allSourceFiles.size(); i++)
-		{
-			final File toCompare = allSourceFiles.get(i);
-			for (int j = 0; j < allCompareFiles.size(); j++)
-			{
-				final File file = allCompareFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileCompareResultBean compareResultBean = CompareFileExtensions
-					.simpleCompareFiles(toCompare, file);
-				final boolean equal = CompareFileExtensions.validateEquality(compareResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(compareResultBean))
-				{
-					equalFiles.add(compareResultBean);
-				}
-			}
-		}
-		return equalFiles;
+		return findEqualFiles(source, compare, true, false, false, true, false);
 	}
 
 	/**
@@ -642,31 +733,17 @@ public final class CompareFileExtensions
 		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
 		final boolean ignoreNameEquality)
 	{
-		final List<File> allSourceFiles = FileSearchExtensions.findFilesRecursive(source, "*");
-		final List<File> allCompareFiles = FileSearchExtensions.findFilesRecursive(compare, "*");
-		final List<IFileCompareResultBean> equalFiles = new ArrayList<IFileCompareResultBean>();
-		for (int i = 0; i < allSourceFiles.size(); i++)
-		{
-			final File toCompare = allSourceFiles.get(i);
-			for (int j = 0; j < allCompareFiles.size(); j++)
-			{
-				final File file = allCompareFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileCompareResultBean compareResultBean = CompareFileExtensions.compareFiles(
-					toCompare, file, ignoreAbsolutePathEquality, ignoreExtensionEquality,
-					ignoreLengthEquality, ignoreLastModified, ignoreNameEquality);
-				final boolean equal = CompareFileExtensions.validateEquality(compareResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(compareResultBean))
-				{
-					equalFiles.add(compareResultBean);
-				}
-			}
-		}
+		final List<FileAttributeSnapshot> allSourceFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(source);
+		final List<FileAttributeSnapshot> allCompareFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(compare);
+		final List<IFileCompareResultBean> equalFiles = new ArrayList<>();
+		findEqualFilePairs(allSourceFiles, allCompareFiles, ignoreExtensionEquality,
+			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality, true,
+			HashingExecutor.SEQUENTIAL,
+			(toCompare, file) -> equalFiles.add(compareFiles(toCompare, file,
+				ignoreAbsolutePathEquality, ignoreExtensionEquality, ignoreLengthEquality,
+				ignoreLastModified, ignoreNameEquality)));
 		return equalFiles;
 	}
 
@@ -680,33 +757,7 @@ public final class CompareFileExtensions
 	 */
 	public static List<IFileContentResultBean> findEqualFilesWithSameContent(final File dirToSearch)
 	{
-		final List<IFileContentResultBean> equalFiles = new ArrayList<IFileContentResultBean>();
-
-		final List<File> allFiles = FileSearchExtensions.findFilesRecursive(dirToSearch, "*");
-
-		for (int i = 0; i < allFiles.size(); i++)
-		{
-			final File toCompare = allFiles.get(i);
-			for (int j = 0; j < allFiles.size(); j++)
-			{
-				final File file = allFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileContentResultBean contentResultBean = CompareFileExtensions
-					.compareFiles(toCompare, file);
-				final boolean equal = CompareFileExtensions.validateEquality(contentResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(contentResultBean))
-				{
-					equalFiles.add(contentResultBean);
-				}
-			}
-		}
-
-		return equalFiles;
+		return findEqualFilesWithSameContent(dirToSearch, true, false, false, true, false, true);
 	}
 
 	/**
@@ -733,34 +784,47 @@ public final class CompareFileExtensions
 		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
 		final boolean ignoreNameEquality, final boolean ignoreContentEquality)
 	{
-		final List<IFileContentResultBean> equalFiles = new ArrayList<IFileContentResultBean>();
-
-		final List<File> allFiles = FileSearchExtensions.findFilesRecursive(dirToSearch, "*");
-
-		for (int i = 0; i < allFiles.size(); i++)
-		{
-			final File toCompare = allFiles.get(i);
-			for (int j = 0; j < allFiles.size(); j++)
-			{
-				final File file = allFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileContentResultBean contentResultBean = CompareFileExtensions.compareFiles(
-					toCompare, file, ignoreAbsolutePathEquality, ignoreExtensionEquality,
-					ignoreLengthEquality, ignoreLastModified, ignoreNameEquality,
-					ignoreContentEquality);
-				final boolean equal = CompareFileExtensions.validateEquality(contentResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(contentResultBean))
-				{
-					equalFiles.add(contentResultBean);
-				}
-			}
-		}
+		return findEqualFilesWithSameContent(dirToSearch, ignoreAbsolutePathEquality,
+			ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified, ignoreNameEquality,
+			ignoreContentEquality, HashingExecutor.SEQUENTIAL);
+	}
 
+	/**
+	 * Compare files with the same content. The checksums of the candidate files are computed with
+	 * the given {@link HashingExecutor}, the result is the same as in the sequential mode
+	 *
+	 * @param dirToSearch
+	 *            the dir to search
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 * @param ignoreContentEquality
+	 *            the ignore content equality
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @return the list with the result beans
+	 */
+	public static List<IFileContentResultBean> findEqualFilesWithSameContent(final File dirToSearch,
+		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality, final boolean ignoreContentEquality,
+		final HashingExecutor hashingExecutor)
+	{
+		final List<FileAttributeSnapshot> allFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(dirToSearch);
+		final List<IFileContentResultBean> equalFiles = new ArrayList<>();
+		findEqualFilePairs(allFiles, allFiles, ignoreExtensionEquality, ignoreLengthEquality,
+			ignoreLastModified, ignoreNameEquality, ignoreContentEquality, hashingExecutor,
+			(toCompare, file) -> equalFiles.add(newEqualContentResultBean(toCompare, file,
+				ignoreAbsolutePathEquality, ignoreExtensionEquality, ignoreLengthEquality,
+				ignoreLastModified, ignoreNameEquality)));
 		return equalFiles;
 	}
 
@@ -777,31 +841,8 @@ public final class CompareFileExtensions
 	public static List<IFileContentResultBean> findEqualFilesWithSameContent(final File source,
 		final File compare)
 	{
-		final List<File> allSourceFiles = FileSearchExtensions.findFilesRecursive(source, "*");
-		final List<File> allCompareFiles = FileSearchExtensions.findFilesRecursive(compare, "*");
-		final List<IFileContentResultBean> equalFiles = new ArrayList<IFileContentResultBean>();
-		for (int i = 0; i < allSourceFiles.size(); i++)
-		{
-			final File toCompare = allSourceFiles.get(i);
-			for (int j = 0; j < allCompareFiles.size(); j++)
-			{
-				final File file = allCompareFiles.get(j);
-				if (toCompare.equals(file))
-				{
-					continue;
-				}
-				final IFileContentResultBean contentResultBean = CompareFileExtensions
-					.compareFiles(toCompare, file);
-				final boolean equal = CompareFileExtensions.validateEquality(contentResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(contentResultBean))
-				{
-					equalFiles.add(contentResultBean);
-				}
-			}
-		}
-		return equalFiles;
+		return findEqualFilesWithSameContent(source, compare, true, false, false, true, false,
+			true);
 	}
 
 	/**
@@ -832,33 +873,367 @@ public final class CompareFileExtensions
 		final boolean ignoreLastModified, final boolean ignoreNameEquality,
 		final boolean ignoreContentEquality)
 	{
-		final List<File> allSourceFiles = FileSearchExtensions.findFilesRecursive(source, "*");
-		final List<File> allCompareFiles = FileSearchExtensions.findFilesRecursive(compare, "*");
-		final List<IFileContentResultBean> equalFiles = new ArrayList<IFileContentResultBean>();
-		for (int i = 0; i < allSourceFiles.size(); i++)
+		return findEqualFilesWithSameContent(source, compare, ignoreAbsolutePathEquality,
+			ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified, ignoreNameEquality,
+			ignoreContentEquality, HashingExecutor.SEQUENTIAL);
+	}
+
+	/**
+	 * Find equal files from the given directories. The checksums of the candidate files are
+	 * computed with the given {@link HashingExecutor}, the result is the same as in the sequential
+	 * mode
+	 *
+	 * @param source
+	 *            the source directory.
+	 * @param compare
+	 *            the directory compare.
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 * @param ignoreContentEquality
+	 *            the ignore content equality
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 *
+	 * @return the list with the result beans
+	 */
+	public static List<IFileContentResultBean> findEqualFilesWithSameContent(final File source,
+		final File compare, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality,
+		final boolean ignoreContentEquality, final HashingExecutor hashingExecutor)
+	{
+		final List<FileAttributeSnapshot> allSourceFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(source);
+		final List<FileAttributeSnapshot> allCompareFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(compare);
+		final List<IFileContentResultBean> equalFiles = new ArrayList<>();
+		findEqualFilePairs(allSourceFiles, allCompareFiles, ignoreExtensionEquality,
+			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality, ignoreContentEquality,
+			hashingExecutor,
+			(toCompare, file) -> equalFiles.add(newEqualContentResultBean(toCompare, file,
+				ignoreAbsolutePathEquality, ignoreExtensionEquality, ignoreLengthEquality,
+				ignoreLastModified, ignoreNameEquality)));
+		return equalFiles;
+	}
+
+	/**
+	 * Compare files with the same content and stores the results in a
+	 * {@link CompactFileCompareResults} object instead of a list of result beans. This needs much
+	 * less memory if the directory contains many equal files
+	 *
+	 * @param dirToSearch
+	 *            the dir to search
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 * @param ignoreContentEquality
+	 *            the ignore content equality
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @return the compact results
+	 */
+	public static CompactFileCompareResults findEqualFilesWithSameContentCompact(
+		final File dirToSearch, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality,
+		final boolean ignoreContentEquality, final HashingExecutor hashingExecutor)
+	{
+		final List<FileAttributeSnapshot> allFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(dirToSearch);
+		final CompactFileCompareResults results = new CompactFileCompareResults();
+		findEqualFilePairs(allFiles, allFiles, ignoreExtensionEquality, ignoreLengthEquality,
+			ignoreLastModified, ignoreNameEquality, ignoreContentEquality, hashingExecutor,
+			(toCompare, file) -> results.add(toCompare.getFile(), file.getFile(),
+				toCompactFlags(toCompare, file, ignoreAbsolutePathEquality,
+					ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified,
+					ignoreNameEquality)));
+		return results;
+	}
+
+	/**
+	 * Find equal files from the given directories and stores the results in a
+	 * {@link CompactFileCompareResults} object instead of a list of result beans. This needs much
+	 * less memory if the directories contain many equal files
+	 *
+	 * @param source
+	 *            the source directory.
+	 * @param compare
+	 *            the directory compare.
+	 * @param ignoreAbsolutePathEquality
+	 *            If this is true then the absolute path equality will be ignored.
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 * @param ignoreContentEquality
+	 *            the ignore content equality
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @return the compact results
+	 */
+	public static CompactFileCompareResults findEqualFilesWithSameContentCompact(
+		final File source, final File compare, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality,
+		final boolean ignoreContentEquality, final HashingExecutor hashingExecutor)
+	{
+		final List<FileAttributeSnapshot> allSourceFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(source);
+		final List<FileAttributeSnapshot> allCompareFiles = FileSearchExtensions
+			.findFileSnapshotsRecursive(compare);
+		final CompactFileCompareResults results = new CompactFileCompareResults();
+		findEqualFilePairs(allSourceFiles, allCompareFiles, ignoreExtensionEquality,
+			ignoreLengthEquality, ignoreLastModified, ignoreNameEquality, ignoreContentEquality,
+			hashingExecutor,
+			(toCompare, file) -> results.add(toCompare.getFile(), file.getFile(),
+				toCompactFlags(toCompare, file, ignoreAbsolutePathEquality,
+					ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified,
+					ignoreNameEquality)));
+		return results;
+	}
+
+	/**
+	 * Finds all pairs of equal files from the given source files and the given files to compare.
+	 * Instead of comparing every file with every other file, the files are grouped by the
+	 * attributes that are not ignored and, if the content is not ignored, every group is split up
+	 * with {@link DuplicateFileExtensions#findDuplicates(Collection, ContentComparisonStatistics,
+	 * HashingExecutor)}. So only files of the same group are paired and every file is hashed at
+	 * most once. Two paths of the same file in the file system, for instance hard links, are not
+	 * paired. Every pair is passed to the given consumer as soon as it is found, so the pairs are
+	 * not collected before the results are built
+	 *
+	 * @param sourceFiles
+	 *            the snapshots of the source files
+	 * @param compareFiles
+	 *            the snapshots of the files to compare
+	 * @param ignoreExtensionEquality
+	 *            the ignore extension equality
+	 * @param ignoreLengthEquality
+	 *            the ignore length equality
+	 * @param ignoreLastModified
+	 *            the ignore last modified
+	 * @param ignoreNameEquality
+	 *            the ignore name equality
+	 * @param ignoreContentEquality
+	 *            the ignore content equality
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @param pairConsumer
+	 *            the consumer of the pairs, it gets the source file first and the file to compare
+	 *            second
+	 */
+	private static void findEqualFilePairs(final List<FileAttributeSnapshot> sourceFiles,
+		final List<FileAttributeSnapshot> compareFiles, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality, final boolean ignoreContentEquality,
+		final HashingExecutor hashingExecutor,
+		final BiConsumer<FileAttributeSnapshot, FileAttributeSnapshot> pairConsumer)
+	{
+		final Function<FileAttributeSnapshot, List<Object>> classifier = file -> Arrays.asList(
+			ignoreExtensionEquality ? null : toCaseInsensitiveKey(file.getExtension()),
+			ignoreLengthEquality ? null : file.getLength(),
+			ignoreLastModified ? null : file.getLastModified(),
+			ignoreNameEquality ? null : toCaseInsensitiveKey(file.getNameWithoutExtension()));
+		final Map<List<Object>, List<FileAttributeSnapshot>> sourceGroups = DuplicateFileExtensions
+			.groupBy(sourceFiles, classifier);
+		final Map<List<Object>, List<FileAttributeSnapshot>> compareGroups;
+		if (sourceFiles == compareFiles)
+		{
+			compareGroups = sourceGroups;
+		}
+		else
+		{
+			compareGroups = DuplicateFileExtensions.groupBy(compareFiles, classifier);
+		}
+		final List<List<FileAttributeSnapshot>> matchedSourceGroups = new ArrayList<>();
+		final List<List<FileAttributeSnapshot>> matchedCompareGroups = new ArrayList<>();
+		final Set<File> candidates = new LinkedHashSet<>();
+		for (final Map.Entry<List<Object>, List<FileAttributeSnapshot>> sourceGroup : sourceGroups
+			.entrySet())
+		{
+			final List<FileAttributeSnapshot> compareGroup = compareGroups
+				.get(sourceGroup.getKey());
+			if (compareGroup == null)
+			{
+				continue;
+			}
+			if (ignoreContentEquality)
+			{
+				addPairs(pairConsumer, sourceGroup.getValue(), compareGroup);
+				continue;
+			}
+			final Set<File> groupCandidates = new LinkedHashSet<>();
+			for (final FileAttributeSnapshot file : sourceGroup.getValue())
+			{
+				groupCandidates.add(file.getFile());
+			}
+			for (final FileAttributeSnapshot file : compareGroup)
+			{
+				groupCandidates.add(file.getFile());
+			}
+			if (groupCandidates.size() < 2)
+			{
+				continue;
+			}
+			matchedSourceGroups.add(sourceGroup.getValue());
+			matchedCompareGroups.add(compareGroup);
+			candidates.addAll(groupCandidates);
+		}
+		if (candidates.isEmpty())
+		{
+			return;
+		}
+		// all candidates are hashed in one pass, so a parallel hashing executor can work on them
+		// at once instead of on every small group one after the other
+		final Map<File, Integer> contentGroups = new HashMap<>();
+		final List<DuplicateFileGroup> duplicates = DuplicateFileExtensions
+			.findDuplicates(candidates, new ContentComparisonStatistics(), hashingExecutor);
+		for (int i = 0; i < duplicates.size(); i++)
 		{
-			final File toCompare = allSourceFiles.get(i);
-			for (int j = 0; j < allCompareFiles.size(); j++)
+			for (final File file : duplicates.get(i).getFiles())
 			{
-				final File file = allCompareFiles.get(j);
-				if (toCompare.equals(file))
+				contentGroups.put(file, i);
+			}
+			// the hard links have the same content, but are paired only with the copies
+			for (final List<File> links : duplicates.get(i).getLinks().values())
+			{
+				for (final File file : links)
 				{
-					continue;
+					contentGroups.put(file, i);
 				}
-				final IFileContentResultBean contentResultBean = CompareFileExtensions.compareFiles(
-					toCompare, file, ignoreAbsolutePathEquality, ignoreExtensionEquality,
-					ignoreLengthEquality, ignoreLastModified, ignoreNameEquality,
-					ignoreContentEquality);
-				final boolean equal = CompareFileExtensions.validateEquality(contentResultBean);
-				// if equal is true and the list does not contain the same
-				// compareResultBean then add it.
-				if (equal && !equalFiles.contains(contentResultBean))
+			}
+		}
+		final Function<FileAttributeSnapshot, Integer> contentClassifier = file -> contentGroups
+			.get(file.getFile());
+		for (int i = 0; i < matchedSourceGroups.size(); i++)
+		{
+			final Map<Integer, List<FileAttributeSnapshot>> sourceByContent;
+			final Map<Integer, List<FileAttributeSnapshot>> compareByContent;
+			sourceByContent = DuplicateFileExtensions.groupBy(
+				retain(matchedSourceGroups.get(i), contentGroups.keySet()), contentClassifier);
+			compareByContent = DuplicateFileExtensions.groupBy(
+				retain(matchedCompareGroups.get(i), contentGroups.keySet()), contentClassifier);
+			for (final Integer contentGroup : sourceByContent.keySet())
+			{
+				final List<FileAttributeSnapshot> sameContent = compareByContent.get(contentGroup);
+				if (sameContent != null)
 				{
-					equalFiles.add(contentResultBean);
+					addPairs(pairConsumer, sourceByContent.get(contentGroup), sameContent);
 				}
 			}
 		}
-		return equalFiles;
+	}
+
+	private static void addPairs(
+		final BiConsumer<FileAttributeSnapshot, FileAttributeSnapshot> pairConsumer,
+		final List<FileAttributeSnapshot> sourceFiles,
+		final List<FileAttributeSnapshot> compareFiles)
+	{
+		for (final FileAttributeSnapshot toCompare : sourceFiles)
+		{
+			for (final FileAttributeSnapshot file : compareFiles)
+			{
+				if (!toCompare.getFile().equals(file.getFile()) && !isSameFile(toCompare, file))
+				{
+					pairConsumer.accept(toCompare, file);
+				}
+			}
+		}
+	}
+
+	private static boolean isSameFile(final FileAttributeSnapshot file,
+		final FileAttributeSnapshot other)
+	{
+		// hard links and symbolic links of the same file are not pairs of equal files
+		return file.getFileKey() != null && file.getFileKey().equals(other.getFileKey());
+	}
+
+	private static List<FileAttributeSnapshot> retain(final List<FileAttributeSnapshot> files,
+		final Set<File> toRetain)
+	{
+		final List<FileAttributeSnapshot> retained = new ArrayList<>();
+		for (final FileAttributeSnapshot file : files)
+		{
+			if (toRetain.contains(file.getFile()))
+			{
+				retained.add(file);
+			}
+		}
+		return retained;
+	}
+
+	private static void setFlags(final IFileCompareResultBean fileCompareResultBean,
+		final int bitmask)
+	{
+		fileCompareResultBean
+			.setAbsolutePathEquality(FileCompareFlag.ABSOLUTE_PATH.isSet(bitmask));
+		fileCompareResultBean
+			.setFileExtensionEquality(FileCompareFlag.FILE_EXTENSION.isSet(bitmask));
+		fileCompareResultBean.setLengthEquality(FileCompareFlag.LENGTH.isSet(bitmask));
+		fileCompareResultBean
+			.setLastModifiedEquality(FileCompareFlag.LAST_MODIFIED.isSet(bitmask));
+		fileCompareResultBean.setNameEquality(FileCompareFlag.NAME.isSet(bitmask));
+	}
+
+	private static String toCaseInsensitiveKey(final String value)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		// same folding as String#equalsIgnoreCase
+		final char[] chars = value.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+		{
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	private static int toCompactFlags(final FileAttributeSnapshot source,
+		final FileAttributeSnapshot compare, final boolean ignoreAbsolutePathEquality,
+		final boolean ignoreExtensionEquality, final boolean ignoreLengthEquality,
+		final boolean ignoreLastModified, final boolean ignoreNameEquality)
+	{
+		// the content equality is already resolved by the grouping of the files
+		return compareToBitmask(source, compare, ignoreAbsolutePathEquality,
+			ignoreExtensionEquality, ignoreLengthEquality, ignoreLastModified, ignoreNameEquality)
+			| FileCompareFlag.CONTENT.getMask();
+	}
+
+	private static IFileContentResultBean newEqualContentResultBean(
+		final FileAttributeSnapshot source, final FileAttributeSnapshot compare,
+		final boolean ignoreAbsolutePathEquality, final boolean ignoreExtensionEquality,
+		final boolean ignoreLengthEquality, final boolean ignoreLastModified,
+		final boolean ignoreNameEquality)
+	{
+		final IFileContentResultBean fileContentResultBean = new FileContentResultBean(
+			source.getFile(), compare.getFile());
+		setFlags(fileContentResultBean,
+			compareToBitmask(source, compare, ignoreAbsolutePathEquality, ignoreExtensionEquality,
+				ignoreLengthEquality, ignoreLastModified, ignoreNameEquality));
+		// the content equality is already resolved by the grouping of the files
+		fileContentResultBean.setContentEquality(true);
+		return fileContentResultBean;
 	}
 
 	/**
@@ -0,0 +1,236 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The class {@link ContentComparisonStatistics} counts how many candidates were rejected in which
+ * stage of a staged content comparison and how many bytes were read or could be skipped. One
+ * instance can be shared by several comparisons and is safe for use by multiple threads
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class ContentComparisonStatistics
+{
+
+	/** The number of bytes that were read. */
+	private final AtomicLong bytesRead = new AtomicLong();
+
+	/** The number of bytes that did not need to be read. */
+	private final AtomicLong bytesSkipped = new AtomicLong();
+
+	/** The number of candidates that entered the comparison. */
+	private final AtomicLong candidates = new AtomicLong();
+
+	/** The number of candidates that were confirmed to have equal content. */
+	private final AtomicLong confirmedEqual = new AtomicLong();
+
+	/** The number of paths that were collapsed, because they are hard links of a candidate. */
+	private final AtomicLong hardLinks = new AtomicLong();
+
+	/** The number of candidates that were rejected by the full content check. */
+	private final AtomicLong rejectedByFullCheck = new AtomicLong();
+
+	/** The number of candidates that were rejected by the head and tail blocks. */
+	private final AtomicLong rejectedByPartialCheck = new AtomicLong();
+
+	/** The number of candidates that were rejected by their length. */
+	private final AtomicLong rejectedBySize = new AtomicLong();
+
+	void addBytesRead(final long bytes)
+	{
+		bytesRead.addAndGet(bytes);
+	}
+
+	void addBytesSkipped(final long bytes)
+	{
+		bytesSkipped.addAndGet(bytes);
+	}
+
+	void incrementCandidates()
+	{
+		candidates.incrementAndGet();
+	}
+
+	void incrementConfirmedEqual()
+	{
+		confirmedEqual.incrementAndGet();
+	}
+
+	void incrementHardLinks()
+	{
+		hardLinks.incrementAndGet();
+	}
+
+	void incrementRejectedByFullCheck()
+	{
+		rejectedByFullCheck.incrementAndGet();
+	}
+
+	void incrementRejectedByPartialCheck()
+	{
+		rejectedByPartialCheck.incrementAndGet();
+	}
+
+	void incrementRejectedBySize()
+	{
+		rejectedBySize.incrementAndGet();
+	}
+
+	/**
+	 * Gets the number of bytes that were read
+	 *
+	 * @return the number of bytes that were read
+	 */
+	public long getBytesRead()
+	{
+		return bytesRead.get();
+	}
+
+	/**
+	 * Gets the number of bytes that did not need to be read, because the candidate was rejected
+	 * before its content was read completely
+	 *
+	 * @return the number of bytes that did not need to be read
+	 */
+	public long getBytesSkipped()
+	{
+		return bytesSkipped.get();
+	}
+
+	/**
+	 * Gets the number of candidates that entered the comparison
+	 *
+	 * @return the number of candidates
+	 */
+	public long getCandidates()
+	{
+		return candidates.get();
+	}
+
+	/**
+	 * Gets the number of candidates that were confirmed to have equal content
+	 *
+	 * @return the number of candidates with equal content
+	 */
+	public long getConfirmedEqual()
+	{
+		return confirmedEqual.get();
+	}
+
+	/**
+	 * Gets the number of paths that were collapsed before the comparison, because they are hard
+	 * links of a candidate and so have the same content without reading it
+	 *
+	 * @return the number of collapsed hard links
+	 */
+	public long getHardLinks()
+	{
+		return hardLinks.get();
+	}
+
+	/**
+	 * Gets the number of candidates that were rejected by the full content check
+	 *
+	 * @return the number of candidates rejected by the full content check
+	 */
+	public long getRejectedByFullCheck()
+	{
+		return rejectedByFullCheck.get();
+	}
+
+	/**
+	 * Gets the number of candidates that were rejected by the head and tail blocks
+	 *
+	 * @return the number of candidates rejected by the head and tail blocks
+	 */
+	public long getRejectedByPartialCheck()
+	{
+		return rejectedByPartialCheck.get();
+	}
+
+	/**
+	 * Gets the number of candidates that were rejected by their length
+	 *
+	 * @return the number of candidates rejected by their length
+	 */
+	public long getRejectedBySize()
+	{
+		return rejectedBySize.get();
+	}
+
+	/**
+	 * Gets the rate of the candidates that were rejected by their length
+	 *
+	 * @return the rate between 0.0 and 1.0
+	 */
+	public double getSizeStageHitRate()
+	{
+		return rate(getRejectedBySize(), getCandidates());
+	}
+
+	/**
+	 * Gets the rate of the candidates that passed the size check and were rejected by the head and
+	 * tail blocks
+	 *
+	 * @return the rate between 0.0 and 1.0
+	 */
+	public double getPartialStageHitRate()
+	{
+		return rate(getRejectedByPartialCheck(), getCandidates() - getRejectedBySize());
+	}
+
+	/**
+	 * Gets the rate of the candidates that passed the size and the partial check and were rejected
+	 * by the full content check
+	 *
+	 * @return the rate between 0.0 and 1.0
+	 */
+	public double getFullStageHitRate()
+	{
+		return rate(getRejectedByFullCheck(),
+			getCandidates() - getRejectedBySize() - getRejectedByPartialCheck());
+	}
+
+	private static double rate(final long part, final long total)
+	{
+		return total <= 0 ? 0.0d : (double)part / total;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ContentComparisonStatistics(candidates=" + getCandidates() + ", rejectedBySize="
+			+ getRejectedBySize() + ", rejectedByPartialCheck=" + getRejectedByPartialCheck()
+			+ ", rejectedByFullCheck=" + getRejectedByFullCheck() + ", confirmedEqual="
+			+ getConfirmedEqual() + ", hardLinks=" + getHardLinks() + ", bytesRead="
+			+ getBytesRead() + ", bytesSkipped=" + getBytesSkipped() + ")";
+	}
+}
@@ -0,0 +1,350 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+import io.github.astrapi69.file.checksum.ContentHashAlgorithm;
+import io.github.astrapi69.file.checksum.ContentHashStrategy;
+
+/**
+ * The class {@link ContentEqualityExtensions} checks the content equality of files in stages. The
+ * length of the files is checked first, then the head and the tail block of the files and only if
+ * the files survive these checks the whole content is checked. So files that differ in their first
+ * or last bytes are never read completely
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class ContentEqualityExtensions
+{
+
+	/** The default size in bytes of the head and the tail block. */
+	public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+	/** The default size in bytes of the window that is compared at once. */
+	public static final int DEFAULT_WINDOW_SIZE = 1024 * 1024;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ContentEqualityExtensions()
+	{
+	}
+
+	/**
+	 * Checks if the given files have the same content
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @return true if the content of the given files is equal, otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static boolean isEqualContent(final File sourceFile, final File fileToCompare)
+		throws IOException
+	{
+		return isEqualContent(sourceFile, fileToCompare, new ContentComparisonStatistics());
+	}
+
+	/**
+	 * Checks if the given files have the same content and counts the result of every stage in the
+	 * given statistics
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param statistics
+	 *            the statistics to update
+	 * @return true if the content of the given files is equal, otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static boolean isEqualContent(final File sourceFile, final File fileToCompare,
+		final ContentComparisonStatistics statistics) throws IOException
+	{
+		return isEqualContent(sourceFile, fileToCompare, statistics, ContentHashAlgorithm.SHA_512,
+			false);
+	}
+
+	/**
+	 * Checks if the given files have the same content and counts the result of every stage in the
+	 * given statistics. The whole content is hashed with the given strategy. If the flag
+	 * verifyBytes is true files with the same checksum are compared byte by byte additionally, so
+	 * a collision of a non cryptographic hash can not lead to a wrong result
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param statistics
+	 *            the statistics to update
+	 * @param strategy
+	 *            the strategy that computes the checksum of the whole content
+	 * @param verifyBytes
+	 *            if true files with the same checksum are compared byte by byte
+	 * @return true if the content of the given files is equal, otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static boolean isEqualContent(final File sourceFile, final File fileToCompare,
+		final ContentComparisonStatistics statistics, final ContentHashStrategy strategy,
+		final boolean verifyBytes) throws IOException
+	{
+		Objects.requireNonNull(statistics);
+		Objects.requireNonNull(strategy);
+		statistics.incrementCandidates();
+		final long length = sourceFile.length();
+		if (length != fileToCompare.length())
+		{
+			statistics.incrementRejectedBySize();
+			statistics.addBytesSkipped(length + fileToCompare.length());
+			return false;
+		}
+		final byte[] sourceBlocks = readHeadAndTail(sourceFile, DEFAULT_BLOCK_SIZE);
+		final byte[] compareBlocks = readHeadAndTail(fileToCompare, DEFAULT_BLOCK_SIZE);
+		statistics.addBytesRead(sourceBlocks.length + compareBlocks.length);
+		if (!Arrays.equals(sourceBlocks, compareBlocks))
+		{
+			statistics.incrementRejectedByPartialCheck();
+			statistics.addBytesSkipped(2 * (length - sourceBlocks.length));
+			return false;
+		}
+		if (sourceBlocks.length == length)
+		{
+			// the blocks already covered the whole content
+			statistics.incrementConfirmedEqual();
+			return true;
+		}
+		final String sourceChecksum = DuplicateFileExtensions.getContentChecksum(sourceFile,
+			strategy);
+		final String compareChecksum = DuplicateFileExtensions.getContentChecksum(fileToCompare,
+			strategy);
+		statistics.addBytesRead(2 * length);
+		if (sourceChecksum == null || !sourceChecksum.equals(compareChecksum))
+		{
+			statistics.incrementRejectedByFullCheck();
+			return false;
+		}
+		if (verifyBytes)
+		{
+			statistics.addBytesRead(2 * length);
+			if (findFirstMismatch(sourceFile, fileToCompare) != -1L)
+			{
+				statistics.incrementRejectedByFullCheck();
+				return false;
+			}
+		}
+		statistics.incrementConfirmedEqual();
+		return true;
+	}
+
+	/**
+	 * Finds the offset of the first byte that differs in the content of the given files
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @return the offset of the first differing byte or -1 if the content is equal
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static long findFirstMismatch(final File sourceFile, final File fileToCompare)
+		throws IOException
+	{
+		return findFirstMismatch(sourceFile, fileToCompare, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Finds the offset of the first byte that differs in the content of the given files. The files
+	 * are read window by window into two direct buffers, so the memory usage is bounded by twice
+	 * the given window size regardless of the file length. If the content of one file is a prefix
+	 * of the content of the other file the length of the shorter file is returned
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param windowSize
+	 *            the size in bytes of the window that is compared at once
+	 * @return the offset of the first differing byte or -1 if the content is equal
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static long findFirstMismatch(final File sourceFile, final File fileToCompare,
+		final int windowSize) throws IOException
+	{
+		if (windowSize < 1)
+		{
+			throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+		}
+		try (FileChannel source = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ);
+			FileChannel compare = FileChannel.open(fileToCompare.toPath(),
+				StandardOpenOption.READ))
+		{
+			final long sourceLength = source.size();
+			final long compareLength = compare.size();
+			final long length = Math.min(sourceLength, compareLength);
+			final int bufferSize = (int)Math.min(windowSize, length);
+			final ByteBuffer sourceBuffer = ByteBuffer.allocateDirect(bufferSize);
+			final ByteBuffer compareBuffer = ByteBuffer.allocateDirect(bufferSize);
+			long position = 0;
+			while (position < length)
+			{
+				final int window = (int)Math.min(bufferSize, length - position);
+				sourceBuffer.clear().limit(window);
+				compareBuffer.clear().limit(window);
+				readFully(source, sourceBuffer, position);
+				readFully(compare, compareBuffer, position);
+				sourceBuffer.flip();
+				compareBuffer.flip();
+				final int mismatch = sourceBuffer.mismatch(compareBuffer);
+				if (mismatch != -1)
+				{
+					return position + mismatch;
+				}
+				position += window;
+			}
+			return sourceLength == compareLength ? -1L : length;
+		}
+	}
+
+	/**
+	 * Computes a checksum from the head and the tail block of the given file. Files with different
+	 * checksums have a different content, files with the same checksum have to be checked with
+	 * their whole content
+	 *
+	 * @param file
+	 *            the file
+	 * @param blockSize
+	 *            the size in bytes of the head and the tail block
+	 * @return the checksum of the head and the tail block
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static long getPartialChecksum(final File file, final int blockSize) throws IOException
+	{
+		final CRC32C checksum = new CRC32C();
+		checksum.update(readHeadAndTail(file, blockSize));
+		return checksum.getValue();
+	}
+
+	/**
+	 * Reads the head and the tail block of the given file. If the file is not greater than two
+	 * blocks the whole content is returned
+	 *
+	 * @param file
+	 *            the file
+	 * @param blockSize
+	 *            the size in bytes of the head and the tail block
+	 * @return the head block followed by the tail block
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static byte[] readHeadAndTail(final File file, final int blockSize) throws IOException
+	{
+		if (blockSize < 1)
+		{
+			throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			final long length = channel.size();
+			if (length <= 2L * blockSize)
+			{
+				final ByteBuffer buffer = ByteBuffer.allocate((int)length);
+				readFully(channel, buffer, 0);
+				return buffer.array();
+			}
+			final ByteBuffer buffer = ByteBuffer.allocate(2 * blockSize);
+			buffer.limit(blockSize);
+			readFully(channel, buffer, 0);
+			buffer.limit(2 * blockSize);
+			readFully(channel, buffer, length - blockSize);
+			return buffer.array();
+		}
+	}
+
+	/**
+	 * Groups the given files by the checksum of their head and tail block. Files that can not be
+	 * read are not contained in the result
+	 *
+	 * @param files
+	 *            the files to group
+	 * @param blockSize
+	 *            the size in bytes of the head and the tail block
+	 * @return the map with the partial checksum as key and the files with this checksum as value
+	 */
+	public static Map<Long, List<File>> groupByPartialChecksum(final Collection<File> files,
+		final int blockSize)
+	{
+		final Map<Long, List<File>> groups = new LinkedHashMap<>();
+		for (final File file : files)
+		{
+			try
+			{
+				groups.computeIfAbsent(getPartialChecksum(file, blockSize),
+					key -> new ArrayList<>()).add(file);
+			}
+			catch (final IOException e)
+			{
+				// a file that can not be read can not be equal to any other file
+			}
+		}
+		return groups;
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer buffer,
+		final long position) throws IOException
+	{
+		long currentPosition = position;
+		while (buffer.hasRemaining())
+		{
+			final int read = channel.read(buffer, currentPosition);
+			if (read < 0)
+			{
+				throw new IOException("Unexpected end of file at position " + currentPosition);
+			}
+			currentPosition += read;
+		}
+	}
+
+}
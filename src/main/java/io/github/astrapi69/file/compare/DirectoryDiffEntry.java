@@ -0,0 +1,187 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+
+/**
+ * The class {@link DirectoryDiffEntry} holds the classification of one file in the diff of two
+ * directories. The relative path is the path of the file relative to the root of its directory
+ * with the separator '/'
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class DirectoryDiffEntry
+{
+
+	/** The file in the directory to compare or null if the file was removed. */
+	private final File compareFile;
+
+	/** The relative path of the file. */
+	private final String relativePath;
+
+	/** The file in the source directory or null if the file was added. */
+	private final File sourceFile;
+
+	/** The type of the difference. */
+	private final DirectoryDiffType type;
+
+	/**
+	 * Instantiates a new {@link DirectoryDiffEntry}
+	 *
+	 * @param relativePath
+	 *            the relative path of the file
+	 * @param type
+	 *            the type of the difference
+	 * @param sourceFile
+	 *            the file in the source directory or null if the file was added
+	 * @param compareFile
+	 *            the file in the directory to compare or null if the file was removed
+	 */
+	public DirectoryDiffEntry(final String relativePath, final DirectoryDiffType type,
+		final File sourceFile, final File compareFile)
+	{
+		this.relativePath = relativePath;
+		this.type = type;
+		this.sourceFile = sourceFile;
+		this.compareFile = compareFile;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof DirectoryDiffEntry;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof DirectoryDiffEntry))
+			return false;
+		final DirectoryDiffEntry other = (DirectoryDiffEntry)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$relativePath = this.relativePath;
+		final Object other$relativePath = other.relativePath;
+		if (this$relativePath == null
+			? other$relativePath != null
+			: !this$relativePath.equals(other$relativePath))
+			return false;
+		if (this.type != other.type)
+			return false;
+		final Object this$sourceFile = this.sourceFile;
+		final Object other$sourceFile = other.sourceFile;
+		if (this$sourceFile == null
+			? other$sourceFile != null
+			: !this$sourceFile.equals(other$sourceFile))
+			return false;
+		final Object this$compareFile = this.compareFile;
+		final Object other$compareFile = other.compareFile;
+		return this$compareFile == null
+			? other$compareFile == null
+			: this$compareFile.equals(other$compareFile);
+	}
+
+	/**
+	 * Gets the file in the directory to compare
+	 *
+	 * @return the file in the directory to compare or null if the file was removed
+	 */
+	public File getCompareFile()
+	{
+		return this.compareFile;
+	}
+
+	/**
+	 * Gets the relative path of the file
+	 *
+	 * @return the relative path
+	 */
+	public String getRelativePath()
+	{
+		return this.relativePath;
+	}
+
+	/**
+	 * Gets the file in the source directory
+	 *
+	 * @return the file in the source directory or null if the file was added
+	 */
+	public File getSourceFile()
+	{
+		return this.sourceFile;
+	}
+
+	/**
+	 * Gets the type of the difference
+	 *
+	 * @return the type of the difference
+	 */
+	public DirectoryDiffType getType()
+	{
+		return this.type;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $relativePath = this.relativePath;
+		result = result * PRIME + ($relativePath == null ? 43 : $relativePath.hashCode());
+		final Object $type = this.type;
+		result = result * PRIME + ($type == null ? 43 : $type.hashCode());
+		final Object $sourceFile = this.sourceFile;
+		result = result * PRIME + ($sourceFile == null ? 43 : $sourceFile.hashCode());
+		final Object $compareFile = this.compareFile;
+		result = result * PRIME + ($compareFile == null ? 43 : $compareFile.hashCode());
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "DirectoryDiffEntry(relativePath=" + this.relativePath + ", type=" + this.type
+			+ ", sourceFile=" + this.sourceFile + ", compareFile=" + this.compareFile + ")";
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link DirectoryDiffExtensions} computes the difference of two directory trees. The
+ * files of both trees are paired by their path relative to the root of their tree. The source tree
+ * is indexed in one walk, the tree to compare is walked once and every file is classified and
+ * passed to the consumer as soon as it is visited, so the time is linear in the number of files.
+ * The files that are left in the index are passed as {@link DirectoryDiffType#REMOVED} at the end.
+ * Two files with the same relative path are compared by their length and their last modified time
+ * first and their content is only read if the metadata can not decide. Only regular files are
+ * taken into account, symbolic links are not followed
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DirectoryDiffExtensions
+{
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private DirectoryDiffExtensions()
+	{
+	}
+
+	/**
+	 * Computes the difference of the given directories. Files with the same length and the same
+	 * last modified time are classified as {@link DirectoryDiffType#UNCHANGED} without reading
+	 * their content
+	 *
+	 * @param source
+	 *            the source directory
+	 * @param compare
+	 *            the directory to compare
+	 * @return the list with all entries of the difference
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static List<DirectoryDiffEntry> diff(final File source, final File compare)
+		throws IOException
+	{
+		final List<DirectoryDiffEntry> entries = new ArrayList<>();
+		diff(source, compare, false, entries::add);
+		return entries;
+	}
+
+	/**
+	 * Computes the difference of the given directories and passes every entry to the given
+	 * consumer as soon as it is classified
+	 *
+	 * @param source
+	 *            the source directory
+	 * @param compare
+	 *            the directory to compare
+	 * @param verifyContent
+	 *            if true the content of files with the same length is always compared, otherwise
+	 *            files with the same length and the same last modified time are classified as
+	 *            {@link DirectoryDiffType#UNCHANGED} without reading their content
+	 * @param consumer
+	 *            the consumer of the entries
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void diff(final File source, final File compare, final boolean verifyContent,
+		final Consumer<DirectoryDiffEntry> consumer) throws IOException
+	{
+		Objects.requireNonNull(consumer);
+		final Path sourceRoot = source.toPath();
+		final Path compareRoot = compare.toPath();
+		final Map<String, IndexedFile> index = new LinkedHashMap<>();
+		walkFiles(sourceRoot, (relativePath, file) -> index.put(relativePath, file));
+		walkFiles(compareRoot, (relativePath, compareFile) -> {
+			final IndexedFile sourceFile = index.remove(relativePath);
+			if (sourceFile == null)
+			{
+				consumer.accept(new DirectoryDiffEntry(relativePath, DirectoryDiffType.ADDED, null,
+					compareFile.path.toFile()));
+				return;
+			}
+			consumer.accept(new DirectoryDiffEntry(relativePath,
+				classify(sourceFile, compareFile, verifyContent), sourceFile.path.toFile(),
+				compareFile.path.toFile()));
+		});
+		for (final Map.Entry<String, IndexedFile> removed : index.entrySet())
+		{
+			consumer.accept(new DirectoryDiffEntry(removed.getKey(), DirectoryDiffType.REMOVED,
+				removed.getValue().path.toFile(), null));
+		}
+	}
+
+	private static DirectoryDiffType classify(final IndexedFile sourceFile,
+		final IndexedFile compareFile, final boolean verifyContent)
+	{
+		if (sourceFile.attributes.size() != compareFile.attributes.size())
+		{
+			return DirectoryDiffType.MODIFIED;
+		}
+		final Object fileKey = sourceFile.attributes.fileKey();
+		if (fileKey != null && fileKey.equals(compareFile.attributes.fileKey()))
+		{
+			// both paths are hard links of the same file
+			return DirectoryDiffType.UNCHANGED;
+		}
+		if (!verifyContent && sourceFile.attributes.lastModifiedTime()
+			.equals(compareFile.attributes.lastModifiedTime()))
+		{
+			return DirectoryDiffType.UNCHANGED;
+		}
+		try
+		{
+			return ContentEqualityExtensions.isEqualContent(sourceFile.path.toFile(),
+				compareFile.path.toFile())
+					? DirectoryDiffType.UNCHANGED
+					: DirectoryDiffType.MODIFIED;
+		}
+		catch (final IOException e)
+		{
+			// a file that can not be read can not be confirmed as unchanged
+			return DirectoryDiffType.MODIFIED;
+		}
+	}
+
+	private static String toRelativePath(final Path root, final Path file)
+	{
+		return root.relativize(file).toString().replace(File.separatorChar, '/');
+	}
+
+	private static void walkFiles(final Path root, final FileVisitor visitor) throws IOException
+	{
+		Files.walkFileTree(root, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs)
+			{
+				if (attrs.isRegularFile())
+				{
+					visitor.visit(toRelativePath(root, file), new IndexedFile(file, attrs));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(final Path file, final IOException exc)
+				throws IOException
+			{
+				if (file.equals(root))
+				{
+					throw exc;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	@FunctionalInterface
+	private interface FileVisitor
+	{
+		void visit(String relativePath, IndexedFile file);
+	}
+
+	private static final class IndexedFile
+	{
+		private final BasicFileAttributes attributes;
+		private final Path path;
+
+		private IndexedFile(final Path path, final BasicFileAttributes attributes)
+		{
+			this.path = path;
+			this.attributes = attributes;
+		}
+	}
+
+}
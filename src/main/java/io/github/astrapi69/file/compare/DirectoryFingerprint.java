@@ -0,0 +1,251 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class {@link DirectoryFingerprint} is a node of a Merkle tree over a directory. The checksum
+ * of a file node is the checksum of its content and the checksum of a directory node is computed
+ * from the names, the types and the checksums of its children. So two directory trees have the
+ * same content if and only if their root nodes have the same checksum, and the differences can be
+ * found by descending only into the children with different checksums. The children are sorted by
+ * their name
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class DirectoryFingerprint implements Serializable
+{
+
+	/** The serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The checksum of this node. */
+	private final String checksum;
+
+	/** The children sorted by their name, empty if this node is a file. */
+	private final List<DirectoryFingerprint> children;
+
+	/** The flag that signals if this node is a directory. */
+	private final boolean directory;
+
+	/** The length of the file or the sum of the lengths of all files in the directory. */
+	private final long length;
+
+	/** The name of the file or directory. */
+	private final String name;
+
+	/**
+	 * Instantiates a new {@link DirectoryFingerprint}
+	 *
+	 * @param name
+	 *            the name of the file or directory
+	 * @param directory
+	 *            the flag that signals if this node is a directory
+	 * @param length
+	 *            the length of the file or the sum of the lengths of all files in the directory
+	 * @param checksum
+	 *            the checksum of this node
+	 * @param children
+	 *            the children sorted by their name
+	 */
+	public DirectoryFingerprint(final String name, final boolean directory, final long length,
+		final String checksum, final List<DirectoryFingerprint> children)
+	{
+		this.name = name;
+		this.directory = directory;
+		this.length = length;
+		this.checksum = checksum;
+		this.children = Collections.unmodifiableList(new ArrayList<>(children));
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof DirectoryFingerprint;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof DirectoryFingerprint))
+			return false;
+		final DirectoryFingerprint other = (DirectoryFingerprint)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$name = this.name;
+		final Object other$name = other.name;
+		if (this$name == null ? other$name != null : !this$name.equals(other$name))
+			return false;
+		if (this.directory != other.directory)
+			return false;
+		if (this.length != other.length)
+			return false;
+		final Object this$checksum = this.checksum;
+		final Object other$checksum = other.checksum;
+		if (this$checksum == null ? other$checksum != null : !this$checksum.equals(other$checksum))
+			return false;
+		return this.children.equals(other.children);
+	}
+
+	/**
+	 * Gets the checksum of this node
+	 *
+	 * @return the checksum
+	 */
+	public String getChecksum()
+	{
+		return this.checksum;
+	}
+
+	/**
+	 * Gets the child with the given name
+	 *
+	 * @param name
+	 *            the name of the child
+	 * @return the child or null if this node has no child with the given name
+	 */
+	public DirectoryFingerprint getChild(final String name)
+	{
+		int low = 0;
+		int high = children.size() - 1;
+		while (low <= high)
+		{
+			final int middle = (low + high) >>> 1;
+			final int comparison = children.get(middle).name.compareTo(name);
+			if (comparison < 0)
+			{
+				low = middle + 1;
+			}
+			else if (0 < comparison)
+			{
+				high = middle - 1;
+			}
+			else
+			{
+				return children.get(middle);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the children sorted by their name
+	 *
+	 * @return an unmodifiable list with the children, empty if this node is a file
+	 */
+	public List<DirectoryFingerprint> getChildren()
+	{
+		return this.children;
+	}
+
+	/**
+	 * Gets the length of the file or the sum of the lengths of all files in the directory
+	 *
+	 * @return the length in bytes
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * Gets the name of the file or directory
+	 *
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * Checks if the content of this node is the same as the content of the given node. Only the
+	 * checksums are compared, so the time does not depend on the size of the trees
+	 *
+	 * @param other
+	 *            the other node
+	 * @return true if the content is the same, otherwise false
+	 */
+	public boolean hasSameContent(final DirectoryFingerprint other)
+	{
+		return other != null && this.directory == other.directory
+			&& this.checksum.equals(other.checksum);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $name = this.name;
+		result = result * PRIME + ($name == null ? 43 : $name.hashCode());
+		result = result * PRIME + (this.directory ? 79 : 97);
+		result = result * PRIME + (int)(this.length >>> 32 ^ this.length);
+		final Object $checksum = this.checksum;
+		result = result * PRIME + ($checksum == null ? 43 : $checksum.hashCode());
+		result = result * PRIME + this.children.hashCode();
+		return result;
+	}
+
+	/**
+	 * Checks if this node is a directory
+	 *
+	 * @return true if this node is a directory, otherwise false
+	 */
+	public boolean isDirectory()
+	{
+		return this.directory;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "DirectoryFingerprint(name=" + this.name + ", directory=" + this.directory
+			+ ", length=" + this.length + ", checksum=" + this.checksum + ", children="
+			+ this.children + ")";
+	}
+}
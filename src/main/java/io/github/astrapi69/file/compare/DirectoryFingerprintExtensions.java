@@ -0,0 +1,356 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.astrapi69.crypt.api.algorithm.HashAlgorithm;
+import io.github.astrapi69.file.checksum.ChecksumCache;
+
+/**
+ * The class {@link DirectoryFingerprintExtensions} builds {@link DirectoryFingerprint} trees over
+ * directories, finds the differences of two trees and saves and loads them. The checksums of the
+ * files are computed with the algorithm SHA-256 and taken from the
+ * {@link ChecksumCache#getDefault() default checksum cache}, so unchanged files are not read again
+ * when a fingerprint is rebuilt. Only regular files and directories are taken into account,
+ * symbolic links below the root directory are not followed
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DirectoryFingerprintExtensions
+{
+
+	/** The magic number at the beginning of a fingerprint file. */
+	private static final int FILE_MAGIC = 0x44465052;
+
+	/** The version of the format of a fingerprint file. */
+	private static final int FILE_VERSION = 1;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private DirectoryFingerprintExtensions()
+	{
+	}
+
+	/**
+	 * Builds the fingerprint tree of the given directory. If the given directory is a symbolic
+	 * link, the directory it points to is taken, but the root node keeps the name of the link
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return the root node of the fingerprint tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static DirectoryFingerprint newFingerprint(final File directory) throws IOException
+	{
+		final Path root = directory.toPath();
+		if (!Files.isDirectory(root))
+		{
+			throw new IOException("The file " + directory + " is not a directory");
+		}
+		final Path realRoot = root.toRealPath();
+		final Deque<List<DirectoryFingerprint>> stack = new ArrayDeque<>();
+		final List<DirectoryFingerprint> result = new ArrayList<>(1);
+		Files.walkFileTree(realRoot, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult preVisitDirectory(final Path dir,
+				final BasicFileAttributes attrs)
+			{
+				stack.push(new ArrayList<>());
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs)
+				throws IOException
+			{
+				if (attrs.isRegularFile())
+				{
+					stack.peek().add(new DirectoryFingerprint(getName(file), false, attrs.size(),
+						getFileChecksum(file.toFile()), new ArrayList<>()));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(final Path dir, final IOException exc)
+				throws IOException
+			{
+				if (exc != null)
+				{
+					throw exc;
+				}
+				final DirectoryFingerprint node = newDirectoryFingerprint(
+					getName(dir.equals(realRoot) ? root : dir), stack.pop());
+				(stack.isEmpty() ? result : stack.peek()).add(node);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return result.get(0);
+	}
+
+	/**
+	 * Finds the differences of the given fingerprint trees. Only the children of directories with
+	 * different checksums are visited. A file or directory that exists only in the source tree is
+	 * reported as {@link DirectoryDiffType#REMOVED}, one that exists only in the tree to compare as
+	 * {@link DirectoryDiffType#ADDED} and a file with a different checksum or a file that became a
+	 * directory or vice versa as {@link DirectoryDiffType#MODIFIED}. The names of the root nodes
+	 * are not compared
+	 *
+	 * @param source
+	 *            the root node of the source tree
+	 * @param compare
+	 *            the root node of the tree to compare
+	 * @return the map with the relative path as key and the type of the difference as value, empty
+	 *         if the trees have the same content
+	 */
+	public static Map<String, DirectoryDiffType> findDifferences(final DirectoryFingerprint source,
+		final DirectoryFingerprint compare)
+	{
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(compare);
+		final Map<String, DirectoryDiffType> differences = new LinkedHashMap<>();
+		if (source.isDirectory() && compare.isDirectory())
+		{
+			addDifferences(differences, "", source, compare);
+		}
+		else if (!source.hasSameContent(compare))
+		{
+			differences.put("", DirectoryDiffType.MODIFIED);
+		}
+		return differences;
+	}
+
+	/**
+	 * Saves the given fingerprint tree to the given file
+	 *
+	 * @param fingerprint
+	 *            the root node of the fingerprint tree
+	 * @param file
+	 *            the file to write
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void write(final DirectoryFingerprint fingerprint, final File file)
+		throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(Files.newOutputStream(file.toPath()))))
+		{
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			write(fingerprint, out);
+		}
+	}
+
+	/**
+	 * Loads a fingerprint tree from the given file
+	 *
+	 * @param file
+	 *            the file to read
+	 * @return the root node of the fingerprint tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the file is not a fingerprint file
+	 */
+	public static DirectoryFingerprint read(final File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(
+			new BufferedInputStream(Files.newInputStream(file.toPath()))))
+		{
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION)
+			{
+				throw new IOException("The file " + file + " is not a fingerprint file");
+			}
+			return read(in);
+		}
+	}
+
+	private static void addDifferences(final Map<String, DirectoryDiffType> differences,
+		final String path, final DirectoryFingerprint source, final DirectoryFingerprint compare)
+	{
+		if (source.hasSameContent(compare))
+		{
+			return;
+		}
+		// both children lists are sorted by name, so they can be merged
+		final List<DirectoryFingerprint> sourceChildren = source.getChildren();
+		final List<DirectoryFingerprint> compareChildren = compare.getChildren();
+		int i = 0;
+		int j = 0;
+		while (i < sourceChildren.size() || j < compareChildren.size())
+		{
+			final DirectoryFingerprint sourceChild = i < sourceChildren.size()
+				? sourceChildren.get(i)
+				: null;
+			final DirectoryFingerprint compareChild = j < compareChildren.size()
+				? compareChildren.get(j)
+				: null;
+			final int comparison;
+			if (sourceChild == null)
+			{
+				comparison = 1;
+			}
+			else if (compareChild == null)
+			{
+				comparison = -1;
+			}
+			else
+			{
+				comparison = sourceChild.getName().compareTo(compareChild.getName());
+			}
+			if (comparison < 0)
+			{
+				differences.put(path + sourceChild.getName(), DirectoryDiffType.REMOVED);
+				i++;
+			}
+			else if (0 < comparison)
+			{
+				differences.put(path + compareChild.getName(), DirectoryDiffType.ADDED);
+				j++;
+			}
+			else
+			{
+				if (sourceChild.isDirectory() && compareChild.isDirectory())
+				{
+					addDifferences(differences, path + sourceChild.getName() + "/", sourceChild,
+						compareChild);
+				}
+				else if (!sourceChild.hasSameContent(compareChild))
+				{
+					differences.put(path + sourceChild.getName(), DirectoryDiffType.MODIFIED);
+				}
+				i++;
+				j++;
+			}
+		}
+	}
+
+	private static String getFileChecksum(final File file) throws IOException
+	{
+		try
+		{
+			return ChecksumCache.getDefault().getChecksum(file, HashAlgorithm.SHA_256);
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// every implementation of the java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String getName(final Path path)
+	{
+		final Path fileName = path.getFileName();
+		return fileName != null ? fileName.toString() : path.toString();
+	}
+
+	private static DirectoryFingerprint newDirectoryFingerprint(final String name,
+		final List<DirectoryFingerprint> children)
+	{
+		children.sort(Comparator.comparing(DirectoryFingerprint::getName));
+		final MessageDigest digest = newMessageDigest();
+		long length = 0;
+		for (final DirectoryFingerprint child : children)
+		{
+			digest.update((byte)(child.isDirectory() ? 'd' : 'f'));
+			digest.update(child.getName().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(child.getChecksum().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)'\n');
+			length += child.getLength();
+		}
+		return new DirectoryFingerprint(name, true, length,
+			HexFormat.of().formatHex(digest.digest()), children);
+	}
+
+	private static MessageDigest newMessageDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance(HashAlgorithm.SHA_256.getAlgorithm());
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// every implementation of the java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static DirectoryFingerprint read(final DataInputStream in) throws IOException
+	{
+		final String name = in.readUTF();
+		final boolean directory = in.readBoolean();
+		final long length = in.readLong();
+		final String checksum = in.readUTF();
+		final int count = in.readInt();
+		final List<DirectoryFingerprint> children = new ArrayList<>(Math.min(count, 1024));
+		for (int i = 0; i < count; i++)
+		{
+			children.add(read(in));
+		}
+		return new DirectoryFingerprint(name, directory, length, checksum, children);
+	}
+
+	private static void write(final DirectoryFingerprint fingerprint, final DataOutputStream out)
+		throws IOException
+	{
+		out.writeUTF(fingerprint.getName());
+		out.writeBoolean(fingerprint.isDirectory());
+		out.writeLong(fingerprint.getLength());
+		out.writeUTF(fingerprint.getChecksum());
+		out.writeInt(fingerprint.getChildren().size());
+		for (final DirectoryFingerprint child : fingerprint.getChildren())
+		{
+			write(child, out);
+		}
+	}
+
+}
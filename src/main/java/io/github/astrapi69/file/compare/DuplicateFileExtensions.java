@@ -0,0 +1,483 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.checksum.ChecksumCache;
+import io.github.astrapi69.file.checksum.ContentHashAlgorithm;
+import io.github.astrapi69.file.checksum.ContentHashStrategy;
+import io.github.astrapi69.file.search.FileSearchExtensions;
+
+/**
+ * The class {@link DuplicateFileExtensions} finds files with the same content. The files are
+ * grouped by their length first, then by the checksum of their head and tail block and only the
+ * files that survive these stages are hashed completely, so every file is hashed at most once.
+ * Paths that are hard links of the same file in the file system are collapsed before, so the file
+ * is read only once and the other paths are reported as links and not as copies
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DuplicateFileExtensions
+{
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private DuplicateFileExtensions()
+	{
+	}
+
+	/**
+	 * Finds all groups of files with the same content in the given directory recursively
+	 *
+	 * @param dirToSearch
+	 *            the directory to search
+	 * @return the list with the groups of files that have the same content
+	 */
+	public static List<DuplicateFileGroup> findDuplicates(final File dirToSearch)
+	{
+		return findDuplicates(FileSearchExtensions.findFilesRecursive(dirToSearch, "*"));
+	}
+
+	/**
+	 * Finds all groups of files with the same content from the given files
+	 *
+	 * @param files
+	 *            the files to check
+	 * @return the list with the groups of files that have the same content
+	 */
+	public static List<DuplicateFileGroup> findDuplicates(final Collection<File> files)
+	{
+		return findDuplicates(files, new ContentComparisonStatistics());
+	}
+
+	/**
+	 * Finds all groups of files with the same content from the given files and counts the result
+	 * of every stage in the given statistics. The files are grouped by their length, the remaining
+	 * candidates by the checksum of their head and tail block and only the files that survive
+	 * these stages are hashed completely
+	 *
+	 * @param files
+	 *            the files to check
+	 * @param statistics
+	 *            the statistics to update
+	 * @return the list with the groups of files that have the same content
+	 */
+	public static List<DuplicateFileGroup> findDuplicates(final Collection<File> files,
+		final ContentComparisonStatistics statistics)
+	{
+		return findDuplicates(files, statistics, HashingExecutor.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all groups of files with the same content from the given files and counts the result
+	 * of every stage in the given statistics. The files are grouped by their length, the remaining
+	 * candidates by the checksum of their head and tail block and only the files that survive
+	 * these stages are hashed completely. The checksums of every stage are computed with the given
+	 * {@link HashingExecutor}, the result is the same for every {@link HashingExecutor}
+	 *
+	 * @param files
+	 *            the files to check
+	 * @param statistics
+	 *            the statistics to update
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @return the list with the groups of files that have the same content
+	 */
+	public static List<DuplicateFileGroup> findDuplicates(final Collection<File> files,
+		final ContentComparisonStatistics statistics, final HashingExecutor hashingExecutor)
+	{
+		return findDuplicates(files, statistics, hashingExecutor, ContentHashAlgorithm.SHA_512,
+			false);
+	}
+
+	/**
+	 * Finds all groups of files with the same content from the given files and counts the result
+	 * of every stage in the given statistics. The files are grouped by their length, the remaining
+	 * candidates by the checksum of their head and tail block and only the files that survive
+	 * these stages are hashed completely with the given strategy. If the flag verifyBytes is true
+	 * the files with the same checksum are compared byte by byte additionally, so a collision of a
+	 * non cryptographic hash can not group files with different content
+	 *
+	 * @param files
+	 *            the files to check
+	 * @param statistics
+	 *            the statistics to update
+	 * @param hashingExecutor
+	 *            the hashing executor that computes the checksums
+	 * @param strategy
+	 *            the strategy that computes the checksum of the whole content
+	 * @param verifyBytes
+	 *            if true the files with the same checksum are compared byte by byte
+	 * @return the list with the groups of files that have the same content
+	 */
+	public static List<DuplicateFileGroup> findDuplicates(final Collection<File> files,
+		final ContentComparisonStatistics statistics, final HashingExecutor hashingExecutor,
+		final ContentHashStrategy strategy, final boolean verifyBytes)
+	{
+		Objects.requireNonNull(files);
+		Objects.requireNonNull(statistics);
+		Objects.requireNonNull(hashingExecutor);
+		Objects.requireNonNull(strategy);
+		final int blockSize = ContentEqualityExtensions.DEFAULT_BLOCK_SIZE;
+		final Map<File, Long> lengths = new HashMap<>();
+		final Map<File, List<File>> links = new HashMap<>();
+		final List<File> distinctFiles = collapseHardLinks(files, lengths, links, statistics);
+		final Map<Long, List<File>> sizeGroups = new LinkedHashMap<>();
+		final List<File> partialCandidates = new ArrayList<>();
+		for (final Map.Entry<Long, List<File>> sizeGroup : groupBy(distinctFiles, lengths::get)
+			.entrySet())
+		{
+			final long length = sizeGroup.getKey();
+			final List<File> candidates = sizeGroup.getValue();
+			candidates.forEach(file -> statistics.incrementCandidates());
+			// a file with a unique length can not have a duplicate, so it is never read
+			if (candidates.size() < 2)
+			{
+				statistics.incrementRejectedBySize();
+				statistics.addBytesSkipped(length);
+				continue;
+			}
+			sizeGroups.put(length, candidates);
+			if (2L * blockSize < length)
+			{
+				partialCandidates.addAll(candidates);
+			}
+		}
+		final Map<File, Long> partialChecksums = hashingExecutor.computeAll(partialCandidates,
+			file -> ContentEqualityExtensions.getPartialChecksum(file, blockSize));
+		final Map<Long, List<List<File>>> partialGroups = new LinkedHashMap<>();
+		final List<File> fullCandidates = new ArrayList<>();
+		for (final Map.Entry<Long, List<File>> sizeGroup : sizeGroups.entrySet())
+		{
+			final List<List<File>> groups = groupByPartialChecksum(sizeGroup.getKey(),
+				sizeGroup.getValue(), blockSize, partialChecksums, statistics);
+			partialGroups.put(sizeGroup.getKey(), groups);
+			groups.forEach(fullCandidates::addAll);
+		}
+		final Map<File, String> checksums = hashingExecutor.computeAll(fullCandidates,
+			file -> getContentChecksum(file, strategy));
+		final List<DuplicateFileGroup> duplicates = new ArrayList<>();
+		for (final Map.Entry<Long, List<List<File>>> partialGroup : partialGroups.entrySet())
+		{
+			for (final List<File> candidates : partialGroup.getValue())
+			{
+				addDuplicates(duplicates, partialGroup.getKey(), candidates, checksums, links,
+					verifyBytes, statistics);
+			}
+		}
+		return duplicates;
+	}
+
+	/**
+	 * Finds all groups of paths that are hard links of the same file in the file system. The
+	 * identity of a file is the {@link java.nio.file.attribute.BasicFileAttributes#fileKey() file
+	 * key}, so no hard links are found on a file system that does not provide a file key
+	 *
+	 * @param files
+	 *            the files to check
+	 * @return the list with the groups of paths of the same file, every group has at least two
+	 *         paths
+	 */
+	public static List<List<File>> findHardLinks(final Collection<File> files)
+	{
+		Objects.requireNonNull(files);
+		final Map<File, List<File>> links = new LinkedHashMap<>();
+		collapseHardLinks(files, new HashMap<>(), links, new ContentComparisonStatistics());
+		final List<List<File>> hardLinks = new ArrayList<>();
+		for (final Map.Entry<File, List<File>> link : links.entrySet())
+		{
+			final List<File> paths = new ArrayList<>();
+			paths.add(link.getKey());
+			paths.addAll(link.getValue());
+			hardLinks.add(paths);
+		}
+		return hardLinks;
+	}
+
+	/**
+	 * Removes the paths that are hard links of a file that is already in the given files. The
+	 * length of every remaining file is stored in the given map of lengths, the removed paths are
+	 * stored in the given map of links by the remaining path of the same file. A path that is
+	 * contained more than once is only kept once
+	 */
+	private static List<File> collapseHardLinks(final Collection<File> files,
+		final Map<File, Long> lengths, final Map<File, List<File>> links,
+		final ContentComparisonStatistics statistics)
+	{
+		final Map<Object, File> representatives = new HashMap<>();
+		final List<File> distinctFiles = new ArrayList<>(files.size());
+		for (final File file : files)
+		{
+			// one call to the file system for the length and the identity of the file
+			final FileAttributeSnapshot snapshot = FileAttributeSnapshot.of(file);
+			final Object fileKey = snapshot.getFileKey();
+			if (fileKey != null)
+			{
+				final File representative = representatives.putIfAbsent(fileKey, file);
+				if (representative != null)
+				{
+					if (!representative.equals(file))
+					{
+						links.computeIfAbsent(representative, key -> new ArrayList<>()).add(file);
+						statistics.incrementHardLinks();
+					}
+					continue;
+				}
+			}
+			lengths.put(file, snapshot.getLength());
+			distinctFiles.add(file);
+		}
+		return distinctFiles;
+	}
+
+	private static List<List<File>> groupByPartialChecksum(final long length,
+		final List<File> candidates, final int blockSize, final Map<File, Long> partialChecksums,
+		final ContentComparisonStatistics statistics)
+	{
+		if (length <= 2L * blockSize)
+		{
+			// the head and tail block would be the whole content, so hash it only once
+			return Collections.singletonList(candidates);
+		}
+		final List<List<File>> partialGroups = new ArrayList<>();
+		int grouped = 0;
+		for (final List<File> partialGroup : groupBy(
+			retain(candidates, partialChecksums.keySet()), partialChecksums::get).values())
+		{
+			grouped += partialGroup.size();
+			if (partialGroup.size() < 2)
+			{
+				statistics.incrementRejectedByPartialCheck();
+				statistics.addBytesSkipped(length - 2L * blockSize);
+			}
+			else
+			{
+				partialGroups.add(partialGroup);
+			}
+		}
+		statistics.addBytesRead(2L * blockSize * grouped);
+		// the files that could not be read
+		for (int i = grouped; i < candidates.size(); i++)
+		{
+			statistics.incrementRejectedByPartialCheck();
+		}
+		return partialGroups;
+	}
+
+	private static void addDuplicates(final List<DuplicateFileGroup> duplicates,
+		final long length, final List<File> candidates, final Map<File, String> checksums,
+		final Map<File, List<File>> links, final boolean verifyBytes,
+		final ContentComparisonStatistics statistics)
+	{
+		int hashed = 0;
+		for (final Map.Entry<String, List<File>> checksumGroup : groupBy(
+			retain(candidates, checksums.keySet()), checksums::get).entrySet())
+		{
+			hashed += checksumGroup.getValue().size();
+			statistics.addBytesRead(length * checksumGroup.getValue().size());
+			for (final List<File> sameContent : verifyBytes
+				? groupByBytes(checksumGroup.getValue(), length, statistics)
+				: Collections.singletonList(checksumGroup.getValue()))
+			{
+				if (sameContent.size() < 2)
+				{
+					sameContent.forEach(file -> statistics.incrementRejectedByFullCheck());
+					continue;
+				}
+				sameContent.forEach(file -> statistics.incrementConfirmedEqual());
+				final Map<File, List<File>> groupLinks = new LinkedHashMap<>();
+				for (final File file : sameContent)
+				{
+					final List<File> fileLinks = links.get(file);
+					if (fileLinks != null)
+					{
+						groupLinks.put(file, fileLinks);
+					}
+				}
+				duplicates.add(new DuplicateFileGroup(length, checksumGroup.getKey(), sameContent,
+					groupLinks));
+			}
+		}
+		// the files that could not be read
+		for (int i = hashed; i < candidates.size(); i++)
+		{
+			statistics.incrementRejectedByFullCheck();
+		}
+	}
+
+	private static List<List<File>> groupByBytes(final List<File> sameChecksum, final long length,
+		final ContentComparisonStatistics statistics)
+	{
+		final List<List<File>> groups = new ArrayList<>();
+		if (sameChecksum.size() < 2)
+		{
+			groups.add(sameChecksum);
+			return groups;
+		}
+		for (final File file : sameChecksum)
+		{
+			List<File> sameContent = null;
+			for (final List<File> group : groups)
+			{
+				statistics.addBytesRead(2 * length);
+				if (isEqualBytes(group.get(0), file))
+				{
+					sameContent = group;
+					break;
+				}
+			}
+			if (sameContent == null)
+			{
+				sameContent = new ArrayList<>();
+				groups.add(sameContent);
+			}
+			sameContent.add(file);
+		}
+		return groups;
+	}
+
+	private static boolean isEqualBytes(final File file, final File other)
+	{
+		try
+		{
+			return ContentEqualityExtensions.findFirstMismatch(file, other) == -1L;
+		}
+		catch (final IOException e)
+		{
+			return false;
+		}
+	}
+
+	private static List<File> retain(final List<File> files, final Set<File> toRetain)
+	{
+		final List<File> retained = new ArrayList<>(files.size());
+		for (final File file : files)
+		{
+			if (toRetain.contains(file))
+			{
+				retained.add(file);
+			}
+		}
+		return retained;
+	}
+
+	/**
+	 * Groups the given files with the given classifier. The order of the groups and the order of
+	 * the files in every group is the same as in the given collection
+	 *
+	 * @param <T>
+	 *            the generic type of the files, for instance {@link File} or a snapshot of a file
+	 * @param <K>
+	 *            the generic type of the group key
+	 * @param files
+	 *            the files to group
+	 * @param classifier
+	 *            the function that computes the group key of a file
+	 * @return the map with the group key as key and the files of the group as value
+	 */
+	public static <T, K> Map<K, List<T>> groupBy(final Collection<T> files,
+		final Function<? super T, K> classifier)
+	{
+		final Map<K, List<T>> groups = new LinkedHashMap<>();
+		for (final T file : files)
+		{
+			groups.computeIfAbsent(classifier.apply(file), key -> new ArrayList<>()).add(file);
+		}
+		return groups;
+	}
+
+	/**
+	 * Groups the given files by the checksum of their content. Every file is hashed exactly once.
+	 * Files that can not be read are not contained in the result
+	 *
+	 * @param files
+	 *            the files to group
+	 * @return the map with the checksum as key and the files with this checksum as value
+	 */
+	public static Map<String, List<File>> groupByChecksum(final Collection<File> files)
+	{
+		final Map<String, List<File>> groups = new LinkedHashMap<>();
+		for (final File file : files)
+		{
+			final String checksum = getContentChecksum(file);
+			if (checksum != null)
+			{
+				groups.computeIfAbsent(checksum, key -> new ArrayList<>()).add(file);
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Gets the checksum of the content from the given file with the algorithm SHA-512 from the
+	 * {@link ChecksumCache#getDefault() default checksum cache}
+	 *
+	 * @param file
+	 *            the file
+	 * @return the checksum or null if the file can not be read
+	 */
+	static String getContentChecksum(final File file)
+	{
+		return getContentChecksum(file, ContentHashAlgorithm.SHA_512);
+	}
+
+	/**
+	 * Gets the checksum of the content from the given file that is computed by the given strategy
+	 * from the {@link ChecksumCache#getDefault() default checksum cache}
+	 *
+	 * @param file
+	 *            the file
+	 * @param strategy
+	 *            the strategy that computes the checksum
+	 * @return the checksum or null if the file can not be read
+	 */
+	static String getContentChecksum(final File file, final ContentHashStrategy strategy)
+	{
+		try
+		{
+			return ChecksumCache.getDefault().getChecksum(file, strategy);
+		}
+		catch (final IOException e)
+		{
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link DuplicateFileGroup} holds a group of files that have the same length and the
+ * same content checksum
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class DuplicateFileGroup
+{
+
+	/** The checksum of the content that all files in this group share. */
+	private final String checksum;
+
+	/** The files with the same content. */
+	private final List<File> files;
+
+	/** The length in bytes of every file in this group. */
+	private final long length;
+
+	/** The hard links of the files in this group by the file that represents them. */
+	private final Map<File, List<File>> links;
+
+	/**
+	 * Instantiates a new {@link DuplicateFileGroup}
+	 *
+	 * @param length
+	 *            the length in bytes of every file in this group
+	 * @param checksum
+	 *            the checksum of the content that all files in this group share
+	 * @param files
+	 *            the files with the same content
+	 */
+	public DuplicateFileGroup(final long length, final String checksum, final List<File> files)
+	{
+		this(length, checksum, files, Collections.emptyMap());
+	}
+
+	/**
+	 * Instantiates a new {@link DuplicateFileGroup} with the hard links of the files. A hard link
+	 * is another path of the same file in the file system, so it is not a copy and does not count
+	 * as redundant
+	 *
+	 * @param length
+	 *            the length in bytes of every file in this group
+	 * @param checksum
+	 *            the checksum of the content that all files in this group share
+	 * @param files
+	 *            the files with the same content, every file is a different file in the file
+	 *            system
+	 * @param links
+	 *            the other paths of the files in this group by the file that represents them
+	 */
+	public DuplicateFileGroup(final long length, final String checksum, final List<File> files,
+		final Map<File, List<File>> links)
+	{
+		this.length = length;
+		this.checksum = checksum;
+		this.files = Collections.unmodifiableList(new ArrayList<>(files));
+		final Map<File, List<File>> copy = new LinkedHashMap<>();
+		links.forEach((file, paths) -> copy.put(file,
+			Collections.unmodifiableList(new ArrayList<>(paths))));
+		this.links = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof DuplicateFileGroup;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof DuplicateFileGroup))
+			return false;
+		final DuplicateFileGroup other = (DuplicateFileGroup)o;
+		if (!other.canEqual(this))
+			return false;
+		if (this.length != other.length)
+			return false;
+		final Object this$checksum = this.checksum;
+		final Object other$checksum = other.checksum;
+		if (this$checksum == null ? other$checksum != null : !this$checksum.equals(other$checksum))
+			return false;
+		if (!this.files.equals(other.files))
+			return false;
+		return this.links.equals(other.links);
+	}
+
+	/**
+	 * Gets the checksum of the content that all files in this group share
+	 *
+	 * @return the checksum
+	 */
+	public String getChecksum()
+	{
+		return this.checksum;
+	}
+
+	/**
+	 * Gets the files with the same content
+	 *
+	 * @return an unmodifiable list with the files
+	 */
+	public List<File> getFiles()
+	{
+		return this.files;
+	}
+
+	/**
+	 * Gets the hard links of the files in this group. The key is a file of this group and the
+	 * value are the other paths of the same file in the file system
+	 *
+	 * @return an unmodifiable map with the hard links, empty if no file has a hard link
+	 */
+	public Map<File, List<File>> getLinks()
+	{
+		return this.links;
+	}
+
+	/**
+	 * Gets the length in bytes of every file in this group
+	 *
+	 * @return the length in bytes
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * Gets the number of bytes that could be saved if only one file of this group would be kept.
+	 * Hard links do not count, because they do not occupy own bytes
+	 *
+	 * @return the number of redundant bytes
+	 */
+	public long getRedundantBytes()
+	{
+		return this.length * (this.files.size() - 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		result = result * PRIME + (int)(this.length >>> 32 ^ this.length);
+		final Object $checksum = this.checksum;
+		result = result * PRIME + ($checksum == null ? 43 : $checksum.hashCode());
+		result = result * PRIME + this.files.hashCode();
+		result = result * PRIME + this.links.hashCode();
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "DuplicateFileGroup(length=" + this.length + ", checksum=" + this.checksum
+			+ ", files=" + this.files + ", links=" + this.links + ")";
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+/**
+ * The enum {@link FileCompareFlag} provides constants for the equality flags of a file comparison.
+ * Every constant owns one bit, so all flags of a comparison fit into one int bitmask
+ */
+public enum FileCompareFlag
+{
+
+	/** This type signals that the absolute paths of the files are equal */
+	ABSOLUTE_PATH,
+
+	/** This type signals that the content of the files is equal */
+	CONTENT,
+
+	/** This type signals that the file extensions of the files are equal */
+	FILE_EXTENSION,
+
+	/** This type signals that the last modified times of the files are equal */
+	LAST_MODIFIED,
+
+	/** This type signals that the lengths of the files are equal */
+	LENGTH,
+
+	/** This type signals that the names of the files without the extension are equal */
+	NAME;
+
+	/**
+	 * Gets the bit of this flag in a bitmask
+	 *
+	 * @return the bit of this flag
+	 */
+	public int getMask()
+	{
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Checks if this flag is set in the given bitmask
+	 *
+	 * @param bitmask
+	 *            the bitmask
+	 * @return true if this flag is set in the given bitmask otherwise false
+	 */
+	public boolean isSet(final int bitmask)
+	{
+		return (bitmask & getMask()) != 0;
+	}
+
+	/**
+	 * Sets or clears this flag in the given bitmask
+	 *
+	 * @param bitmask
+	 *            the bitmask
+	 * @param value
+	 *            the new value of this flag
+	 * @return the new bitmask
+	 */
+	public int apply(final int bitmask, final boolean value)
+	{
+		return value ? bitmask | getMask() : bitmask & ~getMask();
+	}
+
+}
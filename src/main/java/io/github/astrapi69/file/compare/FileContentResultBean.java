@@ -40,6 +40,9 @@ public class FileContentResultBean extends FileCompareResultBean implements IFil
 	/** The same content. */
 	private boolean contentEquality;
 
+	/** The offset of the first differing byte or -1 if the content is equal or not determined. */
+	private long firstMismatchOffset = -1L;
+
 	/**
 	 * Default constructor.
 	 *
@@ -71,7 +74,9 @@ public class FileContentResultBean extends FileCompareResultBean implements IFil
 			return false;
 		if (!super.equals(o))
 			return false;
-		return this.contentEquality == other.contentEquality;
+		if (this.contentEquality != other.contentEquality)
+			return false;
+		return this.firstMismatchOffset == other.firstMismatchOffset;
 	}
 
 	/**
@@ -99,12 +104,39 @@ public class FileContentResultBean extends FileCompareResultBean implements IFil
 		this.contentEquality = contentEquality;
 	}
 
+	/**
+	 * Gets the offset of the first differing byte.
+	 *
+	 * @return the offset of the first differing byte {@inheritDoc}
+	 * @see IFileContentResultBean#getFirstMismatchOffset()
+	 */
+	@Override
+	public long getFirstMismatchOffset()
+	{
+		return this.firstMismatchOffset;
+	}
+
+	/**
+	 * Sets the offset of the first differing byte.
+	 *
+	 * @param firstMismatchOffset
+	 *            the new offset of the first differing byte {@inheritDoc}
+	 * @see IFileContentResultBean#setFirstMismatchOffset(long)
+	 */
+	@Override
+	public void setFirstMismatchOffset(final long firstMismatchOffset)
+	{
+		this.firstMismatchOffset = firstMismatchOffset;
+	}
+
 	@Override
 	public int hashCode()
 	{
 		final int PRIME = 59;
 		int result = super.hashCode();
 		result = result * PRIME + (this.contentEquality ? 79 : 97);
+		result = result * PRIME
+			+ (int)(this.firstMismatchOffset >>> 32 ^ this.firstMismatchOffset);
 		return result;
 	}
 
@@ -112,6 +144,6 @@ public class FileContentResultBean extends FileCompareResultBean implements IFil
 	public String toString()
 	{
 		return "FileContentResultBean(super=" + super.toString() + ", contentEquality="
-			+ this.contentEquality + ")";
+			+ this.contentEquality + ", firstMismatchOffset=" + this.firstMismatchOffset + ")";
 	}
 }
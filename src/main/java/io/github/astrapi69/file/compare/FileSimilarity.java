@@ -0,0 +1,221 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+
+/**
+ * The class {@link FileSimilarity} holds the similarity of the content of two files that is
+ * measured by the bytes of the content defined chunks that both files share
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class FileSimilarity
+{
+
+	/** The file to compare with the source file. */
+	private final File compareFile;
+
+	/** The length in bytes of the file to compare. */
+	private final long compareLength;
+
+	/** The bytes of the chunks that both files share. */
+	private final long sharedBytes;
+
+	/** The source file. */
+	private final File sourceFile;
+
+	/** The length in bytes of the source file. */
+	private final long sourceLength;
+
+	/**
+	 * Instantiates a new {@link FileSimilarity}
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param compareFile
+	 *            the file to compare with the source file
+	 * @param sourceLength
+	 *            the length in bytes of the source file
+	 * @param compareLength
+	 *            the length in bytes of the file to compare
+	 * @param sharedBytes
+	 *            the bytes of the chunks that both files share
+	 */
+	public FileSimilarity(final File sourceFile, final File compareFile, final long sourceLength,
+		final long compareLength, final long sharedBytes)
+	{
+		this.sourceFile = sourceFile;
+		this.compareFile = compareFile;
+		this.sourceLength = sourceLength;
+		this.compareLength = compareLength;
+		this.sharedBytes = sharedBytes;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof FileSimilarity;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof FileSimilarity))
+			return false;
+		final FileSimilarity other = (FileSimilarity)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$sourceFile = this.sourceFile;
+		final Object other$sourceFile = other.sourceFile;
+		if (this$sourceFile == null
+			? other$sourceFile != null
+			: !this$sourceFile.equals(other$sourceFile))
+			return false;
+		final Object this$compareFile = this.compareFile;
+		final Object other$compareFile = other.compareFile;
+		if (this$compareFile == null
+			? other$compareFile != null
+			: !this$compareFile.equals(other$compareFile))
+			return false;
+		if (this.sourceLength != other.sourceLength)
+			return false;
+		if (this.compareLength != other.compareLength)
+			return false;
+		return this.sharedBytes == other.sharedBytes;
+	}
+
+	/**
+	 * Gets the file to compare with the source file
+	 *
+	 * @return the file to compare
+	 */
+	public File getCompareFile()
+	{
+		return this.compareFile;
+	}
+
+	/**
+	 * Gets the length in bytes of the file to compare
+	 *
+	 * @return the length in bytes of the file to compare
+	 */
+	public long getCompareLength()
+	{
+		return this.compareLength;
+	}
+
+	/**
+	 * Gets the bytes of the chunks that both files share
+	 *
+	 * @return the shared bytes
+	 */
+	public long getSharedBytes()
+	{
+		return this.sharedBytes;
+	}
+
+	/**
+	 * Gets the similarity of the two files as a value between 0.0 and 1.0. The similarity is the
+	 * ratio of the shared bytes to the mean length of the two files, so 1.0 signals the same
+	 * content and 0.0 signals that the files share no chunk. Two empty files have the similarity
+	 * 1.0
+	 *
+	 * @return the similarity of the two files
+	 */
+	public double getSimilarity()
+	{
+		final long total = this.sourceLength + this.compareLength;
+		if (total == 0L)
+		{
+			return 1.0d;
+		}
+		return 2.0d * this.sharedBytes / total;
+	}
+
+	/**
+	 * Gets the source file
+	 *
+	 * @return the source file
+	 */
+	public File getSourceFile()
+	{
+		return this.sourceFile;
+	}
+
+	/**
+	 * Gets the length in bytes of the source file
+	 *
+	 * @return the length in bytes of the source file
+	 */
+	public long getSourceLength()
+	{
+		return this.sourceLength;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $sourceFile = this.sourceFile;
+		result = result * PRIME + ($sourceFile == null ? 43 : $sourceFile.hashCode());
+		final Object $compareFile = this.compareFile;
+		result = result * PRIME + ($compareFile == null ? 43 : $compareFile.hashCode());
+		final long $sourceLength = this.sourceLength;
+		result = result * PRIME + (int)($sourceLength >>> 32 ^ $sourceLength);
+		final long $compareLength = this.compareLength;
+		result = result * PRIME + (int)($compareLength >>> 32 ^ $compareLength);
+		final long $sharedBytes = this.sharedBytes;
+		result = result * PRIME + (int)($sharedBytes >>> 32 ^ $sharedBytes);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "FileSimilarity(sourceFile=" + this.sourceFile + ", compareFile=" + this.compareFile
+			+ ", sourceLength=" + this.sourceLength + ", compareLength=" + this.compareLength
+			+ ", sharedBytes=" + this.sharedBytes + ", similarity=" + getSimilarity() + ")";
+	}
+}
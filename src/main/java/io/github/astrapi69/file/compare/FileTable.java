@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The class {@link FileTable} assigns every file an int index, so results of mass comparisons can
+ * reference a file with the index instead of holding the file object for every result. A file
+ * that is added more than once keeps its first index
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class FileTable
+{
+
+	/** The files by their index. */
+	private final List<File> files = new ArrayList<>();
+
+	/** The indexes by their file. */
+	private final Map<File, Integer> indexes = new HashMap<>();
+
+	/**
+	 * Adds the given file to this table if it is not already in it
+	 *
+	 * @param file
+	 *            the file
+	 * @return the index of the given file
+	 */
+	public int add(final File file)
+	{
+		Objects.requireNonNull(file);
+		final Integer index = indexes.get(file);
+		if (index != null)
+		{
+			return index;
+		}
+		final int newIndex = files.size();
+		files.add(file);
+		indexes.put(file, newIndex);
+		return newIndex;
+	}
+
+	/**
+	 * Gets the file with the given index
+	 *
+	 * @param index
+	 *            the index
+	 * @return the file with the given index
+	 */
+	public File get(final int index)
+	{
+		return files.get(index);
+	}
+
+	/**
+	 * Gets the index of the given file
+	 *
+	 * @param file
+	 *            the file
+	 * @return the index of the given file or -1 if the file is not in this table
+	 */
+	public int indexOf(final File file)
+	{
+		final Integer index = indexes.get(file);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Gets the number of files in this table
+	 *
+	 * @return the number of files in this table
+	 */
+	public int size()
+	{
+		return files.size();
+	}
+
+}
@@ -0,0 +1,262 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The class {@link HashingExecutor} decides how the checksums of many files are computed. The
+ * {@link #SEQUENTIAL sequential} instance computes them one after the other in the calling thread.
+ * A parallel instance computes them concurrently with the given {@link Executor}, for instance a
+ * {@link ForkJoinPool}, and bounds the number of bytes of the files that are hashed at the same
+ * time, so that the disk is not flooded with concurrent reads. A file that is greater than this
+ * bound is hashed alone. The result does not depend on the instance that computed it
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class HashingExecutor
+{
+
+	/** The default maximum number of bytes of the files that are hashed at the same time. */
+	public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64L * 1024 * 1024;
+
+	/** The instance that computes all checksums in the calling thread. */
+	public static final HashingExecutor SEQUENTIAL = new HashingExecutor();
+
+	/** The number of bytes that one permit stands for. */
+	private static final int BYTES_PER_PERMIT = 1024;
+
+	/** The executor or null if the checksums are computed in the calling thread. */
+	private final Executor executor;
+
+	/** The maximum number of bytes of the files that are hashed at the same time. */
+	private final long maxInFlightBytes;
+
+	private HashingExecutor()
+	{
+		this.executor = null;
+		this.maxInFlightBytes = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Instantiates a new parallel {@link HashingExecutor}
+	 *
+	 * @param executor
+	 *            the executor that computes the checksums
+	 * @param maxInFlightBytes
+	 *            the maximum number of bytes of the files that are hashed at the same time
+	 * @throws IllegalArgumentException
+	 *             if the given maximum number of bytes is less than one
+	 */
+	public HashingExecutor(final Executor executor, final long maxInFlightBytes)
+	{
+		if (maxInFlightBytes < 1)
+		{
+			throw new IllegalArgumentException(
+				"maxInFlightBytes must be positive: " + maxInFlightBytes);
+		}
+		this.executor = Objects.requireNonNull(executor);
+		this.maxInFlightBytes = maxInFlightBytes;
+	}
+
+	/**
+	 * Factory method for create a new parallel {@link HashingExecutor} that uses the
+	 * {@link ForkJoinPool#commonPool() common pool} and the
+	 * {@link #DEFAULT_MAX_IN_FLIGHT_BYTES default maximum number of bytes in flight}
+	 *
+	 * @return the new {@link HashingExecutor}
+	 */
+	public static HashingExecutor parallel()
+	{
+		return parallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Factory method for create a new parallel {@link HashingExecutor} that uses the given executor
+	 * and the {@link #DEFAULT_MAX_IN_FLIGHT_BYTES default maximum number of bytes in flight}
+	 *
+	 * @param executor
+	 *            the executor that computes the checksums
+	 * @return the new {@link HashingExecutor}
+	 */
+	public static HashingExecutor parallel(final Executor executor)
+	{
+		return new HashingExecutor(executor, DEFAULT_MAX_IN_FLIGHT_BYTES);
+	}
+
+	/**
+	 * Checks if this instance computes the checksums concurrently
+	 *
+	 * @return true if this instance computes the checksums concurrently, otherwise false
+	 */
+	public boolean isParallel()
+	{
+		return executor != null;
+	}
+
+	/**
+	 * Gets the maximum number of bytes of the files that are hashed at the same time
+	 *
+	 * @return the maximum number of bytes in flight
+	 */
+	public long getMaxInFlightBytes()
+	{
+		return maxInFlightBytes;
+	}
+
+	/**
+	 * Applies the given function to every given file. Files for which the function throws an
+	 * {@link IOException} or returns null are not contained in the result
+	 *
+	 * @param <T>
+	 *            the generic type of the checksum
+	 * @param files
+	 *            the files
+	 * @param function
+	 *            the function that computes the checksum of a file
+	 * @return the map with the file as key and its checksum as value
+	 */
+	public <T> Map<File, T> computeAll(final Collection<File> files,
+		final ChecksumFunction<T> function)
+	{
+		Objects.requireNonNull(files);
+		Objects.requireNonNull(function);
+		if (executor == null || files.size() < 2)
+		{
+			final Map<File, T> results = new HashMap<>();
+			for (final File file : files)
+			{
+				final T checksum = apply(function, file);
+				if (checksum != null)
+				{
+					results.put(file, checksum);
+				}
+			}
+			return results;
+		}
+		final int maxPermits = toPermits(maxInFlightBytes);
+		final Semaphore permits = new Semaphore(maxPermits);
+		final Map<File, T> results = new ConcurrentHashMap<>();
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(files.size());
+		for (final File file : files)
+		{
+			final int required = Math.min(maxPermits, toPermits(file.length()));
+			// the calling thread waits, so the threads of the executor never block
+			permits.acquireUninterruptibly(required);
+			try
+			{
+				futures.add(CompletableFuture.runAsync(() -> {
+					try
+					{
+						final T checksum = apply(function, file);
+						if (checksum != null)
+						{
+							results.put(file, checksum);
+						}
+					}
+					finally
+					{
+						permits.release(required);
+					}
+				}, executor));
+			}
+			catch (final RejectedExecutionException e)
+			{
+				permits.release(required);
+				throw e;
+			}
+		}
+		try
+		{
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (final CompletionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			throw e;
+		}
+		return results;
+	}
+
+	private static <T> T apply(final ChecksumFunction<T> function, final File file)
+	{
+		try
+		{
+			return function.apply(file);
+		}
+		catch (final IOException e)
+		{
+			// a file that can not be read can not be equal to any other file
+			return null;
+		}
+	}
+
+	private static int toPermits(final long bytes)
+	{
+		final long permits = bytes / BYTES_PER_PERMIT + (bytes % BYTES_PER_PERMIT == 0 ? 0 : 1);
+		return (int)Math.min(Integer.MAX_VALUE, Math.max(1L, permits));
+	}
+
+	/**
+	 * The functional interface {@link ChecksumFunction} computes the checksum of a file
+	 *
+	 * @param <T>
+	 *            the generic type of the checksum
+	 */
+	@FunctionalInterface
+	public interface ChecksumFunction<T>
+	{
+
+		/**
+		 * Computes the checksum of the given file
+		 *
+		 * @param file
+		 *            the file
+		 * @return the checksum
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		T apply(File file) throws IOException;
+	}
+
+}
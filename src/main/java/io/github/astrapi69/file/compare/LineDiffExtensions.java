@@ -0,0 +1,552 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import io.github.astrapi69.file.exception.MemoryLimitExceededException;
+
+/**
+ * The class {@link LineDiffExtensions} computes the difference of two text files line by line and
+ * produces hunks in the unified diff format. Every line is reduced to an int hash, so the diff
+ * algorithm only holds one int per line in memory and compares ints instead of strings. The
+ * longest common subsequence of the hashes is computed with the linear space variant of the
+ * algorithm of Myers. The hunks are produced in a second pass that reads both files as streams,
+ * compares the lines that are matched by their hash and passes every hunk to the consumer as soon
+ * as it is complete. A hash collision can therefore not hide a difference, the colliding lines are
+ * reported as changed. The memory that is needed for the hashes and the algorithm is checked
+ * against a limit before it is allocated
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class LineDiffExtensions
+{
+
+	/** The default number of unchanged lines that are shown around a change. */
+	public static final int DEFAULT_CONTEXT_LINES = 3;
+
+	/** The default maximum number of bytes for the line hashes and the diff algorithm. */
+	public static final long DEFAULT_MAX_MEMORY_BYTES = 256L * 1024 * 1024;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private LineDiffExtensions()
+	{
+	}
+
+	/**
+	 * Computes the difference of the given files with the charset UTF-8, the
+	 * {@link #DEFAULT_CONTEXT_LINES default context lines} and the
+	 * {@link #DEFAULT_MAX_MEMORY_BYTES default memory limit}
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @return the list with the hunks, empty if the files have the same lines
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws MemoryLimitExceededException
+	 *             if the diff would need more memory than the default memory limit
+	 */
+	public static List<LineDiffHunk> diff(final File sourceFile, final File fileToCompare)
+		throws IOException, MemoryLimitExceededException
+	{
+		final List<LineDiffHunk> hunks = new ArrayList<>();
+		diff(sourceFile, fileToCompare, StandardCharsets.UTF_8, DEFAULT_CONTEXT_LINES,
+			DEFAULT_MAX_MEMORY_BYTES, hunks::add);
+		return hunks;
+	}
+
+	/**
+	 * Computes the difference of the given files and passes every hunk to the given consumer as
+	 * soon as it is complete
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param charset
+	 *            the charset of the files
+	 * @param contextLines
+	 *            the number of unchanged lines that are shown around a change
+	 * @param maxMemoryBytes
+	 *            the maximum number of bytes for the line hashes and the diff algorithm
+	 * @param consumer
+	 *            the consumer of the hunks
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws MemoryLimitExceededException
+	 *             if the diff would need more memory than the given memory limit
+	 */
+	public static void diff(final File sourceFile, final File fileToCompare,
+		final Charset charset, final int contextLines, final long maxMemoryBytes,
+		final Consumer<LineDiffHunk> consumer) throws IOException, MemoryLimitExceededException
+	{
+		Objects.requireNonNull(charset);
+		Objects.requireNonNull(consumer);
+		if (contextLines < 0)
+		{
+			throw new IllegalArgumentException(
+				"contextLines must not be negative: " + contextLines);
+		}
+		final int[] sourceHashes = readLineHashes(sourceFile, charset, maxMemoryBytes);
+		final int[] compareHashes = readLineHashes(fileToCompare, charset,
+			maxMemoryBytes - 4L * sourceHashes.length);
+		final List<int[]> matches = findMatches(sourceHashes, compareHashes,
+			maxMemoryBytes - 4L * (sourceHashes.length + compareHashes.length));
+		final int sourceCount = sourceHashes.length;
+		final int compareCount = compareHashes.length;
+		final HunkBuilder hunkBuilder = new HunkBuilder(contextLines, consumer);
+		try (BufferedReader sourceReader = Files.newBufferedReader(sourceFile.toPath(), charset);
+			BufferedReader compareReader = Files.newBufferedReader(fileToCompare.toPath(),
+				charset))
+		{
+			int x = 0;
+			int y = 0;
+			matches.add(new int[] { sourceCount, compareCount, 0 });
+			for (final int[] match : matches)
+			{
+				for (; x < match[0]; x++)
+				{
+					hunkBuilder.delete(readLine(sourceReader, sourceFile));
+				}
+				for (; y < match[1]; y++)
+				{
+					hunkBuilder.insert(readLine(compareReader, fileToCompare));
+				}
+				for (int i = 0; i < match[2]; i++, x++, y++)
+				{
+					final String sourceLine = readLine(sourceReader, sourceFile);
+					final String compareLine = readLine(compareReader, fileToCompare);
+					if (sourceLine.equals(compareLine))
+					{
+						hunkBuilder.equal(sourceLine);
+					}
+					else
+					{
+						// the lines have the same hash but are different
+						hunkBuilder.delete(sourceLine);
+						hunkBuilder.insert(compareLine);
+					}
+				}
+			}
+		}
+		hunkBuilder.finish();
+	}
+
+	/**
+	 * Writes the difference of the given files in the unified diff format to the given writer
+	 * with the charset UTF-8, the {@link #DEFAULT_CONTEXT_LINES default context lines} and the
+	 * {@link #DEFAULT_MAX_MEMORY_BYTES default memory limit}. Nothing is written if the files have
+	 * the same lines
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param fileToCompare
+	 *            the file to compare
+	 * @param writer
+	 *            the writer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws MemoryLimitExceededException
+	 *             if the diff would need more memory than the default memory limit
+	 */
+	public static void writeUnifiedDiff(final File sourceFile, final File fileToCompare,
+		final Writer writer) throws IOException, MemoryLimitExceededException
+	{
+		final boolean[] headerWritten = { false };
+		try
+		{
+			diff(sourceFile, fileToCompare, StandardCharsets.UTF_8, DEFAULT_CONTEXT_LINES,
+				DEFAULT_MAX_MEMORY_BYTES, hunk -> {
+					try
+					{
+						if (!headerWritten[0])
+						{
+							writer.write("--- " + sourceFile.getPath() + "\n");
+							writer.write("+++ " + fileToCompare.getPath() + "\n");
+							headerWritten[0] = true;
+						}
+						writer.write(hunk.getHeader() + "\n");
+						for (final String line : hunk.getLines())
+						{
+							writer.write(line + "\n");
+						}
+					}
+					catch (final IOException e)
+					{
+						throw new UncheckedIOException(e);
+					}
+				});
+		}
+		catch (final UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Finds the matching runs of the longest common subsequence of the given arrays. The common
+	 * prefix and suffix are matched directly, the rest is computed with the linear space variant
+	 * of the algorithm of Myers with an explicit stack instead of recursion
+	 *
+	 * @param a
+	 *            the first array
+	 * @param b
+	 *            the second array
+	 * @param maxMemoryBytes
+	 *            the maximum number of bytes for the algorithm
+	 * @return the list with the matching runs sorted by their position, every run is an array with
+	 *         the start index in the first array, the start index in the second array and the
+	 *         length
+	 * @throws MemoryLimitExceededException
+	 *             if the algorithm would need more memory than the given limit
+	 */
+	static List<int[]> findMatches(final int[] a, final int[] b, final long maxMemoryBytes)
+		throws MemoryLimitExceededException
+	{
+		final int n = a.length;
+		final int m = b.length;
+		final List<int[]> matches = new ArrayList<>();
+		int prefix = 0;
+		while (prefix < n && prefix < m && a[prefix] == b[prefix])
+		{
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < n - prefix && suffix < m - prefix
+			&& a[n - 1 - suffix] == b[m - 1 - suffix])
+		{
+			suffix++;
+		}
+		if (0 < prefix)
+		{
+			matches.add(new int[] { 0, 0, prefix });
+		}
+		final int width = n - prefix - suffix;
+		final int height = m - prefix - suffix;
+		if (0 < width && 0 < height)
+		{
+			final int max = (width + height + 1) / 2;
+			final long required = 2L * 4L * (2L * max + 3);
+			if (maxMemoryBytes < required)
+			{
+				throw new MemoryLimitExceededException("The diff needs at least " + required
+					+ " bytes but the limit is " + maxMemoryBytes + " bytes");
+			}
+			final int[] vf = new int[2 * max + 3];
+			final int[] vb = new int[2 * max + 3];
+			final Deque<int[]> boxes = new ArrayDeque<>();
+			boxes.push(new int[] { prefix, prefix, n - suffix, m - suffix });
+			while (!boxes.isEmpty())
+			{
+				final int[] box = boxes.pop();
+				if (box[0] == box[2] || box[1] == box[3])
+				{
+					// only deletions or only insertions
+					continue;
+				}
+				final int[] snake = findMiddleSnake(a, b, box, vf, vb, max + 1);
+				if (0 < snake[6])
+				{
+					matches.add(new int[] { snake[4], snake[5], snake[6] });
+				}
+				boxes.push(new int[] { box[0], box[1], snake[0], snake[1] });
+				boxes.push(new int[] { snake[2], snake[3], box[2], box[3] });
+			}
+		}
+		if (0 < suffix)
+		{
+			matches.add(new int[] { n - suffix, m - suffix, suffix });
+		}
+		matches.sort(Comparator.comparingInt(match -> match[0]));
+		final List<int[]> merged = new ArrayList<>(matches.size());
+		for (final int[] match : matches)
+		{
+			final int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+			if (last != null && last[0] + last[2] == match[0] && last[1] + last[2] == match[1])
+			{
+				last[2] += match[2];
+			}
+			else
+			{
+				merged.add(match);
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Finds the middle snake of the given box. The box is an array with left, top, right and
+	 * bottom. The result is an array with the start point and the end point of the snake followed
+	 * by the start point and the length of its diagonal
+	 */
+	private static int[] findMiddleSnake(final int[] a, final int[] b, final int[] box,
+		final int[] vf, final int[] vb, final int offset)
+	{
+		final int left = box[0];
+		final int top = box[1];
+		final int right = box[2];
+		final int bottom = box[3];
+		final int delta = right - left - (bottom - top);
+		final boolean odd = (delta & 1) != 0;
+		final int max = (right - left + bottom - top + 1) / 2;
+		vf[offset + 1] = left;
+		vb[offset + 1] = bottom;
+		for (int d = 0; d <= max; d++)
+		{
+			// forward from the top left corner, the diagonal k is (x - left) - (y - top)
+			for (int k = -d; k <= d; k += 2)
+			{
+				int x;
+				final int px;
+				if (k == -d || (k != d && vf[offset + k - 1] < vf[offset + k + 1]))
+				{
+					x = vf[offset + k + 1];
+					px = x;
+				}
+				else
+				{
+					px = vf[offset + k - 1];
+					x = px + 1;
+				}
+				int y = top + (x - left) - k;
+				final int py = d == 0 || x != px ? y : y - 1;
+				final int diagonalX = x;
+				final int diagonalY = y;
+				while (x < right && y < bottom && a[x] == b[y])
+				{
+					x++;
+					y++;
+				}
+				vf[offset + k] = x;
+				final int c = k - delta;
+				if (odd && -(d - 1) <= c && c <= d - 1 && vb[offset + c] <= y)
+				{
+					return new int[] { px, py, x, y, diagonalX, diagonalY, x - diagonalX };
+				}
+			}
+			// backward from the bottom right corner, the diagonal c is (x - right) - (y - bottom)
+			for (int c = -d; c <= d; c += 2)
+			{
+				int y;
+				final int py;
+				if (c == -d || (c != d && vb[offset + c - 1] > vb[offset + c + 1]))
+				{
+					y = vb[offset + c + 1];
+					py = y;
+				}
+				else
+				{
+					py = vb[offset + c - 1];
+					y = py - 1;
+				}
+				int x = right + (y - bottom) + c;
+				final int px = d == 0 || y != py ? x : x + 1;
+				final int diagonalEndX = x;
+				while (left < x && top < y && a[x - 1] == b[y - 1])
+				{
+					x--;
+					y--;
+				}
+				vb[offset + c] = y;
+				final int k = c + delta;
+				if (!odd && -d <= k && k <= d && x <= vf[offset + k])
+				{
+					return new int[] { x, y, px, py, x, y, diagonalEndX - x };
+				}
+			}
+		}
+		throw new IllegalStateException("No middle snake found");
+	}
+
+	private static String readLine(final BufferedReader reader, final File file)
+		throws IOException
+	{
+		final String line = reader.readLine();
+		if (line == null)
+		{
+			throw new IOException("The file " + file + " was modified while it was compared");
+		}
+		return line;
+	}
+
+	private static int[] readLineHashes(final File file, final Charset charset,
+		final long maxMemoryBytes) throws IOException, MemoryLimitExceededException
+	{
+		int[] hashes = new int[1024];
+		int count = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), charset))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (count == hashes.length)
+				{
+					final int capacity = hashes.length + (hashes.length >> 1);
+					if (maxMemoryBytes < 4L * (capacity + count))
+					{
+						throw new MemoryLimitExceededException("The line hashes of the file "
+							+ file + " need more than " + maxMemoryBytes + " bytes");
+					}
+					hashes = Arrays.copyOf(hashes, capacity);
+				}
+				hashes[count++] = toHash(line);
+			}
+		}
+		return Arrays.copyOf(hashes, count);
+	}
+
+	private static int toHash(final String line)
+	{
+		// spread the bits of the string hash, so similar lines differ in more bits
+		int hash = line.hashCode() * 0x9E3779B1;
+		hash ^= hash >>> 15;
+		return hash ^ line.length();
+	}
+
+	private static final class HunkBuilder
+	{
+		private final Consumer<LineDiffHunk> consumer;
+		private final int contextLines;
+		private final Deque<String> leadingContext = new ArrayDeque<>();
+		private List<String> lines;
+		private int compareLength;
+		private long compareIndex;
+		private long compareStart;
+		private int sourceLength;
+		private long sourceIndex;
+		private long sourceStart;
+		private int trailingEqual;
+
+		private HunkBuilder(final int contextLines, final Consumer<LineDiffHunk> consumer)
+		{
+			this.contextLines = contextLines;
+			this.consumer = consumer;
+		}
+
+		private void delete(final String line)
+		{
+			openHunk();
+			lines.add("-" + line);
+			sourceLength++;
+			sourceIndex++;
+			trailingEqual = 0;
+		}
+
+		private void equal(final String line)
+		{
+			sourceIndex++;
+			compareIndex++;
+			if (lines != null)
+			{
+				lines.add(" " + line);
+				sourceLength++;
+				compareLength++;
+				trailingEqual++;
+				if (2 * contextLines < trailingEqual)
+				{
+					emitHunk();
+				}
+			}
+			if (0 < contextLines)
+			{
+				if (leadingContext.size() == contextLines)
+				{
+					leadingContext.removeFirst();
+				}
+				leadingContext.addLast(line);
+			}
+		}
+
+		private void finish()
+		{
+			if (lines != null)
+			{
+				emitHunk();
+			}
+		}
+
+		private void insert(final String line)
+		{
+			openHunk();
+			lines.add("+" + line);
+			compareLength++;
+			compareIndex++;
+			trailingEqual = 0;
+		}
+
+		private void emitHunk()
+		{
+			// the unchanged lines after the context belong to the context of the next hunk
+			final int surplus = Math.max(0, trailingEqual - contextLines);
+			final List<String> hunkLines = lines.subList(0, lines.size() - surplus);
+			final int hunkSourceLength = sourceLength - surplus;
+			final int hunkCompareLength = compareLength - surplus;
+			consumer.accept(new LineDiffHunk(
+				hunkSourceLength == 0 ? sourceStart : sourceStart + 1, hunkSourceLength,
+				hunkCompareLength == 0 ? compareStart : compareStart + 1, hunkCompareLength,
+				hunkLines));
+			lines = null;
+		}
+
+		private void openHunk()
+		{
+			if (lines != null)
+			{
+				return;
+			}
+			lines = new ArrayList<>();
+			sourceStart = sourceIndex - leadingContext.size();
+			compareStart = compareIndex - leadingContext.size();
+			sourceLength = leadingContext.size();
+			compareLength = leadingContext.size();
+			for (final String line : leadingContext)
+			{
+				lines.add(" " + line);
+			}
+			trailingEqual = 0;
+		}
+	}
+
+}
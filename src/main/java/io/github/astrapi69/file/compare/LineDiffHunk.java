@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class {@link LineDiffHunk} holds one hunk of a unified diff. Every line starts with ' ' if
+ * it is contained in both files, with '-' if it is only contained in the source file and with '+'
+ * if it is only contained in the file to compare. The start lines are 1-based, if a hunk contains
+ * no line of a file the start line is the line after which the hunk applies
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class LineDiffHunk
+{
+
+	/** The number of lines of the file to compare in this hunk. */
+	private final int compareLength;
+
+	/** The first line of the file to compare in this hunk. */
+	private final long compareStart;
+
+	/** The lines of this hunk with their prefix. */
+	private final List<String> lines;
+
+	/** The number of lines of the source file in this hunk. */
+	private final int sourceLength;
+
+	/** The first line of the source file in this hunk. */
+	private final long sourceStart;
+
+	/**
+	 * Instantiates a new {@link LineDiffHunk}
+	 *
+	 * @param sourceStart
+	 *            the first line of the source file in this hunk
+	 * @param sourceLength
+	 *            the number of lines of the source file in this hunk
+	 * @param compareStart
+	 *            the first line of the file to compare in this hunk
+	 * @param compareLength
+	 *            the number of lines of the file to compare in this hunk
+	 * @param lines
+	 *            the lines of this hunk with their prefix
+	 */
+	public LineDiffHunk(final long sourceStart, final int sourceLength, final long compareStart,
+		final int compareLength, final List<String> lines)
+	{
+		this.sourceStart = sourceStart;
+		this.sourceLength = sourceLength;
+		this.compareStart = compareStart;
+		this.compareLength = compareLength;
+		this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof LineDiffHunk;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof LineDiffHunk))
+			return false;
+		final LineDiffHunk other = (LineDiffHunk)o;
+		if (!other.canEqual(this))
+			return false;
+		if (this.sourceStart != other.sourceStart)
+			return false;
+		if (this.sourceLength != other.sourceLength)
+			return false;
+		if (this.compareStart != other.compareStart)
+			return false;
+		if (this.compareLength != other.compareLength)
+			return false;
+		return this.lines.equals(other.lines);
+	}
+
+	/**
+	 * Gets the number of lines of the file to compare in this hunk
+	 *
+	 * @return the number of lines of the file to compare
+	 */
+	public int getCompareLength()
+	{
+		return this.compareLength;
+	}
+
+	/**
+	 * Gets the first line of the file to compare in this hunk
+	 *
+	 * @return the first line of the file to compare
+	 */
+	public long getCompareStart()
+	{
+		return this.compareStart;
+	}
+
+	/**
+	 * Gets the lines of this hunk with their prefix
+	 *
+	 * @return an unmodifiable list with the lines
+	 */
+	public List<String> getLines()
+	{
+		return this.lines;
+	}
+
+	/**
+	 * Gets the number of lines of the source file in this hunk
+	 *
+	 * @return the number of lines of the source file
+	 */
+	public int getSourceLength()
+	{
+		return this.sourceLength;
+	}
+
+	/**
+	 * Gets the first line of the source file in this hunk
+	 *
+	 * @return the first line of the source file
+	 */
+	public long getSourceStart()
+	{
+		return this.sourceStart;
+	}
+
+	/**
+	 * Gets the header of this hunk in the unified diff format, for instance '@@ -1,4 +1,5 @@'
+	 *
+	 * @return the header of this hunk
+	 */
+	public String getHeader()
+	{
+		return "@@ -" + toRange(this.sourceStart, this.sourceLength) + " +"
+			+ toRange(this.compareStart, this.compareLength) + " @@";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		result = result * PRIME + (int)(this.sourceStart >>> 32 ^ this.sourceStart);
+		result = result * PRIME + this.sourceLength;
+		result = result * PRIME + (int)(this.compareStart >>> 32 ^ this.compareStart);
+		result = result * PRIME + this.compareLength;
+		result = result * PRIME + this.lines.hashCode();
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "LineDiffHunk(sourceStart=" + this.sourceStart + ", sourceLength="
+			+ this.sourceLength + ", compareStart=" + this.compareStart + ", compareLength="
+			+ this.compareLength + ", lines=" + this.lines + ")";
+	}
+
+	private static String toRange(final long start, final int length)
+	{
+		return length == 1 ? String.valueOf(start) : start + "," + length;
+	}
+}
@@ -0,0 +1,374 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import io.github.astrapi69.file.checksum.XxHash64;
+import io.github.astrapi69.file.search.FileSearchExtensions;
+
+/**
+ * The class {@link SimilarityExtensions} finds files with nearly the same content. The content of
+ * every file is cut with content defined chunking in chunks, where a gear rolling hash over the
+ * last bytes decides the boundaries. Because a boundary depends only on the bytes before it, an
+ * edit changes only the chunks around it and the chunks of two versions of a file are mostly
+ * equal. The similarity of two files is then measured by the bytes of the chunks that both files
+ * share, and an index from the chunk hashes to the files finds the similar pairs of many files
+ * without comparing every pair
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class SimilarityExtensions
+{
+
+	/** The default average size in bytes of a chunk. */
+	public static final int DEFAULT_AVERAGE_CHUNK_SIZE = 8 * 1024;
+
+	/** The default maximum size in bytes of a chunk. */
+	public static final int DEFAULT_MAX_CHUNK_SIZE = 64 * 1024;
+
+	/** The default minimum size in bytes of a chunk. */
+	public static final int DEFAULT_MIN_CHUNK_SIZE = 2 * 1024;
+
+	/** The size of the buffer for reading a file. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The random values of the gear rolling hash, one for every byte value. */
+	private static final long[] GEAR = newGearTable();
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private SimilarityExtensions()
+	{
+	}
+
+	/**
+	 * Finds all pairs of files in the given directory recursively whose similarity is at least the
+	 * given minimum similarity
+	 *
+	 * @param dirToSearch
+	 *            the directory to search
+	 * @param minSimilarity
+	 *            the minimum similarity between 0.0 and 1.0
+	 * @return the pairs of similar files, the most similar first
+	 */
+	public static List<FileSimilarity> findSimilarFiles(final File dirToSearch,
+		final double minSimilarity)
+	{
+		return findSimilarFiles(FileSearchExtensions.findFilesRecursive(dirToSearch, "*"),
+			minSimilarity, HashingExecutor.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all pairs of the given files whose similarity is at least the given minimum
+	 * similarity. The chunk signatures of the files are computed with the given
+	 * {@link HashingExecutor}, files that can not be read are ignored
+	 *
+	 * @param files
+	 *            the files
+	 * @param minSimilarity
+	 *            the minimum similarity between 0.0 and 1.0
+	 * @param hashingExecutor
+	 *            the executor that computes the chunk signatures
+	 * @return the pairs of similar files, the most similar first
+	 */
+	public static List<FileSimilarity> findSimilarFiles(final Collection<File> files,
+		final double minSimilarity, final HashingExecutor hashingExecutor)
+	{
+		Objects.requireNonNull(hashingExecutor);
+		final Map<File, ChunkSignature> signatures = hashingExecutor.computeAll(files,
+			SimilarityExtensions::newChunkSignature);
+		final List<ChunkSignature> ordered = new ArrayList<>();
+		for (final File file : files)
+		{
+			final ChunkSignature signature = signatures.get(file);
+			if (signature != null)
+			{
+				ordered.add(signature);
+			}
+		}
+		return findSimilarFiles(ordered, minSimilarity);
+	}
+
+	/**
+	 * Finds all pairs of the given chunk signatures whose similarity is at least the given minimum
+	 * similarity. Only pairs that share at least one chunk are considered, because the index of
+	 * the chunk hashes never visits the other pairs
+	 *
+	 * @param signatures
+	 *            the chunk signatures of the files
+	 * @param minSimilarity
+	 *            the minimum similarity between 0.0 and 1.0
+	 * @return the pairs of similar files, the most similar first
+	 */
+	public static List<FileSimilarity> findSimilarFiles(
+		final Collection<ChunkSignature> signatures, final double minSimilarity)
+	{
+		Objects.requireNonNull(signatures);
+		final ChunkSignature[] indexed = signatures.toArray(new ChunkSignature[0]);
+		final List<Map<Long, Long>> chunkBytes = new ArrayList<>(indexed.length);
+		final Map<Long, List<Integer>> postings = new HashMap<>();
+		for (int i = 0; i < indexed.length; i++)
+		{
+			final Map<Long, Long> bytes = toChunkBytes(indexed[i]);
+			chunkBytes.add(bytes);
+			for (final Long hash : bytes.keySet())
+			{
+				postings.computeIfAbsent(hash, key -> new ArrayList<>(2)).add(i);
+			}
+		}
+		final Map<Long, Long> sharedBytes = new TreeMap<>();
+		for (final Map.Entry<Long, List<Integer>> posting : postings.entrySet())
+		{
+			final List<Integer> indexes = posting.getValue();
+			for (int i = 0; i < indexes.size(); i++)
+			{
+				final int source = indexes.get(i);
+				final long sourceBytes = chunkBytes.get(source).get(posting.getKey());
+				for (int j = i + 1; j < indexes.size(); j++)
+				{
+					final int compare = indexes.get(j);
+					final long compareBytes = chunkBytes.get(compare).get(posting.getKey());
+					sharedBytes.merge((long)source << 32 | compare,
+						Math.min(sourceBytes, compareBytes), Long::sum);
+				}
+			}
+		}
+		final List<FileSimilarity> similarities = new ArrayList<>();
+		for (final Map.Entry<Long, Long> pair : sharedBytes.entrySet())
+		{
+			final ChunkSignature source = indexed[(int)(pair.getKey() >>> 32)];
+			final ChunkSignature compare = indexed[(int)(long)pair.getKey()];
+			final FileSimilarity similarity = new FileSimilarity(source.getFile(),
+				compare.getFile(), source.getLength(), compare.getLength(), pair.getValue());
+			if (minSimilarity <= similarity.getSimilarity())
+			{
+				similarities.add(similarity);
+			}
+		}
+		similarities.sort(Comparator.comparingDouble(FileSimilarity::getSimilarity).reversed());
+		return similarities;
+	}
+
+	/**
+	 * Computes the chunk signature of the given file with the default chunk sizes
+	 *
+	 * @param file
+	 *            the file
+	 * @return the chunk signature of the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChunkSignature newChunkSignature(final File file) throws IOException
+	{
+		return newChunkSignature(file, DEFAULT_MIN_CHUNK_SIZE, DEFAULT_AVERAGE_CHUNK_SIZE,
+			DEFAULT_MAX_CHUNK_SIZE);
+	}
+
+	/**
+	 * Computes the chunk signature of the given file with the given chunk sizes. The file is
+	 * streamed once and the boundaries are normalized around the average size, so a chunk
+	 * smaller than the average needs more zero bits of the rolling hash to end than a larger one
+	 *
+	 * @param file
+	 *            the file
+	 * @param minChunkSize
+	 *            the minimum size in bytes of a chunk, only the last chunk can be smaller
+	 * @param averageChunkSize
+	 *            the average size in bytes of a chunk, rounded down to a power of two
+	 * @param maxChunkSize
+	 *            the maximum size in bytes of a chunk
+	 * @return the chunk signature of the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             if the average size is smaller than 4 or the sizes are not in ascending order
+	 */
+	public static ChunkSignature newChunkSignature(final File file, final int minChunkSize,
+		final int averageChunkSize, final int maxChunkSize) throws IOException
+	{
+		Objects.requireNonNull(file);
+		if (minChunkSize < 1 || averageChunkSize < 4 || averageChunkSize < minChunkSize
+			|| maxChunkSize < averageChunkSize)
+		{
+			throw new IllegalArgumentException("Invalid chunk sizes: min=" + minChunkSize
+				+ ", average=" + averageChunkSize + ", max=" + maxChunkSize);
+		}
+		final int bits = 31 - Integer.numberOfLeadingZeros(averageChunkSize);
+		final long smallMask = -1L << 64 - (bits + 1);
+		final long largeMask = -1L << 64 - (bits - 1);
+		long[] hashes = new long[16];
+		int[] lengths = new int[16];
+		int count = 0;
+		final XxHash64 chunkHash = new XxHash64();
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		long hash = 0L;
+		int size = 0;
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				int start = 0;
+				for (int i = 0; i < read; i++)
+				{
+					hash = (hash << 1) + GEAR[buffer[i] & 0xff];
+					size++;
+					if (size < minChunkSize)
+					{
+						continue;
+					}
+					final long mask = size < averageChunkSize ? smallMask : largeMask;
+					if ((hash & mask) == 0L || maxChunkSize <= size)
+					{
+						chunkHash.update(buffer, start, i + 1 - start);
+						if (count == hashes.length)
+						{
+							hashes = Arrays.copyOf(hashes, count * 2);
+							lengths = Arrays.copyOf(lengths, count * 2);
+						}
+						hashes[count] = chunkHash.getValue();
+						lengths[count] = size;
+						count++;
+						chunkHash.reset();
+						hash = 0L;
+						size = 0;
+						start = i + 1;
+					}
+				}
+				chunkHash.update(buffer, start, read - start);
+			}
+		}
+		if (0 < size)
+		{
+			if (count == hashes.length)
+			{
+				hashes = Arrays.copyOf(hashes, count + 1);
+				lengths = Arrays.copyOf(lengths, count + 1);
+			}
+			hashes[count] = chunkHash.getValue();
+			lengths[count] = size;
+			count++;
+		}
+		return new ChunkSignature(file, Arrays.copyOf(hashes, count),
+			Arrays.copyOf(lengths, count));
+	}
+
+	/**
+	 * Computes the similarity of the two given files with the default chunk sizes
+	 *
+	 * @param sourceFile
+	 *            the source file
+	 * @param compareFile
+	 *            the file to compare with the source file
+	 * @return the similarity of the two files
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static FileSimilarity similarity(final File sourceFile, final File compareFile)
+		throws IOException
+	{
+		return similarity(newChunkSignature(sourceFile), newChunkSignature(compareFile));
+	}
+
+	/**
+	 * Computes the similarity of the two given chunk signatures. The shared bytes are the sum over
+	 * every chunk hash of the bytes that both files have in chunks with this hash, so a chunk that
+	 * occurs twice in one file and once in the other file counts once
+	 *
+	 * @param source
+	 *            the chunk signature of the source file
+	 * @param compare
+	 *            the chunk signature of the file to compare
+	 * @return the similarity of the two files
+	 */
+	public static FileSimilarity similarity(final ChunkSignature source,
+		final ChunkSignature compare)
+	{
+		final Map<Long, Long> sourceBytes = toChunkBytes(source);
+		final Map<Long, Long> compareBytes = toChunkBytes(compare);
+		long sharedBytes = 0L;
+		for (final Map.Entry<Long, Long> entry : sourceBytes.entrySet())
+		{
+			final Long bytes = compareBytes.get(entry.getKey());
+			if (bytes != null)
+			{
+				sharedBytes += Math.min(entry.getValue(), bytes);
+			}
+		}
+		return new FileSimilarity(source.getFile(), compare.getFile(), source.getLength(),
+			compare.getLength(), sharedBytes);
+	}
+
+	/**
+	 * Creates the random values of the gear rolling hash from a fixed seed, so the boundaries of
+	 * the chunks are the same in every run
+	 *
+	 * @return the random values for every byte value
+	 */
+	private static long[] newGearTable()
+	{
+		final SplittableRandom random = new SplittableRandom(0x9E3779B97F4A7C15L);
+		final long[] gear = new long[256];
+		for (int i = 0; i < gear.length; i++)
+		{
+			gear[i] = random.nextLong();
+		}
+		return gear;
+	}
+
+	/**
+	 * Sums the bytes of the chunks of the given chunk signature by their hash
+	 *
+	 * @param signature
+	 *            the chunk signature
+	 * @return the map with the chunk hash as key and the bytes of the chunks as value
+	 */
+	private static Map<Long, Long> toChunkBytes(final ChunkSignature signature)
+	{
+		final Map<Long, Long> bytes = new HashMap<>();
+		for (int i = 0; i < signature.getChunkCount(); i++)
+		{
+			bytes.merge(signature.getChunkHash(i), (long)signature.getChunkLength(i), Long::sum);
+		}
+		return bytes;
+	}
+
+}
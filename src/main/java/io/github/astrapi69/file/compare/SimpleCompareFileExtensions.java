@@ -28,8 +28,8 @@ import java.io.File;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 
-import io.github.astrapi69.checksum.FileChecksumExtensions;
 import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+import io.github.astrapi69.file.checksum.ChecksumCache;
 
 /**
  * The class {@link SimpleCompareFileExtensions}.
@@ -79,8 +79,9 @@ public final class SimpleCompareFileExtensions
 	public static boolean compareFilesByChecksum(final File sourceFile, final File fileToCompare,
 		final Algorithm algorithm) throws NoSuchAlgorithmException, IOException
 	{
-		final String checksumSourceFile = FileChecksumExtensions.getChecksum(sourceFile, algorithm);
-		final String checksumFileToCompare = FileChecksumExtensions.getChecksum(fileToCompare,
+		final ChecksumCache checksumCache = ChecksumCache.getDefault();
+		final String checksumSourceFile = checksumCache.getChecksum(sourceFile, algorithm);
+		final String checksumFileToCompare = checksumCache.getChecksum(fileToCompare,
 			algorithm);
 		return checksumSourceFile.equals(checksumFileToCompare);
 	}
@@ -99,8 +100,9 @@ public final class SimpleCompareFileExtensions
 	public static boolean compareFilesByChecksumAdler32(final File sourceFile,
 		final File fileToCompare) throws IOException
 	{
-		final long checksumSourceFile = FileChecksumExtensions.getCheckSumAdler32(sourceFile);
-		final long checksumFileToCompare = FileChecksumExtensions.getCheckSumAdler32(fileToCompare);
+		final ChecksumCache checksumCache = ChecksumCache.getDefault();
+		final long checksumSourceFile = checksumCache.getCheckSumAdler32(sourceFile);
+		final long checksumFileToCompare = checksumCache.getCheckSumAdler32(fileToCompare);
 		return checksumSourceFile == checksumFileToCompare;
 	}
 
@@ -118,8 +120,9 @@ public final class SimpleCompareFileExtensions
 	public static boolean compareFilesByChecksumCRC32(final File sourceFile,
 		final File fileToCompare) throws IOException
 	{
-		final long checksumSourceFile = FileChecksumExtensions.getCheckSumCRC32(sourceFile);
-		final long checksumFileToCompare = FileChecksumExtensions.getCheckSumCRC32(fileToCompare);
+		final ChecksumCache checksumCache = ChecksumCache.getDefault();
+		final long checksumSourceFile = checksumCache.getCheckSumCRC32(sourceFile);
+		final long checksumFileToCompare = checksumCache.getCheckSumCRC32(fileToCompare);
 		return checksumSourceFile == checksumFileToCompare;
 	}
 
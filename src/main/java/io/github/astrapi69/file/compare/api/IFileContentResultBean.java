@@ -48,4 +48,26 @@ public interface IFileContentResultBean extends IFileCompareResultBean
 	 */
 	void setContentEquality(final boolean contentEquality);
 
+	/**
+	 * Gets the offset of the first byte that differs in the content of the compared files
+	 *
+	 * @return the offset of the first differing byte or -1 if the content is equal or the offset
+	 *         was not determined
+	 */
+	default long getFirstMismatchOffset()
+	{
+		return -1L;
+	}
+
+	/**
+	 * Sets the offset of the first byte that differs in the content of the compared files. The
+	 * default implementation does not store the offset
+	 *
+	 * @param firstMismatchOffset
+	 *            the offset of the first differing byte or -1 if the content is equal
+	 */
+	default void setFirstMismatchOffset(final long firstMismatchOffset)
+	{
+	}
+
 }
@@ -34,17 +34,23 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import io.github.astrapi69.file.create.DirectoryFactory;
 import io.github.astrapi69.file.exception.DirectoryAlreadyExistsException;
 import io.github.astrapi69.file.exception.FileIsADirectoryException;
 import io.github.astrapi69.file.exception.FileIsNotADirectoryException;
 import io.github.astrapi69.file.exception.FileIsSecurityRestrictedException;
+import io.github.astrapi69.file.search.AncestorDirectories;
 
 /**
  * The class {@link CopyDirectoryExtensions} helps you to copy directories
@@ -274,95 +280,12 @@ public final class CopyDirectoryExtensions
 		throws IOException, FileIsNotADirectoryException, FileIsADirectoryException,
 		FileIsSecurityRestrictedException, DirectoryAlreadyExistsException
 	{
-		if (!source.isDirectory())
-		{
-			throw new FileIsNotADirectoryException(
-				"Source file '" + source.getAbsolutePath() + "' is not a directory.");
-		}
-		if (!destination.exists())
-		{
-			DirectoryFactory.newDirectory(destination);
-		}
-		boolean copied = false;
-		File[] includeFilesArray;
-
-		if (null != includeFileFilter)
-		{
-			includeFilesArray = source.listFiles(includeFileFilter);
-		}
-		else
-		{
-			includeFilesArray = source.listFiles();
-		}
-		if (null != includeFilesArray)
-		{
-			File[] excludeFilesArray;
-			List<File> allExcludeFilesList = null;
-			List<File> excludeFileFilterList;
-			if (null != excludeFileFilter)
-			{
-				excludeFilesArray = source.listFiles(excludeFileFilter);
-				excludeFileFilterList = Arrays.asList(excludeFilesArray);
-				allExcludeFilesList = new ArrayList<>(excludeFileFilterList);
-			}
-			if (excludeFiles != null && !excludeFiles.isEmpty())
-			{
-				if (allExcludeFilesList != null)
-				{
-					allExcludeFilesList.addAll(excludeFiles);
-				}
-				else
-				{
-					allExcludeFilesList = new ArrayList<>(excludeFiles);
-				}
-			}
-			// if excludeFilesList is not null and not empty
-			if (null != allExcludeFilesList && !allExcludeFilesList.isEmpty())
-			{
-
-				for (final File currentFile : includeFilesArray)
-				{
-					// if the excludeFilesList does not contain the current file do copy...
-					if (!allExcludeFilesList.contains(currentFile))
-					{
-						final File copy = new File(destination, currentFile.getName());
-						if (currentFile.isDirectory())
-						{
-							// copy directory recursive...
-							copied = copyDirectoryWithFileFilter(currentFile, copy,
-								includeFileFilter, excludeFileFilter, lastModified);
-						}
-						else
-						{
-							copied = CopyFileExtensions.copyFile(currentFile, copy, lastModified);
-						}
-					} // otherwise do not copy the current file...
-				}
-			}
-			else
-			{ // otherwise copy all files and directories
-				for (final File currentFile : includeFilesArray)
-				{
-					final File copy = new File(destination, currentFile.getName());
-					if (currentFile.isDirectory())
-					{
-						// copy directory recursive...
-						copied = copyDirectoryWithFileFilter(currentFile, copy, includeFileFilter,
-							excludeFileFilter, lastModified);
-					}
-					else
-					{
-						copied = CopyFileExtensions.copyFile(currentFile, copy, lastModified);
-					}
-				}
-			}
-		}
-		else
-		{
-			throw new FileIsSecurityRestrictedException(
-				"File '" + source.getAbsolutePath() + "' is security restricted.");
-		}
-		return copied;
+		return copyDirectoryWithFilter(source, destination,
+			directory -> includeFileFilter == null
+				? directory.listFiles()
+				: directory.listFiles(includeFileFilter),
+			excludeFileFilter == null ? null : directory -> directory.listFiles(excludeFileFilter),
+			excludeFiles, lastModified);
 	}
 
 	/**
@@ -425,6 +348,123 @@ public final class CopyDirectoryExtensions
 		final FilenameFilter includeFilenameFilter, final FilenameFilter excludeFilenameFilter,
 		final boolean lastModified)
 		throws IOException, FileIsNotADirectoryException, FileIsSecurityRestrictedException
+	{
+		return copyDirectoryWithFilter(source, destination,
+			directory -> includeFilenameFilter == null
+				? directory.listFiles()
+				: directory.listFiles(includeFilenameFilter),
+			excludeFilenameFilter == null
+				? null
+				: directory -> directory.listFiles(excludeFilenameFilter),
+			null, lastModified);
+	}
+
+	/**
+	 * Copies the files that are listed with the given include lister and are not listed with the
+	 * given exclude lister from the given source directory to the given destination directory.
+	 * The directories are copied with a stack of the directories on the current path instead of
+	 * recursive calls, so deep trees can not overflow the stack. Symbolic links to directories are
+	 * followed with the guard of {@link AncestorDirectories}. The created destination directories
+	 * are never entered, so a destination inside of the source directory is not copied into itself
+	 *
+	 * @param source
+	 *            The source directory.
+	 * @param destination
+	 *            The destination directory.
+	 * @param includeLister
+	 *            The function that lists the files of a directory that are copied.
+	 * @param excludeLister
+	 *            The function that lists the files of a directory that are not copied or null if
+	 *            no files are excluded.
+	 * @param excludeFiles
+	 *            A list of files in the source directory that should be not copied or null if no
+	 *            files are excluded.
+	 * @param lastModified
+	 *            Flag the tells if the attribute lastModified has to be set with the attribute from
+	 *            the destination file.
+	 * @return 's true if the last copied file of the source directory is copied, otherwise false.
+	 * @throws IOException
+	 *             Is thrown if an error occurs by reading or writing.
+	 * @throws FileIsNotADirectoryException
+	 *             Is thrown if the source file is not a directory.
+	 * @throws FileIsSecurityRestrictedException
+	 *             Is thrown if a source directory is security restricted.
+	 */
+	private static boolean copyDirectoryWithFilter(final File source, final File destination,
+		final Function<File, File[]> includeLister, final Function<File, File[]> excludeLister,
+		final Collection<File> excludeFiles, final boolean lastModified)
+		throws IOException, FileIsNotADirectoryException, FileIsSecurityRestrictedException
+	{
+		final Set<Object> destinationKeys = new HashSet<>();
+		final Deque<CopyFrame> path = new ArrayDeque<>();
+		path.push(newCopyFrame(source, destination, includeLister, excludeLister, excludeFiles,
+			new AncestorDirectories(true).enter(source), destinationKeys));
+		while (true)
+		{
+			final CopyFrame frame = path.peek();
+			if (frame.index == frame.files.length)
+			{
+				path.pop();
+				if (path.isEmpty())
+				{
+					return frame.copied;
+				}
+				// the result of a subdirectory is the result of the entry in its parent directory
+				path.peek().copied = frame.copied;
+				continue;
+			}
+			final File currentFile = frame.files[frame.index++];
+			if (frame.excludeFiles.contains(currentFile))
+			{
+				continue;
+			}
+			final File copy = new File(frame.destination, currentFile.getName());
+			if (currentFile.isDirectory())
+			{
+				final AncestorDirectories entered = frame.ancestors.enter(currentFile);
+				if (entered != null && !destinationKeys.contains(entered.getKey()))
+				{
+					path.push(newCopyFrame(currentFile, copy, includeLister, excludeLister, null,
+						entered, destinationKeys));
+				}
+			}
+			else
+			{
+				frame.copied = CopyFileExtensions.copyFile(currentFile, copy, lastModified);
+			}
+		}
+	}
+
+	/**
+	 * Creates the destination directory if it does not exist and lists the files of the given
+	 * source directory that have to be copied
+	 *
+	 * @param source
+	 *            The source directory.
+	 * @param destination
+	 *            The destination directory.
+	 * @param includeLister
+	 *            The function that lists the files of a directory that are copied.
+	 * @param excludeLister
+	 *            The function that lists the files of a directory that are not copied or null if
+	 *            no files are excluded.
+	 * @param excludeFiles
+	 *            A list of files that should be not copied or null if no files are excluded.
+	 * @param ancestors
+	 *            The path from the source directory of the copy to the given source directory.
+	 * @param destinationKeys
+	 *            The keys of the created destination directories.
+	 * @return the new {@link CopyFrame}
+	 * @throws FileIsNotADirectoryException
+	 *             Is thrown if the source file is not a directory.
+	 * @throws FileIsSecurityRestrictedException
+	 *             Is thrown if the source directory is security restricted.
+	 */
+	private static CopyFrame newCopyFrame(final File source, final File destination,
+		final Function<File, File[]> includeLister, final Function<File, File[]> excludeLister,
+		final Collection<File> excludeFiles, final AncestorDirectories ancestors,
+		final Set<Object> destinationKeys)
+		throws FileIsNotADirectoryException, FileIsSecurityRestrictedException
 	{
 		if (!source.isDirectory())
 		{
@@ -435,71 +475,66 @@ public final class CopyDirectoryExtensions
 		{
 			DirectoryFactory.newDirectory(destination);
 		}
-		boolean copied = false;
-		File[] includeFilesArray;
-		if (null != includeFilenameFilter)
+		final AncestorDirectories createdDestination = new AncestorDirectories(true)
+			.enter(destination);
+		if (createdDestination != null)
 		{
-			includeFilesArray = source.listFiles(includeFilenameFilter);
+			destinationKeys.add(createdDestination.getKey());
 		}
-		else
+		final File[] includeFiles = includeLister.apply(source);
+		if (includeFiles == null)
 		{
-			includeFilesArray = source.listFiles();
+			throw new FileIsSecurityRestrictedException(
+				"File '" + source.getAbsolutePath() + "' is security restricted.");
 		}
-		if (null != includeFilesArray)
+		final List<File> allExcludeFiles = new ArrayList<>();
+		if (excludeLister != null)
 		{
-			File[] excludeFilesArray;
-			List<File> excludeFilesList = null;
-			if (null != excludeFilenameFilter)
-			{
-				excludeFilesArray = source.listFiles(excludeFilenameFilter);
-				excludeFilesList = Arrays.asList(excludeFilesArray);
-			}
-			// if excludeFilesList is not null and not empty
-			if (null != excludeFilesList && !excludeFilesList.isEmpty())
-			{
-				for (final File currentFile : includeFilesArray)
-				{
-					// if the excludeFilesList does not contain the current file do copy...
-					if (!excludeFilesList.contains(currentFile))
-					{
-						final File copy = new File(destination, currentFile.getName());
-						if (currentFile.isDirectory())
-						{
-							// copy directory recursive...
-							copied = copyDirectoryWithFilenameFilter(currentFile, copy,
-								includeFilenameFilter, excludeFilenameFilter, lastModified);
-						}
-						else
-						{
-							copied = CopyFileExtensions.copyFile(currentFile, copy, lastModified);
-						}
-					} // otherwise do not copy the current file...
-				}
-			}
-			else
+			final File[] excludeFilesArray = excludeLister.apply(source);
+			if (excludeFilesArray != null)
 			{
-				for (final File currentFile : includeFilesArray)
-				{
-					final File copy = new File(destination, currentFile.getName());
-					if (currentFile.isDirectory())
-					{
-						// copy directory recursive...
-						copied = copyDirectoryWithFilenameFilter(currentFile, copy,
-							includeFilenameFilter, excludeFilenameFilter, lastModified);
-					}
-					else
-					{
-						copied = CopyFileExtensions.copyFile(currentFile, copy, lastModified);
-					}
-				}
+				allExcludeFiles.addAll(Arrays.asList(excludeFilesArray));
 			}
 		}
-		else
+		if (excludeFiles != null)
 		{
-			throw new FileIsSecurityRestrictedException(
-				"File '" + source.getAbsolutePath() + "' is security restricted.");
+			allExcludeFiles.addAll(excludeFiles);
+		}
+		return new CopyFrame(destination, includeFiles, allExcludeFiles, ancestors);
+	}
+
+	/**
+	 * A source directory on the current path of a copy together with the position of the next file
+	 */
+	private static final class CopyFrame
+	{
+
+		/** The path from the source directory of the copy to the source directory. */
+		final AncestorDirectories ancestors;
+
+		/** The destination directory. */
+		final File destination;
+
+		/** The files that are not copied. */
+		final List<File> excludeFiles;
+
+		/** The files of the source directory that are copied. */
+		final File[] files;
+
+		/** The flag if the last file is copied. */
+		boolean copied;
+
+		/** The index of the next file. */
+		int index;
+
+		CopyFrame(final File destination, final File[] files, final List<File> excludeFiles,
+			final AncestorDirectories ancestors)
+		{
+			this.ancestors = ancestors;
+			this.destination = destination;
+			this.files = files;
+			this.excludeFiles = excludeFiles;
 		}
-		return copied;
 	}
 
 }
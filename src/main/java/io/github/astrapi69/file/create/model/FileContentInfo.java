@@ -27,9 +27,9 @@ package io.github.astrapi69.file.create.model;
 import java.io.File;
 import java.util.Arrays;
 
-import io.github.astrapi69.checksum.FileChecksumExtensions;
 import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
 import io.github.astrapi69.file.FileExtensions;
+import io.github.astrapi69.file.checksum.ChecksumCache;
 import io.github.astrapi69.file.create.FileFactory;
 import io.github.astrapi69.file.read.ReadFileExtensions;
 import io.github.astrapi69.file.write.StoreFileExtensions;
@@ -99,7 +99,7 @@ public class FileContentInfo extends FileInfo
 			return FileContentInfo.builder().name(file.getName())
 				.path(FileExtensions.getAbsolutPathWithoutFilename(file))
 				.checksum(RuntimeExceptionDecorator.decorate(
-					() -> FileChecksumExtensions.getChecksum(file, ChecksumAlgorithm.MD5)))
+					() -> ChecksumCache.getDefault().getChecksum(file, ChecksumAlgorithm.MD5)))
 				.content(RuntimeExceptionDecorator
 					.decorate(() -> ReadFileExtensions.readFileToBytearray(file)))
 				.build();
@@ -31,14 +31,19 @@ import java.io.IOException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import io.github.astrapi69.file.exception.DirectoryHasNoContentException;
 import io.github.astrapi69.file.exception.FileDoesNotExistException;
@@ -128,7 +133,8 @@ public final class DeleteFileExtensions
 	public static boolean delete(final File file) throws IOException
 	{
 		Objects.requireNonNull(file);
-		if (file.isDirectory())
+		// a symbolic link to a directory is deleted without the content of the directory
+		if (Files.isDirectory(file.toPath(), LinkOption.NOFOLLOW_LINKS))
 		{
 			deleteAllFiles(file.toPath());
 			return Files.deleteIfExists(file.toPath());
@@ -328,74 +334,11 @@ public final class DeleteFileExtensions
 		final FileFilter includeFileFilter, final FileFilter excludeFileFilter)
 		throws FileIsNotADirectoryException, IOException, FileIsSecurityRestrictedException
 	{
-		if (!source.isDirectory())
-		{
-			throw new FileIsNotADirectoryException(
-				"Source file '" + source.getAbsolutePath() + "' is not a directory.");
-		}
-		File[] includeFilesArray;
-
-		if (null != includeFileFilter)
-		{
-			includeFilesArray = source.listFiles(includeFileFilter);
-		}
-		else
-		{
-			includeFilesArray = source.listFiles();
-		}
-
-		if (null != includeFilesArray)
-		{
-			File[] excludeFilesArray;
-			List<File> excludeFilesList = null;
-			if (null != excludeFileFilter)
-			{
-				excludeFilesArray = source.listFiles(excludeFileFilter);
-				excludeFilesList = Arrays.asList(excludeFilesArray);
-			}
-			// if excludeFilesList is not null and not empty
-			if (null != excludeFilesList && !excludeFilesList.isEmpty())
-			{
-				for (final File currentFile : includeFilesArray)
-				{
-					// if the excludeFilesList does not contain the current file do copy...
-					if (!excludeFilesList.contains(currentFile))
-					{
-						if (currentFile.isDirectory())
-						{
-							// delete directory recursive...
-							deleteFilesWithFileFilter(currentFile, includeFileFilter,
-								excludeFileFilter);
-						}
-						else
-						{ // delete file
-							deleteFile(currentFile);
-						}
-					} // otherwise do not delete the current file...
-				}
-			}
-			else
-			{ // otherwise delete all files and directories
-				for (final File currentFile : includeFilesArray)
-				{
-					if (currentFile.isDirectory())
-					{
-						// delete directory recursive...
-						deleteFilesWithFileFilter(currentFile, includeFileFilter,
-							excludeFileFilter);
-					}
-					else
-					{ // delete file
-						deleteFile(currentFile);
-					}
-				}
-			}
-		}
-		else
-		{
-			throw new FileIsSecurityRestrictedException(
-				"File '" + source.getAbsolutePath() + "' is security restricted.");
-		}
+		deleteFilesWithFilter(source,
+			directory -> includeFileFilter == null
+				? directory.listFiles()
+				: directory.listFiles(includeFileFilter),
+			excludeFileFilter == null ? null : directory -> directory.listFiles(excludeFileFilter));
 	}
 
 	/**
@@ -443,75 +386,124 @@ public final class DeleteFileExtensions
 	public static void deleteFilesWithFilenameFilter(final File source,
 		final FilenameFilter includeFilenameFilter, final FilenameFilter excludeFilenameFilter)
 		throws FileIsNotADirectoryException, IOException, FileIsSecurityRestrictedException
+	{
+		deleteFilesWithFilter(source,
+			directory -> includeFilenameFilter == null
+				? directory.listFiles()
+				: directory.listFiles(includeFilenameFilter),
+			excludeFilenameFilter == null
+				? null
+				: directory -> directory.listFiles(excludeFilenameFilter));
+	}
+
+	/**
+	 * Tries to delete all files that are listed with the given include lister and are not listed
+	 * with the given exclude lister from the given source directory and its subdirectories. The
+	 * subdirectories are walked with a stack of the directories on the current path instead of
+	 * recursive calls, so deep trees can not overflow the stack. Symbolic links are not followed:
+	 * a listed symbolic link to a directory is deleted like a file and the directory it points to
+	 * is left untouched, so the walk can not run into a cycle
+	 *
+	 * @param source
+	 *            The source directory.
+	 * @param includeLister
+	 *            The function that lists the files of a directory that are deleted.
+	 * @param excludeLister
+	 *            The function that lists the files of a directory that are not deleted or null if
+	 *            no files are excluded.
+	 *
+	 * @throws FileIsNotADirectoryException
+	 *             Is thrown if the destination file is a directory.
+	 * @throws IOException
+	 *             Is thrown if an error occurs by reading or writing.
+	 * @throws FileIsSecurityRestrictedException
+	 *             Is thrown if a source directory is security restricted.
+	 */
+	private static void deleteFilesWithFilter(final File source,
+		final Function<File, File[]> includeLister, final Function<File, File[]> excludeLister)
+		throws FileIsNotADirectoryException, IOException, FileIsSecurityRestrictedException
 	{
 		if (!source.isDirectory())
 		{
 			throw new FileIsNotADirectoryException(
 				"Source file '" + source.getAbsolutePath() + "' is not a directory.");
 		}
-		File[] includeFilesArray;
-
-		if (null != includeFilenameFilter)
-		{
-			includeFilesArray = source.listFiles(includeFilenameFilter);
-		}
-		else
-		{
-			includeFilesArray = source.listFiles();
-		}
-
-		if (null != includeFilesArray)
+		final Deque<DeleteFrame> path = new ArrayDeque<>();
+		path.push(newDeleteFrame(source, includeLister, excludeLister));
+		while (!path.isEmpty())
 		{
-			File[] excludeFilesArray;
-			List<File> excludeFilesList = null;
-			if (null != excludeFilenameFilter)
+			final DeleteFrame frame = path.peek();
+			if (frame.index == frame.files.length)
 			{
-				excludeFilesArray = source.listFiles(excludeFilenameFilter);
-				excludeFilesList = Arrays.asList(excludeFilesArray);
+				path.pop();
+				continue;
 			}
-			// if excludeFilesList is not null and not empty
-			if (null != excludeFilesList && !excludeFilesList.isEmpty())
+			final File currentFile = frame.files[frame.index++];
+			if (frame.excludeFiles.contains(currentFile))
 			{
-				for (final File currentFile : includeFilesArray)
-				{
-					// if the excludeFilesList does not contain the current file do copy...
-					if (!excludeFilesList.contains(currentFile))
-					{
-						if (currentFile.isDirectory())
-						{
-							// delete directory recursive...
-							deleteFilesWithFilenameFilter(currentFile, includeFilenameFilter,
-								excludeFilenameFilter);
-						}
-						else
-						{ // delete file
-							deleteFile(currentFile);
-						}
-					} // otherwise do not delete the current file...
-				}
+				continue;
+			}
+			if (Files.isDirectory(currentFile.toPath(), LinkOption.NOFOLLOW_LINKS))
+			{
+				path.push(newDeleteFrame(currentFile, includeLister, excludeLister));
 			}
 			else
-			{ // otherwise delete all files and directories
-				for (final File currentFile : includeFilesArray)
-				{
-					if (currentFile.isDirectory())
-					{
-						// delete directory recursive...
-						deleteFilesWithFilenameFilter(currentFile, includeFilenameFilter,
-							excludeFilenameFilter);
-					}
-					else
-					{ // delete file
-						deleteFile(currentFile);
-					}
-				}
+			{
+				deleteFile(currentFile);
 			}
 		}
-		else
+	}
+
+	/**
+	 * Lists the files of the given source directory that have to be deleted
+	 *
+	 * @param source
+	 *            The source directory.
+	 * @param includeLister
+	 *            The function that lists the files of a directory that are deleted.
+	 * @param excludeLister
+	 *            The function that lists the files of a directory that are not deleted or null if
+	 *            no files are excluded.
+	 * @return the new {@link DeleteFrame}
+	 * @throws FileIsSecurityRestrictedException
+	 *             Is thrown if the source directory is security restricted.
+	 */
+	private static DeleteFrame newDeleteFrame(final File source,
+		final Function<File, File[]> includeLister, final Function<File, File[]> excludeLister)
+		throws FileIsSecurityRestrictedException
+	{
+		final File[] includeFiles = includeLister.apply(source);
+		if (includeFiles == null)
 		{
 			throw new FileIsSecurityRestrictedException(
 				"File '" + source.getAbsolutePath() + "' is security restricted.");
 		}
+		final File[] excludeFiles = excludeLister == null ? null : excludeLister.apply(source);
+		return new DeleteFrame(includeFiles,
+			excludeFiles == null ? Collections.emptyList() : Arrays.asList(excludeFiles));
+	}
+
+	/**
+	 * A source directory on the current path of a delete together with the position of the next
+	 * file
+	 */
+	private static final class DeleteFrame
+	{
+
+		/** The files that are not deleted. */
+		final List<File> excludeFiles;
+
+		/** The files of the source directory that are deleted. */
+		final File[] files;
+
+		/** The index of the next file. */
+		int index;
+
+		DeleteFrame(final File[] files, final List<File> excludeFiles)
+		{
+			this.files = files;
+			this.excludeFiles = excludeFiles;
+		}
 	}
 
 }
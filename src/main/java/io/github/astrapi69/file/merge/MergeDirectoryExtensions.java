@@ -26,12 +26,15 @@ package io.github.astrapi69.file.merge;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 import org.apache.commons.io.FileUtils;
 
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.search.DirectoryWalker;
 import io.github.astrapi69.throwable.RuntimeExceptionDecorator;
 
 /**
@@ -48,7 +51,9 @@ public final class MergeDirectoryExtensions
 	}
 
 	/**
-	 * Merge the given directories to merge to the given target directory
+	 * Merge the given directories to merge to the given target directory. If a file exists in more
+	 * than one directory the last modified file is merged. The directories are walked with the
+	 * {@link DirectoryWalker#SEQUENTIAL sequential} {@link DirectoryWalker}
 	 *
 	 * @param targetDir
 	 *            the target directory
@@ -72,36 +77,42 @@ public final class MergeDirectoryExtensions
 		final Map<String, File> fileMergeStore = new HashMap<>();
 		for (File directoryToMerge : directoriesToMerge)
 		{
-			refreshFileStore(directoryToMerge, fileMergeStore, null);
+			refreshFileStore(directoryToMerge, fileMergeStore);
 		}
 		return fileMergeStore;
 	}
 
 	private static void refreshFileStore(final File baseDirectory,
-		final Map<String, File> fileStore, final String relativeName)
+		final Map<String, File> fileStore)
 	{
-		File[] files = Objects.requireNonNull(baseDirectory.listFiles());
-		for (File file : files)
-		{
-			final String relativeFileName = getRelativeFileName(relativeName, file.getName());
-			if (file.isFile())
-			{
+		// a missing or unreadable directory fails like it did before the walk
+		Objects.requireNonNull(baseDirectory.list());
+		final Path basePath = baseDirectory.getAbsoluteFile().toPath();
+		DirectoryWalker.SEQUENTIAL.walk(baseDirectory, FileAttributeSnapshot::isRegularFile,
+			entry -> {
+				final File file = entry.getFile();
+				final String relativeFileName = getRelativeFileName(
+					basePath.relativize(file.toPath()));
 				final File existingFile = fileStore.get(relativeFileName);
-				if (existingFile == null || file.lastModified() > existingFile.lastModified())
+				if (existingFile == null || entry.getLastModified() > existingFile.lastModified())
 				{
 					fileStore.put(relativeFileName, file);
 				}
-			}
-			else
-			{
-				refreshFileStore(file, fileStore, relativeFileName);
-			}
-		}
+			});
 	}
 
-	private static String getRelativeFileName(final String baseName, final String fileName)
+	private static String getRelativeFileName(final Path relativePath)
 	{
-		return baseName == null ? fileName : baseName + "/" + fileName;
+		final StringBuilder relativeFileName = new StringBuilder();
+		for (final Path name : relativePath)
+		{
+			if (0 < relativeFileName.length())
+			{
+				relativeFileName.append('/');
+			}
+			relativeFileName.append(name);
+		}
+		return relativeFileName.toString();
 	}
 
 }
@@ -0,0 +1,217 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link AncestorDirectories} is the guard against cycles of symbolic links that all
+ * walks of this library share. It holds the directories on the current path of a walk, from the
+ * start directory to the directory that is walked, and a directory is not entered if it is
+ * already on this path, like {@link java.nio.file.Files#walkFileTree} does if it follows symbolic
+ * links. So a symbolic link that points back to one of its parent directories is not entered
+ * again, while a directory that is reachable through two paths that do not form a cycle, for
+ * instance through a symbolic link to a sibling directory, is walked through both paths. A
+ * directory is identified by the {@link BasicFileAttributes#fileKey() file key} of the file system
+ * and by its real path if the file system has no file keys. If symbolic links are not followed, a
+ * symbolic link to a directory is not a directory and is never entered. An instance is immutable,
+ * {@link #enter(Path)} returns the path of the entered subdirectory as a new instance that shares
+ * the path of its parent, so the tasks of a parallel walk can pass it on without synchronization
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class AncestorDirectories
+{
+
+	/** The flag if symbolic links to directories are followed. */
+	private final boolean followLinks;
+
+	/** The key of the deepest directory or null if the path is empty. */
+	private final Object key;
+
+	/** The path without the deepest directory or null if the path is empty. */
+	private final AncestorDirectories parent;
+
+	/** The number of the directories on the path. */
+	private final int size;
+
+	/**
+	 * Instantiates a new empty {@link AncestorDirectories}
+	 *
+	 * @param followLinks
+	 *            the flag if symbolic links to directories are followed
+	 */
+	public AncestorDirectories(final boolean followLinks)
+	{
+		this(followLinks, null, null, 0);
+	}
+
+	private AncestorDirectories(final boolean followLinks, final Object key,
+		final AncestorDirectories parent, final int size)
+	{
+		this.followLinks = followLinks;
+		this.key = key;
+		this.parent = parent;
+		this.size = size;
+	}
+
+	/**
+	 * Checks if symbolic links to directories are followed
+	 *
+	 * @return true if symbolic links to directories are followed, otherwise false
+	 */
+	public boolean isFollowLinks()
+	{
+		return followLinks;
+	}
+
+	/**
+	 * Gets the key of the deepest directory on the path, the file key or the real path of the
+	 * directory
+	 *
+	 * @return the key of the deepest directory or null if the path is empty
+	 */
+	public Object getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Gets the number of the directories on the path
+	 *
+	 * @return the number of the directories on the path
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Enters the given directory if it is not already on the path
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return the path with the given directory as the deepest directory or null if the given file
+	 *         is not a directory or is already on the path
+	 */
+	public AncestorDirectories enter(final File directory)
+	{
+		Objects.requireNonNull(directory);
+		try
+		{
+			return enter(directory.toPath());
+		}
+		catch (final InvalidPathException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Enters the given directory if it is not already on the path
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return the path with the given directory as the deepest directory or null if the given path
+	 *         is not a directory or is already on the path
+	 */
+	public AncestorDirectories enter(final Path directory)
+	{
+		Objects.requireNonNull(directory);
+		final BasicFileAttributes attributes = DirectoryWalker.readAttributes(directory,
+			followLinks);
+		return attributes == null || !attributes.isDirectory()
+			? null
+			: enter(directory, attributes.fileKey());
+	}
+
+	/**
+	 * Enters the directory of the given attribute snapshot if it is not already on the path. The
+	 * snapshot must be read with the same policy for symbolic links as this instance uses
+	 *
+	 * @param directory
+	 *            the attribute snapshot of the directory
+	 * @return the path with the given directory as the deepest directory or null if the given
+	 *         snapshot is not a directory or is already on the path
+	 */
+	public AncestorDirectories enter(final FileAttributeSnapshot directory)
+	{
+		Objects.requireNonNull(directory);
+		return directory.isDirectory()
+			? enter(directory.getFile().toPath(), directory.getFileKey())
+			: null;
+	}
+
+	/**
+	 * Enters the given directory with the given file key
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param fileKey
+	 *            the file key of the directory or null if the file system has no file keys
+	 * @return the path with the given directory as the deepest directory or null if it is already
+	 *         on the path
+	 */
+	private AncestorDirectories enter(final Path directory, final Object fileKey)
+	{
+		final Object directoryKey = fileKey != null ? fileKey : toRealPath(directory);
+		for (AncestorDirectories ancestor = this; ancestor.key != null; ancestor = ancestor.parent)
+		{
+			if (ancestor.key.equals(directoryKey))
+			{
+				return null;
+			}
+		}
+		return new AncestorDirectories(followLinks, directoryKey, this, size + 1);
+	}
+
+	/**
+	 * Resolves the real path of the given directory
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return the real path or the normalized absolute path if the real path can not be resolved
+	 */
+	private static Path toRealPath(final Path directory)
+	{
+		try
+		{
+			return directory.toRealPath();
+		}
+		catch (final IOException e)
+		{
+			return directory.toAbsolutePath().normalize();
+		}
+	}
+
+}
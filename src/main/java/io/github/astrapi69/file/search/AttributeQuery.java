@@ -0,0 +1,273 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link AttributeQuery} is a compiled query for the attributes of files. A query is
+ * matched against the {@link FileAttributeSnapshot} that a {@link DirectoryWalker} reads together
+ * with the directory entries, so no further call to the file system is needed for an entry. The
+ * ranges of the length and of the last modified time of queries that are combined with
+ * {@link #and(AttributeQuery)} are merged in one range check. A query for the owner or the
+ * permissions needs the POSIX attributes of the entries, which are read by a walker from
+ * {@link DirectoryWalker#withPosixAttributes()}
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class AttributeQuery
+{
+
+	/** The query that matches every entry. */
+	public static final AttributeQuery ALL = new AttributeQuery("all", entry -> true, false,
+		new long[] { Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE });
+
+	/** The query that matches the directories. */
+	public static final AttributeQuery DIRECTORIES = new AttributeQuery("directories",
+		FileAttributeSnapshot::isDirectory, false, null);
+
+	/** The query that matches the regular files. */
+	public static final AttributeQuery REGULAR_FILES = new AttributeQuery("regular files",
+		FileAttributeSnapshot::isRegularFile, false, null);
+
+	/**
+	 * The bounds of the length and of the last modified time, all inclusive, if this query is a
+	 * range query, otherwise null.
+	 */
+	private final long[] bounds;
+
+	/** The description of this query. */
+	private final String description;
+
+	/** The matcher for the entries. */
+	private final Predicate<FileAttributeSnapshot> matcher;
+
+	/** The flag if this query needs the POSIX attributes. */
+	private final boolean posixAttributes;
+
+	private AttributeQuery(final String description,
+		final Predicate<FileAttributeSnapshot> matcher, final boolean posixAttributes,
+		final long[] bounds)
+	{
+		this.description = description;
+		this.matcher = matcher;
+		this.posixAttributes = posixAttributes;
+		this.bounds = bounds;
+	}
+
+	/**
+	 * Factory method for create a new {@link AttributeQuery} that matches the entries whose name
+	 * matches the given filename query
+	 *
+	 * @param query
+	 *            the filename query
+	 * @return the new {@link AttributeQuery}
+	 */
+	public static AttributeQuery filename(final FilenameQuery query)
+	{
+		Objects.requireNonNull(query);
+		return new AttributeQuery(query.toString(), entry -> query.matches(entry.getFile()), false,
+			null);
+	}
+
+	/**
+	 * Factory method for create a new {@link AttributeQuery} that matches the entries whose length
+	 * is in the given range
+	 *
+	 * @param minLength
+	 *            the minimum length in bytes, inclusive
+	 * @param maxLength
+	 *            the maximum length in bytes, inclusive
+	 * @return the new {@link AttributeQuery}
+	 */
+	public static AttributeQuery lengthBetween(final long minLength, final long maxLength)
+	{
+		return ofBounds(new long[] { minLength, maxLength, Long.MIN_VALUE, Long.MAX_VALUE });
+	}
+
+	/**
+	 * Factory method for create a new {@link AttributeQuery} that matches the entries whose last
+	 * modified time is in the given range
+	 *
+	 * @param from
+	 *            the earliest last modified time in milliseconds, inclusive
+	 * @param to
+	 *            the latest last modified time in milliseconds, inclusive
+	 * @return the new {@link AttributeQuery}
+	 */
+	public static AttributeQuery modifiedBetween(final long from, final long to)
+	{
+		return ofBounds(new long[] { Long.MIN_VALUE, Long.MAX_VALUE, from, to });
+	}
+
+	/**
+	 * Factory method for create a new {@link AttributeQuery} that matches the entries of the
+	 * given owner. This query needs the POSIX attributes
+	 *
+	 * @param owner
+	 *            the name of the owner
+	 * @return the new {@link AttributeQuery}
+	 */
+	public static AttributeQuery owner(final String owner)
+	{
+		Objects.requireNonNull(owner);
+		return new AttributeQuery("owner " + owner, entry -> owner.equals(entry.getOwner()), true,
+			null);
+	}
+
+	/**
+	 * Factory method for create a new {@link AttributeQuery} that matches the entries that have
+	 * all the given permissions. This query needs the POSIX attributes
+	 *
+	 * @param permissions
+	 *            the permissions
+	 * @return the new {@link AttributeQuery}
+	 */
+	public static AttributeQuery permissions(final PosixFilePermission... permissions)
+	{
+		final Set<PosixFilePermission> required = EnumSet.noneOf(PosixFilePermission.class);
+		required.addAll(Arrays.asList(permissions));
+		return new AttributeQuery("permissions " + required, entry -> {
+			final Set<PosixFilePermission> actual = entry.getPermissions();
+			return actual != null && actual.containsAll(required);
+		}, true, null);
+	}
+
+	/**
+	 * Creates a new {@link AttributeQuery} from the given bounds
+	 *
+	 * @param bounds
+	 *            the bounds of the length and of the last modified time, all inclusive
+	 * @return the new {@link AttributeQuery}
+	 */
+	private static AttributeQuery ofBounds(final long[] bounds)
+	{
+		final long minLength = bounds[0];
+		final long maxLength = bounds[1];
+		final long from = bounds[2];
+		final long to = bounds[3];
+		final String description = "length in [" + minLength + ", " + maxLength
+			+ "] and lastModified in [" + from + ", " + to + "]";
+		return new AttributeQuery(description, entry -> {
+			final long length = entry.getLength();
+			final long lastModified = entry.getLastModified();
+			return minLength <= length && length <= maxLength && from <= lastModified
+				&& lastModified <= to;
+		}, false, bounds);
+	}
+
+	/**
+	 * Creates a new {@link AttributeQuery} that matches the entries that match this query and the
+	 * given query. The given query is only matched if this query matches. If both queries are
+	 * range queries, the new query checks the intersection of the ranges
+	 *
+	 * @param other
+	 *            the other query
+	 * @return the new {@link AttributeQuery}
+	 */
+	public AttributeQuery and(final AttributeQuery other)
+	{
+		if (this.bounds != null && other.bounds != null)
+		{
+			return ofBounds(new long[] { Math.max(this.bounds[0], other.bounds[0]),
+					Math.min(this.bounds[1], other.bounds[1]),
+					Math.max(this.bounds[2], other.bounds[2]),
+					Math.min(this.bounds[3], other.bounds[3]) });
+		}
+		final Predicate<FileAttributeSnapshot> first = this.matcher;
+		final Predicate<FileAttributeSnapshot> second = other.matcher;
+		return new AttributeQuery("(" + this.description + " and " + other.description + ")",
+			entry -> first.test(entry) && second.test(entry),
+			this.posixAttributes || other.posixAttributes, null);
+	}
+
+	/**
+	 * Checks if this query needs the POSIX attributes of the entries
+	 *
+	 * @return true if this query needs the POSIX attributes, otherwise false
+	 */
+	public boolean isPosixAttributes()
+	{
+		return posixAttributes;
+	}
+
+	/**
+	 * Checks if the given entry matches this query
+	 *
+	 * @param entry
+	 *            the attribute snapshot of the entry
+	 * @return true if the given entry matches this query, otherwise false
+	 */
+	public boolean matches(final FileAttributeSnapshot entry)
+	{
+		return matcher.test(entry);
+	}
+
+	/**
+	 * Creates a new {@link AttributeQuery} that matches the entries that do not match this query
+	 *
+	 * @return the new {@link AttributeQuery}
+	 */
+	public AttributeQuery negate()
+	{
+		return new AttributeQuery("not " + this.description, this.matcher.negate(),
+			this.posixAttributes, null);
+	}
+
+	/**
+	 * Creates a new {@link AttributeQuery} that matches the entries that match this query or the
+	 * given query. The given query is only matched if this query does not match
+	 *
+	 * @param other
+	 *            the other query
+	 * @return the new {@link AttributeQuery}
+	 */
+	public AttributeQuery or(final AttributeQuery other)
+	{
+		final Predicate<FileAttributeSnapshot> first = this.matcher;
+		final Predicate<FileAttributeSnapshot> second = other.matcher;
+		return new AttributeQuery("(" + this.description + " or " + other.description + ")",
+			entry -> first.test(entry) || second.test(entry),
+			this.posixAttributes || other.posixAttributes, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "AttributeQuery(" + this.description + ")";
+	}
+
+}
@@ -0,0 +1,204 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+
+/**
+ * The class {@link ContentMatch} holds one match of a pattern of a {@link ContentQuery} in the
+ * content of a file, together with the line that contains the match
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class ContentMatch
+{
+
+	/** The file that contains the match. */
+	private final File file;
+
+	/**
+	 * The decoded line that contains the match, without the line terminator, or the part of the
+	 * line around the match if the line is very long.
+	 */
+	private final String line;
+
+	/** The number of the line that contains the match, the first line has the number one. */
+	private final long lineNumber;
+
+	/** The offset in bytes of the start of the match in the file. */
+	private final long offset;
+
+	/** The pattern that matched. */
+	private final String pattern;
+
+	/**
+	 * Instantiates a new {@link ContentMatch}
+	 *
+	 * @param file
+	 *            the file that contains the match
+	 * @param pattern
+	 *            the pattern that matched
+	 * @param lineNumber
+	 *            the number of the line that contains the match
+	 * @param offset
+	 *            the offset in bytes of the start of the match in the file
+	 * @param line
+	 *            the decoded line that contains the match
+	 */
+	public ContentMatch(final File file, final String pattern, final long lineNumber,
+		final long offset, final String line)
+	{
+		this.file = file;
+		this.pattern = pattern;
+		this.lineNumber = lineNumber;
+		this.offset = offset;
+		this.line = line;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof ContentMatch;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof ContentMatch))
+			return false;
+		final ContentMatch other = (ContentMatch)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$file = this.file;
+		final Object other$file = other.file;
+		if (this$file == null ? other$file != null : !this$file.equals(other$file))
+			return false;
+		final Object this$pattern = this.pattern;
+		final Object other$pattern = other.pattern;
+		if (this$pattern == null ? other$pattern != null : !this$pattern.equals(other$pattern))
+			return false;
+		if (this.lineNumber != other.lineNumber)
+			return false;
+		if (this.offset != other.offset)
+			return false;
+		final Object this$line = this.line;
+		final Object other$line = other.line;
+		return this$line == null ? other$line == null : this$line.equals(other$line);
+	}
+
+	/**
+	 * Gets the file that contains the match
+	 *
+	 * @return the file
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Gets the decoded line that contains the match, without the line terminator, or the part of
+	 * the line around the match if the line is very long
+	 *
+	 * @return the line
+	 */
+	public String getLine()
+	{
+		return this.line;
+	}
+
+	/**
+	 * Gets the number of the line that contains the match, the first line has the number one
+	 *
+	 * @return the line number
+	 */
+	public long getLineNumber()
+	{
+		return this.lineNumber;
+	}
+
+	/**
+	 * Gets the offset in bytes of the start of the match in the file
+	 *
+	 * @return the offset
+	 */
+	public long getOffset()
+	{
+		return this.offset;
+	}
+
+	/**
+	 * Gets the pattern that matched
+	 *
+	 * @return the pattern
+	 */
+	public String getPattern()
+	{
+		return this.pattern;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $file = this.file;
+		result = result * PRIME + ($file == null ? 43 : $file.hashCode());
+		final Object $pattern = this.pattern;
+		result = result * PRIME + ($pattern == null ? 43 : $pattern.hashCode());
+		final long $lineNumber = this.lineNumber;
+		result = result * PRIME + (int)($lineNumber >>> 32 ^ $lineNumber);
+		final long $offset = this.offset;
+		result = result * PRIME + (int)($offset >>> 32 ^ $offset);
+		final Object $line = this.line;
+		result = result * PRIME + ($line == null ? 43 : $line.hashCode());
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ContentMatch(file=" + this.file + ", pattern=" + this.pattern + ", lineNumber="
+			+ this.lineNumber + ", offset=" + this.offset + ", line=" + this.line + ")";
+	}
+}
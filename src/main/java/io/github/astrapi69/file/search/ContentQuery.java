@@ -0,0 +1,389 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * The class {@link ContentQuery} is a compiled query for the content of files. The literal
+ * patterns are encoded with the charset of the query and compiled in one Aho-Corasick automaton
+ * over bytes, so all literals are found in one pass over the bytes of a file and only the lines
+ * with a match are decoded. The regular expressions can only be matched against decoded text, so
+ * if a query contains regular expressions every line is decoded. The charset must encode the line
+ * feed as the single byte 10, which holds for UTF-8, ISO-8859-1 and the other ASCII compatible
+ * charsets
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class ContentQuery
+{
+
+	/** The charset of the content. */
+	private final Charset charset;
+
+	/** The literal patterns. */
+	private final String[] literals;
+
+	/** The lengths in bytes of the encoded literal patterns. */
+	private final int[] literalLengths;
+
+	/** The indexes of the literals that end in a state, or null if no literal ends there. */
+	private final int[][] outputs;
+
+	/** The regular expressions. */
+	private final Pattern[] patterns;
+
+	/** The transitions of the automaton, one row of 256 states for every state. */
+	private final int[][] transitions;
+
+	/**
+	 * Instantiates a new {@link ContentQuery}
+	 *
+	 * @param charset
+	 *            the charset of the content
+	 * @param literals
+	 *            the literal patterns
+	 * @param patterns
+	 *            the regular expressions
+	 * @throws IllegalArgumentException
+	 *             if the charset does not encode the line feed as one byte, if there is no pattern
+	 *             or if a literal is empty, contains a line feed or can not be encoded
+	 */
+	public ContentQuery(final Charset charset, final Collection<String> literals,
+		final Collection<Pattern> patterns)
+	{
+		this.charset = Objects.requireNonNull(charset);
+		if (!Arrays.equals(new byte[] { '\n' }, "\n".getBytes(charset)))
+		{
+			throw new IllegalArgumentException(
+				"The charset must encode the line feed as one byte: " + charset);
+		}
+		if (literals.isEmpty() && patterns.isEmpty())
+		{
+			throw new IllegalArgumentException("The query needs at least one pattern");
+		}
+		this.literals = literals.toArray(new String[0]);
+		this.patterns = patterns.toArray(new Pattern[0]);
+		this.literalLengths = new int[this.literals.length];
+		final byte[][] encoded = new byte[this.literals.length][];
+		for (int i = 0; i < this.literals.length; i++)
+		{
+			encoded[i] = encode(this.literals[i], charset);
+			this.literalLengths[i] = encoded[i].length;
+		}
+		final List<int[]> rows = new ArrayList<>();
+		final List<int[]> outputRows = new ArrayList<>();
+		buildAutomaton(encoded, rows, outputRows);
+		this.transitions = rows.toArray(new int[0][]);
+		this.outputs = outputRows.toArray(new int[0][]);
+	}
+
+	/**
+	 * Factory method for create a new {@link ContentQuery} from the given literal patterns with
+	 * the charset UTF-8
+	 *
+	 * @param literals
+	 *            the literal patterns
+	 * @return the new {@link ContentQuery}
+	 */
+	public static ContentQuery literals(final String... literals)
+	{
+		return literals(StandardCharsets.UTF_8, literals);
+	}
+
+	/**
+	 * Factory method for create a new {@link ContentQuery} from the given literal patterns with
+	 * the given charset
+	 *
+	 * @param charset
+	 *            the charset of the content
+	 * @param literals
+	 *            the literal patterns
+	 * @return the new {@link ContentQuery}
+	 */
+	public static ContentQuery literals(final Charset charset, final String... literals)
+	{
+		return new ContentQuery(charset, Arrays.asList(literals), new ArrayList<>());
+	}
+
+	/**
+	 * Factory method for create a new {@link ContentQuery} from the given regular expressions with
+	 * the given charset. A regular expression is matched against every decoded line
+	 *
+	 * @param charset
+	 *            the charset of the content
+	 * @param patterns
+	 *            the regular expressions
+	 * @return the new {@link ContentQuery}
+	 */
+	public static ContentQuery regex(final Charset charset, final Pattern... patterns)
+	{
+		return new ContentQuery(charset, new ArrayList<>(), Arrays.asList(patterns));
+	}
+
+	/**
+	 * Builds the automaton from the given encoded literals. A state that is not a node of the trie
+	 * of the literals is the state of the longest suffix that is a node, so the automaton has a
+	 * transition for every byte in every state and never has to follow a failure link
+	 *
+	 * @param encoded
+	 *            the encoded literals
+	 * @param rows
+	 *            the list that gets the transitions of every state
+	 * @param outputRows
+	 *            the list that gets the indexes of the literals that end in every state
+	 */
+	private static void buildAutomaton(final byte[][] encoded, final List<int[]> rows,
+		final List<int[]> outputRows)
+	{
+		rows.add(newRow());
+		outputRows.add(null);
+		for (int i = 0; i < encoded.length; i++)
+		{
+			int state = 0;
+			for (final byte b : encoded[i])
+			{
+				final int c = b & 0xff;
+				if (rows.get(state)[c] < 0)
+				{
+					rows.get(state)[c] = rows.size();
+					rows.add(newRow());
+					outputRows.add(null);
+				}
+				state = rows.get(state)[c];
+			}
+			outputRows.set(state, append(outputRows.get(state), i));
+		}
+		final int[] failures = new int[rows.size()];
+		final Deque<Integer> queue = new ArrayDeque<>();
+		final int[] root = rows.get(0);
+		for (int c = 0; c < 256; c++)
+		{
+			if (root[c] < 0)
+			{
+				root[c] = 0;
+			}
+			else
+			{
+				queue.add(root[c]);
+			}
+		}
+		while (!queue.isEmpty())
+		{
+			final int state = queue.poll();
+			final int[] row = rows.get(state);
+			final int[] failureRow = rows.get(failures[state]);
+			for (int c = 0; c < 256; c++)
+			{
+				if (row[c] < 0)
+				{
+					row[c] = failureRow[c];
+				}
+				else
+				{
+					final int child = row[c];
+					failures[child] = failureRow[c];
+					final int[] inherited = outputRows.get(failures[child]);
+					if (inherited != null)
+					{
+						int[] merged = outputRows.get(child);
+						for (final int literal : inherited)
+						{
+							merged = append(merged, literal);
+						}
+						outputRows.set(child, merged);
+					}
+					queue.add(child);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Appends the given value to the given values
+	 *
+	 * @param values
+	 *            the values or null if there are no values
+	 * @param value
+	 *            the value to append
+	 * @return the new values
+	 */
+	private static int[] append(final int[] values, final int value)
+	{
+		if (values == null)
+		{
+			return new int[] { value };
+		}
+		final int[] appended = Arrays.copyOf(values, values.length + 1);
+		appended[values.length] = value;
+		return appended;
+	}
+
+	/**
+	 * Encodes the given literal with the given charset
+	 *
+	 * @param literal
+	 *            the literal
+	 * @param charset
+	 *            the charset
+	 * @return the encoded literal
+	 */
+	private static byte[] encode(final String literal, final Charset charset)
+	{
+		if (literal.isEmpty() || literal.indexOf('\n') >= 0)
+		{
+			throw new IllegalArgumentException(
+				"A literal must not be empty and not contain a line feed: '" + literal + "'");
+		}
+		try
+		{
+			final ByteBuffer buffer = charset.newEncoder().encode(CharBuffer.wrap(literal));
+			final byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			return bytes;
+		}
+		catch (final CharacterCodingException e)
+		{
+			throw new IllegalArgumentException(
+				"The literal '" + literal + "' can not be encoded with " + charset, e);
+		}
+	}
+
+	/**
+	 * Creates a new row of transitions where no transition is set
+	 *
+	 * @return the new row
+	 */
+	private static int[] newRow()
+	{
+		final int[] row = new int[256];
+		Arrays.fill(row, -1);
+		return row;
+	}
+
+	/**
+	 * Gets the charset of the content
+	 *
+	 * @return the charset
+	 */
+	public Charset getCharset()
+	{
+		return charset;
+	}
+
+	/**
+	 * Gets the literal with the given index
+	 *
+	 * @param index
+	 *            the index of the literal
+	 * @return the literal
+	 */
+	String getLiteral(final int index)
+	{
+		return literals[index];
+	}
+
+	/**
+	 * Gets the length in bytes of the encoded literal with the given index
+	 *
+	 * @param index
+	 *            the index of the literal
+	 * @return the length in bytes
+	 */
+	int getLiteralLength(final int index)
+	{
+		return literalLengths[index];
+	}
+
+	/**
+	 * Gets the indexes of the literals that end in the given state
+	 *
+	 * @param state
+	 *            the state
+	 * @return the indexes of the literals or null if no literal ends in the state
+	 */
+	int[] getOutputs(final int state)
+	{
+		return outputs[state];
+	}
+
+	/**
+	 * Gets the regular expressions
+	 *
+	 * @return the regular expressions
+	 */
+	Pattern[] getPatterns()
+	{
+		return patterns;
+	}
+
+	/**
+	 * Checks if this query has literals
+	 *
+	 * @return true if this query has literals, otherwise false
+	 */
+	boolean hasLiterals()
+	{
+		return literals.length != 0;
+	}
+
+	/**
+	 * Gets the next state of the automaton
+	 *
+	 * @param state
+	 *            the current state
+	 * @param b
+	 *            the next byte
+	 * @return the next state
+	 */
+	int next(final int state, final byte b)
+	{
+		return transitions[state][b & 0xff];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ContentQuery(charset=" + charset + ", literals=" + Arrays.toString(literals)
+			+ ", patterns=" + Arrays.toString(patterns) + ")";
+	}
+
+}
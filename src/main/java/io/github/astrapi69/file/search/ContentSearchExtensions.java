@@ -0,0 +1,427 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The class {@link ContentSearchExtensions} searches the content of many files for many patterns
+ * of a {@link ContentQuery}. Every file is read once in chunks, large files are mapped into
+ * memory, and the bytes are matched with the automaton of the query, so the time does not grow
+ * with the number of literal patterns. Only the lines with a match are decoded. Of a line that is
+ * longer than {@link #MAX_LINE_LENGTH} only a window of {@link #CONTEXT_LENGTH} bytes around each
+ * literal match is decoded, and the regular expressions are not applied to it. The files of a
+ * collection can be searched in parallel
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class ContentSearchExtensions
+{
+
+	/** The size in bytes of the chunks of a file that are read at once. */
+	static final int CHUNK_SIZE = 64 * 1024 * 1024;
+
+	/** The minimum size in bytes of a file that is mapped into memory instead of read. */
+	static final long MAP_THRESHOLD = 1024 * 1024;
+
+	/** The maximum length in bytes of a line that is decoded completely. */
+	static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+	/** The number of bytes before and after a match that are decoded of a longer line. */
+	static final int CONTEXT_LENGTH = 256;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ContentSearchExtensions()
+	{
+	}
+
+	/**
+	 * Searches the given files for the patterns of the given query. Files that can not be read
+	 * are skipped. The matches of one file are in the order of their offset, and the files of a
+	 * parallel search are searched concurrently in the {@link java.util.concurrent.ForkJoinPool
+	 * common pool}
+	 *
+	 * @param files
+	 *            the files to search
+	 * @param query
+	 *            the compiled content query
+	 * @param parallel
+	 *            the flag if the files are searched concurrently
+	 * @return the stream with the matches
+	 */
+	public static Stream<ContentMatch> search(final Collection<File> files,
+		final ContentQuery query, final boolean parallel)
+	{
+		Objects.requireNonNull(query);
+		final Stream<File> fileStream = parallel ? files.parallelStream() : files.stream();
+		return fileStream.flatMap(file -> searchQuietly(file, query).stream());
+	}
+
+	/**
+	 * Searches the files in the given directory and its subdirectories whose name matches the
+	 * given filename query for the patterns of the given content query
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param filenameQuery
+	 *            the compiled filename query for the files to search
+	 * @param query
+	 *            the compiled content query
+	 * @param parallel
+	 *            the flag if the files are searched concurrently
+	 * @return the stream with the matches
+	 */
+	public static Stream<ContentMatch> search(final File dir, final FilenameQuery filenameQuery,
+		final ContentQuery query, final boolean parallel)
+	{
+		return search(FileSearchExtensions.findFilesRecursive(dir, filenameQuery), query,
+			parallel);
+	}
+
+	/**
+	 * Searches the given file for the patterns of the given query
+	 *
+	 * @param file
+	 *            the file to search
+	 * @param query
+	 *            the compiled content query
+	 * @return the list with the matches in the order of their offset
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static List<ContentMatch> search(final File file, final ContentQuery query)
+		throws IOException
+	{
+		return search(file, query, CHUNK_SIZE, MAP_THRESHOLD);
+	}
+
+	/**
+	 * Searches the given file for the patterns of the given query with the given chunk size
+	 *
+	 * @param file
+	 *            the file to search
+	 * @param query
+	 *            the compiled content query
+	 * @param chunkSize
+	 *            the size in bytes of the chunks that are read at once
+	 * @param mapThreshold
+	 *            the minimum size in bytes of a file that is mapped into memory
+	 * @return the list with the matches in the order of their offset
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static List<ContentMatch> search(final File file, final ContentQuery query,
+		final int chunkSize, final long mapThreshold) throws IOException
+	{
+		return search(file, query, chunkSize, mapThreshold, MAX_LINE_LENGTH);
+	}
+
+	/**
+	 * Searches the given file for the patterns of the given query with the given chunk size and
+	 * the given maximum length of a decoded line
+	 *
+	 * @param file
+	 *            the file to search
+	 * @param query
+	 *            the compiled content query
+	 * @param chunkSize
+	 *            the size in bytes of the chunks that are read at once
+	 * @param mapThreshold
+	 *            the minimum size in bytes of a file that is mapped into memory
+	 * @param maxLineLength
+	 *            the maximum length in bytes of a line that is decoded completely
+	 * @return the list with the matches in the order of their offset
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static List<ContentMatch> search(final File file, final ContentQuery query,
+		final int chunkSize, final long mapThreshold, final int maxLineLength) throws IOException
+	{
+		Objects.requireNonNull(query);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return new FileScanner(file, query, channel, maxLineLength).scan(chunkSize,
+				mapThreshold);
+		}
+	}
+
+	/**
+	 * Searches the given file and returns no matches if it can not be read
+	 *
+	 * @param file
+	 *            the file to search
+	 * @param query
+	 *            the compiled content query
+	 * @return the list with the matches
+	 */
+	private static List<ContentMatch> searchQuietly(final File file, final ContentQuery query)
+	{
+		try
+		{
+			return search(file, query);
+		}
+		catch (final IOException e)
+		{
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * The scanner of one file that tracks the lines and collects the matches
+	 */
+	private static final class FileScanner
+	{
+
+		/** The channel of the file. */
+		private final FileChannel channel;
+
+		/** The file. */
+		private final File file;
+
+		/** The matches of the file. */
+		private final List<ContentMatch> matches = new ArrayList<>();
+
+		/** The maximum length in bytes of a line that is decoded completely. */
+		private final int maxLineLength;
+
+		/** The matches of the current line. */
+		private final List<ContentMatch> lineMatches = new ArrayList<>();
+
+		/** The indexes of the literals that matched in the current line. */
+		private final List<Integer> pendingLiterals = new ArrayList<>();
+
+		/** The offsets of the literals that matched in the current line. */
+		private final List<Long> pendingOffsets = new ArrayList<>();
+
+		/** The compiled content query. */
+		private final ContentQuery query;
+
+		/** The current chunk. */
+		private ByteBuffer chunk;
+
+		/** The offset in the file of the current chunk. */
+		private long chunkPosition;
+
+		/** The number of the current line. */
+		private long lineNumber = 1;
+
+		/** The offset in the file of the start of the current line. */
+		private long lineStart;
+
+		FileScanner(final File file, final ContentQuery query, final FileChannel channel,
+			final int maxLineLength)
+		{
+			this.file = file;
+			this.query = query;
+			this.channel = channel;
+			this.maxLineLength = maxLineLength;
+		}
+
+		/**
+		 * Scans the file
+		 *
+		 * @param chunkSize
+		 *            the size in bytes of the chunks that are read at once
+		 * @param mapThreshold
+		 *            the minimum size in bytes of a file that is mapped into memory
+		 * @return the list with the matches in the order of their offset
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		List<ContentMatch> scan(final int chunkSize, final long mapThreshold) throws IOException
+		{
+			final long size = channel.size();
+			final boolean literals = query.hasLiterals();
+			int state = 0;
+			chunkPosition = 0L;
+			while (chunkPosition < size)
+			{
+				final int length = (int)Math.min(chunkSize, size - chunkPosition);
+				chunk = mapThreshold <= size
+					? channel.map(FileChannel.MapMode.READ_ONLY, chunkPosition, length)
+					: read(chunkPosition, length);
+				for (int i = 0; i < length; i++)
+				{
+					final byte b = chunk.get(i);
+					if (literals)
+					{
+						state = query.next(state, b);
+						final int[] outputs = query.getOutputs(state);
+						if (outputs != null)
+						{
+							for (final int literal : outputs)
+							{
+								pendingLiterals.add(literal);
+								pendingOffsets.add(
+									chunkPosition + i - query.getLiteralLength(literal) + 1);
+							}
+						}
+					}
+					if (b == '\n')
+					{
+						endLine(chunkPosition + i);
+					}
+				}
+				chunkPosition += length;
+			}
+			if (lineStart < size)
+			{
+				endLine(size);
+			}
+			return matches;
+		}
+
+		/**
+		 * Ends the current line and decodes it if it has a match or if the query has regular
+		 * expressions. Of a line that is longer than the maximum line length only the context of
+		 * the literal matches is decoded
+		 *
+		 * @param lineEnd
+		 *            the offset in the file of the end of the line, exclusive
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		private void endLine(final long lineEnd) throws IOException
+		{
+			final Pattern[] patterns = query.getPatterns();
+			if (lineEnd - lineStart > maxLineLength)
+			{
+				for (int i = 0; i < pendingLiterals.size(); i++)
+				{
+					final int literal = pendingLiterals.get(i);
+					final long offset = pendingOffsets.get(i);
+					final String context = decode(Math.max(lineStart, offset - CONTEXT_LENGTH),
+						Math.min(lineEnd,
+							offset + query.getLiteralLength(literal) + CONTEXT_LENGTH));
+					lineMatches.add(new ContentMatch(file, query.getLiteral(literal), lineNumber,
+						offset, context));
+				}
+			}
+			else if (!pendingLiterals.isEmpty() || patterns.length != 0)
+			{
+				final String line = decode(lineStart, lineEnd);
+				for (int i = 0; i < pendingLiterals.size(); i++)
+				{
+					lineMatches.add(new ContentMatch(file,
+						query.getLiteral(pendingLiterals.get(i)), lineNumber,
+						pendingOffsets.get(i), line));
+				}
+				for (final Pattern pattern : patterns)
+				{
+					final Matcher matcher = pattern.matcher(line);
+					while (matcher.find())
+					{
+						final long offset = lineStart + line.substring(0, matcher.start())
+							.getBytes(query.getCharset()).length;
+						lineMatches.add(new ContentMatch(file, pattern.pattern(), lineNumber,
+							offset, line));
+					}
+				}
+			}
+			lineMatches.sort(Comparator.comparingLong(ContentMatch::getOffset));
+			matches.addAll(lineMatches);
+			lineMatches.clear();
+			pendingLiterals.clear();
+			pendingOffsets.clear();
+			lineNumber++;
+			lineStart = lineEnd + 1;
+		}
+
+		/**
+		 * Decodes the bytes of the file in the given range without a trailing carriage return. The
+		 * range is not longer than the maximum line length
+		 *
+		 * @param start
+		 *            the offset of the first byte, inclusive
+		 * @param end
+		 *            the offset of the last byte, exclusive
+		 * @return the decoded line
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		private String decode(final long start, final long end) throws IOException
+		{
+			final byte[] bytes = new byte[(int)(end - start)];
+			if (chunkPosition <= start)
+			{
+				chunk.get((int)(start - chunkPosition), bytes);
+			}
+			else
+			{
+				// the line starts in a previous chunk
+				final ByteBuffer buffer = read(start, bytes.length);
+				buffer.get(bytes);
+			}
+			int length = bytes.length;
+			if (0 < length && bytes[length - 1] == '\r')
+			{
+				length--;
+			}
+			return new String(bytes, 0, length, query.getCharset());
+		}
+
+		/**
+		 * Reads the given range of the file
+		 *
+		 * @param position
+		 *            the offset of the first byte
+		 * @param length
+		 *            the number of bytes
+		 * @return the buffer with the bytes
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		private ByteBuffer read(final long position, final int length) throws IOException
+		{
+			final ByteBuffer buffer = ByteBuffer.allocate(length);
+			while (buffer.hasRemaining())
+			{
+				if (channel.read(buffer, position + buffer.position()) < 0)
+				{
+					throw new IOException("Unexpected end of file: " + file);
+				}
+			}
+			buffer.flip();
+			return buffer;
+		}
+	}
+
+}
@@ -0,0 +1,280 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link DirectoryIterator} iterates lazily over all entries of a directory and its
+ * subdirectories. A directory is opened only when the consumer pulls the entry after the
+ * directory, and only the directory streams of the current path from the start directory are
+ * open at the same time, so the consumer can stop early without walking the whole tree and the
+ * memory does not grow with the number of entries. The entries are returned depth first, every
+ * directory before its content, and every entry together with its attributes. Like the
+ * {@link DirectoryWalker} symbolic links to directories are followed, a directory that is already
+ * on the path from the start directory is not entered, see {@link AncestorDirectories}, and
+ * unreadable directories are skipped. The open directory streams are
+ * released when the iteration ends or when the iterator is closed
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DirectoryIterator implements Iterator<FileAttributeSnapshot>, Closeable
+{
+
+	/** The open directories of the current path, the deepest first. */
+	private final Deque<OpenDirectory> openDirectories = new ArrayDeque<>();
+
+	/** The rule for the subdirectories that are not entered. */
+	private final PruneRule pruneRule;
+
+	/** The next entry or null if it is not read yet. */
+	private FileAttributeSnapshot next;
+
+	/**
+	 * Instantiates a new {@link DirectoryIterator} over the entries of the given directory. The
+	 * given directory itself is not returned, and if it is not a directory there are no entries
+	 *
+	 * @param directory
+	 *            the directory
+	 */
+	public DirectoryIterator(final File directory)
+	{
+		this(directory, PruneRule.NONE);
+	}
+
+	/**
+	 * Instantiates a new {@link DirectoryIterator} over the entries of the given directory that
+	 * does not enter the subdirectories that are pruned by the given rule. The pruned
+	 * subdirectories themselves are still returned
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 */
+	public DirectoryIterator(final File directory, final PruneRule pruneRule)
+	{
+		this.pruneRule = Objects.requireNonNull(pruneRule);
+		try
+		{
+			final Path start = directory.getAbsoluteFile().toPath();
+			final AncestorDirectories ancestors = new AncestorDirectories(true).enter(start);
+			if (ancestors != null)
+			{
+				open(start, ancestors);
+			}
+		}
+		catch (final InvalidPathException e)
+		{
+			// an invalid path has no entries
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close()
+	{
+		while (!openDirectories.isEmpty())
+		{
+			closeQuietly(openDirectories.pop().stream);
+		}
+		next = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if (next == null)
+		{
+			next = advance();
+		}
+		return next != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FileAttributeSnapshot next()
+	{
+		if (!hasNext())
+		{
+			throw new NoSuchElementException();
+		}
+		final FileAttributeSnapshot current = next;
+		next = null;
+		return current;
+	}
+
+	/**
+	 * Creates a sequential {@link Stream} over the entries of this iterator. Closing the stream
+	 * closes this iterator, so the stream should be used in a try with resources statement if it
+	 * is not consumed completely
+	 *
+	 * @return the stream over the entries
+	 */
+	public Stream<FileAttributeSnapshot> stream()
+	{
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+			.onClose(this::close);
+	}
+
+	/**
+	 * Reads the next entry and opens it if it is a directory
+	 *
+	 * @return the next entry or null if there are no more entries
+	 */
+	private FileAttributeSnapshot advance()
+	{
+		while (!openDirectories.isEmpty())
+		{
+			final OpenDirectory current = openDirectories.peek();
+			final Path entry;
+			try
+			{
+				entry = current.iterator.hasNext() ? current.iterator.next() : null;
+			}
+			catch (final DirectoryIteratorException e)
+			{
+				// the rest of an unreadable directory is skipped
+				closeQuietly(openDirectories.pop().stream);
+				continue;
+			}
+			if (entry == null)
+			{
+				closeQuietly(openDirectories.pop().stream);
+				continue;
+			}
+			final BasicFileAttributes attributes = DirectoryWalker.readAttributes(entry);
+			if (attributes == null)
+			{
+				continue;
+			}
+			final FileAttributeSnapshot snapshot = FileAttributeSnapshot.of(entry.toFile(),
+				attributes);
+			// the entries of the deepest open directory have the depth of the open directories
+			if (attributes.isDirectory() && !pruneRule.isPruned(snapshot, openDirectories.size()))
+			{
+				final AncestorDirectories entered = current.ancestors.enter(snapshot);
+				if (entered != null)
+				{
+					open(entry, entered);
+				}
+			}
+			return snapshot;
+		}
+		return null;
+	}
+
+	/**
+	 * Opens the given directory as the deepest open directory
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param ancestors
+	 *            the path that ends with the directory
+	 */
+	private void open(final Path directory, final AncestorDirectories ancestors)
+	{
+		try
+		{
+			final DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+			openDirectories.push(new OpenDirectory(stream, ancestors));
+		}
+		catch (final IOException e)
+		{
+			// unreadable directories are skipped like File#listFiles() does
+		}
+	}
+
+	/**
+	 * Closes the given directory stream
+	 *
+	 * @param stream
+	 *            the directory stream
+	 */
+	private static void closeQuietly(final DirectoryStream<Path> stream)
+	{
+		try
+		{
+			stream.close();
+		}
+		catch (final IOException e)
+		{
+			// nothing to do, the directory was read as far as needed
+		}
+	}
+
+	/**
+	 * An open directory stream together with its iterator and its path from the start directory
+	 */
+	private static final class OpenDirectory
+	{
+
+		/** The path that ends with the directory. */
+		final AncestorDirectories ancestors;
+
+		/** The iterator over the entries of the stream. */
+		final Iterator<Path> iterator;
+
+		/** The open directory stream. */
+		final DirectoryStream<Path> stream;
+
+		OpenDirectory(final DirectoryStream<Path> stream, final AncestorDirectories ancestors)
+		{
+			this.stream = stream;
+			this.ancestors = ancestors;
+			this.iterator = stream.iterator();
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The class {@link DirectoryStamp} holds the last modified time of a directory together with the
+ * time when the directory was scanned, so an index can tell if the directory changed since the
+ * scan. The last modified time of a directory has the resolution of the file system, so an entry
+ * that is created in the same tick as the scan does not change it. A directory whose last modified
+ * time is not clearly older than its scan time is therefore racily clean, like an entry of the git
+ * index whose time is not older than the index file, and is rescanned by the next refresh even if
+ * its last modified time did not change
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+final class DirectoryStamp
+{
+
+	/**
+	 * The interval in milliseconds by which the last modified time must be older than the scan
+	 * time. It covers the coarse resolution of file systems like FAT with two seconds and the
+	 * coarse clock that other file systems use for their time stamps
+	 */
+	static final long RACY_INTERVAL = 2000L;
+
+	/** The last modified time of the directory in milliseconds. */
+	private final long lastModified;
+
+	/** The time of the scan in milliseconds, read before the directory was read. */
+	private final long scanTime;
+
+	/**
+	 * Instantiates a new {@link DirectoryStamp}
+	 *
+	 * @param lastModified
+	 *            the last modified time of the directory in milliseconds
+	 * @param scanTime
+	 *            the time of the scan in milliseconds, read before the directory was read
+	 */
+	DirectoryStamp(final long lastModified, final long scanTime)
+	{
+		this.lastModified = lastModified;
+		this.scanTime = scanTime;
+	}
+
+	/**
+	 * Factory method for create a new {@link DirectoryStamp} from the given attributes
+	 *
+	 * @param attributes
+	 *            the attributes of the directory
+	 * @param scanTime
+	 *            the time of the scan in milliseconds, read before the attributes were read
+	 * @return the new {@link DirectoryStamp}
+	 */
+	static DirectoryStamp of(final BasicFileAttributes attributes, final long scanTime)
+	{
+		return new DirectoryStamp(attributes.lastModifiedTime().toMillis(), scanTime);
+	}
+
+	/**
+	 * Gets the last modified time of the directory
+	 *
+	 * @return the last modified time in milliseconds
+	 */
+	long getLastModified()
+	{
+		return lastModified;
+	}
+
+	/**
+	 * Gets the time of the scan
+	 *
+	 * @return the time of the scan in milliseconds
+	 */
+	long getScanTime()
+	{
+		return scanTime;
+	}
+
+	/**
+	 * Checks if the directory is modified since the scan according to the given attributes
+	 *
+	 * @param attributes
+	 *            the current attributes of the directory
+	 * @return true if the last modified time of the directory changed, otherwise false
+	 */
+	boolean isModified(final BasicFileAttributes attributes)
+	{
+		return attributes.lastModifiedTime().toMillis() != lastModified;
+	}
+
+	/**
+	 * Checks if the last modified time of the directory is not clearly older than the scan time,
+	 * so a change in the same tick as the scan could be hidden
+	 *
+	 * @return true if the directory has to be rescanned even if its last modified time did not
+	 *         change, otherwise false
+	 */
+	boolean isRacilyClean()
+	{
+		return scanTime - RACY_INTERVAL < lastModified;
+	}
+
+}
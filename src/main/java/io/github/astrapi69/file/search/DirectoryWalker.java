@@ -0,0 +1,614 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link DirectoryWalker} walks through a directory and all its subdirectories and
+ * passes every entry that matches a filter to a sink. The entries of a directory are read with a
+ * {@link DirectoryStream} and the attributes of every entry are read once together with it, so
+ * the filter and the sink get them without further calls to the file system. The
+ * {@link #SEQUENTIAL sequential} instance walks in the calling thread in the order of the
+ * directory entries. A parallel instance walks every subdirectory in its own task of a
+ * {@link ForkJoinPool}, so idle threads steal the subdirectories of busy threads. A
+ * {@link PruneRule} keeps the walk out of whole subtrees. By default symbolic links to
+ * directories are followed, an instance that is created with {@link #withFollowLinks(boolean)}
+ * can pass them as links without entering them. A directory is not entered if it is already on
+ * the path from the start directory, see {@link AncestorDirectories}, so a symbolic link that
+ * points back to one of its parent directories does not send the walk into an endless loop, and
+ * unreadable directories are skipped. The walk
+ * keeps the open directories on the heap and not on the call stack, so deep trees can not
+ * overflow the stack. An instance that is created with {@link #withPosixAttributes()} reads the
+ * POSIX attributes of the entries, so the owner and the permissions are available too
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DirectoryWalker
+{
+
+	/** The instance that walks in the calling thread. */
+	public static final DirectoryWalker SEQUENTIAL = new DirectoryWalker();
+
+	/** The flag if symbolic links to directories are followed. */
+	private final boolean followLinks;
+
+	/** The pool or null if the walk runs in the calling thread. */
+	private final ForkJoinPool pool;
+
+	/** The flag if the POSIX attributes of the entries are read. */
+	private final boolean posixAttributes;
+
+	private DirectoryWalker()
+	{
+		this(null, false, true);
+	}
+
+	private DirectoryWalker(final ForkJoinPool pool, final boolean posixAttributes,
+		final boolean followLinks)
+	{
+		this.pool = pool;
+		this.posixAttributes = posixAttributes;
+		this.followLinks = followLinks;
+	}
+
+	/**
+	 * Instantiates a new parallel {@link DirectoryWalker}
+	 *
+	 * @param pool
+	 *            the pool that walks the subdirectories
+	 */
+	public DirectoryWalker(final ForkJoinPool pool)
+	{
+		this(Objects.requireNonNull(pool), false, true);
+	}
+
+	/**
+	 * Factory method for create a new parallel {@link DirectoryWalker} that uses the
+	 * {@link ForkJoinPool#commonPool() common pool}
+	 *
+	 * @return the new {@link DirectoryWalker}
+	 */
+	public static DirectoryWalker parallel()
+	{
+		return parallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Factory method for create a new parallel {@link DirectoryWalker} that uses the given pool
+	 *
+	 * @param pool
+	 *            the pool that walks the subdirectories
+	 * @return the new {@link DirectoryWalker}
+	 */
+	public static DirectoryWalker parallel(final ForkJoinPool pool)
+	{
+		return new DirectoryWalker(pool);
+	}
+
+	/**
+	 * Checks if this instance follows symbolic links to directories
+	 *
+	 * @return true if this instance follows symbolic links to directories, otherwise false
+	 */
+	public boolean isFollowLinks()
+	{
+		return followLinks;
+	}
+
+	/**
+	 * Checks if this instance walks the subdirectories concurrently
+	 *
+	 * @return true if this instance walks the subdirectories concurrently, otherwise false
+	 */
+	public boolean isParallel()
+	{
+		return pool != null;
+	}
+
+	/**
+	 * Checks if this instance reads the POSIX attributes of the entries
+	 *
+	 * @return true if this instance reads the POSIX attributes of the entries, otherwise false
+	 */
+	public boolean isPosixAttributes()
+	{
+		return posixAttributes;
+	}
+
+	/**
+	 * Gets a {@link DirectoryWalker} that walks like this instance and reads the POSIX attributes
+	 * of the entries instead of the basic attributes, so the owner and the permissions of the
+	 * entries are available without further calls to the file system. On a file system without
+	 * POSIX attributes the basic attributes are read
+	 *
+	 * @return the {@link DirectoryWalker} that reads the POSIX attributes
+	 */
+	public DirectoryWalker withPosixAttributes()
+	{
+		return posixAttributes ? this : new DirectoryWalker(pool, true, followLinks);
+	}
+
+	/**
+	 * Gets a {@link DirectoryWalker} that walks like this instance with the given policy for
+	 * symbolic links. If symbolic links are not followed, the attributes of a symbolic link are the
+	 * attributes of the link itself, so a symbolic link to a directory is passed to the filter as a
+	 * link and is not entered. The given directory of a walk is always entered
+	 *
+	 * @param followLinks
+	 *            the flag if symbolic links to directories are followed
+	 * @return the {@link DirectoryWalker} with the given policy for symbolic links
+	 */
+	public DirectoryWalker withFollowLinks(final boolean followLinks)
+	{
+		return this.followLinks == followLinks
+			? this
+			: new DirectoryWalker(pool, posixAttributes, followLinks);
+	}
+
+	/**
+	 * Walks through the given directory and all its subdirectories and passes every entry that
+	 * matches the given filter to the given sink. The filter decides only which entries are passed
+	 * to the sink, every subdirectory is walked. A parallel instance calls the filter and the sink
+	 * concurrently, so both must be thread safe in this case
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param filter
+	 *            the filter for the entries
+	 * @param sink
+	 *            the sink that gets the matching entries
+	 */
+	public void walk(final File dir, final Predicate<? super FileAttributeSnapshot> filter,
+		final Consumer<? super FileAttributeSnapshot> sink)
+	{
+		walk(dir, PruneRule.NONE, filter, sink);
+	}
+
+	/**
+	 * Walks through the given directory and all its subdirectories that are not pruned by the
+	 * given rule and passes every entry that matches the given filter to the given sink. A
+	 * parallel instance calls the rule, the filter and the sink concurrently, so all of them must
+	 * be thread safe in this case
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @param filter
+	 *            the filter for the entries
+	 * @param sink
+	 *            the sink that gets the matching entries
+	 */
+	public void walk(final File dir, final PruneRule pruneRule,
+		final Predicate<? super FileAttributeSnapshot> filter,
+		final Consumer<? super FileAttributeSnapshot> sink)
+	{
+		Objects.requireNonNull(pruneRule);
+		Objects.requireNonNull(filter);
+		Objects.requireNonNull(sink);
+		final Path start;
+		try
+		{
+			start = dir.getAbsoluteFile().toPath();
+		}
+		catch (final InvalidPathException e)
+		{
+			return;
+		}
+		final BasicFileAttributes attributes = readAttributes(start, true);
+		if (attributes == null || !attributes.isDirectory())
+		{
+			return;
+		}
+		final Walk walk = new Walk(pruneRule, filter, sink, posixAttributes, followLinks);
+		final AncestorDirectories ancestors = new AncestorDirectories(followLinks)
+			.enter(FileAttributeSnapshot.of(start.toFile(), attributes));
+		if (pool == null)
+		{
+			walkSequential(start, ancestors, walk);
+		}
+		else
+		{
+			pool.invoke(new WalkTask(null, start, ancestors, walk));
+		}
+	}
+
+	/**
+	 * Finds all files in the given directory and all its subdirectories that match the given
+	 * filter. The files of a parallel instance are in no particular order
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param filter
+	 *            the filter for the entries
+	 * @return the list with the matching files
+	 */
+	public List<File> findFiles(final File dir,
+		final Predicate<? super FileAttributeSnapshot> filter)
+	{
+		return findFiles(dir, PruneRule.NONE, filter);
+	}
+
+	/**
+	 * Finds all files in the given directory and all its subdirectories that are not pruned by
+	 * the given rule that match the given filter. The files of a parallel instance are in no
+	 * particular order
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @param filter
+	 *            the filter for the entries
+	 * @return the list with the matching files
+	 */
+	public List<File> findFiles(final File dir, final PruneRule pruneRule,
+		final Predicate<? super FileAttributeSnapshot> filter)
+	{
+		final List<File> files = new ArrayList<>();
+		for (final FileAttributeSnapshot snapshot : findSnapshots(dir, pruneRule, filter))
+		{
+			files.add(snapshot.getFile());
+		}
+		return files;
+	}
+
+	/**
+	 * Finds the attribute snapshots of all files in the given directory and all its
+	 * subdirectories that match the given filter. The snapshots of a parallel instance are in no
+	 * particular order
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param filter
+	 *            the filter for the entries
+	 * @return the list with the attribute snapshots of the matching files
+	 */
+	public List<FileAttributeSnapshot> findSnapshots(final File dir,
+		final Predicate<? super FileAttributeSnapshot> filter)
+	{
+		return findSnapshots(dir, PruneRule.NONE, filter);
+	}
+
+	/**
+	 * Finds the attribute snapshots of all files in the given directory and all its
+	 * subdirectories that are not pruned by the given rule that match the given filter. The
+	 * snapshots of a parallel instance are in no particular order
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @param filter
+	 *            the filter for the entries
+	 * @return the list with the attribute snapshots of the matching files
+	 */
+	public List<FileAttributeSnapshot> findSnapshots(final File dir, final PruneRule pruneRule,
+		final Predicate<? super FileAttributeSnapshot> filter)
+	{
+		if (pool == null)
+		{
+			final List<FileAttributeSnapshot> snapshots = new ArrayList<>();
+			walk(dir, pruneRule, filter, snapshots::add);
+			return snapshots;
+		}
+		final Queue<FileAttributeSnapshot> snapshots = new ConcurrentLinkedQueue<>();
+		walk(dir, pruneRule, filter, snapshots::add);
+		return new ArrayList<>(snapshots);
+	}
+
+	/**
+	 * Lists the entries of the given directory together with their attributes. Entries whose
+	 * attributes can not be read are left out, and an unreadable directory has no entries
+	 *
+	 * @param dir
+	 *            the directory
+	 * @param walk
+	 *            the walk that decides which attributes are read
+	 * @return the attribute snapshots of the entries
+	 */
+	private static List<FileAttributeSnapshot> listEntries(final Path dir, final Walk walk)
+	{
+		final List<FileAttributeSnapshot> entries = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir))
+		{
+			for (final Path entry : stream)
+			{
+				final BasicFileAttributes attributes = walk.posixAttributes
+					? readPosixAttributes(entry, walk.followLinks)
+					: readAttributes(entry, walk.followLinks);
+				if (attributes != null)
+				{
+					entries.add(FileAttributeSnapshot.of(entry.toFile(), attributes));
+				}
+			}
+		}
+		catch (final IOException | DirectoryIteratorException e)
+		{
+			// unreadable directories are skipped like File#listFiles() does
+		}
+		return entries;
+	}
+
+	/**
+	 * Reads the attributes of the given entry. A symbolic link is followed, and if its target does
+	 * not exist the attributes of the link itself are read
+	 *
+	 * @param entry
+	 *            the entry
+	 * @return the attributes or null if they can not be read
+	 */
+	static BasicFileAttributes readAttributes(final Path entry)
+	{
+		return readAttributes(entry, true);
+	}
+
+	/**
+	 * Reads the attributes of the given entry. If symbolic links are followed and the target of a
+	 * symbolic link does not exist the attributes of the link itself are read
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param followLinks
+	 *            the flag if symbolic links are followed
+	 * @return the attributes or null if they can not be read
+	 */
+	static BasicFileAttributes readAttributes(final Path entry, final boolean followLinks)
+	{
+		try
+		{
+			return followLinks
+				? Files.readAttributes(entry, BasicFileAttributes.class)
+				: Files.readAttributes(entry, BasicFileAttributes.class,
+					LinkOption.NOFOLLOW_LINKS);
+		}
+		catch (final IOException e)
+		{
+			if (!followLinks)
+			{
+				return null;
+			}
+			try
+			{
+				return Files.readAttributes(entry, BasicFileAttributes.class,
+					LinkOption.NOFOLLOW_LINKS);
+			}
+			catch (final IOException ex)
+			{
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Reads the POSIX attributes of the given entry like {@link #readAttributes(Path, boolean)}
+	 * does. If the file system has no POSIX attributes the basic attributes are read
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param followLinks
+	 *            the flag if symbolic links are followed
+	 * @return the attributes or null if they can not be read
+	 */
+	static BasicFileAttributes readPosixAttributes(final Path entry, final boolean followLinks)
+	{
+		try
+		{
+			return followLinks
+				? Files.readAttributes(entry, PosixFileAttributes.class)
+				: Files.readAttributes(entry, PosixFileAttributes.class,
+					LinkOption.NOFOLLOW_LINKS);
+		}
+		catch (final UnsupportedOperationException e)
+		{
+			return readAttributes(entry, followLinks);
+		}
+		catch (final IOException e)
+		{
+			if (!followLinks)
+			{
+				return null;
+			}
+			try
+			{
+				return Files.readAttributes(entry, PosixFileAttributes.class,
+					LinkOption.NOFOLLOW_LINKS);
+			}
+			catch (final IOException ex)
+			{
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Walks through the given directory in the calling thread. The entries of the directories on
+	 * the current path are kept in a stack, so every directory is walked before the next entry of
+	 * its parent directory without a recursive call
+	 *
+	 * @param dir
+	 *            the directory to walk
+	 * @param ancestors
+	 *            the path that ends with the directory to walk
+	 * @param walk
+	 *            the rule, the filter and the sink of the walk
+	 */
+	private static void walkSequential(final Path dir, final AncestorDirectories ancestors,
+		final Walk walk)
+	{
+		final Deque<Iterator<FileAttributeSnapshot>> path = new ArrayDeque<>();
+		final Deque<AncestorDirectories> pathAncestors = new ArrayDeque<>();
+		path.push(listEntries(dir, walk).iterator());
+		pathAncestors.push(ancestors);
+		while (!path.isEmpty())
+		{
+			final Iterator<FileAttributeSnapshot> entries = path.peek();
+			if (!entries.hasNext())
+			{
+				path.pop();
+				pathAncestors.pop();
+				continue;
+			}
+			final FileAttributeSnapshot entry = entries.next();
+			// the entries of the deepest directory on the path have the depth of the path
+			final AncestorDirectories entered = walk.visit(entry, path.size(),
+				pathAncestors.peek());
+			if (entered != null)
+			{
+				path.push(listEntries(entry.getFile().toPath(), walk).iterator());
+				pathAncestors.push(entered);
+			}
+		}
+	}
+
+	/**
+	 * The rule, the filter and the sink of one walk
+	 */
+	private static final class Walk
+	{
+
+		/** The filter for the entries. */
+		final Predicate<? super FileAttributeSnapshot> filter;
+
+		/** The flag if symbolic links to directories are followed. */
+		final boolean followLinks;
+
+		/** The flag if the POSIX attributes of the entries are read. */
+		final boolean posixAttributes;
+
+		/** The rule for the subdirectories that are not entered. */
+		final PruneRule pruneRule;
+
+		/** The sink that gets the matching entries. */
+		final Consumer<? super FileAttributeSnapshot> sink;
+
+		Walk(final PruneRule pruneRule, final Predicate<? super FileAttributeSnapshot> filter,
+			final Consumer<? super FileAttributeSnapshot> sink, final boolean posixAttributes,
+			final boolean followLinks)
+		{
+			this.pruneRule = pruneRule;
+			this.filter = filter;
+			this.sink = sink;
+			this.posixAttributes = posixAttributes;
+			this.followLinks = followLinks;
+		}
+
+		/**
+		 * Passes the given entry to the sink if it matches the filter
+		 *
+		 * @param entry
+		 *            the entry
+		 * @param depth
+		 *            the depth of the entry
+		 * @param ancestors
+		 *            the path that ends with the directory of the entry
+		 * @return the path that ends with the entry if it is a directory that has to be entered,
+		 *         otherwise null
+		 */
+		AncestorDirectories visit(final FileAttributeSnapshot entry, final int depth,
+			final AncestorDirectories ancestors)
+		{
+			if (filter.test(entry))
+			{
+				sink.accept(entry);
+			}
+			return entry.isDirectory() && !pruneRule.isPruned(entry, depth)
+				? ancestors.enter(entry)
+				: null;
+		}
+	}
+
+	/**
+	 * The task that walks one directory and forks a new task for every subdirectory. A task does
+	 * not wait for its subtasks, the last subtask that completes completes its parent task, so the
+	 * depth of the tree does not grow the call stack
+	 */
+	private static final class WalkTask extends CountedCompleter<Void>
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		/** The path that ends with the directory to walk. */
+		private final transient AncestorDirectories ancestors;
+
+		/** The directory to walk. */
+		private final transient Path dir;
+
+		/** The rule, the filter and the sink of the walk. */
+		private final transient Walk walk;
+
+		WalkTask(final WalkTask parent, final Path dir, final AncestorDirectories ancestors,
+			final Walk walk)
+		{
+			super(parent);
+			this.dir = dir;
+			this.ancestors = ancestors;
+			this.walk = walk;
+		}
+
+		@Override
+		public void compute()
+		{
+			// the entries of a directory have the depth of the path that ends with the directory
+			for (final FileAttributeSnapshot entry : listEntries(dir, walk))
+			{
+				final AncestorDirectories entered = walk.visit(entry, ancestors.size(),
+					ancestors);
+				if (entered != null)
+				{
+					addToPendingCount(1);
+					new WalkTask(this, entry.getFile().toPath(), entered, walk).fork();
+				}
+			}
+			tryComplete();
+		}
+	}
+
+}
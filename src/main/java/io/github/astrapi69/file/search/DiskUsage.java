@@ -0,0 +1,221 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+
+/**
+ * The class {@link DiskUsage} holds the totals of a directory and all its subdirectories that are
+ * computed by the {@link DiskUsageExtensions}
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class DiskUsage
+{
+
+	/** The number of bytes that the files occupy on the file store. */
+	private final long allocatedBytes;
+
+	/** The depth of the directory below the directory of the computation. */
+	private final int depth;
+
+	/** The directory. */
+	private final File directory;
+
+	/** The number of subdirectories. */
+	private final long directoryCount;
+
+	/** The number of files. */
+	private final long fileCount;
+
+	/** The sum of the lengths in bytes of the files. */
+	private final long length;
+
+	/**
+	 * Instantiates a new {@link DiskUsage}
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param depth
+	 *            the depth of the directory below the directory of the computation
+	 * @param fileCount
+	 *            the number of files
+	 * @param directoryCount
+	 *            the number of subdirectories
+	 * @param length
+	 *            the sum of the lengths in bytes of the files
+	 * @param allocatedBytes
+	 *            the number of bytes that the files occupy on the file store
+	 */
+	public DiskUsage(final File directory, final int depth, final long fileCount,
+		final long directoryCount, final long length, final long allocatedBytes)
+	{
+		this.directory = directory;
+		this.depth = depth;
+		this.fileCount = fileCount;
+		this.directoryCount = directoryCount;
+		this.length = length;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof DiskUsage;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof DiskUsage))
+			return false;
+		final DiskUsage other = (DiskUsage)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$directory = this.directory;
+		final Object other$directory = other.directory;
+		if (this$directory == null
+			? other$directory != null
+			: !this$directory.equals(other$directory))
+			return false;
+		if (this.depth != other.depth)
+			return false;
+		if (this.fileCount != other.fileCount)
+			return false;
+		if (this.directoryCount != other.directoryCount)
+			return false;
+		if (this.length != other.length)
+			return false;
+		return this.allocatedBytes == other.allocatedBytes;
+	}
+
+	/**
+	 * Gets the number of bytes that the files occupy on the file store. This is the length of
+	 * every file rounded up to the block size of the file store
+	 *
+	 * @return the number of allocated bytes
+	 */
+	public long getAllocatedBytes()
+	{
+		return this.allocatedBytes;
+	}
+
+	/**
+	 * Gets the depth of the directory below the directory of the computation, which has the depth
+	 * 0
+	 *
+	 * @return the depth
+	 */
+	public int getDepth()
+	{
+		return this.depth;
+	}
+
+	/**
+	 * Gets the directory
+	 *
+	 * @return the directory
+	 */
+	public File getDirectory()
+	{
+		return this.directory;
+	}
+
+	/**
+	 * Gets the number of subdirectories in the directory and all its subdirectories
+	 *
+	 * @return the number of subdirectories
+	 */
+	public long getDirectoryCount()
+	{
+		return this.directoryCount;
+	}
+
+	/**
+	 * Gets the number of files in the directory and all its subdirectories
+	 *
+	 * @return the number of files
+	 */
+	public long getFileCount()
+	{
+		return this.fileCount;
+	}
+
+	/**
+	 * Gets the sum of the lengths in bytes of the files in the directory and all its
+	 * subdirectories
+	 *
+	 * @return the length
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $directory = this.directory;
+		result = result * PRIME + ($directory == null ? 43 : $directory.hashCode());
+		result = result * PRIME + this.depth;
+		final long $fileCount = this.fileCount;
+		result = result * PRIME + (int)($fileCount >>> 32 ^ $fileCount);
+		final long $directoryCount = this.directoryCount;
+		result = result * PRIME + (int)($directoryCount >>> 32 ^ $directoryCount);
+		final long $length = this.length;
+		result = result * PRIME + (int)($length >>> 32 ^ $length);
+		final long $allocatedBytes = this.allocatedBytes;
+		result = result * PRIME + (int)($allocatedBytes >>> 32 ^ $allocatedBytes);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "DiskUsage(directory=" + this.directory + ", depth=" + this.depth + ", fileCount="
+			+ this.fileCount + ", directoryCount=" + this.directoryCount + ", length="
+			+ this.length + ", allocatedBytes=" + this.allocatedBytes + ")";
+	}
+}
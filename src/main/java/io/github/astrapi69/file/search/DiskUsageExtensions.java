@@ -0,0 +1,319 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link DiskUsageExtensions} computes the number of files, the number of
+ * subdirectories, the sum of the file lengths and the allocated bytes of directories in one walk
+ * like the command 'du'. The attributes are taken from the entries of the walk, so no file is read
+ * twice, and with a parallel {@link DirectoryWalker} the subdirectories are walked concurrently
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class DiskUsageExtensions
+{
+
+	/** The block size that is used if the block size of the file store can not be read. */
+	static final long DEFAULT_BLOCK_SIZE = 4096L;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private DiskUsageExtensions()
+	{
+	}
+
+	/**
+	 * Computes the totals of the given directory and of every subdirectory in it
+	 *
+	 * @param dir
+	 *            the directory
+	 * @return the map with the totals of the directories sorted by their path or an empty map if
+	 *         the given file is not a directory
+	 */
+	public static Map<File, DiskUsage> computeDiskUsage(final File dir)
+	{
+		return computeDiskUsage(dir, Integer.MAX_VALUE, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Computes the totals of the given directory and of every subdirectory in it up to the given
+	 * depth. Like 'du --max-depth' the deeper subdirectories are still walked and counted in the
+	 * totals of their ancestors
+	 *
+	 * @param dir
+	 *            the directory
+	 * @param maxDepth
+	 *            the maximum depth of the directories in the result, where 0 is only the given
+	 *            directory
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the map with the totals of the directories sorted by their path or an empty map if
+	 *         the given file is not a directory
+	 */
+	public static Map<File, DiskUsage> computeDiskUsage(final File dir, final int maxDepth,
+		final DirectoryWalker walker)
+	{
+		return computeDiskUsage(dir, maxDepth, PruneRule.NONE, walker);
+	}
+
+	/**
+	 * Computes the totals of the given directory and of every subdirectory in it up to the given
+	 * depth. The subdirectories that are pruned by the given rule are counted but not entered, so
+	 * for instance {@link PruneRule#maxDepth(int)} stops the walk at a depth limit
+	 *
+	 * @param dir
+	 *            the directory
+	 * @param maxDepth
+	 *            the maximum depth of the directories in the result, where 0 is only the given
+	 *            directory
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the map with the totals of the directories sorted by their path or an empty map if
+	 *         the given file is not a directory
+	 */
+	public static Map<File, DiskUsage> computeDiskUsage(final File dir, final int maxDepth,
+		final PruneRule pruneRule, final DirectoryWalker walker)
+	{
+		if (maxDepth < 0)
+		{
+			throw new IllegalArgumentException("The maximum depth must not be negative");
+		}
+		Objects.requireNonNull(pruneRule);
+		Objects.requireNonNull(walker);
+		final Map<File, DiskUsage> result = new TreeMap<>();
+		final File root = dir.getAbsoluteFile().toPath().toFile();
+		if (!root.isDirectory())
+		{
+			return result;
+		}
+		final long blockSize = getBlockSize(root);
+		final int rootNameCount = root.toPath().getNameCount();
+		final Map<File, Counter> counters = new ConcurrentHashMap<>();
+		counters.put(root, new Counter(root, 0));
+		walker.walk(root, pruneRule, entry -> true, entry -> {
+			final File file = entry.getFile();
+			final int depth = file.toPath().getNameCount() - rootNameCount;
+			final Counter parent = counters.computeIfAbsent(file.getParentFile(),
+				key -> new Counter(key, depth - 1));
+			if (entry.isDirectory())
+			{
+				counters.computeIfAbsent(file, key -> new Counter(key, depth));
+				parent.addDirectory();
+			}
+			else
+			{
+				parent.addFile(entry, blockSize);
+			}
+		});
+		// add the totals of every directory to its parent, the deepest directories first
+		final List<Counter> sorted = new ArrayList<>(counters.values());
+		sorted.sort(Comparator.comparingInt((Counter counter) -> counter.depth).reversed());
+		for (final Counter counter : sorted)
+		{
+			if (0 < counter.depth)
+			{
+				counters.get(counter.directory.getParentFile()).addAll(counter);
+			}
+			if (counter.depth <= maxDepth)
+			{
+				result.put(counter.directory, counter.toDiskUsage());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the totals of every one of the given directories. Files that are not directories
+	 * are left out
+	 *
+	 * @param dirs
+	 *            the directories
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the map with the totals of the directories in the order of the given directories
+	 */
+	public static Map<File, DiskUsage> computeDiskUsage(final Collection<File> dirs,
+		final DirectoryWalker walker)
+	{
+		final Map<File, DiskUsage> result = new LinkedHashMap<>();
+		for (final File dir : dirs)
+		{
+			final DiskUsage diskUsage = getDiskUsage(dir, walker);
+			if (diskUsage != null)
+			{
+				result.put(dir, diskUsage);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the totals of the given directory
+	 *
+	 * @param dir
+	 *            the directory
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the totals of the directory or null if the given file is not a directory
+	 */
+	public static DiskUsage getDiskUsage(final File dir, final DirectoryWalker walker)
+	{
+		final Map<File, DiskUsage> diskUsages = computeDiskUsage(dir, 0, walker);
+		return diskUsages.isEmpty() ? null : diskUsages.values().iterator().next();
+	}
+
+	/**
+	 * Rounds the given length up to a multiple of the given block size
+	 *
+	 * @param length
+	 *            the length in bytes
+	 * @param blockSize
+	 *            the block size in bytes
+	 * @return the number of allocated bytes
+	 */
+	static long toAllocatedBytes(final long length, final long blockSize)
+	{
+		return (length + blockSize - 1) / blockSize * blockSize;
+	}
+
+	/**
+	 * Gets the block size of the file store of the given directory
+	 *
+	 * @param dir
+	 *            the directory
+	 * @return the block size or {@link #DEFAULT_BLOCK_SIZE} if it can not be read
+	 */
+	private static long getBlockSize(final File dir)
+	{
+		try
+		{
+			final long blockSize = Files.getFileStore(dir.toPath()).getBlockSize();
+			return 0 < blockSize ? blockSize : DEFAULT_BLOCK_SIZE;
+		}
+		catch (final IOException | UnsupportedOperationException e)
+		{
+			return DEFAULT_BLOCK_SIZE;
+		}
+	}
+
+	/**
+	 * The counter of the totals of one directory
+	 */
+	private static final class Counter
+	{
+
+		/** The number of allocated bytes. */
+		private long allocatedBytes;
+
+		/** The depth of the directory. */
+		final int depth;
+
+		/** The directory. */
+		final File directory;
+
+		/** The number of subdirectories. */
+		private long directoryCount;
+
+		/** The number of files. */
+		private long fileCount;
+
+		/** The sum of the file lengths. */
+		private long length;
+
+		Counter(final File directory, final int depth)
+		{
+			this.directory = directory;
+			this.depth = depth;
+		}
+
+		/**
+		 * Adds the totals of the given counter of a subdirectory
+		 *
+		 * @param other
+		 *            the counter of the subdirectory
+		 */
+		synchronized void addAll(final Counter other)
+		{
+			fileCount += other.fileCount;
+			directoryCount += other.directoryCount;
+			length += other.length;
+			allocatedBytes += other.allocatedBytes;
+		}
+
+		/**
+		 * Counts a subdirectory
+		 */
+		synchronized void addDirectory()
+		{
+			directoryCount++;
+		}
+
+		/**
+		 * Counts the given file
+		 *
+		 * @param entry
+		 *            the entry of the file
+		 * @param blockSize
+		 *            the block size of the file store
+		 */
+		synchronized void addFile(final FileAttributeSnapshot entry, final long blockSize)
+		{
+			fileCount++;
+			length += entry.getLength();
+			allocatedBytes += toAllocatedBytes(entry.getLength(), blockSize);
+		}
+
+		/**
+		 * Creates the {@link DiskUsage} of the counted totals
+		 *
+		 * @return the {@link DiskUsage}
+		 */
+		synchronized DiskUsage toDiskUsage()
+		{
+			return new DiskUsage(directory, depth, fileCount, directoryCount, length,
+				allocatedBytes);
+		}
+	}
+
+}
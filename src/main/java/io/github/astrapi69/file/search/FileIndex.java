@@ -0,0 +1,739 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The class {@link FileIndex} holds the paths and the attributes of all files and directories in
+ * a directory tree, so that searches are answered from memory instead of with a walk through the
+ * file system. The index can be saved in a compact file and loaded again. A refresh rescans only
+ * the directories whose last modified time changed since the last scan, because only the creation,
+ * deletion or renaming of an entry changes the last modified time of its directory, and the
+ * directories that were racily clean at their scan, see {@link DirectoryStamp}, because a change
+ * in the same tick as the scan does not change the last modified time. So a refresh without a
+ * {@link WatchService} does not see the changed length or time of a file whose directory is
+ * unchanged. If the index is watched, the events of the {@link WatchService} mark
+ * the directories that are rescanned, and this covers the changed content of files too.
+ * Symbolic links are indexed as entries but not followed, so the index can not run into a cycle
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class FileIndex implements Closeable
+{
+
+	/** The magic number at the start of an index file. */
+	private static final int MAGIC = 0x46494458;
+
+	/** The version of the format of an index file. */
+	private static final int VERSION = 2;
+
+	/** The indexed directories with their entries. */
+	private final Map<Path, DirectoryRecord> directories = new LinkedHashMap<>();
+
+	/** The root directory of the index. */
+	private final Path root;
+
+	/** The watch keys of the watched directories. */
+	private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+
+	/** The watch service or null if the index is not watched. */
+	private WatchService watchService;
+
+	private FileIndex(final Path root)
+	{
+		this.root = root;
+	}
+
+	/**
+	 * Factory method for create a new {@link FileIndex} of the given directory and all its
+	 * subdirectories
+	 *
+	 * @param rootDirectory
+	 *            the root directory of the index
+	 * @return the new {@link FileIndex}
+	 * @throws IllegalArgumentException
+	 *             if the given file is not a directory
+	 */
+	public static FileIndex build(final File rootDirectory)
+	{
+		if (!rootDirectory.isDirectory())
+		{
+			throw new IllegalArgumentException("Not a directory: " + rootDirectory);
+		}
+		final FileIndex index = new FileIndex(rootDirectory.getAbsoluteFile().toPath());
+		index.scanTree(index.root);
+		return index;
+	}
+
+	/**
+	 * Loads a {@link FileIndex} from the given file that was saved with {@link #save(File)}
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @return the loaded {@link FileIndex}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the file is not an index file
+	 */
+	public static FileIndex load(final File indexFile) throws IOException
+	{
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+			new GZIPInputStream(Files.newInputStream(indexFile.toPath())))))
+		{
+			if (input.readInt() != MAGIC)
+			{
+				throw new IOException("Not a file index: " + indexFile);
+			}
+			final int version = input.readInt();
+			if (version != VERSION)
+			{
+				throw new IOException("Unsupported file index version: " + version);
+			}
+			final FileIndex index = new FileIndex(new File(input.readUTF()).toPath());
+			final int directoryCount = input.readInt();
+			for (int i = 0; i < directoryCount; i++)
+			{
+				final Path directory = index.root.resolve(input.readUTF());
+				final long lastModified = input.readLong();
+				final long scanTime = input.readLong();
+				final int entryCount = input.readInt();
+				final DirectoryRecord record = new DirectoryRecord(
+					new DirectoryStamp(lastModified, scanTime), entryCount);
+				for (int j = 0; j < entryCount; j++)
+				{
+					record.names[j] = input.readUTF();
+					record.directories[j] = input.readBoolean();
+					record.lengths[j] = input.readLong();
+					record.lastModifieds[j] = input.readLong();
+				}
+				index.directories.put(directory, record);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Stops watching the directories of this index, if it is watched
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (watchService != null)
+		{
+			watchKeys.clear();
+			final WatchService service = watchService;
+			watchService = null;
+			service.close();
+		}
+	}
+
+	/**
+	 * Finds all entries of this index that match the given predicate
+	 *
+	 * @param predicate
+	 *            the predicate for the entries
+	 * @return the list with the matching entries
+	 */
+	public synchronized List<FileIndexEntry> findEntries(
+		final Predicate<? super FileIndexEntry> predicate)
+	{
+		final List<FileIndexEntry> entries = new ArrayList<>();
+		for (final Map.Entry<Path, DirectoryRecord> directory : directories.entrySet())
+		{
+			final DirectoryRecord record = directory.getValue();
+			final File parent = directory.getKey().toFile();
+			for (int i = 0; i < record.names.length; i++)
+			{
+				final FileIndexEntry entry = new FileIndexEntry(new File(parent, record.names[i]),
+					record.directories[i], record.lengths[i], record.lastModifieds[i]);
+				if (predicate.test(entry))
+				{
+					entries.add(entry);
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Finds all files of this index whose name matches the given compiled query. Only the names of
+	 * the entries are matched, the directories are not contained in the result
+	 *
+	 * @param query
+	 *            the compiled filename query
+	 * @return the list with the matching files
+	 */
+	public synchronized List<File> findFiles(final FilenameQuery query)
+	{
+		final List<File> files = new ArrayList<>();
+		for (final Map.Entry<Path, DirectoryRecord> directory : directories.entrySet())
+		{
+			final DirectoryRecord record = directory.getValue();
+			for (int i = 0; i < record.names.length; i++)
+			{
+				if (!record.directories[i] && query.matches(record.names[i]))
+				{
+					files.add(new File(directory.getKey().toFile(), record.names[i]));
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Finds all files of this index whose length is in the given range
+	 *
+	 * @param minLength
+	 *            the minimum length in bytes, inclusive
+	 * @param maxLength
+	 *            the maximum length in bytes, inclusive
+	 * @return the list with the matching files
+	 */
+	public List<File> findFilesByLength(final long minLength, final long maxLength)
+	{
+		return toFiles(findEntries(entry -> !entry.isDirectory()
+			&& minLength <= entry.getLength() && entry.getLength() <= maxLength));
+	}
+
+	/**
+	 * Finds all files of this index whose last modified time is in the given range
+	 *
+	 * @param from
+	 *            the earliest last modified time in milliseconds, inclusive
+	 * @param to
+	 *            the latest last modified time in milliseconds, inclusive
+	 * @return the list with the matching files
+	 */
+	public List<File> findFilesByLastModified(final long from, final long to)
+	{
+		return toFiles(findEntries(entry -> !entry.isDirectory()
+			&& from <= entry.getLastModified() && entry.getLastModified() <= to));
+	}
+
+	/**
+	 * Gets the number of the indexed directories, the root directory included
+	 *
+	 * @return the number of the indexed directories
+	 */
+	public synchronized int getDirectoryCount()
+	{
+		return directories.size();
+	}
+
+	/**
+	 * Gets the number of the indexed entries, the files and directories in all indexed
+	 * directories
+	 *
+	 * @return the number of the indexed entries
+	 */
+	public synchronized int getEntryCount()
+	{
+		int count = 0;
+		for (final DirectoryRecord record : directories.values())
+		{
+			count += record.names.length;
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the root directory of this index
+	 *
+	 * @return the root directory
+	 */
+	public File getRootDirectory()
+	{
+		return root.toFile();
+	}
+
+	/**
+	 * Checks if the directories of this index are watched
+	 *
+	 * @return true if the directories are watched, otherwise false
+	 */
+	public synchronized boolean isWatching()
+	{
+		return watchService != null;
+	}
+
+	/**
+	 * Refreshes this index. If the index is watched, the directories with events are rescanned,
+	 * otherwise the directories whose last modified time changed. The directories that were
+	 * racily clean at their last scan are always rescanned. New subdirectories are scanned
+	 * completely and deleted directories are removed with all their subdirectories
+	 *
+	 * @return the number of the changed directories, a racily clean directory is rescanned but
+	 *         only counted if entries were added, removed or renamed
+	 */
+	public synchronized int refresh()
+	{
+		final Set<Path> events = watchService == null ? null : pollWatchEvents();
+		final List<Path> toCheck = new ArrayList<>();
+		if (events == null)
+		{
+			toCheck.addAll(directories.keySet());
+		}
+		else
+		{
+			toCheck.addAll(events);
+			for (final Path directory : directories.keySet())
+			{
+				// directories that could not be registered or are racily clean are checked too
+				if ((!watchKeys.containsKey(directory)
+					|| directories.get(directory).stamp.isRacilyClean())
+					&& !events.contains(directory))
+				{
+					toCheck.add(directory);
+				}
+			}
+		}
+		int rescanned = 0;
+		for (final Path directory : toCheck)
+		{
+			final DirectoryRecord record = directories.get(directory);
+			if (record == null)
+			{
+				continue;
+			}
+			final BasicFileAttributes attributes = readAttributes(directory);
+			if (attributes == null || !attributes.isDirectory())
+			{
+				removeTree(directory);
+				continue;
+			}
+			final boolean modified = events != null && events.contains(directory)
+				|| record.stamp.isModified(attributes);
+			if (modified || record.stamp.isRacilyClean())
+			{
+				// a racily clean directory is counted only if its entries changed
+				if (rescan(directory, record) || modified)
+				{
+					rescanned++;
+				}
+			}
+		}
+		return rescanned;
+	}
+
+	/**
+	 * Saves this index in the given file
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public synchronized void save(final File indexFile) throws IOException
+	{
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+			new GZIPOutputStream(Files.newOutputStream(indexFile.toPath())))))
+		{
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(root.toString());
+			output.writeInt(directories.size());
+			for (final Map.Entry<Path, DirectoryRecord> directory : directories.entrySet())
+			{
+				final DirectoryRecord record = directory.getValue();
+				output.writeUTF(root.relativize(directory.getKey()).toString());
+				output.writeLong(record.stamp.getLastModified());
+				output.writeLong(record.stamp.getScanTime());
+				output.writeInt(record.names.length);
+				for (int i = 0; i < record.names.length; i++)
+				{
+					output.writeUTF(record.names[i]);
+					output.writeBoolean(record.directories[i]);
+					output.writeLong(record.lengths[i]);
+					output.writeLong(record.lastModifieds[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts watching all indexed directories with a {@link WatchService}, so the following
+	 * refreshes rescan only the directories with events. New directories are watched as soon as
+	 * they are indexed
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public synchronized void startWatching() throws IOException
+	{
+		if (watchService != null)
+		{
+			return;
+		}
+		watchService = root.getFileSystem().newWatchService();
+		for (final Path directory : directories.keySet())
+		{
+			watch(directory);
+		}
+	}
+
+	/**
+	 * Lists the entries of the given directory without following symbolic links
+	 *
+	 * @param directory
+	 *            the directory
+	 * @return the record of the directory or null if it can not be read
+	 */
+	private static DirectoryRecord list(final Path directory)
+	{
+		final long scanTime = System.currentTimeMillis();
+		final BasicFileAttributes directoryAttributes = readAttributes(directory);
+		if (directoryAttributes == null || !directoryAttributes.isDirectory())
+		{
+			return null;
+		}
+		final List<String> names = new ArrayList<>();
+		final List<BasicFileAttributes> attributes = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory))
+		{
+			for (final Path entry : stream)
+			{
+				final BasicFileAttributes entryAttributes = readAttributes(entry);
+				if (entryAttributes != null)
+				{
+					names.add(entry.getFileName().toString());
+					attributes.add(entryAttributes);
+				}
+			}
+		}
+		catch (final IOException | DirectoryIteratorException e)
+		{
+			// unreadable directories are indexed without entries
+		}
+		final DirectoryRecord record = new DirectoryRecord(
+			DirectoryStamp.of(directoryAttributes, scanTime), names.size());
+		for (int i = 0; i < names.size(); i++)
+		{
+			record.names[i] = names.get(i);
+			record.directories[i] = attributes.get(i).isDirectory();
+			record.lengths[i] = attributes.get(i).size();
+			record.lastModifieds[i] = attributes.get(i).lastModifiedTime().toMillis();
+		}
+		return record;
+	}
+
+	/**
+	 * Reads the attributes of the given path without following symbolic links
+	 *
+	 * @param path
+	 *            the path
+	 * @return the attributes or null if they can not be read
+	 */
+	private static BasicFileAttributes readAttributes(final Path path)
+	{
+		try
+		{
+			return Files.readAttributes(path, BasicFileAttributes.class,
+				LinkOption.NOFOLLOW_LINKS);
+		}
+		catch (final IOException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Converts the given entries to their files
+	 *
+	 * @param entries
+	 *            the entries
+	 * @return the files of the entries
+	 */
+	private static List<File> toFiles(final List<FileIndexEntry> entries)
+	{
+		final List<File> files = new ArrayList<>(entries.size());
+		for (final FileIndexEntry entry : entries)
+		{
+			files.add(entry.getFile());
+		}
+		return files;
+	}
+
+	/**
+	 * Takes all pending events of the watch service and collects their directories
+	 *
+	 * @return the directories with events or null if events were lost and all directories must be
+	 *         checked
+	 */
+	private Set<Path> pollWatchEvents()
+	{
+		final Set<Path> changed = new LinkedHashSet<>();
+		boolean overflow = false;
+		try
+		{
+			WatchKey key;
+			while ((key = watchService.poll()) != null)
+			{
+				final Path directory = (Path)key.watchable();
+				for (final WatchEvent<?> event : key.pollEvents())
+				{
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+					{
+						overflow = true;
+					}
+				}
+				changed.add(directory);
+				if (!key.reset())
+				{
+					// the directory is gone, so its parent has changed
+					watchKeys.remove(directory);
+					if (directory.getParent() != null)
+					{
+						changed.add(directory.getParent());
+					}
+				}
+			}
+		}
+		catch (final ClosedWatchServiceException e)
+		{
+			overflow = true;
+		}
+		return overflow ? null : changed;
+	}
+
+	/**
+	 * Removes the given directory and all its subdirectories from this index
+	 *
+	 * @param directory
+	 *            the directory
+	 */
+	private void removeTree(final Path directory)
+	{
+		final Deque<Path> stack = new ArrayDeque<>();
+		stack.push(directory);
+		while (!stack.isEmpty())
+		{
+			final Path current = stack.pop();
+			final DirectoryRecord record = directories.remove(current);
+			final WatchKey key = watchKeys.remove(current);
+			if (key != null)
+			{
+				key.cancel();
+			}
+			if (record != null)
+			{
+				for (int i = 0; i < record.names.length; i++)
+				{
+					if (record.directories[i])
+					{
+						stack.push(current.resolve(record.names[i]));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Rescans the given directory, removes its deleted subdirectories and scans its new
+	 * subdirectories
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param oldRecord
+	 *            the old record of the directory
+	 * @return true if entries of the directory were added, removed or renamed, otherwise false
+	 */
+	private boolean rescan(final Path directory, final DirectoryRecord oldRecord)
+	{
+		final DirectoryRecord newRecord = list(directory);
+		if (newRecord == null)
+		{
+			removeTree(directory);
+			return true;
+		}
+		directories.put(directory, newRecord);
+		final Set<String> oldDirectories = oldRecord.getDirectoryNames();
+		final Set<String> newDirectories = newRecord.getDirectoryNames();
+		for (final String name : oldDirectories)
+		{
+			if (!newDirectories.contains(name))
+			{
+				removeTree(directory.resolve(name));
+			}
+		}
+		for (final String name : newDirectories)
+		{
+			if (!oldDirectories.contains(name))
+			{
+				scanTree(directory.resolve(name));
+			}
+		}
+		return !newRecord.hasSameNames(oldRecord);
+	}
+
+	/**
+	 * Scans the given directory and all its subdirectories into this index
+	 *
+	 * @param directory
+	 *            the directory
+	 */
+	private void scanTree(final Path directory)
+	{
+		final Deque<Path> stack = new ArrayDeque<>();
+		stack.push(directory);
+		while (!stack.isEmpty())
+		{
+			final Path current = stack.pop();
+			final DirectoryRecord record = list(current);
+			if (record == null)
+			{
+				continue;
+			}
+			directories.put(current, record);
+			watch(current);
+			for (final String name : record.getDirectoryNames())
+			{
+				stack.push(current.resolve(name));
+			}
+		}
+	}
+
+	/**
+	 * Registers the given directory at the watch service, if the index is watched
+	 *
+	 * @param directory
+	 *            the directory
+	 */
+	private void watch(final Path directory)
+	{
+		if (watchService == null)
+		{
+			return;
+		}
+		try
+		{
+			watchKeys.put(directory,
+				directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+		}
+		catch (final IOException e)
+		{
+			// a directory that can not be watched is still checked by its last modified time
+		}
+	}
+
+	/**
+	 * The entries of one directory in parallel arrays
+	 */
+	private static final class DirectoryRecord
+	{
+
+		/** The flags if the entries are directories. */
+		final boolean[] directories;
+
+		/** The last modified times of the entries in milliseconds. */
+		final long[] lastModifieds;
+
+		/** The lengths of the entries in bytes. */
+		final long[] lengths;
+
+		/** The names of the entries. */
+		final String[] names;
+
+		/** The last modified time and the scan time of the directory. */
+		final DirectoryStamp stamp;
+
+		DirectoryRecord(final DirectoryStamp stamp, final int size)
+		{
+			this.stamp = stamp;
+			this.names = new String[size];
+			this.directories = new boolean[size];
+			this.lengths = new long[size];
+			this.lastModifieds = new long[size];
+		}
+
+		/**
+		 * Gets the names of the entries that are directories
+		 *
+		 * @return the names of the subdirectories
+		 */
+		Set<String> getDirectoryNames()
+		{
+			final Set<String> names = new LinkedHashSet<>();
+			for (int i = 0; i < this.names.length; i++)
+			{
+				if (directories[i])
+				{
+					names.add(this.names[i]);
+				}
+			}
+			return names;
+		}
+
+		/**
+		 * Checks if the given record has the same names of files and directories as this record.
+		 * The attributes of the entries are not compared, because they do not change the last
+		 * modified time of the directory either
+		 *
+		 * @param other
+		 *            the other record
+		 * @return true if the names are the same, otherwise false
+		 */
+		boolean hasSameNames(final DirectoryRecord other)
+		{
+			return Arrays.equals(names, other.names)
+				&& Arrays.equals(directories, other.directories);
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+
+/**
+ * The class {@link FileIndexEntry} holds the path and the attributes of a file or directory that
+ * are stored in a {@link FileIndex}
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public class FileIndexEntry
+{
+
+	/** The flag if the entry is a directory. */
+	private final boolean directory;
+
+	/** The file of the entry. */
+	private final File file;
+
+	/** The last modified time in milliseconds. */
+	private final long lastModified;
+
+	/** The length in bytes. */
+	private final long length;
+
+	/**
+	 * Instantiates a new {@link FileIndexEntry}
+	 *
+	 * @param file
+	 *            the file of the entry
+	 * @param directory
+	 *            the flag if the entry is a directory
+	 * @param length
+	 *            the length in bytes
+	 * @param lastModified
+	 *            the last modified time in milliseconds
+	 */
+	public FileIndexEntry(final File file, final boolean directory, final long length,
+		final long lastModified)
+	{
+		this.file = file;
+		this.directory = directory;
+		this.length = length;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Internal method for checking if another object can be considered equal to this one.
+	 *
+	 * @param other
+	 *            the object to compare with
+	 * @return true if the objects can be considered equal, false otherwise
+	 */
+	protected boolean canEqual(final Object other)
+	{
+		return other instanceof FileIndexEntry;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object o)
+	{
+		if (o == this)
+			return true;
+		if (!(o instanceof FileIndexEntry))
+			return false;
+		final FileIndexEntry other = (FileIndexEntry)o;
+		if (!other.canEqual(this))
+			return false;
+		final Object this$file = this.file;
+		final Object other$file = other.file;
+		if (this$file == null ? other$file != null : !this$file.equals(other$file))
+			return false;
+		if (this.directory != other.directory)
+			return false;
+		if (this.length != other.length)
+			return false;
+		return this.lastModified == other.lastModified;
+	}
+
+	/**
+	 * Gets the file of the entry
+	 *
+	 * @return the file
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Gets the last modified time in milliseconds
+	 *
+	 * @return the last modified time
+	 */
+	public long getLastModified()
+	{
+		return this.lastModified;
+	}
+
+	/**
+	 * Gets the length in bytes
+	 *
+	 * @return the length
+	 */
+	public long getLength()
+	{
+		return this.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int PRIME = 59;
+		int result = 1;
+		final Object $file = this.file;
+		result = result * PRIME + ($file == null ? 43 : $file.hashCode());
+		result = result * PRIME + (this.directory ? 79 : 97);
+		final long $length = this.length;
+		result = result * PRIME + (int)($length >>> 32 ^ $length);
+		final long $lastModified = this.lastModified;
+		result = result * PRIME + (int)($lastModified >>> 32 ^ $lastModified);
+		return result;
+	}
+
+	/**
+	 * Checks if the entry is a directory
+	 *
+	 * @return true if the entry is a directory, otherwise false
+	 */
+	public boolean isDirectory()
+	{
+		return this.directory;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "FileIndexEntry(file=" + this.file + ", directory=" + this.directory + ", length="
+			+ this.length + ", lastModified=" + this.lastModified + ")";
+	}
+}
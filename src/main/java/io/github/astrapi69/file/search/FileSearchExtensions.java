@@ -29,19 +29,29 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.Stack;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.github.astrapi69.file.FileAttributeSnapshot;
 import io.github.astrapi69.io.file.filter.MultiplyExtensionsFileFilter;
 import io.github.astrapi69.regex.RegExExtensions;
 
@@ -127,7 +137,10 @@ public final class FileSearchExtensions
 
 
 	/**
-	 * Checks if the given file contains only in the parent file recursively.
+	 * Checks if the given file exists in the given parent directory or in one of its
+	 * subdirectories. The path of the file is compared with the path of the parent directory and
+	 * only the file itself is looked up, so the time depends on the depth of the file and not on
+	 * the size of the tree
 	 *
 	 * @param parent
 	 *            The parent directory to search.
@@ -137,34 +150,174 @@ public final class FileSearchExtensions
 	 */
 	public static boolean containsFileRecursive(final File parent, final File search)
 	{
-		final File toSearch = search.getAbsoluteFile();
-		boolean exists = false;
-		final File[] children = parent.getAbsoluteFile().listFiles();
-		if (children == null)
+		return containsFileRecursive(parent, search, false);
+	}
+
+	/**
+	 * Checks if the given file exists in the given parent directory or in one of its
+	 * subdirectories. If the flag canonical is set, the parent directory and the directory of the
+	 * file are resolved to their real paths first, so a file that is given over a symbolic link or
+	 * with '.' and '..' segments is found in the directory that really contains it. The file
+	 * itself is never followed if it is a symbolic link
+	 *
+	 * @param parent
+	 *            the parent directory to search
+	 * @param search
+	 *            the file to search
+	 * @param canonical
+	 *            the flag if the paths are resolved to their real paths
+	 * @return true if the file exists in the parent directory otherwise false
+	 */
+	public static boolean containsFileRecursive(final File parent, final File search,
+		final boolean canonical)
+	{
+		final Path parentPath;
+		final Path searchPath;
+		try
+		{
+			parentPath = canonical
+				? parent.toPath().toRealPath()
+				: parent.getAbsoluteFile().toPath();
+			searchPath = canonical ? toRealParentPath(search) : search.getAbsoluteFile().toPath();
+		}
+		catch (final IOException | InvalidPathException e)
 		{
 			return false;
 		}
-		final List<File> fileList = Arrays.asList(children);
-		for (final File currentFile : fileList)
+		return searchPath != null && isDescendant(parentPath, searchPath)
+			&& Files.exists(searchPath, LinkOption.NOFOLLOW_LINKS);
+	}
+
+	/**
+	 * Finds the files of the given candidates that exist in the given parent directory or in one
+	 * of its subdirectories. Only the directories between the parent directory and the candidates
+	 * are listed, once each, so many candidates are checked with one walk
+	 *
+	 * @param parent
+	 *            the parent directory to search
+	 * @param candidates
+	 *            the files to search
+	 * @return the set with the candidates that exist in the parent directory in the order of the
+	 *         given candidates
+	 */
+	public static Set<File> findContainedFiles(final File parent, final Collection<File> candidates)
+	{
+		final Set<File> contained = new LinkedHashSet<>();
+		final Path parentPath;
+		try
 		{
-			if (currentFile.isDirectory())
+			parentPath = parent.getAbsoluteFile().toPath();
+		}
+		catch (final InvalidPathException e)
+		{
+			return contained;
+		}
+		// the directories between the parent directory and the candidates
+		final Set<Path> directories = new HashSet<>();
+		boolean descendants = false;
+		for (final File candidate : candidates)
+		{
+			final Path path = toAbsolutePath(candidate);
+			if (path != null && isDescendant(parentPath, path))
 			{
-				exists = FileSearchExtensions.containsFileRecursive(currentFile, toSearch);
-				if (exists)
+				descendants = true;
+				// every ancestor of a directory that is already added is added too
+				Path directory = path.getParent();
+				while (!directory.equals(parentPath) && directories.add(directory))
 				{
-					return true;
+					directory = directory.getParent();
 				}
 			}
-			if (fileList.contains(toSearch))
+		}
+		if (!descendants)
+		{
+			return contained;
+		}
+		final Set<Path> existing = new HashSet<>();
+		DirectoryWalker.SEQUENTIAL.walk(parent,
+			(snapshot, depth) -> !directories.contains(snapshot.getFile().toPath()),
+			snapshot -> true, snapshot -> existing.add(snapshot.getFile().toPath()));
+		for (final File candidate : candidates)
+		{
+			final Path path = toAbsolutePath(candidate);
+			if (path != null && existing.contains(path))
 			{
-				return true;
+				contained.add(candidate);
 			}
 		}
-		return exists;
+		return contained;
 	}
 
 	/**
-	 * List the directories from the given file(directory).
+	 * Checks if the given path is below the given parent path. The path is below if it starts
+	 * with the parent path and the remaining segments are neither '.' nor '..'
+	 *
+	 * @param parent
+	 *            the parent path
+	 * @param path
+	 *            the path to check
+	 * @return true if the given path is below the given parent path otherwise false
+	 */
+	private static boolean isDescendant(final Path parent, final Path path)
+	{
+		if (!path.startsWith(parent) || path.getNameCount() == parent.getNameCount())
+		{
+			return false;
+		}
+		for (int i = parent.getNameCount(); i < path.getNameCount(); i++)
+		{
+			final String name = path.getName(i).toString();
+			if (".".equals(name) || "..".equals(name))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the absolute path of the given file
+	 *
+	 * @param file
+	 *            the file
+	 * @return the absolute path or null if the file has no valid path
+	 */
+	private static Path toAbsolutePath(final File file)
+	{
+		try
+		{
+			return file.getAbsoluteFile().toPath();
+		}
+		catch (final InvalidPathException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the path of the given file in the real path of its directory, so that the file itself
+	 * is not resolved if it is a symbolic link
+	 *
+	 * @param file
+	 *            the file
+	 * @return the path or null if the file has no directory
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static Path toRealParentPath(final File file) throws IOException
+	{
+		final Path path = file.getAbsoluteFile().toPath();
+		final Path directory = path.getParent();
+		if (directory == null)
+		{
+			return null;
+		}
+		return directory.toRealPath().resolve(path.getFileName()).normalize();
+	}
+
+	/**
+	 * List the directories from the given file(directory). The directories are walked with the
+	 * {@link DirectoryWalker#SEQUENTIAL sequential} {@link DirectoryWalker}.
 	 *
 	 * @param directory
 	 *            the directory
@@ -181,41 +334,11 @@ public final class FileSearchExtensions
 		{
 			foundedDirs = new HashSet<>();
 		}
-		// Get all files
-		final File[] children = directory.getAbsoluteFile().listFiles();
-		if (children == null || children.length < 1)
-		{
-			return foundedDirs;
-		}
-
-		final Set<File> excludeFileList = new HashSet<>();
-		for (FileFilter fileFilter : excludeFileFilters)
-		{
-			File[] excudeFiles = directory.listFiles(fileFilter);
-			if (excudeFiles != null)
-			{
-				excludeFileList.addAll(Arrays.asList(excudeFiles));
-			}
-		}
-
-		for (final File element : children)
-		{
-			// if the entry is a directory
-			if (element.isDirectory())
-			{ // then
-
-				// find recursively in the directory the files.
-				findFiles(element, foundedDirs, excludeFileFilters);
-			}
-			else
-			{
-				if (!excludeFileList.contains(element))
-				{
-					foundedDirs.add(element);
-				}
-			}
-		}
-		return foundedDirs;
+		final Set<File> files = foundedDirs;
+		DirectoryWalker.SEQUENTIAL.walk(directory,
+			entry -> !entry.isDirectory() && !isExcluded(entry.getFile(), excludeFileFilters),
+			entry -> files.add(entry.getFile()));
+		return files;
 	}
 
 
@@ -270,36 +393,17 @@ public final class FileSearchExtensions
 	 *            If this is true then the directories are in the count too.
 	 * @return the total number of files.
 	 */
-	public static long countAllFilesInDirectory(final File dir, long length,
+	public static long countAllFilesInDirectory(final File dir, final long length,
 		final boolean includeDirectories)
 	{
-		// Get all files
-		final File[] children = dir.getAbsoluteFile().listFiles();
-		if (children == null || children.length < 1)
+		final DiskUsage diskUsage = DiskUsageExtensions.getDiskUsage(dir,
+			DirectoryWalker.SEQUENTIAL);
+		if (diskUsage == null)
 		{
 			return length;
 		}
-		for (final File child : children)
-		{
-			// if the entry is a directory
-			if (child.isDirectory())
-			{ // then
-				// if directories shell be include
-				if (includeDirectories)
-				{ // then
-					// increment the length
-					length++;
-				}
-				// find recursively in the directory the files.
-				length = countAllFilesInDirectory(child, length, includeDirectories);
-			}
-			else
-			{
-				// increment length...
-				length++;
-			}
-		}
-		return length;
+		return length + diskUsage.getFileCount()
+			+ (includeDirectories ? diskUsage.getDirectoryCount() : 0L);
 	}
 
 	/**
@@ -313,34 +417,25 @@ public final class FileSearchExtensions
 	 */
 	public static List<File> findAllFiles(final File dir, final String fileSearchPattern)
 	{
-		final List<File> foundFiles = new ArrayList<>();
-		// Get all files
-		final File[] children = dir.getAbsoluteFile().listFiles();
-		if (children == null || children.length < 1)
-		{
-			return foundFiles;
-		}
-		for (final File child : children)
-		{
-			// if the entry is a directory
-			if (child.isDirectory())
-			{ // then
-				// find recursively in the directory and put it in a List.
-				final List<File> foundedFiles = findAllFiles(child, fileSearchPattern);
-				// Put the founded files in the main List.
-				foundFiles.addAll(foundedFiles);
-			}
-			else
-			{
-				// entry is a file
-				final String filename = child.getName();
-				if (filename.matches(fileSearchPattern))
-				{
-					foundFiles.add(child.getAbsoluteFile());
-				}
-			}
-		}
-		return foundFiles;
+		return findAllFiles(dir, fileSearchPattern, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all files that match the search pattern with the given {@link DirectoryWalker}. The
+	 * search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param fileSearchPattern
+	 *            The regex file search pattern.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with all files that matches the search pattern.
+	 */
+	public static List<File> findAllFiles(final File dir, final String fileSearchPattern,
+		final DirectoryWalker walker)
+	{
+		return findFilesRecursive(dir, false, FilenameQuery.regex(fileSearchPattern), walker);
 	}
 
 	/**
@@ -355,13 +450,14 @@ public final class FileSearchExtensions
 	public static List<File> findFiles(final File dir, final String filenameToSearch)
 	{
 		final List<File> foundedFileList = new ArrayList<>();
-		final String regex = RegExExtensions.replaceWildcardsWithRE(filenameToSearch);
+		final FilenameQuery query = FilenameQuery
+			.regex(RegExExtensions.replaceWildcardsWithRE(filenameToSearch));
 		final String[] children = dir.list();
 		if (children != null)
 		{
 			for (final String filename : children)
 			{
-				if (filename.matches(regex))
+				if (query.matches(filename))
 				{
 					final File foundedFile = new File(filename);
 					foundedFileList.add(foundedFile);
@@ -372,7 +468,8 @@ public final class FileSearchExtensions
 	}
 
 	/**
-	 * Searches for files with the given extensions and adds them to a Vector.
+	 * Searches for files with the given extensions and adds them to a Vector. The directories are
+	 * walked with the {@link DirectoryWalker#SEQUENTIAL sequential} {@link DirectoryWalker}.
 	 *
 	 * @param start
 	 *            The path to the file.
@@ -382,35 +479,8 @@ public final class FileSearchExtensions
 	 */
 	public static List<File> findFiles(final String start, final String[] extensions)
 	{
-		final List<File> files = new ArrayList<>();
-		final Stack<File> dirs = new Stack<>();
-		final File startdir = new File(start);
-		if (startdir.isDirectory())
-		{
-			dirs.push(new File(start));
-		}
-		while (!dirs.isEmpty())
-		{
-			final File dirFiles = dirs.pop();
-			final String[] s = dirFiles.list();
-			if (s != null)
-			{
-				for (final String element : s)
-				{
-					final File file = new File(
-						dirFiles.getAbsolutePath() + File.separator + element);
-					if (file.isDirectory())
-					{
-						dirs.push(file);
-					}
-					else if (match(element, extensions))
-					{
-						files.add(file);
-					}
-				}
-			}
-		}
-		return files;
+		return DirectoryWalker.SEQUENTIAL.findFiles(new File(start),
+			entry -> !entry.isDirectory() && match(entry.getFile().getName(), extensions));
 	}
 
 	/**
@@ -441,41 +511,302 @@ public final class FileSearchExtensions
 	public static List<File> findFilesRecursive(final File dir, final boolean includeDir,
 		final String filenameToSearch)
 	{
-		final List<File> foundedFileList = new ArrayList<>();
-		final String regex = RegExExtensions.replaceWildcardsWithRE(filenameToSearch);
-		// Get all files
-		final File[] children = dir.getAbsoluteFile().listFiles();
-		if (children == null || children.length < 1)
+		return findFilesRecursive(dir, includeDir, filenameToSearch, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all files that match the search pattern with the given {@link DirectoryWalker}. The
+	 * search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param includeDir
+	 *            The flag that tells if the directory files should be added to the returned list
+	 * @param filenameToSearch
+	 *            The search pattern. Allowed wildcards are "*" and "?".
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with all files that matches the search pattern.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final boolean includeDir,
+		final String filenameToSearch, final DirectoryWalker walker)
+	{
+		return findFilesRecursive(dir, includeDir,
+			FilenameQuery.regex(RegExExtensions.replaceWildcardsWithRE(filenameToSearch)), walker);
+	}
+
+	/**
+	 * Finds all files whose name matches the given compiled query. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled filename query.
+	 * @return A List with all files that matches the query.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final FilenameQuery query)
+	{
+		return findFilesRecursive(dir, false, query, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all files whose name matches the given compiled query with the given
+	 * {@link DirectoryWalker}. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param includeDir
+	 *            The flag that tells if the directory files should be added to the returned list
+	 * @param query
+	 *            The compiled filename query.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with all files that matches the query.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final boolean includeDir,
+		final FilenameQuery query, final DirectoryWalker walker)
+	{
+		return findFilesRecursive(dir, includeDir, query, PruneRule.NONE, walker);
+	}
+
+	/**
+	 * Finds all files whose name matches the given compiled query with the given
+	 * {@link DirectoryWalker} and does not enter the subdirectories that are pruned by the given
+	 * rule. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param includeDir
+	 *            The flag that tells if the directory files should be added to the returned list
+	 * @param query
+	 *            The compiled filename query.
+	 * @param pruneRule
+	 *            The rule for the subdirectories that are not entered.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with all files that matches the query.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final boolean includeDir,
+		final FilenameQuery query, final PruneRule pruneRule, final DirectoryWalker walker)
+	{
+		return walker.findFiles(dir, pruneRule,
+			entry -> entry.isDirectory() ? includeDir : query.matches(entry.getFile()));
+	}
+
+	/**
+	 * Finds all files and directories whose attributes match the given compiled query. The query
+	 * is matched against the attributes that are read together with the directory entries, so no
+	 * further call to the file system is needed for an entry. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled attribute query.
+	 * @return A List with all files that matches the query.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final AttributeQuery query)
+	{
+		return findFilesRecursive(dir, query, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all files and directories whose attributes match the given compiled query with the
+	 * given {@link DirectoryWalker}. If the query needs the POSIX attributes, they are read by the
+	 * walker instead of the basic attributes. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled attribute query.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with all files that matches the query.
+	 */
+	public static List<File> findFilesRecursive(final File dir, final AttributeQuery query,
+		final DirectoryWalker walker)
+	{
+		return toWalker(query, walker).findFiles(dir, query::matches);
+	}
+
+	/**
+	 * Finds the attribute snapshots of all files and directories whose attributes match the given
+	 * compiled query with the given {@link DirectoryWalker}. The search is recursively.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled attribute query.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with the attribute snapshots of all files that matches the query.
+	 */
+	public static List<FileAttributeSnapshot> findFileSnapshotsRecursive(final File dir,
+		final AttributeQuery query, final DirectoryWalker walker)
+	{
+		return toWalker(query, walker).findSnapshots(dir, query::matches);
+	}
+
+	/**
+	 * Gets the walker that reads the attributes that the given query needs
+	 *
+	 * @param query
+	 *            the compiled attribute query
+	 * @param walker
+	 *            the walker
+	 * @return the given walker or a walker that reads the POSIX attributes
+	 */
+	private static DirectoryWalker toWalker(final AttributeQuery query,
+		final DirectoryWalker walker)
+	{
+		return query.isPosixAttributes() ? walker.withPosixAttributes() : walker;
+	}
+
+	/**
+	 * Finds all files in the given directory and its subdirectories and captures the attributes of
+	 * every file during the walk. The files are the same as the files that are returned from
+	 * {@link #findFilesRecursive(File, String)} with the pattern "*", but the attributes are read
+	 * together with the directory entries instead of with separate calls for every attribute
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @return A List with the attribute snapshots of all files
+	 */
+	public static List<FileAttributeSnapshot> findFileSnapshotsRecursive(final File dir)
+	{
+		final List<FileAttributeSnapshot> snapshots = new ArrayList<>();
+		if (!dir.isDirectory())
 		{
-			return foundedFileList;
+			return snapshots;
 		}
-		for (final File element : children)
+		try
 		{
-			// if the entry is a directory
-			if (element.isDirectory())
-			{ // then
-				// check if the directory should be included
-				if (includeDir)
+			Files.walkFileTree(dir.getAbsoluteFile().toPath(),
+				EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+				new SimpleFileVisitor<>()
 				{
-					foundedFileList.add(element);
-				}
-				// find recursively in the directory and put it in a List.
-				final List<File> foundedFiles = findFilesRecursive(element, includeDir,
-					filenameToSearch);
-				// Put the founded files in the main List.
-				foundedFileList.addAll(foundedFiles);
-			}
-			else
-			{
-				// entry is a file
-				final String filename = element.getName();
-				if (filename.matches(regex))
-				{
-					foundedFileList.add(element.getAbsoluteFile());
-				}
-			}
+					@Override
+					public FileVisitResult visitFile(final Path file,
+						final BasicFileAttributes attributes)
+					{
+						snapshots.add(FileAttributeSnapshot.of(file.toFile(), attributes));
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFileFailed(final Path file, final IOException exc)
+					{
+						// unreadable directories and directory cycles are skipped
+						return FileVisitResult.CONTINUE;
+					}
+				});
 		}
-		return foundedFileList;
+		catch (final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Finds all files in the given directory and its subdirectories with the given
+	 * {@link DirectoryWalker} and captures the attributes of every file during the walk
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A List with the attribute snapshots of all files
+	 */
+	public static List<FileAttributeSnapshot> findFileSnapshotsRecursive(final File dir,
+		final DirectoryWalker walker)
+	{
+		return walker.findSnapshots(dir, entry -> !entry.isDirectory());
+	}
+
+	/**
+	 * Finds lazily all files in the given directory and its subdirectories. The directories are
+	 * read only as far as the returned stream is consumed, so short circuiting operations like
+	 * {@link Stream#findFirst()}, {@link Stream#limit(long)} or {@link Stream#anyMatch(Predicate)}
+	 * stop the walk. The stream must be closed if it is not consumed completely.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param includeDir
+	 *            The flag that tells if the directories should be contained in the stream
+	 * @return the lazy stream with the paths of the files
+	 */
+	public static Stream<Path> streamFilesRecursive(final File dir, final boolean includeDir)
+	{
+		return streamSnapshotsRecursive(dir)
+			.filter(entry -> includeDir || !entry.isDirectory())
+			.map(entry -> entry.getFile().toPath());
+	}
+
+	/**
+	 * Finds lazily all files in the given directory and its subdirectories whose name matches the
+	 * given compiled query. The stream must be closed if it is not consumed completely.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled filename query.
+	 * @return the lazy stream with the paths of the matching files
+	 */
+	public static Stream<Path> streamFilesRecursive(final File dir, final FilenameQuery query)
+	{
+		return streamFilesRecursive(dir, query, PruneRule.NONE);
+	}
+
+	/**
+	 * Finds lazily all files in the given directory and its subdirectories that are not pruned by
+	 * the given rule whose name matches the given compiled query. The stream must be closed if it
+	 * is not consumed completely.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param query
+	 *            The compiled filename query.
+	 * @param pruneRule
+	 *            The rule for the subdirectories that are not entered.
+	 * @return the lazy stream with the paths of the matching files
+	 */
+	public static Stream<Path> streamFilesRecursive(final File dir, final FilenameQuery query,
+		final PruneRule pruneRule)
+	{
+		return streamSnapshotsRecursive(dir, pruneRule)
+			.filter(entry -> !entry.isDirectory() && query.matches(entry.getFile()))
+			.map(entry -> entry.getFile().toPath());
+	}
+
+	/**
+	 * Finds lazily all entries in the given directory and its subdirectories together with their
+	 * attributes, so the entries can be filtered by their attributes without further calls to the
+	 * file system. The stream must be closed if it is not consumed completely.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @return the lazy stream with the attribute snapshots of the entries
+	 */
+	public static Stream<FileAttributeSnapshot> streamSnapshotsRecursive(final File dir)
+	{
+		return streamSnapshotsRecursive(dir, PruneRule.NONE);
+	}
+
+	/**
+	 * Finds lazily all entries in the given directory and its subdirectories that are not pruned
+	 * by the given rule together with their attributes. The stream must be closed if it is not
+	 * consumed completely.
+	 *
+	 * @param dir
+	 *            The directory to search.
+	 * @param pruneRule
+	 *            The rule for the subdirectories that are not entered.
+	 * @return the lazy stream with the attribute snapshots of the entries
+	 */
+	public static Stream<FileAttributeSnapshot> streamSnapshotsRecursive(final File dir,
+		final PruneRule pruneRule)
+	{
+		return new DirectoryIterator(dir, pruneRule).stream();
 	}
 
 	/**
@@ -489,26 +820,9 @@ public final class FileSearchExtensions
 	 */
 	public static List<File> findFilesWithFilter(final File dir, final String... extension)
 	{
-		final List<File> foundedFileList = new ArrayList<>();
-		final File[] children = dir.listFiles(new MultiplyExtensionsFileFilter(true, extension));
-		if (children != null)
-		{
-			for (final File element : children)
-			{
-				// if the entry is a directory
-				if (element.isDirectory())
-				{ // then
-					// find recursively in the directory and put it in a List.
-					// Put the founded files in the main List.
-					foundedFileList.addAll(findFilesWithFilter(element, extension));
-				}
-				else
-				{
-					foundedFileList.add(element.getAbsoluteFile());
-				}
-			}
-		}
-		return foundedFileList;
+		final FileFilter fileFilter = new MultiplyExtensionsFileFilter(true, extension);
+		return DirectoryWalker.SEQUENTIAL.findFiles(dir,
+			entry -> !entry.isDirectory() && fileFilter.accept(entry.getFile()));
 	}
 
 	/**
@@ -597,13 +911,16 @@ public final class FileSearchExtensions
 	}
 
 	/**
-	 * Gets the file length from the given file in Kilobytes.
+	 * Gets the total space of the partition of the given file in Kilobytes.
 	 *
 	 * @param dir
 	 *            the dir
 	 *
-	 * @return Returns the file length from the given file in Kilobytes.
+	 * @return Returns the total space of the partition of the given file in Kilobytes.
+	 * @deprecated This returns the size of the partition and not of the directory. Use
+	 *             {@link DiskUsageExtensions#getDiskUsage(File, DirectoryWalker)} instead.
 	 */
+	@Deprecated
 	public static long getFileLengthInKilobytes(final File dir)
 	{
 		final long fileLength = dir.getTotalSpace();
@@ -611,13 +928,16 @@ public final class FileSearchExtensions
 	}
 
 	/**
-	 * Gets the file length from the given file in Megabytes.
+	 * Gets the total space of the partition of the given file in Megabytes.
 	 *
 	 * @param dir
 	 *            the directory
 	 *
-	 * @return Returns the file length from the given file in Megabytes.
+	 * @return Returns the total space of the partition of the given file in Megabytes.
+	 * @deprecated This returns the size of the partition and not of the directory. Use
+	 *             {@link DiskUsageExtensions#getDiskUsage(File, DirectoryWalker)} instead.
 	 */
+	@Deprecated
 	public static long getFileLengthInMegabytes(final File dir)
 	{
 		return getFileLengthInKilobytes(dir) / 1024;
@@ -720,7 +1040,8 @@ public final class FileSearchExtensions
 		final String extension)
 	{
 		final List<File> foundedFileList = new ArrayList<>();
-		final String regex = "^" + prefix + ".*\\." + extension + "$";
+		final FilenameQuery query = FilenameQuery
+			.regex("^" + prefix + ".*\\." + extension + "$");
 		// Get all files in the directory
 		final File[] children = dir.getAbsoluteFile().listFiles();
 		if (children == null || children.length < 1)
@@ -733,8 +1054,7 @@ public final class FileSearchExtensions
 			if (!child.isDirectory())
 			{
 				// entry is a file
-				final String filename = child.getName();
-				if (filename.matches(regex))
+				if (query.matches(child))
 				{
 					foundedFileList.add(child.getAbsoluteFile());
 				}
@@ -758,33 +1078,51 @@ public final class FileSearchExtensions
 	public static List<File> findFilesWithPrefixAndExtensionRecursive(final File dir,
 		final String prefix, final String extension)
 	{
-		final List<File> foundedFileList = new ArrayList<>();
-		final String regex = "^" + prefix + ".*\\." + extension + "$";
-		// Get all files in the directory
-		final File[] children = dir.getAbsoluteFile().listFiles();
-		if (children == null || children.length < 1)
-		{
-			return foundedFileList;
-		}
-		for (final File child : children)
+		return findFilesWithPrefixAndExtensionRecursive(dir, prefix, extension,
+			DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Finds all files recursively in the specified directory that match the given prefix and file
+	 * extension with the given {@link DirectoryWalker}.
+	 *
+	 * @param dir
+	 *            The directory in which to search for files.
+	 * @param prefix
+	 *            The prefix that the filenames should start with.
+	 * @param extension
+	 *            The file extension that the filenames should have.
+	 * @param walker
+	 *            The walker that walks through the directories.
+	 * @return A list of files that match the specified prefix and extension.
+	 */
+	public static List<File> findFilesWithPrefixAndExtensionRecursive(final File dir,
+		final String prefix, final String extension, final DirectoryWalker walker)
+	{
+		return findFilesRecursive(dir, false,
+			FilenameQuery.regex("^" + prefix + ".*\\." + extension + "$"), walker);
+	}
+
+
+	/**
+	 * Checks if the given file is accepted from one of the given exclude file filters
+	 *
+	 * @param file
+	 *            the file
+	 * @param excludeFileFilters
+	 *            the file filters that have to be excluded
+	 * @return true if the file is excluded, otherwise false
+	 */
+	private static boolean isExcluded(final File file, final FileFilter... excludeFileFilters)
+	{
+		for (final FileFilter fileFilter : excludeFileFilters)
 		{
-			// if the entry is a directory
-			if (child.isDirectory())
+			if (fileFilter.accept(file))
 			{
-				foundedFileList
-					.addAll(findFilesWithPrefixAndExtensionRecursive(child, prefix, extension));
-			}
-			else
-			{
-				// entry is a file
-				final String filename = child.getName();
-				if (filename.matches(regex))
-				{
-					foundedFileList.add(child.getAbsoluteFile());
-				}
+				return true;
 			}
 		}
-		return foundedFileList;
+		return false;
 	}
 
 }
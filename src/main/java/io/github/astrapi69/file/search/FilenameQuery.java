@@ -0,0 +1,362 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The class {@link FilenameQuery} is a compiled query for filenames. A query is compiled once from
+ * a glob, a regular expression, a set of extensions or a prefix or suffix rule into the cheapest
+ * matcher for it, so it can be matched against many filenames without compiling anything again.
+ * A set of extensions is matched with a hash lookup, a prefix, a suffix and a glob with at most
+ * one '*' are matched with literal checks, and all other globs and regular expressions are
+ * matched with a precompiled {@link Pattern}. Queries that are matched with a {@link Pattern} are
+ * merged in a single {@link Pattern} if they are combined with {@link #or(FilenameQuery)} and do
+ * not refer to their groups
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class FilenameQuery
+{
+
+	/** The query that matches every filename. */
+	public static final FilenameQuery ALL = new FilenameQuery("all", name -> true, null);
+
+	/** The description of this query. */
+	private final String description;
+
+	/** The matcher for the filenames. */
+	private final Predicate<String> matcher;
+
+	/** The compiled pattern if this query is matched with a pattern, otherwise null. */
+	private final Pattern pattern;
+
+	private FilenameQuery(final String description, final Predicate<String> matcher,
+		final Pattern pattern)
+	{
+		this.description = description;
+		this.matcher = matcher;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} that matches the filenames with one of
+	 * the given extensions. The extensions are given with or without the leading dot and are
+	 * matched case insensitive against the part of the filename after the last dot
+	 *
+	 * @param extensions
+	 *            the extensions
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery extensions(final String... extensions)
+	{
+		final Set<String> extensionSet = new HashSet<>();
+		for (final String extension : extensions)
+		{
+			final String normalized = extension.startsWith(".")
+				? extension.substring(1)
+				: extension;
+			extensionSet.add(normalized.toLowerCase(Locale.ROOT));
+		}
+		return new FilenameQuery("extensions:" + extensionSet, name -> {
+			final int index = name.lastIndexOf('.');
+			return 0 <= index
+				&& extensionSet.contains(name.substring(index + 1).toLowerCase(Locale.ROOT));
+		}, null);
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} from the given glob. The wildcard '*'
+	 * matches any number of characters and the wildcard '?' matches exactly one character, all
+	 * other characters match literally
+	 *
+	 * @param glob
+	 *            the glob
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery glob(final String glob)
+	{
+		Objects.requireNonNull(glob);
+		final String description = "glob:" + glob;
+		final int firstStar = glob.indexOf('*');
+		if (glob.indexOf('?') < 0)
+		{
+			if (firstStar < 0)
+			{
+				return new FilenameQuery(description, glob::equals, null);
+			}
+			if (glob.chars().allMatch(c -> c == '*'))
+			{
+				return new FilenameQuery(description, ALL.matcher, null);
+			}
+			if (firstStar == glob.lastIndexOf('*'))
+			{
+				final String prefix = glob.substring(0, firstStar);
+				final String suffix = glob.substring(firstStar + 1);
+				return new FilenameQuery(description,
+					name -> prefix.length() + suffix.length() <= name.length()
+						&& name.startsWith(prefix) && name.endsWith(suffix),
+					null);
+			}
+		}
+		// the inline flag lets the wildcards match every character and keeps the pattern mergeable
+		final StringBuilder regex = new StringBuilder("(?s)");
+		final StringBuilder literal = new StringBuilder();
+		for (final char c : glob.toCharArray())
+		{
+			if (c == '*' || c == '?')
+			{
+				if (0 < literal.length())
+				{
+					regex.append(Pattern.quote(literal.toString()));
+					literal.setLength(0);
+				}
+				regex.append(c == '*' ? ".*" : ".");
+			}
+			else
+			{
+				literal.append(c);
+			}
+		}
+		if (0 < literal.length())
+		{
+			regex.append(Pattern.quote(literal.toString()));
+		}
+		return ofPattern(description, Pattern.compile(regex.toString()));
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} that matches the filenames that start
+	 * with the given prefix
+	 *
+	 * @param prefix
+	 *            the prefix
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery prefix(final String prefix)
+	{
+		Objects.requireNonNull(prefix);
+		return new FilenameQuery("prefix:" + prefix, name -> name.startsWith(prefix), null);
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} from the given regular expression that
+	 * must match the whole filename
+	 *
+	 * @param regex
+	 *            the regular expression
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery regex(final String regex)
+	{
+		if (".*".equals(regex))
+		{
+			return new FilenameQuery("regex:" + regex, ALL.matcher, null);
+		}
+		return regex(Pattern.compile(regex));
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} from the given pattern that must match
+	 * the whole filename
+	 *
+	 * @param pattern
+	 *            the pattern
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery regex(final Pattern pattern)
+	{
+		return ofPattern("regex:" + pattern.pattern(), pattern);
+	}
+
+	/**
+	 * Factory method for create a new {@link FilenameQuery} that matches the filenames that end
+	 * with the given suffix
+	 *
+	 * @param suffix
+	 *            the suffix
+	 * @return the new {@link FilenameQuery}
+	 */
+	public static FilenameQuery suffix(final String suffix)
+	{
+		Objects.requireNonNull(suffix);
+		return new FilenameQuery("suffix:" + suffix, name -> name.endsWith(suffix), null);
+	}
+
+	/**
+	 * Checks if the given pattern can be merged with another pattern in one pattern of
+	 * alternatives. A pattern with flags, back-references or named groups can not be merged,
+	 * because the flags would apply to the other alternative, the numbers of the groups would
+	 * shift and the names of the groups could be defined twice
+	 *
+	 * @param pattern
+	 *            the pattern
+	 * @return true if the pattern can be merged, otherwise false
+	 */
+	private static boolean isMergeable(final Pattern pattern)
+	{
+		if (pattern == null || pattern.flags() != 0)
+		{
+			return false;
+		}
+		final String regex = pattern.pattern();
+		for (int i = 0; i < regex.length() - 1; i++)
+		{
+			final char c = regex.charAt(i);
+			final char next = regex.charAt(i + 1);
+			if (c == '\\')
+			{
+				if (next == 'Q')
+				{
+					// a quoted part ends with \E or with the pattern
+					final int end = regex.indexOf("\\E", i + 2);
+					if (end < 0)
+					{
+						return true;
+					}
+					i = end + 1;
+					continue;
+				}
+				if (next == 'k' || '1' <= next && next <= '9')
+				{
+					return false;
+				}
+				// the escaped character is skipped
+				i++;
+			}
+			else if (c == '(' && next == '?' && i + 3 < regex.length()
+				&& regex.charAt(i + 2) == '<' && Character.isLetter(regex.charAt(i + 3)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a new {@link FilenameQuery} that is matched with the given pattern
+	 *
+	 * @param description
+	 *            the description of the query
+	 * @param pattern
+	 *            the pattern
+	 * @return the new {@link FilenameQuery}
+	 */
+	private static FilenameQuery ofPattern(final String description, final Pattern pattern)
+	{
+		return new FilenameQuery(description, name -> pattern.matcher(name).matches(), pattern);
+	}
+
+	/**
+	 * Creates a new {@link FilenameQuery} that matches the filenames that match this query and the
+	 * given query. The given query is only matched if this query matches
+	 *
+	 * @param other
+	 *            the other query
+	 * @return the new {@link FilenameQuery}
+	 */
+	public FilenameQuery and(final FilenameQuery other)
+	{
+		final Predicate<String> first = this.matcher;
+		final Predicate<String> second = other.matcher;
+		return new FilenameQuery("(" + this.description + " and " + other.description + ")",
+			name -> first.test(name) && second.test(name), null);
+	}
+
+	/**
+	 * Checks if the name of the given file matches this query
+	 *
+	 * @param file
+	 *            the file
+	 * @return true if the name of the given file matches this query, otherwise false
+	 */
+	public boolean matches(final File file)
+	{
+		return matcher.test(file.getName());
+	}
+
+	/**
+	 * Checks if the given filename matches this query
+	 *
+	 * @param filename
+	 *            the filename
+	 * @return true if the given filename matches this query, otherwise false
+	 */
+	public boolean matches(final String filename)
+	{
+		return matcher.test(filename);
+	}
+
+	/**
+	 * Creates a new {@link FilenameQuery} that matches the filenames that do not match this query
+	 *
+	 * @return the new {@link FilenameQuery}
+	 */
+	public FilenameQuery negate()
+	{
+		return new FilenameQuery("not " + this.description, this.matcher.negate(), null);
+	}
+
+	/**
+	 * Creates a new {@link FilenameQuery} that matches the filenames that match this query or the
+	 * given query. If both queries are matched with a pattern without flags, back-references and
+	 * named groups, the new query is matched with one pattern of the alternatives, so every
+	 * filename is scanned only once
+	 *
+	 * @param other
+	 *            the other query
+	 * @return the new {@link FilenameQuery}
+	 */
+	public FilenameQuery or(final FilenameQuery other)
+	{
+		final String orDescription = "(" + this.description + " or " + other.description + ")";
+		if (isMergeable(this.pattern) && isMergeable(other.pattern))
+		{
+			return ofPattern(orDescription, Pattern.compile(
+				"(?:" + this.pattern.pattern() + ")|(?:" + other.pattern.pattern() + ")"));
+		}
+		final Predicate<String> first = this.matcher;
+		final Predicate<String> second = other.matcher;
+		return new FilenameQuery(orDescription, name -> first.test(name) || second.test(name),
+			null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "FilenameQuery(" + this.description + ")";
+	}
+
+}
@@ -0,0 +1,763 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link PathTrie} holds the names of all files and directories in a directory tree as
+ * a trie of directories, so lookups by prefix and extension are answered from memory instead of
+ * with a listing of the directories and a regular expression match of every name. Every directory
+ * has an index of its subdirectories by name, the sorted names of its files and a sub-index of the
+ * sorted names of its files by extension, so a lookup in a directory is a hash lookup of the
+ * extension and a binary search for the prefix. The trie is built with a {@link DirectoryWalker},
+ * and a refresh rescans only the directories whose last modified time changed, like the refresh of
+ * a {@link FileIndex} does, together with the directories that were racily clean at their scan,
+ * see {@link DirectoryStamp}. The memory footprint of the trie can be estimated with
+ * {@link #getMemoryFootprint()}
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class PathTrie
+{
+
+	/** The size of an array header in bytes. */
+	private static final int ARRAY_HEADER = 16;
+
+	/** The empty array of names. */
+	private static final String[] NO_NAMES = new String[0];
+
+	/** The size of an object header in bytes. */
+	private static final int OBJECT_HEADER = 12;
+
+	/** The size of a compressed reference in bytes. */
+	private static final int REFERENCE = 4;
+
+	/** The rule that prunes every directory, so a walk lists only the start directory. */
+	private static final PruneRule SINGLE_DIRECTORY = (directory, depth) -> true;
+
+	/** The shared instances of the extensions, so every extension is held only once. */
+	private final Map<String, String> extensions = new HashMap<>();
+
+	/** The root node. */
+	private final Node root = new Node();
+
+	/** The root directory of the trie. */
+	private final Path rootPath;
+
+	/** The walker that walks through the directories. */
+	private final DirectoryWalker walker;
+
+	private PathTrie(final Path rootPath, final DirectoryWalker walker)
+	{
+		this.rootPath = rootPath;
+		this.walker = walker;
+	}
+
+	/**
+	 * Factory method for create a new {@link PathTrie} of the given directory and all its
+	 * subdirectories
+	 *
+	 * @param rootDirectory
+	 *            the root directory of the trie
+	 * @return the new {@link PathTrie}
+	 * @throws IllegalArgumentException
+	 *             if the given file is not a directory
+	 */
+	public static PathTrie build(final File rootDirectory)
+	{
+		return build(rootDirectory, DirectoryWalker.SEQUENTIAL);
+	}
+
+	/**
+	 * Factory method for create a new {@link PathTrie} of the given directory and all its
+	 * subdirectories that are walked with the given {@link DirectoryWalker}. The walker is used
+	 * for the refreshes too
+	 *
+	 * @param rootDirectory
+	 *            the root directory of the trie
+	 * @param walker
+	 *            the walker that walks through the directories
+	 * @return the new {@link PathTrie}
+	 * @throws IllegalArgumentException
+	 *             if the given file is not a directory
+	 */
+	public static PathTrie build(final File rootDirectory, final DirectoryWalker walker)
+	{
+		Objects.requireNonNull(walker);
+		final Path rootPath = rootDirectory.getAbsoluteFile().toPath();
+		final long scanTime = System.currentTimeMillis();
+		final BasicFileAttributes attributes = DirectoryWalker.readAttributes(rootPath, true);
+		if (attributes == null || !attributes.isDirectory())
+		{
+			throw new IllegalArgumentException("Not a directory: " + rootDirectory);
+		}
+		final PathTrie trie = new PathTrie(rootPath, walker);
+		trie.root.setAttributes(attributes, scanTime);
+		trie.scanTree(rootPath, trie.root);
+		return trie;
+	}
+
+	/**
+	 * Finds all files in the given directory of this trie whose name starts with the given prefix
+	 * and ends with a dot and the given extension, like
+	 * {@link FileSearchExtensions#findFilesWithPrefixAndExtension(File, String, String)} does. The
+	 * prefix and the extension are matched literally and case sensitive. The files are in the
+	 * order of their names, and a directory that is not in this trie has no files
+	 *
+	 * @param dir
+	 *            the directory in which to search for files
+	 * @param prefix
+	 *            the prefix that the filenames should start with
+	 * @param extension
+	 *            the file extension that the filenames should have
+	 * @return the list with the matching files
+	 */
+	public synchronized List<File> findFilesWithPrefixAndExtension(final File dir,
+		final String prefix, final String extension)
+	{
+		Objects.requireNonNull(prefix);
+		Objects.requireNonNull(extension);
+		final List<File> files = new ArrayList<>();
+		final File directory = dir.getAbsoluteFile();
+		final Node node = findNode(directory);
+		if (node != null)
+		{
+			node.collect(directory, prefix, extension, files);
+		}
+		return files;
+	}
+
+	/**
+	 * Finds all files in the given directory of this trie and all its subdirectories whose name
+	 * starts with the given prefix and ends with a dot and the given extension, like
+	 * {@link FileSearchExtensions#findFilesWithPrefixAndExtensionRecursive(File, String, String)}
+	 * does. The prefix and the extension are matched literally and case sensitive. Every
+	 * directory is searched before its subdirectories, and a directory that is not in this trie
+	 * has no files
+	 *
+	 * @param dir
+	 *            the directory in which to search for files
+	 * @param prefix
+	 *            the prefix that the filenames should start with
+	 * @param extension
+	 *            the file extension that the filenames should have
+	 * @return the list with the matching files
+	 */
+	public synchronized List<File> findFilesWithPrefixAndExtensionRecursive(final File dir,
+		final String prefix, final String extension)
+	{
+		Objects.requireNonNull(prefix);
+		Objects.requireNonNull(extension);
+		final List<File> files = new ArrayList<>();
+		final File directory = dir.getAbsoluteFile();
+		final Node node = findNode(directory);
+		if (node == null)
+		{
+			return files;
+		}
+		final Deque<Node> nodes = new ArrayDeque<>();
+		final Deque<File> directories = new ArrayDeque<>();
+		nodes.push(node);
+		directories.push(directory);
+		while (!nodes.isEmpty())
+		{
+			final Node current = nodes.pop();
+			final File currentDirectory = directories.pop();
+			current.collect(currentDirectory, prefix, extension, files);
+			if (current.children != null)
+			{
+				for (final Map.Entry<String, Node> child : current.children.entrySet())
+				{
+					nodes.push(child.getValue());
+					directories.push(new File(currentDirectory, child.getKey()));
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Gets the number of the directories in this trie, the root directory included
+	 *
+	 * @return the number of the directories
+	 */
+	public synchronized int getDirectoryCount()
+	{
+		int count = 0;
+		final Deque<Node> nodes = new ArrayDeque<>();
+		nodes.push(root);
+		while (!nodes.isEmpty())
+		{
+			final Node node = nodes.pop();
+			count++;
+			node.pushChildren(nodes);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of the files in this trie
+	 *
+	 * @return the number of the files
+	 */
+	public synchronized int getFileCount()
+	{
+		int count = 0;
+		final Deque<Node> nodes = new ArrayDeque<>();
+		nodes.push(root);
+		while (!nodes.isEmpty())
+		{
+			final Node node = nodes.pop();
+			count += node.files.length;
+			node.pushChildren(nodes);
+		}
+		return count;
+	}
+
+	/**
+	 * Estimates the memory footprint of this trie in bytes. The estimate counts the nodes, the
+	 * maps, the arrays and the names of this trie with the sizes of a 64 bit JVM with compressed
+	 * references and compact strings, so it is an approximation of the retained heap of the trie
+	 *
+	 * @return the estimated memory footprint in bytes
+	 */
+	public synchronized long getMemoryFootprint()
+	{
+		long footprint = align(OBJECT_HEADER + 4L * REFERENCE) + sizeOfMap(extensions.size());
+		for (final String extension : extensions.keySet())
+		{
+			footprint += sizeOfString(extension);
+		}
+		final Deque<Node> nodes = new ArrayDeque<>();
+		nodes.push(root);
+		while (!nodes.isEmpty())
+		{
+			final Node node = nodes.pop();
+			footprint += node.getMemoryFootprint();
+			node.pushChildren(nodes);
+		}
+		return footprint;
+	}
+
+	/**
+	 * Gets the root directory of this trie
+	 *
+	 * @return the root directory
+	 */
+	public File getRootDirectory()
+	{
+		return rootPath.toFile();
+	}
+
+	/**
+	 * Refreshes this trie. The directories whose last modified time changed and the directories
+	 * that were racily clean at their last scan are listed again, new subdirectories are scanned
+	 * completely and deleted directories are removed with all their subdirectories. A directory
+	 * whose file key changed was deleted and created again and is scanned completely, even if it
+	 * kept its name and its last modified time. If the root directory is deleted, the trie is
+	 * empty
+	 *
+	 * @return the number of the changed directories, a racily clean directory is listed again but
+	 *         only counted if entries were added, removed or renamed
+	 */
+	public synchronized int refresh()
+	{
+		final List<Node> nodes = new ArrayList<>();
+		final List<Path> paths = new ArrayList<>();
+		final Map<Node, Node> parents = new IdentityHashMap<>();
+		nodes.add(root);
+		paths.add(rootPath);
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			final Node node = nodes.get(i);
+			if (node.children != null)
+			{
+				for (final Map.Entry<String, Node> child : node.children.entrySet())
+				{
+					nodes.add(child.getValue());
+					paths.add(paths.get(i).resolve(child.getKey()));
+					parents.put(child.getValue(), node);
+				}
+			}
+		}
+		// the nodes whose subdirectories are removed or scanned again
+		final Set<Node> detached = Collections.newSetFromMap(new IdentityHashMap<>());
+		int rescanned = 0;
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			final Node node = nodes.get(i);
+			final Path directory = paths.get(i);
+			if (detached.contains(parents.get(node)))
+			{
+				detached.add(node);
+				continue;
+			}
+			final long scanTime = System.currentTimeMillis();
+			final BasicFileAttributes attributes = DirectoryWalker.readAttributes(directory,
+				node == root || walker.isFollowLinks());
+			if (attributes == null || !attributes.isDirectory())
+			{
+				final Node parent = parents.get(node);
+				if (parent == null)
+				{
+					node.clear();
+				}
+				else if (parent.children != null)
+				{
+					parent.children.remove(directory.getFileName().toString(), node);
+				}
+				detached.add(node);
+				continue;
+			}
+			if (node.fileKey != null && !node.fileKey.equals(attributes.fileKey()))
+			{
+				node.clear();
+				node.setAttributes(attributes, scanTime);
+				scanTree(directory, node);
+				detached.add(node);
+				rescanned++;
+				continue;
+			}
+			final boolean modified = node.stamp.isModified(attributes);
+			if (modified || node.stamp.isRacilyClean())
+			{
+				node.setAttributes(attributes, scanTime);
+				// a racily clean directory is counted only if its entries changed
+				if (rescan(directory, node, scanTime) || modified)
+				{
+					rescanned++;
+				}
+			}
+		}
+		return rescanned;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		return "PathTrie(rootDirectory=" + rootPath + ", directoryCount=" + getDirectoryCount()
+			+ ", fileCount=" + getFileCount() + ", memoryFootprint=" + getMemoryFootprint() + ")";
+	}
+
+	/**
+	 * Finds the node of the given directory
+	 *
+	 * @param directory
+	 *            the absolute directory
+	 * @return the node of the given directory or null if it is not in this trie
+	 */
+	private Node findNode(final File directory)
+	{
+		final Path relative = rootPath.relativize(directory.toPath().normalize());
+		if (relative.toString().isEmpty())
+		{
+			return root;
+		}
+		Node node = root;
+		for (final Path name : relative)
+		{
+			node = node.children == null ? null : node.children.get(name.toString());
+			if (node == null)
+			{
+				return null;
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Lists the given directory again and scans its new subdirectories
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param node
+	 *            the node of the directory
+	 * @param scanTime
+	 *            the time of the scan in milliseconds, read before the directory was read
+	 * @return true if entries of the directory were added, removed or renamed, otherwise false
+	 */
+	private boolean rescan(final Path directory, final Node node, final long scanTime)
+	{
+		final String[] oldFiles = node.files;
+		final Map<String, Node> oldChildren = node.children;
+		final Map<String, Node> newChildren = new HashMap<>();
+		final List<String> names = new ArrayList<>();
+		for (final FileAttributeSnapshot entry : walker.findSnapshots(directory.toFile(),
+			SINGLE_DIRECTORY, entry -> true))
+		{
+			final String name = entry.getFile().getName();
+			if (!entry.isDirectory())
+			{
+				names.add(name);
+				continue;
+			}
+			Node child = oldChildren == null ? null : oldChildren.get(name);
+			if (child == null)
+			{
+				child = new Node();
+				child.setAttributes(entry, scanTime);
+				scanTree(directory.resolve(name), child);
+			}
+			newChildren.put(name, child);
+		}
+		node.children = newChildren.isEmpty() ? null : newChildren;
+		node.setFiles(names, extensions);
+		return !Arrays.equals(oldFiles, node.files) || !newChildren.keySet()
+			.equals(oldChildren == null ? Collections.emptySet() : oldChildren.keySet());
+	}
+
+	/**
+	 * Scans the given directory and all its subdirectories into the given node
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param node
+	 *            the node of the directory
+	 */
+	private void scanTree(final Path directory, final Node node)
+	{
+		final long scanTime = System.currentTimeMillis();
+		final Map<Node, List<String>> files = new IdentityHashMap<>();
+		files.put(node, new ArrayList<>());
+		for (final FileAttributeSnapshot entry : walker.findSnapshots(directory.toFile(),
+			entry -> true))
+		{
+			final Path relative = directory.relativize(entry.getFile().toPath());
+			Node parent = node;
+			for (int i = 0; i < relative.getNameCount() - 1; i++)
+			{
+				parent = parent.getOrAddChild(relative.getName(i).toString());
+			}
+			final String name = relative.getFileName().toString();
+			if (entry.isDirectory())
+			{
+				final Node child = parent.getOrAddChild(name);
+				child.setAttributes(entry, scanTime);
+				files.computeIfAbsent(child, key -> new ArrayList<>());
+			}
+			else
+			{
+				files.computeIfAbsent(parent, key -> new ArrayList<>()).add(name);
+			}
+		}
+		for (final Map.Entry<Node, List<String>> entry : files.entrySet())
+		{
+			entry.getKey().setFiles(entry.getValue(), extensions);
+		}
+	}
+
+	/**
+	 * Aligns the given size to the object alignment of eight bytes
+	 *
+	 * @param size
+	 *            the size in bytes
+	 * @return the aligned size in bytes
+	 */
+	private static long align(final long size)
+	{
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Estimates the size of an array of references
+	 *
+	 * @param length
+	 *            the length of the array
+	 * @return the estimated size in bytes
+	 */
+	private static long sizeOfArray(final int length)
+	{
+		return align(ARRAY_HEADER + (long)length * REFERENCE);
+	}
+
+	/**
+	 * Estimates the size of a {@link HashMap} with the given number of entries without its keys
+	 * and values
+	 *
+	 * @param size
+	 *            the number of entries
+	 * @return the estimated size in bytes
+	 */
+	private static long sizeOfMap(final int size)
+	{
+		int capacity = 16;
+		while (capacity * 3 / 4 < size)
+		{
+			capacity <<= 1;
+		}
+		// the map itself, its table and one node of four fields for every entry
+		return align(OBJECT_HEADER + 3L * REFERENCE + 4L * 4) + sizeOfArray(capacity)
+			+ size * align(OBJECT_HEADER + 4L + 3L * REFERENCE);
+	}
+
+	/**
+	 * Estimates the size of the given string together with its byte array
+	 *
+	 * @param value
+	 *            the string
+	 * @return the estimated size in bytes
+	 */
+	private static long sizeOfString(final String value)
+	{
+		int coder = 1;
+		for (int i = 0; i < value.length(); i++)
+		{
+			if (0xFF < value.charAt(i))
+			{
+				coder = 2;
+				break;
+			}
+		}
+		return align(OBJECT_HEADER + REFERENCE + 4L + 4L) + align(ARRAY_HEADER
+			+ (long)value.length() * coder);
+	}
+
+	/**
+	 * The names of one directory with the index of its subdirectories
+	 */
+	private static final class Node
+	{
+
+		/** The subdirectories by name or null if there are none. */
+		Map<String, Node> children;
+
+		/** The sorted names of the files by extension or null if no file has an extension. */
+		Map<String, String[]> extensions;
+
+		/** The file key of the directory or null if the file system has no file keys. */
+		Object fileKey;
+
+		/** The sorted names of the files. */
+		String[] files = NO_NAMES;
+
+		/** The last modified time and the scan time of the directory. */
+		DirectoryStamp stamp;
+
+		/**
+		 * Removes all subdirectories and files of this node
+		 */
+		void clear()
+		{
+			children = null;
+			extensions = null;
+			files = NO_NAMES;
+		}
+
+		/**
+		 * Adds the files of this node that match the given prefix and extension to the given list
+		 *
+		 * @param directory
+		 *            the directory of this node
+		 * @param prefix
+		 *            the prefix that the filenames should start with
+		 * @param extension
+		 *            the file extension that the filenames should have
+		 * @param result
+		 *            the list for the matching files
+		 */
+		void collect(final File directory, final String prefix, final String extension,
+			final List<File> result)
+		{
+			if (extensions == null)
+			{
+				return;
+			}
+			// the names in the sub-index end with the last part of a multi part extension
+			final String[] names = extensions
+				.get(extension.substring(extension.lastIndexOf('.') + 1));
+			if (names == null)
+			{
+				return;
+			}
+			final String suffix = "." + extension;
+			final int minLength = prefix.length() + suffix.length();
+			final int index = Arrays.binarySearch(names, prefix);
+			for (int i = index < 0 ? -index - 1 : index; i < names.length
+				&& names[i].startsWith(prefix); i++)
+			{
+				if (minLength <= names[i].length() && names[i].endsWith(suffix))
+				{
+					result.add(new File(directory, names[i]));
+				}
+			}
+		}
+
+		/**
+		 * Estimates the memory footprint of this node without its subdirectories
+		 *
+		 * @return the estimated memory footprint in bytes
+		 */
+		long getMemoryFootprint()
+		{
+			// the node with five references and its stamp with two longs
+			long footprint = align(OBJECT_HEADER + 5L * REFERENCE) + align(OBJECT_HEADER + 16L)
+				+ sizeOfArray(files.length);
+			if (fileKey != null)
+			{
+				// the file key of the default file system holds two longs
+				footprint += align(OBJECT_HEADER + 16L);
+			}
+			for (final String name : files)
+			{
+				footprint += sizeOfString(name);
+			}
+			if (children != null)
+			{
+				footprint += sizeOfMap(children.size());
+				for (final String name : children.keySet())
+				{
+					footprint += sizeOfString(name);
+				}
+			}
+			if (extensions != null)
+			{
+				footprint += sizeOfMap(extensions.size());
+				for (final String[] names : extensions.values())
+				{
+					footprint += sizeOfArray(names.length);
+				}
+			}
+			return footprint;
+		}
+
+		/**
+		 * Gets the subdirectory with the given name and adds it if it does not exist
+		 *
+		 * @param name
+		 *            the name of the subdirectory
+		 * @return the node of the subdirectory
+		 */
+		Node getOrAddChild(final String name)
+		{
+			if (children == null)
+			{
+				children = new HashMap<>();
+			}
+			return children.computeIfAbsent(name, key -> new Node());
+		}
+
+		/**
+		 * Pushes the subdirectories of this node to the given stack
+		 *
+		 * @param nodes
+		 *            the stack of the nodes
+		 */
+		void pushChildren(final Deque<Node> nodes)
+		{
+			if (children != null)
+			{
+				for (final Node child : children.values())
+				{
+					nodes.push(child);
+				}
+			}
+		}
+
+		/**
+		 * Sets the attributes of the directory of this node
+		 *
+		 * @param attributes
+		 *            the attributes of the directory
+		 * @param scanTime
+		 *            the time of the scan in milliseconds, read before the directory was read
+		 */
+		void setAttributes(final BasicFileAttributes attributes, final long scanTime)
+		{
+			fileKey = attributes.fileKey();
+			stamp = DirectoryStamp.of(attributes, scanTime);
+		}
+
+		/**
+		 * Sets the attributes of the directory of this node
+		 *
+		 * @param snapshot
+		 *            the attribute snapshot of the directory
+		 * @param scanTime
+		 *            the time of the scan in milliseconds, read before the snapshot was read
+		 */
+		void setAttributes(final FileAttributeSnapshot snapshot, final long scanTime)
+		{
+			fileKey = snapshot.getFileKey();
+			stamp = new DirectoryStamp(snapshot.getLastModified(), scanTime);
+		}
+
+		/**
+		 * Sets the files of this node and builds the sub-index of the files by extension
+		 *
+		 * @param names
+		 *            the names of the files
+		 * @param sharedExtensions
+		 *            the shared instances of the extensions
+		 */
+		void setFiles(final List<String> names, final Map<String, String> sharedExtensions)
+		{
+			files = names.isEmpty() ? NO_NAMES : names.toArray(NO_NAMES);
+			Arrays.sort(files);
+			final Map<String, List<String>> byExtension = new HashMap<>();
+			for (final String name : files)
+			{
+				final int index = name.lastIndexOf('.');
+				if (0 <= index)
+				{
+					final String extension = sharedExtensions
+						.computeIfAbsent(name.substring(index + 1), key -> key);
+					byExtension.computeIfAbsent(extension, key -> new ArrayList<>()).add(name);
+				}
+			}
+			if (byExtension.isEmpty())
+			{
+				extensions = null;
+				return;
+			}
+			extensions = new HashMap<>();
+			for (final Map.Entry<String, List<String>> entry : byExtension.entrySet())
+			{
+				// the names are added in sorted order, so every sub-index is sorted
+				extensions.put(entry.getKey(), entry.getValue().toArray(NO_NAMES));
+			}
+		}
+	}
+
+}
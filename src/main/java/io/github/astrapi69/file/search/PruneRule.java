@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The interface {@link PruneRule} decides which directories a recursive search does not enter.
+ * The rule is evaluated once for every directory during the listing of its parent, and the
+ * subtree of a pruned directory is never read. The pruned directory itself is still passed to the
+ * filter of the search, so a search that includes directories can still find it
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+@FunctionalInterface
+public interface PruneRule
+{
+
+	/** The rule that prunes no directory. */
+	PruneRule NONE = (directory, depth) -> false;
+
+	/**
+	 * Factory method for create a new {@link PruneRule} that prunes the directories with one of
+	 * the given names, for instance ".git" or "node_modules"
+	 *
+	 * @param names
+	 *            the names of the directories to prune
+	 * @return the new {@link PruneRule}
+	 */
+	static PruneRule directoryNames(final String... names)
+	{
+		final Set<String> nameSet = new HashSet<>();
+		for (final String name : names)
+		{
+			nameSet.add(Objects.requireNonNull(name));
+		}
+		return (directory, depth) -> nameSet.contains(directory.getFile().getName());
+	}
+
+	/**
+	 * Factory method for create a new {@link PruneRule} that prunes the directories whose name
+	 * matches the given compiled query
+	 *
+	 * @param query
+	 *            the compiled filename query
+	 * @return the new {@link PruneRule}
+	 */
+	static PruneRule directoryQuery(final FilenameQuery query)
+	{
+		Objects.requireNonNull(query);
+		return (directory, depth) -> query.matches(directory.getFile());
+	}
+
+	/**
+	 * Factory method for create a new {@link PruneRule} that limits the depth of the search. The
+	 * entries of the start directory have the depth one, so with the maximum depth one only the
+	 * entries of the start directory are found
+	 *
+	 * @param maxDepth
+	 *            the maximum depth of the found entries
+	 * @return the new {@link PruneRule}
+	 * @throws IllegalArgumentException
+	 *             if the given maximum depth is less than one
+	 */
+	static PruneRule maxDepth(final int maxDepth)
+	{
+		if (maxDepth < 1)
+		{
+			throw new IllegalArgumentException("maxDepth must be positive: " + maxDepth);
+		}
+		return (directory, depth) -> maxDepth <= depth;
+	}
+
+	/**
+	 * Checks if the search does not enter the given directory
+	 *
+	 * @param directory
+	 *            the attribute snapshot of the directory
+	 * @param depth
+	 *            the depth of the directory, the entries of the start directory have the depth
+	 *            one
+	 * @return true if the directory is pruned, otherwise false
+	 */
+	boolean isPruned(FileAttributeSnapshot directory, int depth);
+
+	/**
+	 * Creates a new {@link PruneRule} that prunes the directories that this rule or the given rule
+	 * prunes
+	 *
+	 * @param other
+	 *            the other rule
+	 * @return the new {@link PruneRule}
+	 */
+	default PruneRule or(final PruneRule other)
+	{
+		Objects.requireNonNull(other);
+		return (directory, depth) -> isPruned(directory, depth)
+			|| other.isPruned(directory, depth);
+	}
+
+}
@@ -0,0 +1,314 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+
+/**
+ * The class {@link TopKSearchExtensions} finds the first entries of a directory tree in a given
+ * order, for instance the largest or the oldest files, without collecting and sorting all
+ * entries. Every thread of the walk keeps only the best entries in a bounded heap, so the memory
+ * does not grow with the size of the tree
+ *
+ * @version 1.0
+ * @author Asterios Raptis
+ */
+public final class TopKSearchExtensions
+{
+
+	/** The order of the largest files first. */
+	public static final Comparator<FileAttributeSnapshot> LARGEST_FIRST = Comparator
+		.comparingLong(FileAttributeSnapshot::getLength).reversed();
+
+	/** The order of the newest files first. */
+	public static final Comparator<FileAttributeSnapshot> NEWEST_FIRST = Comparator
+		.comparingLong(FileAttributeSnapshot::getLastModified).reversed();
+
+	/** The order of the oldest files first. */
+	public static final Comparator<FileAttributeSnapshot> OLDEST_FIRST = Comparator
+		.comparingLong(FileAttributeSnapshot::getLastModified);
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private TopKSearchExtensions()
+	{
+	}
+
+	/**
+	 * Finds the given number of largest files in the given directory and all its subdirectories
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param k
+	 *            the maximum number of files
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the list with the largest files, the largest first
+	 */
+	public static List<FileAttributeSnapshot> findLargestFiles(final File dir, final int k,
+		final DirectoryWalker walker)
+	{
+		return findTop(dir, k, LARGEST_FIRST, FileAttributeSnapshot::isRegularFile, walker);
+	}
+
+	/**
+	 * Finds the given number of newest files in the given directory and all its subdirectories
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param k
+	 *            the maximum number of files
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the list with the newest files, the newest first
+	 */
+	public static List<FileAttributeSnapshot> findNewestFiles(final File dir, final int k,
+		final DirectoryWalker walker)
+	{
+		return findTop(dir, k, NEWEST_FIRST, FileAttributeSnapshot::isRegularFile, walker);
+	}
+
+	/**
+	 * Finds the given number of oldest files in the given directory and all its subdirectories
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param k
+	 *            the maximum number of files
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the list with the oldest files, the oldest first
+	 */
+	public static List<FileAttributeSnapshot> findOldestFiles(final File dir, final int k,
+		final DirectoryWalker walker)
+	{
+		return findTop(dir, k, OLDEST_FIRST, FileAttributeSnapshot::isRegularFile, walker);
+	}
+
+	/**
+	 * Finds the first entries in the given order of the entries in the given directory and all
+	 * its subdirectories that match the given filter. Entries that are equal in the given order
+	 * are ordered by their path, so the result of a parallel walker is the same as the result of
+	 * a sequential walker
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param k
+	 *            the maximum number of entries
+	 * @param order
+	 *            the order of the entries
+	 * @param filter
+	 *            the filter for the entries
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the list with the first entries in the given order
+	 */
+	public static List<FileAttributeSnapshot> findTop(final File dir, final int k,
+		final Comparator<? super FileAttributeSnapshot> order,
+		final Predicate<? super FileAttributeSnapshot> filter, final DirectoryWalker walker)
+	{
+		return findTop(dir, k, order, PruneRule.NONE, filter, walker);
+	}
+
+	/**
+	 * Finds the first entries in the given order of the entries in the given directory and all
+	 * its subdirectories that match the given filter and are not in a pruned subdirectory
+	 *
+	 * @param dir
+	 *            the directory to search
+	 * @param k
+	 *            the maximum number of entries
+	 * @param order
+	 *            the order of the entries
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @param filter
+	 *            the filter for the entries
+	 * @param walker
+	 *            the walker for the directories
+	 * @return the list with the first entries in the given order
+	 */
+	public static List<FileAttributeSnapshot> findTop(final File dir, final int k,
+		final Comparator<? super FileAttributeSnapshot> order, final PruneRule pruneRule,
+		final Predicate<? super FileAttributeSnapshot> filter, final DirectoryWalker walker)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of entries must not be negative");
+		}
+		Objects.requireNonNull(filter);
+		final Comparator<FileAttributeSnapshot> totalOrder = toTotalOrder(order);
+		if (k == 0)
+		{
+			return new ArrayList<>();
+		}
+		// one heap for every thread of the walk, so the threads do not contend for a lock
+		final Map<Thread, BoundedHeap> heaps = new ConcurrentHashMap<>();
+		walker.walk(dir, pruneRule, filter, entry -> heaps
+			.computeIfAbsent(Thread.currentThread(), thread -> new BoundedHeap(k, totalOrder))
+			.offer(entry));
+		return merge(heaps.values(), k, totalOrder);
+	}
+
+	/**
+	 * Selects the first entries in the given order of the given entries
+	 *
+	 * @param entries
+	 *            the entries
+	 * @param k
+	 *            the maximum number of entries
+	 * @param order
+	 *            the order of the entries
+	 * @return the list with the first entries in the given order
+	 */
+	public static List<FileAttributeSnapshot> selectTop(
+		final Iterable<FileAttributeSnapshot> entries, final int k,
+		final Comparator<? super FileAttributeSnapshot> order)
+	{
+		if (k < 0)
+		{
+			throw new IllegalArgumentException("The number of entries must not be negative");
+		}
+		final Comparator<FileAttributeSnapshot> totalOrder = toTotalOrder(order);
+		if (k == 0)
+		{
+			return new ArrayList<>();
+		}
+		final BoundedHeap heap = new BoundedHeap(k, totalOrder);
+		for (final FileAttributeSnapshot entry : entries)
+		{
+			heap.offer(entry);
+		}
+		return heap.toSortedList();
+	}
+
+	/**
+	 * Merges the given heaps
+	 *
+	 * @param heaps
+	 *            the heaps
+	 * @param k
+	 *            the maximum number of entries
+	 * @param order
+	 *            the total order of the entries
+	 * @return the list with the first entries of all heaps in the given order
+	 */
+	private static List<FileAttributeSnapshot> merge(final Collection<BoundedHeap> heaps,
+		final int k, final Comparator<FileAttributeSnapshot> order)
+	{
+		final BoundedHeap merged = new BoundedHeap(k, order);
+		for (final BoundedHeap heap : heaps)
+		{
+			for (final FileAttributeSnapshot entry : heap.queue)
+			{
+				merged.offer(entry);
+			}
+		}
+		return merged.toSortedList();
+	}
+
+	/**
+	 * Extends the given order with the order of the paths, so that no two entries are equal
+	 *
+	 * @param order
+	 *            the order
+	 * @return the total order
+	 */
+	private static Comparator<FileAttributeSnapshot> toTotalOrder(
+		final Comparator<? super FileAttributeSnapshot> order)
+	{
+		Objects.requireNonNull(order);
+		final Comparator<FileAttributeSnapshot> totalOrder = order::compare;
+		return totalOrder.thenComparing(FileAttributeSnapshot::getAbsolutePath);
+	}
+
+	/**
+	 * The heap that keeps the first entries in an order. The root of the heap is the last of the
+	 * kept entries, so a new entry only has to be compared with the root
+	 */
+	private static final class BoundedHeap
+	{
+
+		/** The maximum number of entries. */
+		private final int capacity;
+
+		/** The order of the entries. */
+		private final Comparator<FileAttributeSnapshot> order;
+
+		/** The kept entries with the last entry at the root. */
+		private final PriorityQueue<FileAttributeSnapshot> queue;
+
+		BoundedHeap(final int capacity, final Comparator<FileAttributeSnapshot> order)
+		{
+			this.capacity = capacity;
+			this.order = order;
+			this.queue = new PriorityQueue<>(order.reversed());
+		}
+
+		/**
+		 * Keeps the given entry if it is before the last of the kept entries
+		 *
+		 * @param entry
+		 *            the entry
+		 */
+		void offer(final FileAttributeSnapshot entry)
+		{
+			if (queue.size() < capacity)
+			{
+				queue.add(entry);
+			}
+			else if (order.compare(entry, queue.peek()) < 0)
+			{
+				queue.poll();
+				queue.add(entry);
+			}
+		}
+
+		/**
+		 * Gets the kept entries in the order
+		 *
+		 * @return the sorted list with the kept entries
+		 */
+		List<FileAttributeSnapshot> toSortedList()
+		{
+			final List<FileAttributeSnapshot> list = new ArrayList<>(queue);
+			list.sort(order);
+			return list;
+		}
+	}
+
+}
@@ -30,12 +30,22 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.search.AncestorDirectories;
+import io.github.astrapi69.file.search.DirectoryIterator;
+import io.github.astrapi69.file.search.DirectoryWalker;
+import io.github.astrapi69.file.search.FileSearchExtensions;
+import io.github.astrapi69.file.search.FilenameQuery;
+import io.github.astrapi69.file.search.PruneRule;
+
 /**
  * Interface for searching capabilities within files and directories
  */
@@ -138,6 +148,26 @@ public interface Searchable
 		}
 	}
 
+	/**
+	 * Recursively searches for files in a directory matching a specified predicate, without
+	 * entering the subdirectories that are pruned by the given rule. The directory itself is not
+	 * contained in the result
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @param predicate
+	 *            the condition to filter files
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @return a set of files that match the predicate
+	 */
+	default Set<File> findFilesRecursive(File directory, Predicate<File> predicate,
+		PruneRule pruneRule)
+	{
+		return new HashSet<>(DirectoryWalker.SEQUENTIAL.findFiles(directory, pruneRule,
+			entry -> predicate.test(entry.getFile())));
+	}
+
 	/**
 	 * Counts all files in a directory recursively, optionally including directories in the count
 	 *
@@ -151,31 +181,13 @@ public interface Searchable
 	 */
 	default long countAllFilesInDirectory(File dir, long length, boolean includeDirectories)
 	{
-		final File[] children = dir.listFiles();
-		if (children == null || children.length < 1)
-		{
-			return length;
-		}
-		for (File child : children)
-		{
-			if (child.isDirectory())
-			{
-				if (includeDirectories)
-				{
-					length++;
-				}
-				length = countAllFilesInDirectory(child, length, includeDirectories);
-			}
-			else
-			{
-				length++;
-			}
-		}
-		return length;
+		return FileSearchExtensions.countAllFilesInDirectory(dir, length, includeDirectories);
 	}
 
 	/**
-	 * Finds files within a directory matching a specified search pattern (regex)
+	 * Finds files within a directory and its subdirectories matching a specified search pattern
+	 * (regex). The pattern is compiled once to a {@link FilenameQuery}. Symbolic links are followed
+	 * with the guard of {@link AncestorDirectories}
 	 *
 	 * @param dir
 	 *            the directory to search
@@ -185,28 +197,14 @@ public interface Searchable
 	 */
 	default List<File> findAllFiles(File dir, String fileSearchPattern)
 	{
-		final List<File> foundFiles = new ArrayList<>();
-		final File[] children = dir.listFiles();
-		if (children == null || children.length < 1)
-		{
-			return foundFiles;
-		}
-		for (File child : children)
-		{
-			if (child.isDirectory())
-			{
-				foundFiles.addAll(findAllFiles(child, fileSearchPattern));
-			}
-			else if (child.getName().matches(fileSearchPattern))
-			{
-				foundFiles.add(child);
-			}
-		}
-		return foundFiles;
+		final FilenameQuery query = FilenameQuery.regex(fileSearchPattern);
+		return DirectoryWalker.SEQUENTIAL.findFiles(dir,
+			entry -> !entry.isDirectory() && query.matches(entry.getFile()));
 	}
 
 	/**
-	 * Finds all files in a directory with the specified extensions
+	 * Finds all files in a directory and its subdirectories with the specified extensions.
+	 * Symbolic links are followed with the guard of {@link AncestorDirectories}
 	 *
 	 * @param start
 	 *            the starting directory
@@ -216,28 +214,9 @@ public interface Searchable
 	 */
 	default List<File> findFiles(String start, String[] extensions)
 	{
-		final List<File> files = new ArrayList<>();
-		final File startDir = new File(start);
-		if (!startDir.isDirectory())
-		{
-			return files;
-		}
-		final File[] children = startDir.listFiles();
-		if (children != null)
-		{
-			for (File child : children)
-			{
-				if (child.isDirectory())
-				{
-					files.addAll(findFiles(child.getAbsolutePath(), extensions));
-				}
-				else if (Arrays.stream(extensions).anyMatch(ext -> child.getName().endsWith(ext)))
-				{
-					files.add(child);
-				}
-			}
-		}
-		return files;
+		return DirectoryWalker.SEQUENTIAL.findFiles(new File(start),
+			entry -> !entry.isDirectory() && Arrays.stream(extensions)
+				.anyMatch(ext -> entry.getFile().getName().endsWith(ext)));
 	}
 
 	/**
@@ -279,7 +258,7 @@ public interface Searchable
 
 	/**
 	 * Finds all files in the specified directory and subdirectories that match the given prefix and
-	 * extension
+	 * extension. Symbolic links are followed with the guard of {@link AncestorDirectories}
 	 *
 	 * @param dir
 	 *            the directory in which to search for files
@@ -292,25 +271,103 @@ public interface Searchable
 	default List<File> findFilesWithPrefixAndExtensionRecursive(File dir, String prefix,
 		String extension)
 	{
-		List<File> matchingFiles = new ArrayList<>();
-		File[] files = dir.listFiles();
+		return DirectoryWalker.SEQUENTIAL.findFiles(dir,
+			entry -> !entry.isDirectory() && entry.getFile().getName().startsWith(prefix)
+				&& entry.getFile().getName().endsWith("." + extension));
+	}
+
+	/**
+	 * Creates a lazy iterator over all entries of a directory and its subdirectories. The
+	 * directories are read only as far as the entries are pulled, and the iterator must be closed
+	 * if it is not consumed completely
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @return the closeable iterator over the entries
+	 */
+	default DirectoryIterator iterateFilesRecursive(File directory)
+	{
+		return new DirectoryIterator(directory);
+	}
+
+	/**
+	 * Searches lazily for files in a directory and its subdirectories. Short circuiting operations
+	 * on the returned stream stop the walk, and the stream must be closed if it is not consumed
+	 * completely
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @param includeDir
+	 *            flag to include directories in the stream if true
+	 * @return a lazy stream of the paths of the files
+	 */
+	default Stream<Path> streamFilesRecursive(File directory, boolean includeDir)
+	{
+		return FileSearchExtensions.streamFilesRecursive(directory, includeDir);
+	}
+
+	/**
+	 * Searches lazily for files in a directory and its subdirectories whose name matches the given
+	 * compiled query. The stream must be closed if it is not consumed completely
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @param query
+	 *            the compiled filename query
+	 * @return a lazy stream of the paths of the matching files
+	 */
+	default Stream<Path> streamFilesRecursive(File directory, FilenameQuery query)
+	{
+		return FileSearchExtensions.streamFilesRecursive(directory, query);
+	}
+
+	/**
+	 * Searches lazily for files in a directory and its subdirectories whose name matches the given
+	 * compiled query, without entering the subdirectories that are pruned by the given rule. The
+	 * stream must be closed if it is not consumed completely
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @param query
+	 *            the compiled filename query
+	 * @param pruneRule
+	 *            the rule for the subdirectories that are not entered
+	 * @return a lazy stream of the paths of the matching files
+	 */
+	default Stream<Path> streamFilesRecursive(File directory, FilenameQuery query,
+		PruneRule pruneRule)
+	{
+		return FileSearchExtensions.streamFilesRecursive(directory, query, pruneRule);
+	}
+
+	/**
+	 * Searches lazily for all entries in a directory and its subdirectories together with their
+	 * attributes. The stream must be closed if it is not consumed completely
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @return a lazy stream of the attribute snapshots of the entries
+	 */
+	default Stream<FileAttributeSnapshot> streamSnapshotsRecursive(File directory)
+	{
+		return FileSearchExtensions.streamSnapshotsRecursive(directory);
+	}
 
-		if (files != null)
+	/**
+	 * Finds the first file in a directory and its subdirectories whose name matches the given
+	 * compiled query. The walk stops at the first match
+	 *
+	 * @param directory
+	 *            the directory to search
+	 * @param query
+	 *            the compiled filename query
+	 * @return the first matching file or an empty {@link Optional} if no file matches
+	 */
+	default Optional<File> findFirstFile(File directory, FilenameQuery query)
+	{
+		try (Stream<Path> pathStream = streamFilesRecursive(directory, query))
 		{
-			for (File file : files)
-			{
-				if (file.isDirectory())
-				{
-					matchingFiles
-						.addAll(findFilesWithPrefixAndExtensionRecursive(file, prefix, extension));
-				}
-				else if (file.getName().startsWith(prefix)
-					&& file.getName().endsWith("." + extension))
-				{
-					matchingFiles.add(file);
-				}
-			}
+			return pathStream.findFirst().map(Path::toFile);
 		}
-		return matchingFiles;
 	}
 }
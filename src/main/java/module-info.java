@@ -31,6 +31,7 @@ module io.github.astrapisixtynine.file.worker
 	requires io.github.astrapisixtynine.throwable;
 
 	exports io.github.astrapi69.file;
+	exports io.github.astrapi69.file.checksum;
 	exports io.github.astrapi69.file.compare;
 	exports io.github.astrapi69.file.compare.api;
 	exports io.github.astrapi69.file.copy;
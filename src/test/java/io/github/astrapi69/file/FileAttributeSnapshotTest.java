@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link FileAttributeSnapshot}
+ */
+public class FileAttributeSnapshotTest extends FileTestCase
+{
+
+	/**
+	 * Test method for {@link FileAttributeSnapshot#of(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testOf() throws IOException
+	{
+		final File file = new File(this.testDir, "testOf.txt");
+		StoreFileExtensions.toFile(file, "Its a beautifull day!!!");
+		FileAttributeSnapshot snapshot = FileAttributeSnapshot.of(file);
+		assertTrue(snapshot.isExists());
+		assertTrue(snapshot.isRegularFile());
+		assertFalse(snapshot.isDirectory());
+		assertEquals(file, snapshot.getFile());
+		assertEquals(file.getAbsolutePath(), snapshot.getAbsolutePath());
+		assertEquals(file.length(), snapshot.getLength());
+		assertEquals(file.lastModified(), snapshot.getLastModified());
+		assertEquals("testOf", snapshot.getNameWithoutExtension());
+		assertEquals(".txt", snapshot.getExtension());
+
+		snapshot = FileAttributeSnapshot.of(this.testDir);
+		assertTrue(snapshot.isDirectory());
+		assertFalse(snapshot.isRegularFile());
+
+		// the attributes of a file that does not exist are the same as from the class File
+		final File missing = new File(this.testDir, "missing.txt");
+		snapshot = FileAttributeSnapshot.of(missing);
+		assertFalse(snapshot.isExists());
+		assertEquals(missing.length(), snapshot.getLength());
+		assertEquals(missing.lastModified(), snapshot.getLastModified());
+		assertNull(snapshot.getFileKey());
+	}
+
+	/**
+	 * Test method for {@link FileAttributeSnapshot#of(File, java.nio.file.attribute.BasicFileAttributes)}
+	 * with POSIX attributes
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testOfPosixAttributes() throws IOException
+	{
+		final File file = new File(this.testDir, "testOfPosix.txt");
+		StoreFileExtensions.toFile(file, "Its a beautifull day!!!");
+		assertNull(FileAttributeSnapshot.of(file).getOwner());
+		assertNull(FileAttributeSnapshot.of(file).getPermissions());
+		Assumptions.assumeTrue(
+			FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(file.toPath(), permissions);
+		final PosixFileAttributes attributes = Files.readAttributes(file.toPath(),
+			PosixFileAttributes.class);
+		final FileAttributeSnapshot snapshot = FileAttributeSnapshot.of(file, attributes);
+		assertEquals(attributes.owner().getName(), snapshot.getOwner());
+		assertEquals(permissions, snapshot.getPermissions());
+		assertEquals(file.length(), snapshot.getLength());
+		assertNotEquals(FileAttributeSnapshot.of(file), snapshot);
+	}
+
+	/**
+	 * Test method for {@link FileAttributeSnapshot#equals(Object)} ,
+	 * {@link FileAttributeSnapshot#hashCode()} and {@link FileAttributeSnapshot#toString()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString() throws IOException
+	{
+		final boolean expected;
+		final boolean actual;
+		final File file = new File(this.testDir, "testEquals.txt");
+		StoreFileExtensions.toFile(file, "Its a beautifull day!!!");
+
+		FileAttributeSnapshot first = FileAttributeSnapshot.of(file);
+		FileAttributeSnapshot second = FileAttributeSnapshot.of(this.deepDir);
+		FileAttributeSnapshot third = FileAttributeSnapshot.of(file);
+		FileAttributeSnapshot fourth = FileAttributeSnapshot.of(file);
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+}
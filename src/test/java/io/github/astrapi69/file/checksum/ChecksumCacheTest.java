@@ -0,0 +1,254 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.checksum.FileChecksumExtensions;
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.crypt.api.algorithm.HashAlgorithm;
+import io.github.astrapi69.file.FileTestCase;
+
+/**
+ * The unit test class for the class {@link ChecksumCache}
+ */
+public class ChecksumCacheTest extends FileTestCase
+{
+
+	File file;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		file = new File(this.testDir, "cached.txt");
+		write(file, "first content", 100000L);
+	}
+
+	private void write(final File file, final String content, final long lastModified)
+		throws IOException
+	{
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file.toPath(),
+			FileTime.fromMillis(System.currentTimeMillis() - lastModified));
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#getChecksum(File, String)}
+	 */
+	@Test
+	public void testGetChecksum() throws NoSuchAlgorithmException, IOException
+	{
+		String actual;
+		String expected;
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+
+		expected = FileChecksumExtensions.getChecksum(file, HashAlgorithm.SHA_256);
+		actual = checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		assertEquals(0L, checksumCache.getHits());
+		assertEquals(1L, checksumCache.getMisses());
+		assertEquals(1, checksumCache.size());
+
+		actual = checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		assertEquals(1L, checksumCache.getHits());
+		assertEquals(1L, checksumCache.getMisses());
+		// an other algorithm is an other entry
+		expected = FileChecksumExtensions.getChecksum(file, ChecksumAlgorithm.MD5);
+		actual = checksumCache.getChecksum(file, ChecksumAlgorithm.MD5);
+		assertEquals(expected, actual);
+		assertEquals(2, checksumCache.size());
+		// a modified file is hashed again
+		write(file, "second content", 50000L);
+		expected = FileChecksumExtensions.getChecksum(file, HashAlgorithm.SHA_256);
+		actual = checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		assertEquals(3L, checksumCache.getMisses());
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#getChecksum(File, ContentHashStrategy)}
+	 */
+	@Test
+	public void testGetChecksumWithStrategy() throws NoSuchAlgorithmException, IOException
+	{
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+
+		assertEquals(ContentHashAlgorithm.XXHASH64.computeChecksum(file),
+			checksumCache.getChecksum(file, ContentHashAlgorithm.XXHASH64));
+		assertEquals(ContentHashAlgorithm.XXHASH64.computeChecksum(file),
+			checksumCache.getChecksum(file, ContentHashAlgorithm.XXHASH64));
+		assertEquals(1L, checksumCache.getHits());
+		// the strategy and the name of the algorithm share the same entry
+		checksumCache.getChecksum(file, ContentHashAlgorithm.SHA_256);
+		assertEquals(ContentHashAlgorithm.SHA_256.computeChecksum(file),
+			checksumCache.getChecksum(file, HashAlgorithm.SHA_256));
+		assertEquals(2L, checksumCache.getHits());
+		assertEquals(2, checksumCache.size());
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#getCheckSumCRC32(File)} and
+	 * {@link ChecksumCache#getCheckSumAdler32(File)}
+	 */
+	@Test
+	public void testGetCheckSumCRC32AndAdler32() throws IOException
+	{
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+
+		assertEquals(FileChecksumExtensions.getCheckSumCRC32(file),
+			checksumCache.getCheckSumCRC32(file));
+		assertEquals(FileChecksumExtensions.getCheckSumCRC32(file),
+			checksumCache.getCheckSumCRC32(file));
+		assertEquals(FileChecksumExtensions.getCheckSumAdler32(file),
+			checksumCache.getCheckSumAdler32(file));
+		assertEquals(1L, checksumCache.getHits());
+		assertEquals(2L, checksumCache.getMisses());
+	}
+
+	/**
+	 * Test method for the eviction of the least recently used entry
+	 */
+	@Test
+	public void testEviction() throws NoSuchAlgorithmException, IOException
+	{
+		final ChecksumCache checksumCache = new ChecksumCache(2);
+		final File second = new File(this.testDir, "second.txt");
+		final File third = new File(this.testDir, "third.txt");
+		write(second, "second", 100000L);
+		write(third, "third", 100000L);
+
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		checksumCache.getChecksum(second, HashAlgorithm.SHA_256);
+		// access the first file, so the second is the least recently used
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		checksumCache.getChecksum(third, HashAlgorithm.SHA_256);
+		assertEquals(2, checksumCache.size());
+		assertEquals(1L, checksumCache.getHits());
+
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		assertEquals(2L, checksumCache.getHits());
+		checksumCache.getChecksum(second, HashAlgorithm.SHA_256);
+		assertEquals(2L, checksumCache.getHits());
+
+		assertThrows(IllegalArgumentException.class, () -> new ChecksumCache(0));
+	}
+
+	/**
+	 * Test method for the files that are modified recently
+	 */
+	@Test
+	public void testRecentlyModifiedFileIsNotCached() throws NoSuchAlgorithmException, IOException
+	{
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+		write(file, "fresh content", 0L);
+
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		assertEquals(0, checksumCache.size());
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#save()} and {@link ChecksumCache#load()}
+	 */
+	@Test
+	public void testSaveAndLoad() throws NoSuchAlgorithmException, IOException
+	{
+		final Path storeFile = new File(this.testDir, "store/checksums.bin").toPath();
+		ChecksumCache checksumCache = new ChecksumCache(10, storeFile);
+		final String expected = checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		checksumCache.save();
+
+		checksumCache = new ChecksumCache(10, storeFile);
+		assertEquals(1, checksumCache.size());
+		assertEquals(expected, checksumCache.getChecksum(file, HashAlgorithm.SHA_256));
+		assertEquals(1L, checksumCache.getHits());
+		assertEquals(0L, checksumCache.getMisses());
+		// a damaged store is ignored
+		Files.write(storeFile, new byte[] { 1, 2, 3 });
+		checksumCache = new ChecksumCache(10, storeFile);
+		assertEquals(0, checksumCache.size());
+		assertThrows(IOException.class, checksumCache::load);
+
+		final ChecksumCache inMemory = new ChecksumCache(10);
+		assertNull(inMemory.getStoreFile());
+		assertThrows(IllegalStateException.class, inMemory::save);
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#invalidate(File)} and {@link ChecksumCache#clear()}
+	 */
+	@Test
+	public void testInvalidateAndClear() throws NoSuchAlgorithmException, IOException
+	{
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		checksumCache.getChecksum(file, ChecksumAlgorithm.MD5);
+		assertEquals(2, checksumCache.size());
+		checksumCache.invalidate(file);
+		assertEquals(0, checksumCache.size());
+		checksumCache.getChecksum(file, HashAlgorithm.SHA_256);
+		checksumCache.clear();
+		assertEquals(0, checksumCache.size());
+	}
+
+	/**
+	 * Test method for {@link ChecksumCache#getDefault()} and
+	 * {@link ChecksumCache#setDefault(ChecksumCache)}
+	 */
+	@Test
+	public void testDefault()
+	{
+		final ChecksumCache original = ChecksumCache.getDefault();
+		final ChecksumCache checksumCache = new ChecksumCache(10);
+		try
+		{
+			ChecksumCache.setDefault(checksumCache);
+			assertEquals(checksumCache, ChecksumCache.getDefault());
+			assertNotEquals(original, ChecksumCache.getDefault());
+			assertThrows(NullPointerException.class, () -> ChecksumCache.setDefault(null));
+		}
+		finally
+		{
+			ChecksumCache.setDefault(original);
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.checksum.FileChecksumExtensions;
+import io.github.astrapi69.file.FileTestCase;
+
+/**
+ * The unit test class for the class {@link ContentHashAlgorithm}
+ */
+public class ContentHashAlgorithmTest extends FileTestCase
+{
+
+	byte[] content;
+	File file;
+	File other;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		content = new byte[200000];
+		for (int i = 0; i < content.length; i++)
+		{
+			content[i] = (byte)(i % 253);
+		}
+		file = new File(this.testDir, "content.bin");
+		Files.write(file.toPath(), content);
+		content[content.length / 2]++;
+		other = new File(this.testDir, "other.bin");
+		Files.write(other.toPath(), content);
+		content[content.length / 2]--;
+	}
+
+	/**
+	 * Test method for {@link ContentHashAlgorithm#computeChecksum(File)}
+	 */
+	@Test
+	public void testComputeChecksum() throws IOException, NoSuchAlgorithmException
+	{
+		for (final ContentHashAlgorithm algorithm : ContentHashAlgorithm.values())
+		{
+			assertEquals(algorithm.computeChecksum(file), algorithm.computeChecksum(file));
+			assertNotEquals(algorithm.computeChecksum(file), algorithm.computeChecksum(other));
+		}
+		// the cryptographic hashes have the same format as the checksum-up library
+		assertEquals(FileChecksumExtensions.getChecksum(file, "SHA-512"),
+			ContentHashAlgorithm.SHA_512.computeChecksum(file));
+		assertEquals(FileChecksumExtensions.getChecksum(file, "MD5"),
+			ContentHashAlgorithm.MD5.computeChecksum(file));
+
+		final CRC32C crc32c = new CRC32C();
+		crc32c.update(content);
+		assertEquals(HexFormat.of().toHexDigits((int)crc32c.getValue()),
+			ContentHashAlgorithm.CRC32C.computeChecksum(file));
+		assertEquals(HexFormat.of().toHexDigits(XxHash64.hash(content)),
+			ContentHashAlgorithm.XXHASH64.computeChecksum(file));
+		final String xxHash128 = ContentHashAlgorithm.XXHASH128.computeChecksum(file);
+		assertEquals(32, xxHash128.length());
+		assertTrue(xxHash128.startsWith(ContentHashAlgorithm.XXHASH64.computeChecksum(file)));
+	}
+
+	/**
+	 * Test method for {@link ContentHashAlgorithm#getName()} and
+	 * {@link ContentHashAlgorithm#isCryptographic()}
+	 */
+	@Test
+	public void testGetNameAndIsCryptographic()
+	{
+		assertEquals("SHA-512", ContentHashAlgorithm.SHA_512.getName());
+		assertEquals("XXH64", ContentHashAlgorithm.XXHASH64.getName());
+		assertTrue(ContentHashAlgorithm.SHA_256.isCryptographic());
+		assertFalse(ContentHashAlgorithm.CRC32C.isCryptographic());
+		assertFalse(ContentHashAlgorithm.XXHASH128.isCryptographic());
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link XxHash64}
+ */
+public class XxHash64Test
+{
+
+	/**
+	 * Test method for {@link XxHash64#hash(byte[])} with the reference values of xxHash
+	 */
+	@Test
+	public void testHash()
+	{
+		assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(new byte[0]));
+		assertEquals(0x44BC2CF5AD770999L, XxHash64.hash("abc".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(0xFBCEA83C8A378BF1L, XxHash64.hash(
+			"Nobody inspects the spammish repetition".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Test method for {@link XxHash64#update(byte[], int, int)} with different chunk sizes
+	 */
+	@Test
+	public void testUpdate()
+	{
+		final byte[] bytes = new byte[1000];
+		for (int i = 0; i < bytes.length; i++)
+		{
+			bytes[i] = (byte)(i * 31 + 7);
+		}
+		final long expected = XxHash64.hash(bytes);
+		for (final int chunkSize : new int[] { 1, 3, 8, 31, 32, 33, 100, 999 })
+		{
+			final XxHash64 xxHash64 = new XxHash64();
+			for (int offset = 0; offset < bytes.length; offset += chunkSize)
+			{
+				xxHash64.update(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+			}
+			assertEquals(expected, xxHash64.getValue());
+		}
+		final XxHash64 xxHash64 = new XxHash64();
+		for (final byte b : bytes)
+		{
+			xxHash64.update(b);
+		}
+		assertEquals(expected, xxHash64.getValue());
+		xxHash64.reset();
+		assertEquals(0xEF46DB3751D8E999L, xxHash64.getValue());
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> xxHash64.update(bytes, 990, 20));
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+
+/**
+ * The unit test class for the class {@link ChunkSignature}
+ */
+public class ChunkSignatureTest
+{
+
+	/**
+	 * Test method for {@link ChunkSignature#ChunkSignature(File, long[], int[])}
+	 */
+	@Test
+	public void testConstructor()
+	{
+		final ChunkSignature signature = new ChunkSignature(new File("a"), new long[] { 7L, 9L },
+			new int[] { 3, 5 });
+		assertEquals(new File("a"), signature.getFile());
+		assertEquals(8L, signature.getLength());
+		assertEquals(2, signature.getChunkCount());
+		assertEquals(9L, signature.getChunkHash(1));
+		assertEquals(5, signature.getChunkLength(1));
+		assertThrows(IllegalArgumentException.class,
+			() -> new ChunkSignature(new File("a"), new long[] { 7L }, new int[0]));
+	}
+
+	/**
+	 * Test method for {@link ChunkSignature#equals(Object)} , {@link ChunkSignature#hashCode()}
+	 * and {@link ChunkSignature#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		ChunkSignature first = new ChunkSignature(new File("a"), new long[] { 7L, 9L },
+			new int[] { 3, 5 });
+		ChunkSignature second = new ChunkSignature(new File("a"), new long[] { 7L, 8L },
+			new int[] { 3, 5 });
+		ChunkSignature third = new ChunkSignature(new File("a"), new long[] { 7L, 9L },
+			new int[] { 3, 5 });
+		ChunkSignature fourth = new ChunkSignature(new File("a"), new long[] { 7L, 9L },
+			new int[] { 3, 5 });
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+}
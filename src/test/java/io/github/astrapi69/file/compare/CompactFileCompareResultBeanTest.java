@@ -0,0 +1,68 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+
+/**
+ * The unit test class for the class {@link CompactFileCompareResultBean}
+ */
+public class CompactFileCompareResultBeanTest
+{
+
+	/**
+	 * Test method for {@link CompactFileCompareResultBean#equals(Object)} ,
+	 * {@link CompactFileCompareResultBean#hashCode()} and
+	 * {@link CompactFileCompareResultBean#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+		final CompactFileCompareResults results = new CompactFileCompareResults();
+		results.add(new File("a.txt"), new File("b.txt"), FileCompareFlag.LENGTH.getMask());
+		results.add(new File("a.txt"), new File("c.txt"), FileCompareFlag.NAME.getMask());
+		results.add(new File("a.txt"), new File("b.txt"), FileCompareFlag.LENGTH.getMask());
+		results.add(new File("a.txt"), new File("b.txt"), FileCompareFlag.LENGTH.getMask());
+
+		CompactFileCompareResultBean first = new CompactFileCompareResultBean(results, 0);
+		CompactFileCompareResultBean second = new CompactFileCompareResultBean(results, 1);
+		CompactFileCompareResultBean third = new CompactFileCompareResultBean(results, 2);
+		CompactFileCompareResultBean fourth = new CompactFileCompareResultBean(results, 3);
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.compare.api.IFileContentResultBean;
+
+/**
+ * The unit test class for the class {@link CompactFileCompareResults}
+ */
+public class CompactFileCompareResultsTest
+{
+
+	/**
+	 * Test method for {@link CompactFileCompareResults#add(File, File, int)} and the views of the
+	 * results
+	 */
+	@Test
+	public void testAddAndGet()
+	{
+		final CompactFileCompareResults results = new CompactFileCompareResults();
+		final File source = new File("source.txt");
+		for (int i = 0; i < 100; i++)
+		{
+			assertEquals(i, results.add(source, new File("compare" + i + ".txt"),
+				FileCompareFlag.LENGTH.getMask() | FileCompareFlag.CONTENT.getMask()));
+		}
+		assertEquals(100, results.size());
+		assertEquals(101, results.getFileTable().size());
+		assertEquals(0, results.getSourceIndex(42));
+		assertEquals(43, results.getCompareIndex(42));
+		assertEquals(source, results.getSourceFile(42));
+		assertEquals(new File("compare42.txt"), results.getFileToCompare(42));
+		assertTrue(results.isSet(42, FileCompareFlag.LENGTH));
+		assertFalse(results.isSet(42, FileCompareFlag.NAME));
+
+		final IFileContentResultBean view = results.get(42);
+		assertTrue(view.getContentEquality());
+		assertTrue(view.getLengthEquality());
+		assertFalse(view.getNameEquality());
+		// the view writes the flags of the results
+		view.setNameEquality(true);
+		view.setContentEquality(false);
+		assertTrue(results.isSet(42, FileCompareFlag.NAME));
+		assertFalse(results.isSet(42, FileCompareFlag.CONTENT));
+		assertTrue(results.isSet(41, FileCompareFlag.CONTENT));
+
+		final List<IFileContentResultBean> list = results.asList();
+		assertEquals(100, list.size());
+		assertEquals(view, list.get(42));
+		assertThrows(IndexOutOfBoundsException.class, () -> results.get(100));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CompactFileCompareResults#add(io.github.astrapi69.file.compare.api.IFileCompareResultBean)}
+	 */
+	@Test
+	public void testAddFileCompareResultBean()
+	{
+		final FileTable fileTable = new FileTable();
+		final CompactFileCompareResults results = new CompactFileCompareResults(fileTable);
+		final FileContentResultBean bean = new FileContentResultBean(new File("a.txt"),
+			new File("b.txt"));
+		bean.setAbsolutePathEquality(false);
+		bean.setFileExtensionEquality(true);
+		bean.setLastModifiedEquality(false);
+		bean.setLengthEquality(true);
+		bean.setNameEquality(false);
+		bean.setContentEquality(true);
+		final int index = results.add(bean);
+		assertEquals(FileCompareFlag.FILE_EXTENSION.getMask() | FileCompareFlag.LENGTH.getMask()
+			| FileCompareFlag.CONTENT.getMask(), results.getFlags(index));
+		assertEquals(0, fileTable.indexOf(new File("a.txt")));
+		assertEquals(1, fileTable.indexOf(new File("b.txt")));
+
+		final FileCompareResultBean compareBean = new FileCompareResultBean(new File("b.txt"),
+			new File("a.txt"));
+		compareBean.setNameEquality(true);
+		assertEquals(FileCompareFlag.NAME.getMask(), results.getFlags(results.add(compareBean)));
+		assertEquals(2, fileTable.size());
+	}
+
+}
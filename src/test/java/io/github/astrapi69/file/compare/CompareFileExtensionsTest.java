@@ -30,9 +30,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,7 @@ import org.meanbean.test.BeanTester;
 
 import io.github.astrapi69.collection.CollectionExtensions;
 import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileAttributeSnapshot;
 import io.github.astrapi69.file.FileTestCase;
 import io.github.astrapi69.file.compare.api.IFileCompareResultBean;
 import io.github.astrapi69.file.compare.api.IFileContentResultBean;
@@ -117,6 +121,30 @@ public class CompareFileExtensionsTest extends FileTestCase
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link CompareFileExtensions#compareFileContentByBytes(File, File)} with the
+	 * offset of the first differing byte.
+	 */
+	@Test
+	public void testCompareFileContentByBytesFirstMismatchOffset() throws IOException
+	{
+		final File source = new File(this.deepDir, "testCompareFileContentByBytes.txt");
+		final File compare = new File(this.deeperDir, "testCompareFileContentByBytes.txt");
+		StoreFileExtensions.toFile(source, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(compare, "Its a beautifull dax!!!");
+		compare.setLastModified(source.lastModified());
+
+		actual = CompareFileExtensions.compareFileContentByBytes(source, compare);
+		assertFalse(actual.getContentEquality());
+		assertEquals(19L, actual.getFirstMismatchOffset());
+
+		StoreFileExtensions.toFile(compare, "Its a beautifull day!!!");
+		compare.setLastModified(source.lastModified());
+		actual = CompareFileExtensions.compareFileContentByBytes(source, compare);
+		assertTrue(actual.getContentEquality());
+		assertEquals(-1L, actual.getFirstMismatchOffset());
+	}
+
 	/**
 	 * Test method for {@link CompareFileExtensions#compareFileContentByLines(File, File)}.
 	 */
@@ -584,6 +612,167 @@ public class CompareFileExtensionsTest extends FileTestCase
 		assertTrue(contentfound.size() == 3, "contentfound() is not equal 3.");
 	}
 
+	/**
+	 * Test method for
+	 * {@link CompareFileExtensions#findEqualFilesWithSameContent(File, File, boolean, boolean, boolean, boolean, boolean, boolean, HashingExecutor)}.
+	 */
+	@Test
+	public void testFindEqualFilesWithSameContentWithHashingExecutor() throws IOException
+	{
+		StoreFileExtensions.toFile(new File(this.deepDir, "testFindFilesRecursive.cvs"),
+			"Its a beautifull night!!!");
+		StoreFileExtensions.toFile(new File(this.secondTestDir, "testFindFilesRecursive.txt"),
+			"Its a beautifull day!!!");
+		StoreFileExtensions.toFile(new File(this.secondTestDir, "testFindFilesRecursive.tft"),
+			"Its a beautifull evening!!!????");
+		StoreFileExtensions.toFile(new File(this.secondTestDir, "testFindFilesRecursive.cvs"),
+			"Its a beautifull night!!!");
+
+		final List<IFileContentResultBean> expected = CompareFileExtensions
+			.findEqualFilesWithSameContent(this.testDir, this.secondTestDir, true, false, false,
+				true, false, false, HashingExecutor.SEQUENTIAL);
+		assertEquals(3, expected.size());
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			final List<IFileContentResultBean> actual = CompareFileExtensions
+				.findEqualFilesWithSameContent(this.testDir, this.secondTestDir, true, false,
+					false, true, false, false, HashingExecutor.parallel(pool));
+			assertEquals(expected, actual);
+			assertEquals(
+				CompareFileExtensions.findEqualFilesWithSameContent(this.testDir, true, false,
+					false, true, false, false, HashingExecutor.SEQUENTIAL),
+				CompareFileExtensions.findEqualFilesWithSameContent(this.testDir, true, false,
+					false, true, false, false, HashingExecutor.parallel(pool)));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link CompareFileExtensions#findEqualFilesWithSameContentCompact(File, File, boolean, boolean, boolean, boolean, boolean, boolean, HashingExecutor)}
+	 * and
+	 * {@link CompareFileExtensions#findEqualFilesWithSameContentCompact(File, boolean, boolean, boolean, boolean, boolean, boolean, HashingExecutor)}.
+	 */
+	@Test
+	public void testFindEqualFilesWithSameContentCompact() throws IOException
+	{
+		StoreFileExtensions.toFile(new File(this.secondTestDir, "testFindFilesRecursive.txt"),
+			"Its a beautifull day!!!");
+		StoreFileExtensions.toFile(new File(this.secondTestDir, "testFindFilesRecursive.cvs"),
+			"Its a beautifull night!!!");
+
+		final List<IFileContentResultBean> expected = CompareFileExtensions
+			.findEqualFilesWithSameContent(this.testDir, this.secondTestDir, true, false, false,
+				true, false, false, HashingExecutor.SEQUENTIAL);
+		CompactFileCompareResults actual = CompareFileExtensions
+			.findEqualFilesWithSameContentCompact(this.testDir, this.secondTestDir, true, false,
+				false, true, false, false, HashingExecutor.SEQUENTIAL);
+		assertEquals(expected.size(), actual.size());
+		// every file is only once in the file table
+		assertTrue(actual.getFileTable().size() < 2 * actual.size());
+		for (int i = 0; i < actual.size(); i++)
+		{
+			final IFileContentResultBean bean = expected.get(i);
+			final IFileContentResultBean view = actual.get(i);
+			assertEquals(bean.getSourceFile(), view.getSourceFile());
+			assertEquals(bean.getFileToCompare(), view.getFileToCompare());
+			assertEquals(bean.getAbsolutePathEquality(), view.getAbsolutePathEquality());
+			assertEquals(bean.getFileExtensionEquality(), view.getFileExtensionEquality());
+			assertEquals(bean.getLastModifiedEquality(), view.getLastModifiedEquality());
+			assertEquals(bean.getLengthEquality(), view.getLengthEquality());
+			assertEquals(bean.getNameEquality(), view.getNameEquality());
+			assertTrue(view.getContentEquality());
+		}
+		actual = CompareFileExtensions.findEqualFilesWithSameContentCompact(this.testDir, true,
+			false, false, true, false, false, HashingExecutor.SEQUENTIAL);
+		assertEquals(CompareFileExtensions.findEqualFilesWithSameContent(this.testDir, true, false,
+			false, true, false, false, HashingExecutor.SEQUENTIAL).size(), actual.size());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CompareFileExtensions#compareFiles(FileAttributeSnapshot, FileAttributeSnapshot, boolean, boolean, boolean, boolean, boolean)}.
+	 */
+	@Test
+	public void testCompareFilesFileAttributeSnapshot()
+	{
+		final FileAttributeSnapshot snapshot1 = FileAttributeSnapshot.of(testFile1);
+		final FileAttributeSnapshot snapshot2 = FileAttributeSnapshot.of(testFile2);
+		final FileAttributeSnapshot snapshot4 = FileAttributeSnapshot.of(testFile4);
+		for (final FileAttributeSnapshot snapshot : ListFactory.newArrayList(snapshot2,
+			snapshot4))
+		{
+			assertEquals(
+				CompareFileExtensions.compareFiles(testFile1, snapshot.getFile(), false, false,
+					false, false, false),
+				CompareFileExtensions.compareFiles(snapshot1, snapshot, false, false, false, false,
+					false));
+		}
+		assertEquals(
+			CompareFileExtensions.compareToBitmask(testFile1, testFile4, false, false, false,
+				false, false),
+			CompareFileExtensions.compareToBitmask(snapshot1, snapshot4, false, false, false,
+				false, false));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CompareFileExtensions#findEqualFilesWithSameContent(File, boolean, boolean, boolean, boolean, boolean, boolean)}
+	 * with a hard link.
+	 */
+	@Test
+	public void testFindEqualFilesWithSameContentWithHardLink() throws IOException
+	{
+		final File link = new File(this.deeperDir, "link.txt");
+		try
+		{
+			Files.createLink(link.toPath(), testFile1.toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("hard links are not supported: " + e.getMessage());
+		}
+		final List<IFileContentResultBean> actual = CompareFileExtensions
+			.findEqualFilesWithSameContent(this.testDir, true, true, false, true, true, false);
+		// four paths with the same content, but the link and its file are not a pair
+		assertEquals(10, actual.size());
+		final List<File> sameFile = ListFactory.newArrayList(testFile1.getAbsoluteFile(),
+			link.getAbsoluteFile());
+		for (final IFileContentResultBean bean : actual)
+		{
+			assertFalse(sameFile.contains(bean.getSourceFile())
+				&& sameFile.contains(bean.getFileToCompare()));
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link CompareFileExtensions#compareToBitmask(File, File, boolean, boolean, boolean, boolean, boolean)}.
+	 */
+	@Test
+	public void testCompareToBitmask()
+	{
+		int actual = CompareFileExtensions.compareToBitmask(testFile1, testFile4, false, false,
+			false, true, false);
+		assertFalse(FileCompareFlag.ABSOLUTE_PATH.isSet(actual));
+		assertTrue(FileCompareFlag.FILE_EXTENSION.isSet(actual));
+		assertTrue(FileCompareFlag.LAST_MODIFIED.isSet(actual));
+		assertTrue(FileCompareFlag.LENGTH.isSet(actual));
+		assertTrue(FileCompareFlag.NAME.isSet(actual));
+		assertFalse(FileCompareFlag.CONTENT.isSet(actual));
+
+		actual = CompareFileExtensions.compareToBitmask(testFile1, testFile2, true, false, false,
+			true, false);
+		assertTrue(FileCompareFlag.ABSOLUTE_PATH.isSet(actual));
+		assertFalse(FileCompareFlag.FILE_EXTENSION.isSet(actual));
+		assertFalse(FileCompareFlag.LENGTH.isSet(actual));
+		assertTrue(FileCompareFlag.NAME.isSet(actual));
+	}
+
 	/**
 	 * Test method for
 	 * {@link CompareFileExtensions#findEqualFilesWithSameContent(File, File, boolean, boolean, boolean, boolean, boolean, boolean)}.
@@ -0,0 +1,267 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.checksum.ContentHashAlgorithm;
+import io.github.astrapi69.file.checksum.ContentHashStrategy;
+import io.github.astrapi69.file.FileTestCase;
+
+/**
+ * The unit test class for the class {@link ContentEqualityExtensions}
+ */
+public class ContentEqualityExtensionsTest extends FileTestCase
+{
+
+	static final int LENGTH = 5 * ContentEqualityExtensions.DEFAULT_BLOCK_SIZE;
+
+	File original;
+	File copy;
+	File differentHead;
+	File differentMiddle;
+	File differentTail;
+	File shorter;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		original = newFile("original.bin", -1);
+		copy = newFile("copy.bin", -1);
+		differentHead = newFile("differentHead.bin", 0);
+		differentMiddle = newFile("differentMiddle.bin", LENGTH / 2);
+		differentTail = newFile("differentTail.bin", LENGTH - 1);
+		shorter = new File(this.testDir, "shorter.bin");
+		Files.write(shorter.toPath(), Arrays.copyOf(newContent(), LENGTH - 1));
+	}
+
+	private byte[] newContent()
+	{
+		final byte[] content = new byte[LENGTH];
+		for (int i = 0; i < content.length; i++)
+		{
+			content[i] = (byte)(i % 251);
+		}
+		return content;
+	}
+
+	private File newFile(final String name, final int indexToChange) throws IOException
+	{
+		final byte[] content = newContent();
+		if (-1 < indexToChange)
+		{
+			content[indexToChange]++;
+		}
+		final File file = new File(this.testDir, name);
+		Files.write(file.toPath(), content);
+		return file;
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentEqualityExtensions#isEqualContent(File, File, ContentComparisonStatistics)}
+	 */
+	@Test
+	public void testIsEqualContent() throws IOException
+	{
+		final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+		assertTrue(ContentEqualityExtensions.isEqualContent(original, copy, statistics));
+		assertFalse(ContentEqualityExtensions.isEqualContent(original, shorter, statistics));
+		assertFalse(ContentEqualityExtensions.isEqualContent(original, differentHead, statistics));
+		assertFalse(ContentEqualityExtensions.isEqualContent(original, differentTail, statistics));
+		assertFalse(
+			ContentEqualityExtensions.isEqualContent(original, differentMiddle, statistics));
+
+		assertEquals(5, statistics.getCandidates());
+		assertEquals(1, statistics.getRejectedBySize());
+		assertEquals(2, statistics.getRejectedByPartialCheck());
+		assertEquals(1, statistics.getRejectedByFullCheck());
+		assertEquals(1, statistics.getConfirmedEqual());
+		assertEquals(0.2d, statistics.getSizeStageHitRate());
+		assertEquals(0.5d, statistics.getPartialStageHitRate());
+		assertEquals(0.5d, statistics.getFullStageHitRate());
+		assertTrue(0 < statistics.getBytesSkipped());
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentEqualityExtensions#isEqualContent(File, File, ContentComparisonStatistics, ContentHashStrategy, boolean)}
+	 */
+	@Test
+	public void testIsEqualContentWithContentHashStrategy() throws IOException
+	{
+		for (final ContentHashAlgorithm algorithm : ContentHashAlgorithm.values())
+		{
+			assertTrue(ContentEqualityExtensions.isEqualContent(original, copy,
+				new ContentComparisonStatistics(), algorithm, false));
+			assertFalse(ContentEqualityExtensions.isEqualContent(original, differentMiddle,
+				new ContentComparisonStatistics(), algorithm, false));
+		}
+		// a strategy where every file collides
+		final ContentHashStrategy colliding = new ContentHashStrategy()
+		{
+			@Override
+			public String computeChecksum(final File file)
+			{
+				return "0";
+			}
+
+			@Override
+			public String getName()
+			{
+				return "colliding";
+			}
+
+			@Override
+			public boolean isCryptographic()
+			{
+				return false;
+			}
+		};
+		assertTrue(ContentEqualityExtensions.isEqualContent(original, differentMiddle,
+			new ContentComparisonStatistics(), colliding, false));
+		final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+		assertFalse(ContentEqualityExtensions.isEqualContent(original, differentMiddle, statistics,
+			colliding, true));
+		assertEquals(1, statistics.getRejectedByFullCheck());
+		assertTrue(ContentEqualityExtensions.isEqualContent(original, copy,
+			new ContentComparisonStatistics(), colliding, true));
+	}
+
+	/**
+	 * Test method for {@link ContentEqualityExtensions#isEqualContent(File, File)} with small files
+	 */
+	@Test
+	public void testIsEqualContentSmallFiles() throws IOException
+	{
+		final File first = new File(this.testDir, "first.txt");
+		final File second = new File(this.testDir, "second.txt");
+		final File third = new File(this.testDir, "third.txt");
+		Files.write(first.toPath(), "Its a beautifull day!!!".getBytes());
+		Files.write(second.toPath(), "Its a beautifull day!!!".getBytes());
+		Files.write(third.toPath(), "Its a beautifull dax!!!".getBytes());
+		assertTrue(ContentEqualityExtensions.isEqualContent(first, second));
+		assertFalse(ContentEqualityExtensions.isEqualContent(first, third));
+		assertThrows(IOException.class, () -> ContentEqualityExtensions.isEqualContent(
+			new File(this.testDir, "none1"), new File(this.testDir, "none2")));
+	}
+
+	/**
+	 * Test method for {@link ContentEqualityExtensions#findFirstMismatch(File, File, int)}
+	 */
+	@Test
+	public void testFindFirstMismatch() throws IOException
+	{
+		assertEquals(-1L, ContentEqualityExtensions.findFirstMismatch(original, copy));
+		assertEquals(0L, ContentEqualityExtensions.findFirstMismatch(original, differentHead));
+		assertEquals(LENGTH / 2,
+			ContentEqualityExtensions.findFirstMismatch(original, differentMiddle, 100));
+		assertEquals(LENGTH - 1,
+			ContentEqualityExtensions.findFirstMismatch(original, differentTail, 100));
+		assertEquals(LENGTH - 1, ContentEqualityExtensions.findFirstMismatch(original, shorter));
+		assertEquals(LENGTH - 1, ContentEqualityExtensions.findFirstMismatch(shorter, original));
+		assertEquals(-1L, ContentEqualityExtensions.findFirstMismatch(original, copy, 7));
+		assertThrows(IllegalArgumentException.class,
+			() -> ContentEqualityExtensions.findFirstMismatch(original, copy, 0));
+	}
+
+	/**
+	 * Test method for {@link ContentEqualityExtensions#readHeadAndTail(File, int)}
+	 */
+	@Test
+	public void testReadHeadAndTail() throws IOException
+	{
+		final byte[] content = newContent();
+		final byte[] actual = ContentEqualityExtensions.readHeadAndTail(original, 10);
+		assertEquals(20, actual.length);
+		assertArrayEquals(Arrays.copyOfRange(content, 0, 10), Arrays.copyOfRange(actual, 0, 10));
+		assertArrayEquals(Arrays.copyOfRange(content, LENGTH - 10, LENGTH),
+			Arrays.copyOfRange(actual, 10, 20));
+		assertArrayEquals(content, ContentEqualityExtensions.readHeadAndTail(original, LENGTH));
+		assertThrows(IllegalArgumentException.class,
+			() -> ContentEqualityExtensions.readHeadAndTail(original, 0));
+	}
+
+	/**
+	 * Test method for {@link ContentEqualityExtensions#getPartialChecksum(File, int)}
+	 */
+	@Test
+	public void testGetPartialChecksum() throws IOException
+	{
+		final int blockSize = ContentEqualityExtensions.DEFAULT_BLOCK_SIZE;
+		assertEquals(ContentEqualityExtensions.getPartialChecksum(original, blockSize),
+			ContentEqualityExtensions.getPartialChecksum(copy, blockSize));
+		assertEquals(ContentEqualityExtensions.getPartialChecksum(original, blockSize),
+			ContentEqualityExtensions.getPartialChecksum(differentMiddle, blockSize));
+		assertNotEquals(ContentEqualityExtensions.getPartialChecksum(original, blockSize),
+			ContentEqualityExtensions.getPartialChecksum(differentHead, blockSize));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentEqualityExtensions#groupByPartialChecksum(java.util.Collection, int)}
+	 */
+	@Test
+	public void testGroupByPartialChecksum()
+	{
+		final Map<Long, List<File>> actual = ContentEqualityExtensions.groupByPartialChecksum(
+			ListFactory.newArrayList(original, differentHead, copy, differentMiddle,
+				new File(this.testDir, "none")),
+			ContentEqualityExtensions.DEFAULT_BLOCK_SIZE);
+		assertEquals(2, actual.size());
+		assertTrue(
+			actual.containsValue(ListFactory.newArrayList(original, copy, differentMiddle)));
+	}
+
+	/**
+	 * Test method for {@link ContentEqualityExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ContentEqualityExtensions.class);
+	}
+
+}
@@ -0,0 +1,65 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * The unit test class for the class {@link DirectoryDiffEntry}
+ */
+public class DirectoryDiffEntryTest
+{
+
+	/**
+	 * Test method for {@link DirectoryDiffEntry#equals(Object)} ,
+	 * {@link DirectoryDiffEntry#hashCode()} and {@link DirectoryDiffEntry#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		DirectoryDiffEntry first = new DirectoryDiffEntry("a.txt", DirectoryDiffType.ADDED, null,
+			PathFinder.getProjectDirectory());
+		DirectoryDiffEntry second = new DirectoryDiffEntry("b.txt", DirectoryDiffType.REMOVED,
+			PathFinder.getSrcMainJavaDir(), null);
+		DirectoryDiffEntry third = new DirectoryDiffEntry("a.txt", DirectoryDiffType.ADDED, null,
+			PathFinder.getProjectDirectory());
+		DirectoryDiffEntry fourth = new DirectoryDiffEntry("a.txt", DirectoryDiffType.ADDED, null,
+			PathFinder.getProjectDirectory());
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+}
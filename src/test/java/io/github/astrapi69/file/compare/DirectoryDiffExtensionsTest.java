@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DirectoryDiffExtensions}
+ */
+public class DirectoryDiffExtensionsTest extends FileTestCase
+{
+
+	static final FileTime LAST_MODIFIED = FileTime.fromMillis(1000000000000L);
+
+	File sourceRoot;
+	File compareRoot;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		sourceRoot = new File(this.testDir, "diffSource");
+		compareRoot = new File(this.secondTestDir, "diffCompare");
+		newFile(sourceRoot, "unchanged.txt", "Its a beautifull day!!!", LAST_MODIFIED);
+		newFile(compareRoot, "unchanged.txt", "Its a beautifull day!!!", LAST_MODIFIED);
+		newFile(sourceRoot, "sub/touched.txt", "Its a beautifull night!!!", LAST_MODIFIED);
+		newFile(compareRoot, "sub/touched.txt", "Its a beautifull night!!!",
+			FileTime.fromMillis(1100000000000L));
+		newFile(sourceRoot, "sub/resized.txt", "Its a beautifull evening!!!", LAST_MODIFIED);
+		newFile(compareRoot, "sub/resized.txt", "Its a beautifull evening!!!????",
+			LAST_MODIFIED);
+		newFile(sourceRoot, "sub/deeper/edited.txt", "Its a beautifull day!!!", LAST_MODIFIED);
+		newFile(compareRoot, "sub/deeper/edited.txt", "Its a beautifull dax!!!",
+			FileTime.fromMillis(1100000000000L));
+		newFile(sourceRoot, "sub/removed.txt", "removed", LAST_MODIFIED);
+		newFile(compareRoot, "sub/deeper/added.txt", "added", LAST_MODIFIED);
+	}
+
+	private void newFile(final File root, final String relativePath, final String content,
+		final FileTime lastModified) throws IOException
+	{
+		final File file = new File(root, relativePath);
+		file.getParentFile().mkdirs();
+		StoreFileExtensions.toFile(file, content);
+		Files.setLastModifiedTime(file.toPath(), lastModified);
+	}
+
+	private Map<String, DirectoryDiffType> toTypes(final List<DirectoryDiffEntry> entries)
+	{
+		final Map<String, DirectoryDiffType> types = new HashMap<>();
+		entries.forEach(entry -> types.put(entry.getRelativePath(), entry.getType()));
+		return types;
+	}
+
+	/**
+	 * Test method for {@link DirectoryDiffExtensions#diff(File, File)}
+	 */
+	@Test
+	public void testDiff() throws IOException
+	{
+		final List<DirectoryDiffEntry> actual = DirectoryDiffExtensions.diff(sourceRoot,
+			compareRoot);
+		assertEquals(6, actual.size());
+		final Map<String, DirectoryDiffType> types = toTypes(actual);
+		assertEquals(DirectoryDiffType.UNCHANGED, types.get("unchanged.txt"));
+		assertEquals(DirectoryDiffType.UNCHANGED, types.get("sub/touched.txt"));
+		assertEquals(DirectoryDiffType.MODIFIED, types.get("sub/resized.txt"));
+		assertEquals(DirectoryDiffType.MODIFIED, types.get("sub/deeper/edited.txt"));
+		assertEquals(DirectoryDiffType.REMOVED, types.get("sub/removed.txt"));
+		assertEquals(DirectoryDiffType.ADDED, types.get("sub/deeper/added.txt"));
+		// the removed files are passed at the end
+		assertEquals(new DirectoryDiffEntry("sub/removed.txt", DirectoryDiffType.REMOVED,
+			new File(sourceRoot, "sub/removed.txt"), null), actual.get(actual.size() - 1));
+		assertEquals(new DirectoryDiffEntry("sub/deeper/added.txt", DirectoryDiffType.ADDED,
+			null, new File(compareRoot, "sub/deeper/added.txt")),
+			actual.stream()
+				.filter(entry -> entry.getType() == DirectoryDiffType.ADDED)
+				.findFirst()
+				.get());
+	}
+
+	/**
+	 * Test method for {@link DirectoryDiffExtensions#diff(File, File, boolean,
+	 * java.util.function.Consumer)}
+	 */
+	@Test
+	public void testDiffWithVerifyContent() throws IOException
+	{
+		// same length and same last modified time but different content
+		newFile(compareRoot, "unchanged.txt", "Its a beautifull dax!!!", LAST_MODIFIED);
+
+		final List<DirectoryDiffEntry> trusted = ListFactory.newArrayList();
+		DirectoryDiffExtensions.diff(sourceRoot, compareRoot, false, trusted::add);
+		assertEquals(DirectoryDiffType.UNCHANGED, toTypes(trusted).get("unchanged.txt"));
+
+		final List<DirectoryDiffEntry> verified = ListFactory.newArrayList();
+		DirectoryDiffExtensions.diff(sourceRoot, compareRoot, true, verified::add);
+		final Map<String, DirectoryDiffType> types = toTypes(verified);
+		assertEquals(DirectoryDiffType.MODIFIED, types.get("unchanged.txt"));
+		assertEquals(DirectoryDiffType.UNCHANGED, types.get("sub/touched.txt"));
+		assertEquals(6, verified.size());
+	}
+
+	/**
+	 * Test method for {@link DirectoryDiffExtensions#diff(File, File)} with a directory that does
+	 * not exist
+	 */
+	@Test
+	public void testDiffNotExistingDirectory()
+	{
+		assertThrows(IOException.class,
+			() -> DirectoryDiffExtensions.diff(sourceRoot, new File(compareRoot, "none")));
+	}
+
+	/**
+	 * Test method for {@link DirectoryDiffExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DirectoryDiffExtensions.class);
+	}
+
+}
@@ -0,0 +1,204 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DirectoryFingerprintExtensions}
+ */
+public class DirectoryFingerprintExtensionsTest extends FileTestCase
+{
+
+	File sourceRoot;
+	File compareRoot;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		sourceRoot = new File(this.testDir, "fingerprintSource");
+		compareRoot = new File(this.secondTestDir, "fingerprintCompare");
+		for (final File root : new File[] { sourceRoot, compareRoot })
+		{
+			newFile(root, "a.txt", "Its a beautifull day!!!");
+			newFile(root, "sub/b.txt", "Its a beautifull night!!!");
+			newFile(root, "sub/deeper/c.txt", "Its a beautifull evening!!!");
+			newFile(root, "other/d.txt", "Its a beautifull morning!!!");
+		}
+	}
+
+	private void newFile(final File root, final String relativePath, final String content)
+		throws IOException
+	{
+		final File file = new File(root, relativePath);
+		file.getParentFile().mkdirs();
+		StoreFileExtensions.toFile(file, content);
+	}
+
+	/**
+	 * Test method for {@link DirectoryFingerprintExtensions#newFingerprint(File)}
+	 */
+	@Test
+	public void testNewFingerprint() throws IOException
+	{
+		final DirectoryFingerprint source = DirectoryFingerprintExtensions
+			.newFingerprint(sourceRoot);
+		final DirectoryFingerprint compare = DirectoryFingerprintExtensions
+			.newFingerprint(compareRoot);
+		assertTrue(source.isDirectory());
+		assertEquals("fingerprintSource", source.getName());
+		assertEquals(3, source.getChildren().size());
+		assertEquals("a.txt", source.getChildren().get(0).getName());
+		assertEquals(new File(sourceRoot, "a.txt").length(), source.getChild("a.txt").getLength());
+		assertEquals(new File(sourceRoot, "a.txt").length()
+			+ new File(sourceRoot, "sub/b.txt").length()
+			+ new File(sourceRoot, "sub/deeper/c.txt").length()
+			+ new File(sourceRoot, "other/d.txt").length(), source.getLength());
+		assertTrue(source.getChild("sub").getChild("deeper").isDirectory());
+		assertTrue(source.hasSameContent(compare));
+		assertTrue(DirectoryFingerprintExtensions.findDifferences(source, compare).isEmpty());
+
+		// a moved file changes the checksum of the root
+		new File(compareRoot, "sub/deeper/c.txt")
+			.renameTo(new File(compareRoot, "sub/deeper/e.txt"));
+		assertFalse(
+			source.hasSameContent(DirectoryFingerprintExtensions.newFingerprint(compareRoot)));
+
+		assertThrows(IOException.class, () -> DirectoryFingerprintExtensions
+			.newFingerprint(new File(sourceRoot, "a.txt")));
+	}
+
+	/**
+	 * Test method for {@link DirectoryFingerprintExtensions#newFingerprint(File)} with a symbolic
+	 * link as root directory
+	 */
+	@Test
+	public void testNewFingerprintWithSymbolicLinkRoot() throws IOException
+	{
+		final File link = new File(this.secondTestDir, "fingerprintLink");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), sourceRoot.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("Symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			final DirectoryFingerprint source = DirectoryFingerprintExtensions
+				.newFingerprint(sourceRoot);
+			final DirectoryFingerprint linked = DirectoryFingerprintExtensions
+				.newFingerprint(link);
+			assertEquals("fingerprintLink", linked.getName());
+			assertEquals(3, linked.getChildren().size());
+			assertTrue(source.hasSameContent(linked));
+		}
+		finally
+		{
+			Files.deleteIfExists(link.toPath());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link DirectoryFingerprintExtensions#findDifferences(DirectoryFingerprint, DirectoryFingerprint)}
+	 */
+	@Test
+	public void testFindDifferences() throws IOException
+	{
+		final DirectoryFingerprint source = DirectoryFingerprintExtensions
+			.newFingerprint(sourceRoot);
+		newFile(compareRoot, "sub/deeper/c.txt", "Its a beautifull evening???");
+		newFile(compareRoot, "sub/added.txt", "added");
+		new File(compareRoot, "other/d.txt").delete();
+		new File(compareRoot, "other").delete();
+		new File(compareRoot, "a.txt").delete();
+		newFile(compareRoot, "a.txt/now a directory.txt", "Its a beautifull day!!!");
+
+		final Map<String, DirectoryDiffType> actual = DirectoryFingerprintExtensions
+			.findDifferences(source, DirectoryFingerprintExtensions.newFingerprint(compareRoot));
+		assertEquals(4, actual.size());
+		assertEquals(DirectoryDiffType.MODIFIED, actual.get("a.txt"));
+		assertEquals(DirectoryDiffType.REMOVED, actual.get("other"));
+		assertEquals(DirectoryDiffType.ADDED, actual.get("sub/added.txt"));
+		assertEquals(DirectoryDiffType.MODIFIED, actual.get("sub/deeper/c.txt"));
+	}
+
+	/**
+	 * Test method for {@link DirectoryFingerprintExtensions#write(DirectoryFingerprint, File)}
+	 * and {@link DirectoryFingerprintExtensions#read(File)}
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException
+	{
+		final DirectoryFingerprint expected = DirectoryFingerprintExtensions
+			.newFingerprint(sourceRoot);
+		final File fingerprintFile = new File(this.secondTestDir, "fingerprint.bin");
+		DirectoryFingerprintExtensions.write(expected, fingerprintFile);
+		final DirectoryFingerprint actual = DirectoryFingerprintExtensions.read(fingerprintFile);
+		assertEquals(expected, actual);
+
+		newFile(sourceRoot, "sub/b.txt", "Its a beautifull night???");
+		final DirectoryFingerprint changed = DirectoryFingerprintExtensions
+			.newFingerprint(sourceRoot);
+		assertNotEquals(actual, changed);
+		assertEquals(DirectoryDiffType.MODIFIED,
+			DirectoryFingerprintExtensions.findDifferences(actual, changed).get("sub/b.txt"));
+
+		StoreFileExtensions.toFile(fingerprintFile, "no fingerprint");
+		assertThrows(IOException.class, () -> DirectoryFingerprintExtensions.read(fingerprintFile));
+	}
+
+	/**
+	 * Test method for {@link DirectoryFingerprintExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DirectoryFingerprintExtensions.class);
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+
+/**
+ * The unit test class for the class {@link DirectoryFingerprint}
+ */
+public class DirectoryFingerprintTest
+{
+
+	/**
+	 * Test method for {@link DirectoryFingerprint#equals(Object)} ,
+	 * {@link DirectoryFingerprint#hashCode()} and {@link DirectoryFingerprint#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		DirectoryFingerprint first = new DirectoryFingerprint("a", false, 1L, "ab",
+			ListFactory.newArrayList());
+		DirectoryFingerprint second = new DirectoryFingerprint("b", true, 1L, "cd",
+			ListFactory.newArrayList(first));
+		DirectoryFingerprint third = new DirectoryFingerprint("a", false, 1L, "ab",
+			ListFactory.newArrayList());
+		DirectoryFingerprint fourth = new DirectoryFingerprint("a", false, 1L, "ab",
+			ListFactory.newArrayList());
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link DirectoryFingerprint#getChild(String)}
+	 */
+	@Test
+	public void testGetChild()
+	{
+		final DirectoryFingerprint a = new DirectoryFingerprint("a", false, 1L, "ab",
+			ListFactory.newArrayList());
+		final DirectoryFingerprint b = new DirectoryFingerprint("b", false, 1L, "cd",
+			ListFactory.newArrayList());
+		final DirectoryFingerprint c = new DirectoryFingerprint("c", false, 1L, "ef",
+			ListFactory.newArrayList());
+		final DirectoryFingerprint root = new DirectoryFingerprint("root", true, 3L, "gh",
+			ListFactory.newArrayList(a, b, c));
+		assertEquals(a, root.getChild("a"));
+		assertEquals(b, root.getChild("b"));
+		assertEquals(c, root.getChild("c"));
+		assertNull(root.getChild("d"));
+		assertNull(a.getChild("a"));
+	}
+
+	/**
+	 * Test method for the serialization of {@link DirectoryFingerprint}
+	 */
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException
+	{
+		final DirectoryFingerprint expected = new DirectoryFingerprint("root", true, 1L, "gh",
+			ListFactory.newArrayList(
+				new DirectoryFingerprint("a", false, 1L, "ab", ListFactory.newArrayList())));
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(expected);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(
+			new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			assertEquals(expected, in.readObject());
+		}
+	}
+
+}
@@ -0,0 +1,289 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.checksum.ContentHashAlgorithm;
+import io.github.astrapi69.file.checksum.ContentHashStrategy;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DuplicateFileExtensions}
+ */
+public class DuplicateFileExtensionsTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+	File testFile4;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testFindDuplicates.txt");
+		testFile2 = new File(this.testDir, "testFindDuplicates.tft");
+		testFile3 = new File(this.deepDir, "testFindDuplicates.cvs");
+		testFile4 = new File(this.deeperDir, "otherName.txt");
+
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile4, "Its a beautifull dax!!!");
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileExtensions#findDuplicates(File)}
+	 */
+	@Test
+	public void testFindDuplicatesFile()
+	{
+		List<DuplicateFileGroup> actual = DuplicateFileExtensions.findDuplicates(this.testDir);
+		assertEquals(1, actual.size());
+		DuplicateFileGroup group = actual.get(0);
+		assertEquals(2, group.getFiles().size());
+		assertTrue(group.getFiles().contains(testFile1));
+		assertTrue(group.getFiles().contains(testFile3));
+		assertEquals(testFile1.length(), group.getLength());
+		assertEquals(testFile1.length(), group.getRedundantBytes());
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileExtensions#findDuplicates(java.util.Collection)}
+	 */
+	@Test
+	public void testFindDuplicatesCollection()
+	{
+		List<DuplicateFileGroup> actual = DuplicateFileExtensions
+			.findDuplicates(ListFactory.newArrayList(testFile1, testFile2, testFile4));
+		assertTrue(actual.isEmpty());
+
+		actual = DuplicateFileExtensions
+			.findDuplicates(ListFactory.newArrayList(testFile1, testFile3, testFile4));
+		assertEquals(1, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3), actual.get(0).getFiles());
+	}
+
+	/**
+	 * Test method for
+	 * {@link DuplicateFileExtensions#findDuplicates(java.util.Collection, ContentComparisonStatistics)}
+	 */
+	@Test
+	public void testFindDuplicatesWithStatistics()
+	{
+		final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+		List<DuplicateFileGroup> actual = DuplicateFileExtensions.findDuplicates(
+			ListFactory.newArrayList(testFile1, testFile2, testFile3, testFile4), statistics);
+		assertEquals(1, actual.size());
+		assertEquals(4, statistics.getCandidates());
+		assertEquals(1, statistics.getRejectedBySize());
+		assertEquals(0, statistics.getRejectedByPartialCheck());
+		assertEquals(1, statistics.getRejectedByFullCheck());
+		assertEquals(2, statistics.getConfirmedEqual());
+		assertEquals(testFile2.length(), statistics.getBytesSkipped());
+	}
+
+	/**
+	 * Test method for
+	 * {@link DuplicateFileExtensions#findDuplicates(java.util.Collection, ContentComparisonStatistics, HashingExecutor)}
+	 */
+	@Test
+	public void testFindDuplicatesWithHashingExecutor()
+	{
+		final List<File> files = ListFactory.newArrayList(testFile1, testFile2, testFile3,
+			testFile4);
+		final ContentComparisonStatistics expectedStatistics = new ContentComparisonStatistics();
+		final List<DuplicateFileGroup> expected = DuplicateFileExtensions.findDuplicates(files,
+			expectedStatistics, HashingExecutor.SEQUENTIAL);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			// a bound of one byte lets only one file be hashed at the same time
+			for (final HashingExecutor hashingExecutor : ListFactory.newArrayList(
+				HashingExecutor.parallel(pool), new HashingExecutor(pool, 1L)))
+			{
+				final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+				final List<DuplicateFileGroup> actual = DuplicateFileExtensions
+					.findDuplicates(files, statistics, hashingExecutor);
+				assertEquals(expected, actual);
+				assertEquals(expectedStatistics.toString(), statistics.toString());
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link DuplicateFileExtensions#findDuplicates(java.util.Collection, ContentComparisonStatistics, HashingExecutor, ContentHashStrategy, boolean)}
+	 */
+	@Test
+	public void testFindDuplicatesWithContentHashStrategy() throws IOException
+	{
+		final List<File> files = ListFactory.newArrayList(testFile1, testFile2, testFile3,
+			testFile4);
+		List<DuplicateFileGroup> actual = DuplicateFileExtensions.findDuplicates(files,
+			new ContentComparisonStatistics(), HashingExecutor.SEQUENTIAL,
+			ContentHashAlgorithm.XXHASH64, false);
+		assertEquals(1, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3), actual.get(0).getFiles());
+		assertEquals(ContentHashAlgorithm.XXHASH64.computeChecksum(testFile1),
+			actual.get(0).getChecksum());
+		// a strategy where every file collides
+		final ContentHashStrategy colliding = new ContentHashStrategy()
+		{
+			@Override
+			public String computeChecksum(final File file)
+			{
+				return "0";
+			}
+
+			@Override
+			public String getName()
+			{
+				return "colliding";
+			}
+
+			@Override
+			public boolean isCryptographic()
+			{
+				return false;
+			}
+		};
+		actual = DuplicateFileExtensions.findDuplicates(files, new ContentComparisonStatistics(),
+			HashingExecutor.SEQUENTIAL, colliding, false);
+		assertEquals(1, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3, testFile4),
+			actual.get(0).getFiles());
+
+		final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+		actual = DuplicateFileExtensions.findDuplicates(files, statistics,
+			HashingExecutor.SEQUENTIAL, colliding, true);
+		assertEquals(1, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3), actual.get(0).getFiles());
+		assertEquals(1, statistics.getRejectedByFullCheck());
+		assertEquals(2, statistics.getConfirmedEqual());
+	}
+
+	/**
+	 * Test method for
+	 * {@link DuplicateFileExtensions#findDuplicates(java.util.Collection, ContentComparisonStatistics)}
+	 * and {@link DuplicateFileExtensions#findHardLinks(java.util.Collection)} with hard links
+	 */
+	@Test
+	public void testFindDuplicatesWithHardLinks() throws IOException
+	{
+		final File link1 = new File(this.deepDir, "linkOfFile1.txt");
+		final File link4 = new File(this.deeperDir, "linkOfFile4.txt");
+		try
+		{
+			Files.createLink(link1.toPath(), testFile1.toPath());
+			Files.createLink(link4.toPath(), testFile4.toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("hard links are not supported: " + e.getMessage());
+		}
+		final ContentComparisonStatistics statistics = new ContentComparisonStatistics();
+		final List<DuplicateFileGroup> actual = DuplicateFileExtensions.findDuplicates(
+			ListFactory.newArrayList(testFile1, link1, testFile3, testFile4, link4), statistics);
+		// the hard link of a copy is reported as link of the copy
+		assertEquals(1, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3), actual.get(0).getFiles());
+		assertEquals(Collections.singletonMap(testFile1, ListFactory.newArrayList(link1)),
+			actual.get(0).getLinks());
+		assertEquals(testFile1.length(), actual.get(0).getRedundantBytes());
+		// the paths of the same file are read only once
+		assertEquals(2, statistics.getHardLinks());
+		assertEquals(3, statistics.getCandidates());
+
+		assertEquals(
+			Arrays.asList(ListFactory.newArrayList(testFile1, link1),
+				ListFactory.newArrayList(testFile4, link4)),
+			DuplicateFileExtensions.findHardLinks(
+				ListFactory.newArrayList(testFile1, testFile2, link1, testFile4, link4)));
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileExtensions#groupBy(java.util.Collection,
+	 * java.util.function.Function)}
+	 */
+	@Test
+	public void testGroupBy()
+	{
+		Map<Long, List<File>> actual = DuplicateFileExtensions.groupBy(
+			ListFactory.newArrayList(testFile1, testFile2, testFile3, testFile4), File::length);
+		assertEquals(2, actual.size());
+		assertEquals(ListFactory.newArrayList(testFile1, testFile3, testFile4),
+			actual.get(testFile1.length()));
+		assertEquals(ListFactory.newArrayList(testFile2), actual.get(testFile2.length()));
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileExtensions#groupByChecksum(java.util.Collection)}
+	 */
+	@Test
+	public void testGroupByChecksum()
+	{
+		Map<String, List<File>> actual = DuplicateFileExtensions.groupByChecksum(
+			ListFactory.newArrayList(testFile1, testFile3, testFile4, new File(testDir, "none")));
+		assertEquals(2, actual.size());
+		assertTrue(actual.containsValue(ListFactory.newArrayList(testFile1, testFile3)));
+		assertTrue(actual.containsValue(ListFactory.newArrayList(testFile4)));
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DuplicateFileExtensions.class);
+	}
+
+}
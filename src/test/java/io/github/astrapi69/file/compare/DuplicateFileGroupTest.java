@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * The unit test class for the class {@link DuplicateFileGroup}
+ */
+public class DuplicateFileGroupTest
+{
+
+	/**
+	 * Test method for {@link DuplicateFileGroup#equals(Object)} ,
+	 * {@link DuplicateFileGroup#hashCode()} and {@link DuplicateFileGroup#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		DuplicateFileGroup first = new DuplicateFileGroup(1L, "a",
+			ListFactory.newArrayList(PathFinder.getProjectDirectory()));
+		DuplicateFileGroup second = new DuplicateFileGroup(2L, "b",
+			ListFactory.newArrayList(PathFinder.getSrcMainJavaDir()),
+			Collections.singletonMap(PathFinder.getSrcMainJavaDir(),
+				ListFactory.newArrayList(PathFinder.getSrcTestJavaDir())));
+		DuplicateFileGroup third = new DuplicateFileGroup(1L, "a",
+			ListFactory.newArrayList(PathFinder.getProjectDirectory()));
+		DuplicateFileGroup fourth = new DuplicateFileGroup(1L, "a",
+			ListFactory.newArrayList(PathFinder.getProjectDirectory()));
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link DuplicateFileGroup#getLinks()} and
+	 * {@link DuplicateFileGroup#getRedundantBytes()}
+	 */
+	@Test
+	public void testGetLinks()
+	{
+		final DuplicateFileGroup group = new DuplicateFileGroup(10L, "a",
+			ListFactory.newArrayList(PathFinder.getSrcMainJavaDir(),
+				PathFinder.getSrcTestJavaDir()),
+			Collections.singletonMap(PathFinder.getSrcMainJavaDir(),
+				ListFactory.newArrayList(PathFinder.getProjectDirectory())));
+		assertEquals(ListFactory.newArrayList(PathFinder.getProjectDirectory()),
+			group.getLinks().get(PathFinder.getSrcMainJavaDir()));
+		// the hard links are not redundant
+		assertEquals(10L, group.getRedundantBytes());
+		assertTrue(new DuplicateFileGroup(10L, "a",
+			ListFactory.newArrayList(PathFinder.getSrcMainJavaDir())).getLinks().isEmpty());
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+
+/**
+ * The unit test class for the class {@link FileSimilarity}
+ */
+public class FileSimilarityTest
+{
+
+	/**
+	 * Test method for {@link FileSimilarity#equals(Object)} , {@link FileSimilarity#hashCode()}
+	 * and {@link FileSimilarity#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		FileSimilarity first = new FileSimilarity(new File("a"), new File("b"), 10L, 30L, 5L);
+		FileSimilarity second = new FileSimilarity(new File("a"), new File("c"), 10L, 30L, 5L);
+		FileSimilarity third = new FileSimilarity(new File("a"), new File("b"), 10L, 30L, 5L);
+		FileSimilarity fourth = new FileSimilarity(new File("a"), new File("b"), 10L, 30L, 5L);
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link FileSimilarity#getSimilarity()}
+	 */
+	@Test
+	public void testGetSimilarity()
+	{
+		assertEquals(0.25d,
+			new FileSimilarity(new File("a"), new File("b"), 10L, 30L, 5L).getSimilarity());
+		assertEquals(0.0d,
+			new FileSimilarity(new File("a"), new File("b"), 10L, 30L, 0L).getSimilarity());
+		assertEquals(1.0d,
+			new FileSimilarity(new File("a"), new File("b"), 0L, 0L, 0L).getSimilarity());
+	}
+
+}
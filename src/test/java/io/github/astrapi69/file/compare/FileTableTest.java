@@ -0,0 +1,56 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link FileTable}
+ */
+public class FileTableTest
+{
+
+	/**
+	 * Test method for {@link FileTable#add(File)}, {@link FileTable#get(int)},
+	 * {@link FileTable#indexOf(File)} and {@link FileTable#size()}
+	 */
+	@Test
+	public void testAdd()
+	{
+		final FileTable fileTable = new FileTable();
+		assertEquals(0, fileTable.add(new File("a.txt")));
+		assertEquals(1, fileTable.add(new File("b.txt")));
+		assertEquals(0, fileTable.add(new File("a.txt")));
+		assertEquals(2, fileTable.size());
+		assertEquals(new File("b.txt"), fileTable.get(1));
+		assertEquals(1, fileTable.indexOf(new File("b.txt")));
+		assertEquals(-1, fileTable.indexOf(new File("c.txt")));
+	}
+
+}
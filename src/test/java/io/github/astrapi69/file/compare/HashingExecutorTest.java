@@ -0,0 +1,143 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link HashingExecutor}
+ */
+public class HashingExecutorTest extends FileTestCase
+{
+
+	List<File> files;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		files = ListFactory.newArrayList();
+		for (int i = 0; i < 20; i++)
+		{
+			final File file = new File(this.testDir, "hashing" + i + ".txt");
+			StoreFileExtensions.toFile(file, "content " + (i % 5));
+			files.add(file);
+		}
+		files.add(new File(this.testDir, "notExisting.txt"));
+	}
+
+	/**
+	 * Test method for {@link HashingExecutor#computeAll(java.util.Collection,
+	 * HashingExecutor.ChecksumFunction)}
+	 */
+	@Test
+	public void testComputeAll()
+	{
+		final Map<File, String> expected = HashingExecutor.SEQUENTIAL.computeAll(files,
+			DuplicateFileExtensions::getContentChecksum);
+		assertEquals(20, expected.size());
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try
+		{
+			for (final HashingExecutor hashingExecutor : ListFactory.newArrayList(
+				HashingExecutor.parallel(), HashingExecutor.parallel(pool),
+				new HashingExecutor(executorService, 1L)))
+			{
+				assertTrue(hashingExecutor.isParallel());
+				assertEquals(expected, hashingExecutor.computeAll(files,
+					DuplicateFileExtensions::getContentChecksum));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link HashingExecutor#computeAll(java.util.Collection,
+	 * HashingExecutor.ChecksumFunction)} with a function that fails
+	 */
+	@Test
+	public void testComputeAllWithFailingFunction()
+	{
+		final AtomicInteger calls = new AtomicInteger();
+		final Map<File, Long> actual = HashingExecutor.parallel().computeAll(files, file -> {
+			calls.incrementAndGet();
+			if (file.getName().startsWith("hashing1"))
+			{
+				throw new IOException("not readable");
+			}
+			return file.length();
+		});
+		assertEquals(files.size(), calls.get());
+		// hashing1 and hashing10 to hashing19 fail
+		assertEquals(files.size() - 11, actual.size());
+		assertThrows(UncheckedIOException.class,
+			() -> HashingExecutor.parallel().computeAll(files, file -> {
+				throw new UncheckedIOException(new IOException("failed"));
+			}));
+	}
+
+	/**
+	 * Test method for the constructor of {@link HashingExecutor}
+	 */
+	@Test
+	public void testConstructor()
+	{
+		assertFalse(HashingExecutor.SEQUENTIAL.isParallel());
+		assertEquals(HashingExecutor.DEFAULT_MAX_IN_FLIGHT_BYTES,
+			HashingExecutor.parallel().getMaxInFlightBytes());
+		assertEquals(Long.MAX_VALUE,
+			new HashingExecutor(ForkJoinPool.commonPool(), Long.MAX_VALUE).getMaxInFlightBytes());
+		assertThrows(IllegalArgumentException.class,
+			() -> new HashingExecutor(ForkJoinPool.commonPool(), 0L));
+		assertThrows(NullPointerException.class, () -> new HashingExecutor(null, 1L));
+	}
+
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.exception.MemoryLimitExceededException;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link LineDiffExtensions}
+ */
+public class LineDiffExtensionsTest extends FileTestCase
+{
+
+	File sourceFile;
+	File compareFile;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		sourceFile = new File(this.testDir, "source.txt");
+		compareFile = new File(this.testDir, "compare.txt");
+	}
+
+	/**
+	 * Test method for {@link LineDiffExtensions#diff(File, File)}
+	 */
+	@Test
+	public void testDiff() throws IOException, MemoryLimitExceededException
+	{
+		List<LineDiffHunk> actual;
+		StoreFileExtensions.toFile(sourceFile, lines(1, 20, -1, null));
+		StoreFileExtensions.toFile(compareFile, lines(1, 20, -1, null));
+		actual = LineDiffExtensions.diff(sourceFile, compareFile);
+		assertTrue(actual.isEmpty());
+		// change the line 10
+		StoreFileExtensions.toFile(compareFile, lines(1, 20, 10, "changed"));
+		actual = LineDiffExtensions.diff(sourceFile, compareFile);
+		assertEquals(1, actual.size());
+		assertEquals(new LineDiffHunk(7, 7, 7, 7,
+			ListFactory.newArrayList(" line 7", " line 8", " line 9", "-line 10", "+changed",
+				" line 11", " line 12", " line 13")),
+			actual.get(0));
+		assertEquals("@@ -7,7 +7,7 @@", actual.get(0).getHeader());
+		// changes that are near to each other are in the same hunk
+		StoreFileExtensions.toFile(compareFile,
+			lines(1, 20, 2, "changed").replace("line 8\n", "line 8\ninserted\n"));
+		actual = LineDiffExtensions.diff(sourceFile, compareFile);
+		assertEquals(1, actual.size());
+		assertEquals("@@ -1,11 +1,12 @@", actual.get(0).getHeader());
+		// changes that are far from each other are in separate hunks
+		StoreFileExtensions.toFile(compareFile,
+			lines(1, 20, 2, "changed").replace("line 17\n", ""));
+		actual = LineDiffExtensions.diff(sourceFile, compareFile);
+		assertEquals(2, actual.size());
+		assertEquals(new LineDiffHunk(1, 5, 1, 5, ListFactory.newArrayList(" line 1", "-line 2",
+			"+changed", " line 3", " line 4", " line 5")), actual.get(0));
+		assertEquals(new LineDiffHunk(14, 7, 14, 6, ListFactory.newArrayList(" line 14",
+			" line 15", " line 16", "-line 17", " line 18", " line 19", " line 20")),
+			actual.get(1));
+		// the source file is empty
+		StoreFileExtensions.toFile(sourceFile, "");
+		StoreFileExtensions.toFile(compareFile, lines(1, 2, -1, null));
+		actual = LineDiffExtensions.diff(sourceFile, compareFile);
+		assertEquals(1, actual.size());
+		assertEquals("@@ -0,0 +1,2 @@", actual.get(0).getHeader());
+	}
+
+	/**
+	 * Test method for
+	 * {@link LineDiffExtensions#diff(File, File, java.nio.charset.Charset, int, long, java.util.function.Consumer)}
+	 */
+	@Test
+	public void testDiffWithMemoryLimit() throws IOException, MemoryLimitExceededException
+	{
+		StoreFileExtensions.toFile(sourceFile, lines(1, 5000, -1, null));
+		StoreFileExtensions.toFile(compareFile, lines(1, 5000, 2500, "changed"));
+		final List<LineDiffHunk> hunks = new ArrayList<>();
+		assertThrows(MemoryLimitExceededException.class,
+			() -> LineDiffExtensions.diff(sourceFile, compareFile, StandardCharsets.UTF_8, 0,
+				1024L, hunks::add));
+		assertTrue(hunks.isEmpty());
+		LineDiffExtensions.diff(sourceFile, compareFile, StandardCharsets.UTF_8, 0, 64L * 1024,
+			hunks::add);
+		assertEquals(1, hunks.size());
+		assertEquals(
+			new LineDiffHunk(2500, 1, 2500, 1, ListFactory.newArrayList("-line 2500", "+changed")),
+			hunks.get(0));
+	}
+
+	/**
+	 * Test method for {@link LineDiffExtensions#writeUnifiedDiff(File, File, java.io.Writer)}
+	 */
+	@Test
+	public void testWriteUnifiedDiff() throws IOException, MemoryLimitExceededException
+	{
+		StoreFileExtensions.toFile(sourceFile, "a\nb\nc\n");
+		StoreFileExtensions.toFile(compareFile, "a\nc\nd\n");
+		final StringWriter writer = new StringWriter();
+		LineDiffExtensions.writeUnifiedDiff(sourceFile, compareFile, writer);
+		final String expected = "--- " + sourceFile.getPath() + "\n" + "+++ "
+			+ compareFile.getPath() + "\n" + "@@ -1,3 +1,3 @@\n" + " a\n" + "-b\n" + " c\n"
+			+ "+d\n";
+		assertEquals(expected, writer.toString());
+	}
+
+	/**
+	 * Test method for {@link LineDiffExtensions#findMatches(int[], int[], long)} that compares the
+	 * length of the matches with the length of the longest common subsequence
+	 */
+	@Test
+	public void testFindMatches() throws MemoryLimitExceededException
+	{
+		final Random random = new Random(42);
+		for (int i = 0; i < 500; i++)
+		{
+			final int[] a = random.ints(random.nextInt(30), 0, 4).toArray();
+			final int[] b = random.ints(random.nextInt(30), 0, 4).toArray();
+			final List<int[]> matches = LineDiffExtensions.findMatches(a, b, Long.MAX_VALUE);
+			int length = 0;
+			int x = 0;
+			int y = 0;
+			for (final int[] match : matches)
+			{
+				assertTrue(x <= match[0] && y <= match[1]);
+				for (int j = 0; j < match[2]; j++)
+				{
+					assertEquals(a[match[0] + j], b[match[1] + j]);
+				}
+				x = match[0] + match[2];
+				y = match[1] + match[2];
+				length += match[2];
+			}
+			assertEquals(longestCommonSubsequence(a, b), length);
+		}
+	}
+
+	/**
+	 * Test method for {@link LineDiffExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(LineDiffExtensions.class);
+	}
+
+	private static String lines(final int from, final int to, final int replaced,
+		final String replacement)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = from; i <= to; i++)
+		{
+			sb.append(i == replaced ? replacement : "line " + i).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static int longestCommonSubsequence(final int[] a, final int[] b)
+	{
+		final int[][] table = new int[a.length + 1][b.length + 1];
+		for (int i = 1; i <= a.length; i++)
+		{
+			for (int j = 1; j <= b.length; j++)
+			{
+				table[i][j] = a[i - 1] == b[j - 1]
+					? table[i - 1][j - 1] + 1
+					: Math.max(table[i - 1][j], table[i][j - 1]);
+			}
+		}
+		return table[a.length][b.length];
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.evaluate.object.evaluator.EqualsHashCodeAndToStringEvaluator;
+
+/**
+ * The unit test class for the class {@link LineDiffHunk}
+ */
+public class LineDiffHunkTest
+{
+
+	/**
+	 * Test method for {@link LineDiffHunk#equals(Object)} , {@link LineDiffHunk#hashCode()} and
+	 * {@link LineDiffHunk#toString()}
+	 */
+	@Test
+	public void testEqualsHashcodeAndToString()
+	{
+		final boolean expected;
+		final boolean actual;
+
+		LineDiffHunk first = new LineDiffHunk(1, 1, 1, 1, ListFactory.newArrayList("-a", "+b"));
+		LineDiffHunk second = new LineDiffHunk(3, 0, 4, 1, ListFactory.newArrayList("+c"));
+		LineDiffHunk third = new LineDiffHunk(1, 1, 1, 1, ListFactory.newArrayList("-a", "+b"));
+		LineDiffHunk fourth = new LineDiffHunk(1, 1, 1, 1, ListFactory.newArrayList("-a", "+b"));
+
+		actual = EqualsHashCodeAndToStringEvaluator.evaluateEqualsHashcodeAndToString(first, second,
+			third, fourth);
+		expected = true;
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link LineDiffHunk#getHeader()}
+	 */
+	@Test
+	public void testGetHeader()
+	{
+		assertEquals("@@ -1 +1 @@",
+			new LineDiffHunk(1, 1, 1, 1, ListFactory.newArrayList("-a", "+b")).getHeader());
+		assertEquals("@@ -3,0 +4 @@",
+			new LineDiffHunk(3, 0, 4, 1, ListFactory.newArrayList("+c")).getHeader());
+	}
+
+}
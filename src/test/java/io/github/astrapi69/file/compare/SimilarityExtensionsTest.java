@@ -0,0 +1,173 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.compare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileTestCase;
+
+/**
+ * The unit test class for the class {@link SimilarityExtensions}
+ */
+public class SimilarityExtensionsTest extends FileTestCase
+{
+
+	File editedFile;
+	File originalFile;
+	File otherFile;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		final Random random = new Random(42L);
+		final byte[] original = new byte[200_000];
+		random.nextBytes(original);
+		// the edited version has some bytes inserted in the middle
+		final byte[] inserted = new byte[100];
+		random.nextBytes(inserted);
+		final byte[] edited = new byte[original.length + inserted.length];
+		System.arraycopy(original, 0, edited, 0, 100_000);
+		System.arraycopy(inserted, 0, edited, 100_000, inserted.length);
+		System.arraycopy(original, 100_000, edited, 100_000 + inserted.length, 100_000);
+		final byte[] other = new byte[150_000];
+		random.nextBytes(other);
+
+		originalFile = new File(this.testDir, "original.bin");
+		editedFile = new File(this.deepDir, "edited.bin");
+		otherFile = new File(this.deeperDir, "other.bin");
+		Files.write(originalFile.toPath(), original);
+		Files.write(editedFile.toPath(), edited);
+		Files.write(otherFile.toPath(), other);
+	}
+
+	/**
+	 * Test method for {@link SimilarityExtensions#findSimilarFiles(File, double)}
+	 */
+	@Test
+	public void testFindSimilarFiles()
+	{
+		List<FileSimilarity> actual = SimilarityExtensions.findSimilarFiles(this.testDir, 0.5d);
+		assertEquals(1, actual.size());
+		assertTrue(ListFactory.newArrayList(originalFile, editedFile)
+			.contains(actual.get(0).getSourceFile()));
+		assertTrue(ListFactory.newArrayList(originalFile, editedFile)
+			.contains(actual.get(0).getCompareFile()));
+		assertTrue(0.8d < actual.get(0).getSimilarity());
+
+		actual = SimilarityExtensions.findSimilarFiles(this.testDir, 0.99d);
+		assertTrue(actual.isEmpty());
+	}
+
+	/**
+	 * Test method for
+	 * {@link SimilarityExtensions#findSimilarFiles(java.util.Collection, double, HashingExecutor)}
+	 */
+	@Test
+	public void testFindSimilarFilesWithHashingExecutor()
+	{
+		final List<File> files = ListFactory.newArrayList(originalFile, otherFile, editedFile,
+			new File(this.testDir, "none"));
+		final List<FileSimilarity> expected = SimilarityExtensions.findSimilarFiles(files, 0.0d,
+			HashingExecutor.SEQUENTIAL);
+		assertEquals(1, expected.size());
+		assertEquals(originalFile, expected.get(0).getSourceFile());
+		assertEquals(editedFile, expected.get(0).getCompareFile());
+		assertEquals(expected,
+			SimilarityExtensions.findSimilarFiles(files, 0.0d, HashingExecutor.parallel()));
+	}
+
+	/**
+	 * Test method for {@link SimilarityExtensions#newChunkSignature(File, int, int, int)}
+	 */
+	@Test
+	public void testNewChunkSignature() throws IOException
+	{
+		final ChunkSignature signature = SimilarityExtensions.newChunkSignature(originalFile, 256,
+			1024, 4096);
+		assertEquals(originalFile.length(), signature.getLength());
+		for (int i = 0; i < signature.getChunkCount(); i++)
+		{
+			assertTrue(signature.getChunkLength(i) <= 4096);
+			assertTrue(i == signature.getChunkCount() - 1 || 256 <= signature.getChunkLength(i));
+		}
+		// the average chunk size is roughly met
+		assertTrue(100 < signature.getChunkCount());
+		assertTrue(signature.getChunkCount() < 400);
+		assertEquals(signature, SimilarityExtensions.newChunkSignature(originalFile, 256, 1024,
+			4096));
+
+		final File emptyFile = new File(this.testDir, "empty.bin");
+		Files.write(emptyFile.toPath(), new byte[0]);
+		assertEquals(0, SimilarityExtensions.newChunkSignature(emptyFile).getChunkCount());
+		assertThrows(IllegalArgumentException.class,
+			() -> SimilarityExtensions.newChunkSignature(originalFile, 512, 256, 4096));
+	}
+
+	/**
+	 * Test method for {@link SimilarityExtensions#similarity(File, File)}
+	 */
+	@Test
+	public void testSimilarity() throws IOException
+	{
+		FileSimilarity actual = SimilarityExtensions.similarity(originalFile, editedFile);
+		assertEquals(originalFile.length(), actual.getSourceLength());
+		assertEquals(editedFile.length(), actual.getCompareLength());
+		assertTrue(0.8d < actual.getSimilarity());
+		assertTrue(actual.getSimilarity() < 1.0d);
+
+		actual = SimilarityExtensions.similarity(originalFile, originalFile);
+		assertEquals(1.0d, actual.getSimilarity());
+
+		actual = SimilarityExtensions.similarity(originalFile, otherFile);
+		assertEquals(0L, actual.getSharedBytes());
+		assertEquals(0.0d, actual.getSimilarity());
+	}
+
+	/**
+	 * Test method for {@link SimilarityExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(SimilarityExtensions.class);
+	}
+
+}
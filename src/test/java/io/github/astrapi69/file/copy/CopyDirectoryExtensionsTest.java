@@ -31,11 +31,13 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
@@ -43,6 +45,7 @@ import org.meanbean.test.BeanTester;
 import io.github.astrapi69.file.FileTestCase;
 import io.github.astrapi69.file.create.DirectoryFactory;
 import io.github.astrapi69.file.create.model.FileCreationState;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
 import io.github.astrapi69.file.exception.DirectoryAlreadyExistsException;
 import io.github.astrapi69.file.exception.FileIsADirectoryException;
 import io.github.astrapi69.file.exception.FileIsNotADirectoryException;
@@ -637,6 +640,101 @@ public class CopyDirectoryExtensionsTest extends FileTestCase
 			"File " + notExpectedDeepestFile3.getAbsolutePath() + " should not be copied.");
 	}
 
+	/**
+	 * Test method for
+	 * {@link CopyDirectoryExtensions#copyDirectoryWithFileFilter(File, File, FileFilter, FileFilter, boolean)}
+	 * and
+	 * {@link CopyDirectoryExtensions#copyDirectoryWithFilenameFilter(File, File, FilenameFilter, FilenameFilter, boolean)}
+	 * with a symbolic link that points back to the source directory
+	 *
+	 * @throws Exception
+	 *             is thrown if an exception occurs
+	 */
+	@Test
+	public void testCopyDirectoryWithSymbolicLinkCycle() throws Exception
+	{
+		final File cycle = new File(srcDeepestDir, "cycle");
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), srcDeepDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			actual = CopyDirectoryExtensions.copyDirectoryWithFileFilter(srcDeepDir, destDir,
+				(FileFilter)null, (FileFilter)null, false);
+			assertTrue(actual, "Directory " + destDir.getAbsolutePath() + " should be copied.");
+			assertTrue(expectedDeepestFile.exists(),
+				"File " + expectedDeepestFile.getAbsolutePath() + " should be copied.");
+			// the link points to a parent directory
+			assertFalse(new File(expectedDeepestDir, "cycle").exists());
+			DeleteFileExtensions.delete(destDir);
+
+			CopyDirectoryExtensions.copyDirectoryWithFilenameFilter(srcDeepDir, destDir,
+				(FilenameFilter)null, (FilenameFilter)null, false);
+			assertTrue(expectedDeepestFile.exists(),
+				"File " + expectedDeepestFile.getAbsolutePath() + " should be copied.");
+			assertFalse(new File(expectedDeepestDir, "cycle").exists());
+		}
+		finally
+		{
+			Files.deleteIfExists(cycle.toPath());
+			DeleteFileExtensions.delete(destDir);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyDirectoryExtensions#copyDirectoryWithFileFilter(File, File, FileFilter, FileFilter, boolean)}
+	 * and
+	 * {@link CopyDirectoryExtensions#copyDirectoryWithFilenameFilter(File, File, FilenameFilter, FilenameFilter, boolean)}
+	 * with a symbolic link to a sibling directory
+	 *
+	 * @throws Exception
+	 *             is thrown if an exception occurs
+	 */
+	@Test
+	public void testCopyDirectoryWithSymbolicLinkToSibling() throws Exception
+	{
+		final File link = new File(srcDeepDir, "linkToDeepest");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), srcDeepestDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		final File expectedLinkFile = new File(new File(destDir, "linkToDeepest"),
+			deepestFilename);
+		try
+		{
+			// the directory and the link are copied, because the link does not form a cycle
+			CopyDirectoryExtensions.copyDirectoryWithFileFilter(srcDeepDir, destDir,
+				(FileFilter)null, (FileFilter)null, false);
+			assertTrue(expectedDeepestFile.exists(),
+				"File " + expectedDeepestFile.getAbsolutePath() + " should be copied.");
+			assertTrue(expectedLinkFile.exists(),
+				"File " + expectedLinkFile.getAbsolutePath() + " should be copied.");
+			DeleteFileExtensions.delete(destDir);
+
+			CopyDirectoryExtensions.copyDirectoryWithFilenameFilter(srcDeepDir, destDir,
+				(FilenameFilter)null, (FilenameFilter)null, false);
+			assertTrue(expectedDeepestFile.exists(),
+				"File " + expectedDeepestFile.getAbsolutePath() + " should be copied.");
+			assertTrue(expectedLinkFile.exists(),
+				"File " + expectedLinkFile.getAbsolutePath() + " should be copied.");
+		}
+		finally
+		{
+			Files.deleteIfExists(link.toPath());
+			DeleteFileExtensions.delete(destDir);
+		}
+	}
+
 	/**
 	 * Test method for {@link CopyDirectoryExtensions}
 	 */
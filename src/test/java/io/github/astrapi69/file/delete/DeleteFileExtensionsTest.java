@@ -32,11 +32,14 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
@@ -735,6 +738,58 @@ public class DeleteFileExtensionsTest extends FileTestCase
 		DeleteFileExtensions.delete(fileList);
 	}
 
+	/**
+	 * Test method for
+	 * {@link DeleteFileExtensions#deleteFilesWithFileFilter(File, FileFilter, FileFilter)} and
+	 * {@link DeleteFileExtensions#deleteFilesWithFilenameFilter(File, FilenameFilter, FilenameFilter)}
+	 * with symbolic links
+	 *
+	 * @throws Exception
+	 *             is thrown if an exception occurs
+	 */
+	@Test
+	public void testDeleteFilesWithSymbolicLinks() throws Exception
+	{
+		final File outsideFile = new File(this.secondTestDir, "testDeleteOutside.txt");
+		final File cycle = new File(this.deeperDir, "cycle");
+		final File outside = new File(this.testDir, "outside");
+		StoreFileExtensions.toFile(outsideFile, "Its a beautifull day!!!");
+		for (final boolean fileFilter : new boolean[] { true, false })
+		{
+			final File testFile1 = new File(this.testDir, "testDeleteWithLinks1.txt");
+			final File testFile2 = new File(this.deeperDir, "testDeleteWithLinks2.txt");
+			StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+			StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+			try
+			{
+				Files.createSymbolicLink(cycle.toPath(), this.testDir.getAbsoluteFile().toPath());
+				Files.createSymbolicLink(outside.toPath(),
+					this.secondTestDir.getAbsoluteFile().toPath());
+			}
+			catch (final UnsupportedOperationException | IOException e)
+			{
+				Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+			}
+			if (fileFilter)
+			{
+				DeleteFileExtensions.deleteFilesWithFileFilter(this.testDir, (FileFilter)null,
+					(FileFilter)null);
+			}
+			else
+			{
+				DeleteFileExtensions.deleteFilesWithFilenameFilter(this.testDir,
+					(FilenameFilter)null, (FilenameFilter)null);
+			}
+			assertFalse(testFile1.exists());
+			assertFalse(testFile2.exists());
+			// the links are deleted without the content of the directories they point to
+			assertFalse(Files.exists(cycle.toPath(), LinkOption.NOFOLLOW_LINKS));
+			assertFalse(Files.exists(outside.toPath(), LinkOption.NOFOLLOW_LINKS));
+			assertTrue(outsideFile.exists());
+			assertTrue(this.deeperDir.exists());
+		}
+	}
+
 	/**
 	 * Test method for {@link DeleteFileExtensions}
 	 */
@@ -25,6 +25,7 @@
 package io.github.astrapi69.file.merge;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -34,6 +35,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 
 import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
 import io.github.astrapi69.file.create.DirectoryFactory;
@@ -139,6 +141,90 @@ public class MergeDirectoryExtensionsTest
 		assertEquals("content1", FileUtils.readFileToString(expectedFile1, "UTF-8"));
 	}
 
+	@Test
+	public void testMerge_Directories_SymbolicLinkToSibling() throws IOException
+	{
+		// Setup
+		File targetDir = Files.createTempDirectory("target").toFile();
+		File dir1 = Files.createTempDirectory("dir1").toFile();
+
+		File subDir1 = new File(dir1, "subdir");
+		subDir1.mkdir();
+
+		File file1SubDir1 = new File(subDir1, "file1.txt");
+		FileUtils.writeStringToFile(file1SubDir1, "content1", "UTF-8");
+		File link = new File(dir1, "link");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), subDir1.toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+
+		try
+		{
+			// Action
+			MergeDirectoryExtensions.merge(targetDir, dir1);
+
+			// Verification
+			File expectedFile1 = new File(new File(targetDir, "subdir"), "file1.txt");
+			File expectedLinkFile1 = new File(new File(targetDir, "link"), "file1.txt");
+			assertTrue(expectedFile1.exists(), "File should exist in subdirectory");
+			assertTrue(expectedLinkFile1.exists(), "File should exist in linked directory");
+		}
+		finally
+		{
+			// Cleanup
+			Files.deleteIfExists(link.toPath());
+			DeleteFileExtensions.delete(dir1);
+			DeleteFileExtensions.delete(targetDir);
+		}
+	}
+
+	@Test
+	public void testMerge_Directories_SymbolicLinkCycle() throws IOException
+	{
+		// Setup
+		File targetDir = Files.createTempDirectory("target").toFile();
+		File dir1 = Files.createTempDirectory("dir1").toFile();
+
+		File subDir1 = new File(dir1, "subdir");
+		subDir1.mkdir();
+
+		File file1SubDir1 = new File(subDir1, "file1.txt");
+		FileUtils.writeStringToFile(file1SubDir1, "content1", "UTF-8");
+		File cycle = new File(subDir1, "cycle");
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), dir1.toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+
+		try
+		{
+			// Action
+			MergeDirectoryExtensions.merge(targetDir, dir1);
+
+			// Verification
+			File expectedFile1 = new File(new File(targetDir, "subdir"), "file1.txt");
+			assertTrue(expectedFile1.exists(), "File should exist in subdirectory");
+			assertFalse(new File(new File(new File(targetDir, "subdir"), "cycle"), "subdir")
+				.exists(), "The symbolic link cycle should not be merged");
+		}
+		finally
+		{
+			// Cleanup
+			Files.deleteIfExists(cycle.toPath());
+			DeleteFileExtensions.delete(dir1);
+			DeleteFileExtensions.delete(targetDir);
+		}
+	}
+
 	/**
 	 * Test method for {@link MergeDirectoryExtensions#merge(File, File...)}
 	 *
@@ -0,0 +1,144 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link AncestorDirectories}
+ */
+public class AncestorDirectoriesTest extends FileTestCase
+{
+
+	File testFile1;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testAncestorDirectories1.txt");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+	}
+
+	/**
+	 * Test method for {@link AncestorDirectories#enter(File)}
+	 */
+	@Test
+	public void testEnterFile()
+	{
+		final AncestorDirectories empty = new AncestorDirectories(true);
+		assertTrue(empty.isFollowLinks());
+		assertEquals(0, empty.size());
+		assertNull(empty.getKey());
+		final AncestorDirectories root = empty.enter(this.testDir);
+		assertNotNull(root);
+		assertEquals(1, root.size());
+		assertNotNull(root.getKey());
+		assertNull(root.enter(this.testDir));
+		final AncestorDirectories deep = root.enter(this.deepDir);
+		assertEquals(2, deep.size());
+		// the same directory with another path is on the path already
+		assertNull(deep.enter(new File(this.deepDir, "..")));
+		// a sibling directory is not an ancestor
+		assertNotNull(deep.enter(this.deepDir2));
+		assertNotNull(root.enter(this.deepDir2));
+		assertNull(root.enter(testFile1));
+		assertNull(root.enter(new File(this.testDir, "none")));
+		// an instance is immutable
+		assertEquals(1, root.size());
+	}
+
+	/**
+	 * Test method for {@link AncestorDirectories#enter(FileAttributeSnapshot)}
+	 */
+	@Test
+	public void testEnterFileAttributeSnapshot()
+	{
+		final AncestorDirectories deeper = new AncestorDirectories(true)
+			.enter(FileAttributeSnapshot.of(this.deeperDir));
+		assertNotNull(deeper);
+		assertNull(deeper.enter(this.deeperDir.toPath()));
+		assertNull(deeper.enter(FileAttributeSnapshot.of(testFile1)));
+		assertEquals(1, deeper.size());
+	}
+
+	/**
+	 * Test method for {@link AncestorDirectories#enter(java.nio.file.Path)} with symbolic links
+	 */
+	@Test
+	public void testEnterSymbolicLink() throws IOException
+	{
+		final File cycle = new File(this.deeperDir, "cycle");
+		final File sibling = new File(this.deeperDir, "sibling");
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), this.testDir.getAbsoluteFile().toPath());
+			Files.createSymbolicLink(sibling.toPath(), this.deepDir2.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			final AncestorDirectories following = new AncestorDirectories(true)
+				.enter(this.testDir.toPath()).enter(this.deepDir).enter(this.deeperDir);
+			// the link points to an ancestor directory
+			assertNull(following.enter(cycle.toPath()));
+			// the link points to a directory that is not an ancestor
+			assertEquals(4, following.enter(sibling.toPath()).size());
+
+			final AncestorDirectories notFollowing = new AncestorDirectories(false);
+			assertFalse(notFollowing.isFollowLinks());
+			// a link is never entered if links are not followed
+			assertNull(notFollowing.enter(cycle.toPath()));
+			assertNull(notFollowing.enter(sibling.toPath()));
+			assertEquals(1, notFollowing.enter(this.testDir.toPath()).size());
+		}
+		finally
+		{
+			Files.deleteIfExists(cycle.toPath());
+			Files.deleteIfExists(sibling.toPath());
+		}
+	}
+
+}
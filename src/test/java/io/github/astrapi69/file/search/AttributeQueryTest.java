@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link AttributeQuery}
+ */
+public class AttributeQueryTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	FileAttributeSnapshot snapshot1;
+	FileAttributeSnapshot snapshot2;
+	FileAttributeSnapshot directory;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "attributeQuery1.txt");
+		testFile2 = new File(this.deepDir, "attributeQuery2.log");
+		StoreFileExtensions.toFile(testFile1, "12345");
+		StoreFileExtensions.toFile(testFile2, "1234567890");
+		testFile1.setLastModified(1_000_000_000_000L);
+		testFile2.setLastModified(1_000_000_010_000L);
+		snapshot1 = FileAttributeSnapshot.of(testFile1);
+		snapshot2 = FileAttributeSnapshot.of(testFile2);
+		directory = FileAttributeSnapshot.of(this.deepDir);
+	}
+
+	/**
+	 * Test method for {@link AttributeQuery#lengthBetween(long, long)},
+	 * {@link AttributeQuery#modifiedBetween(long, long)} and
+	 * {@link AttributeQuery#and(AttributeQuery)} of range queries
+	 */
+	@Test
+	public void testRanges()
+	{
+		final AttributeQuery length = AttributeQuery.lengthBetween(5L, 9L);
+		assertTrue(length.matches(snapshot1));
+		assertFalse(length.matches(snapshot2));
+		final AttributeQuery modified = AttributeQuery.modifiedBetween(1_000_000_005_000L,
+			1_000_000_010_000L);
+		assertFalse(modified.matches(snapshot1));
+		assertTrue(modified.matches(snapshot2));
+		// the ranges are merged in one range
+		final AttributeQuery merged = AttributeQuery.lengthBetween(1L, 20L).and(modified)
+			.and(AttributeQuery.lengthBetween(10L, 100L));
+		assertEquals("AttributeQuery(length in [10, 20] and lastModified in [1000000005000, "
+			+ "1000000010000])", merged.toString());
+		assertFalse(merged.matches(snapshot1));
+		assertTrue(merged.matches(snapshot2));
+		assertEquals(merged.toString(), AttributeQuery.ALL.and(merged).toString());
+		assertFalse(merged.isPosixAttributes());
+	}
+
+	/**
+	 * Test method for {@link AttributeQuery#and(AttributeQuery)},
+	 * {@link AttributeQuery#or(AttributeQuery)} and {@link AttributeQuery#negate()}
+	 */
+	@Test
+	public void testCombinations()
+	{
+		final AttributeQuery query = AttributeQuery.REGULAR_FILES
+			.and(AttributeQuery.filename(FilenameQuery.extensions("txt")))
+			.or(AttributeQuery.DIRECTORIES);
+		assertTrue(query.matches(snapshot1));
+		assertFalse(query.matches(snapshot2));
+		assertTrue(query.matches(directory));
+		assertFalse(query.negate().matches(snapshot1));
+		assertTrue(query.negate().matches(snapshot2));
+		assertTrue(AttributeQuery.ALL.matches(directory));
+	}
+
+	/**
+	 * Test method for {@link AttributeQuery#owner(String)} and
+	 * {@link AttributeQuery#permissions(PosixFilePermission...)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testPosixAttributes() throws IOException
+	{
+		final AttributeQuery owner = AttributeQuery.owner("nobody");
+		final AttributeQuery executable = AttributeQuery
+			.permissions(PosixFilePermission.OWNER_EXECUTE);
+		assertTrue(owner.isPosixAttributes());
+		assertTrue(executable.or(AttributeQuery.ALL).isPosixAttributes());
+		assertTrue(executable.negate().isPosixAttributes());
+		// the basic attributes have no owner and no permissions
+		assertFalse(executable.matches(snapshot1));
+		assertFalse(owner.matches(snapshot1));
+
+		Assumptions.assumeTrue(
+			FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Files.setPosixFilePermissions(testFile1.toPath(),
+			PosixFilePermissions.fromString("rwxr-----"));
+		Files.setPosixFilePermissions(testFile2.toPath(),
+			PosixFilePermissions.fromString("rw-r-----"));
+		final PosixFileAttributes attributes = Files.readAttributes(testFile1.toPath(),
+			PosixFileAttributes.class);
+		final FileAttributeSnapshot posix1 = FileAttributeSnapshot.of(testFile1, attributes);
+		final FileAttributeSnapshot posix2 = FileAttributeSnapshot.of(testFile2,
+			Files.readAttributes(testFile2.toPath(), PosixFileAttributes.class));
+		assertTrue(executable.matches(posix1));
+		assertFalse(executable.matches(posix2));
+		assertTrue(AttributeQuery.owner(attributes.owner().getName()).matches(posix2));
+
+		final AttributeQuery query = AttributeQuery.REGULAR_FILES
+			.and(AttributeQuery.owner(attributes.owner().getName())).and(executable);
+		assertEquals(Arrays.asList(testFile1.getAbsoluteFile()),
+			FileSearchExtensions.findFilesRecursive(this.testDir, query));
+		assertEquals(new HashSet<>(Arrays.asList(testFile1.getAbsoluteFile())),
+			new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, query,
+				DirectoryWalker.parallel())));
+	}
+
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ContentQuery}
+ */
+public class ContentQueryTest
+{
+
+	/**
+	 * Runs the automaton of the given query over the given text
+	 *
+	 * @param query
+	 *            the query
+	 * @param text
+	 *            the text
+	 * @return the matched literals with the offsets where they end
+	 */
+	private static List<String> run(final ContentQuery query, final String text)
+	{
+		final List<String> actual = new ArrayList<>();
+		final byte[] bytes = text.getBytes(query.getCharset());
+		int state = 0;
+		for (int i = 0; i < bytes.length; i++)
+		{
+			state = query.next(state, bytes[i]);
+			final int[] outputs = query.getOutputs(state);
+			if (outputs != null)
+			{
+				for (final int literal : outputs)
+				{
+					actual.add(query.getLiteral(literal) + "@" + i);
+				}
+			}
+		}
+		return actual;
+	}
+
+	/**
+	 * Test method for {@link ContentQuery#literals(String...)} with overlapping literals
+	 */
+	@Test
+	public void testLiterals()
+	{
+		final ContentQuery query = ContentQuery.literals("he", "she", "his", "hers");
+		assertTrue(query.hasLiterals());
+		assertEquals(0, query.getPatterns().length);
+		assertEquals(StandardCharsets.UTF_8, query.getCharset());
+		assertEquals(Arrays.asList("she@3", "he@3", "hers@5"), run(query, "ushers"));
+		assertEquals(Arrays.asList("his@3"), run(query, "this"));
+		assertTrue(run(query, "nothing to find").isEmpty());
+		assertNull(query.getOutputs(0));
+	}
+
+	/**
+	 * Test method for {@link ContentQuery#literals(java.nio.charset.Charset, String...)} with non
+	 * ASCII literals
+	 */
+	@Test
+	public void testLiteralsWithCharset()
+	{
+		ContentQuery query = ContentQuery.literals("äöü");
+		assertEquals(6, query.getLiteralLength(0));
+		assertEquals(Arrays.asList("äöü@8"), run(query, "ab äöü"));
+
+		query = ContentQuery.literals(StandardCharsets.ISO_8859_1, "äöü");
+		assertEquals(3, query.getLiteralLength(0));
+		assertEquals(Arrays.asList("äöü@5"), run(query, "ab äöü"));
+	}
+
+	/**
+	 * Test method for {@link ContentQuery#regex(java.nio.charset.Charset, Pattern...)}
+	 */
+	@Test
+	public void testRegex()
+	{
+		final Pattern pattern = Pattern.compile("fo+");
+		final ContentQuery query = ContentQuery.regex(StandardCharsets.UTF_8, pattern);
+		assertFalse(query.hasLiterals());
+		assertArrayEquals(new Pattern[] { pattern }, query.getPatterns());
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentQuery#ContentQuery(java.nio.charset.Charset, java.util.Collection, java.util.Collection)}
+	 * with invalid arguments
+	 */
+	@Test
+	public void testInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> new ContentQuery(StandardCharsets.UTF_8, new ArrayList<>(), new ArrayList<>()));
+		assertThrows(IllegalArgumentException.class, () -> ContentQuery.literals(""));
+		assertThrows(IllegalArgumentException.class, () -> ContentQuery.literals("a\nb"));
+		assertThrows(IllegalArgumentException.class,
+			() -> ContentQuery.literals(StandardCharsets.US_ASCII, "ä"));
+		assertThrows(IllegalArgumentException.class,
+			() -> ContentQuery.literals(StandardCharsets.UTF_16, "a"));
+	}
+
+}
@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link ContentSearchExtensions}
+ */
+public class ContentSearchExtensionsTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "content1.txt");
+		testFile2 = new File(this.deepDir, "content2.txt");
+		testFile3 = new File(this.deeperDir, "content3.log");
+		StoreFileExtensions.toFile(testFile1, "foo bar\r\nno match\nbar and foo foo");
+		StoreFileExtensions.toFile(testFile2, "nothing\nfoobar\n");
+		StoreFileExtensions.toFile(testFile3, "foo in a log file\n");
+	}
+
+	/**
+	 * Test method for {@link ContentSearchExtensions#search(File, ContentQuery)} with literals
+	 */
+	@Test
+	public void testSearchFileWithLiterals() throws IOException
+	{
+		final List<ContentMatch> actual = ContentSearchExtensions.search(testFile1,
+			ContentQuery.literals("foo", "bar"));
+		assertEquals(Arrays.asList(new ContentMatch(testFile1, "foo", 1L, 0L, "foo bar"),
+			new ContentMatch(testFile1, "bar", 1L, 4L, "foo bar"),
+			new ContentMatch(testFile1, "bar", 3L, 18L, "bar and foo foo"),
+			new ContentMatch(testFile1, "foo", 3L, 26L, "bar and foo foo"),
+			new ContentMatch(testFile1, "foo", 3L, 30L, "bar and foo foo")), actual);
+		assertTrue(
+			ContentSearchExtensions.search(testFile1, ContentQuery.literals("baz")).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ContentSearchExtensions#search(File, ContentQuery)} with regular
+	 * expressions and multibyte characters
+	 */
+	@Test
+	public void testSearchFileWithRegex() throws IOException
+	{
+		final File file = new File(this.testDir, "content.utf8");
+		Files.write(file.toPath(), "äb fooo\nfo".getBytes(StandardCharsets.UTF_8));
+		final List<ContentMatch> actual = ContentSearchExtensions.search(file,
+			new ContentQuery(StandardCharsets.UTF_8, Arrays.asList("b"),
+				Arrays.asList(Pattern.compile("fo+"))));
+		assertEquals(Arrays.asList(new ContentMatch(file, "b", 1L, 2L, "äb fooo"),
+			new ContentMatch(file, "fo+", 1L, 4L, "äb fooo"),
+			new ContentMatch(file, "fo+", 2L, 9L, "fo")), actual);
+	}
+
+	/**
+	 * Test method for {@link ContentSearchExtensions#search(File, ContentQuery, int, long)} with
+	 * lines and literals across the chunks
+	 */
+	@Test
+	public void testSearchFileWithSmallChunks() throws IOException
+	{
+		final ContentQuery query = new ContentQuery(StandardCharsets.UTF_8,
+			Arrays.asList("foo", "bar"), Arrays.asList(Pattern.compile("a.d")));
+		final List<ContentMatch> expected = ContentSearchExtensions.search(testFile1, query);
+		assertEquals(6, expected.size());
+		for (int chunkSize = 1; chunkSize < 8; chunkSize++)
+		{
+			assertEquals(expected,
+				ContentSearchExtensions.search(testFile1, query, chunkSize, Long.MAX_VALUE));
+			assertEquals(expected, ContentSearchExtensions.search(testFile1, query, chunkSize, 0L));
+		}
+	}
+
+	/**
+	 * Test method for {@link ContentSearchExtensions#search(File, ContentQuery, int, long, int)}
+	 * with a line that is longer than the maximum line length and spans several chunks
+	 */
+	@Test
+	public void testSearchFileWithLongLine() throws IOException
+	{
+		final File file = new File(this.testDir, "longline.txt");
+		final String before = "x".repeat(1000);
+		final String after = "y".repeat(1000);
+		StoreFileExtensions.toFile(file, "first\n" + before + "foo" + after + "\nfoo");
+		final ContentQuery query = new ContentQuery(StandardCharsets.UTF_8,
+			Arrays.asList("foo"), Arrays.asList(Pattern.compile("x+")));
+		final String context = "x".repeat(ContentSearchExtensions.CONTEXT_LENGTH) + "foo"
+			+ "y".repeat(ContentSearchExtensions.CONTEXT_LENGTH);
+		final List<ContentMatch> expected = Arrays.asList(
+			new ContentMatch(file, "foo", 2L, 1006L, context),
+			new ContentMatch(file, "foo", 3L, 2010L, "foo"));
+		for (final int chunkSize : new int[] { 7, 64, 4096 })
+		{
+			assertEquals(expected,
+				ContentSearchExtensions.search(file, query, chunkSize, Long.MAX_VALUE, 100));
+			assertEquals(expected, ContentSearchExtensions.search(file, query, chunkSize, 0L, 100));
+		}
+		final List<ContentMatch> actual = ContentSearchExtensions.search(file, query, 64, 0L,
+			ContentSearchExtensions.MAX_LINE_LENGTH);
+		assertEquals(3, actual.size());
+		assertEquals(new ContentMatch(file, "x+", 2L, 6L, before + "foo" + after), actual.get(0));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentSearchExtensions#search(java.util.Collection, ContentQuery, boolean)}
+	 */
+	@Test
+	public void testSearchCollection()
+	{
+		final ContentQuery query = ContentQuery.literals("foo");
+		final List<File> files = Arrays.asList(testFile1, testFile2, testFile3,
+			new File(this.testDir, "none.txt"));
+		final List<ContentMatch> expected = ContentSearchExtensions.search(files, query, false)
+			.collect(Collectors.toList());
+		assertEquals(5, expected.size());
+		assertEquals(expected,
+			ContentSearchExtensions.search(files, query, true).collect(Collectors.toList()));
+		assertTrue(ContentSearchExtensions.search(Collections.emptyList(), query, true)
+			.findAny().isEmpty());
+	}
+
+	/**
+	 * Test method for
+	 * {@link ContentSearchExtensions#search(File, FilenameQuery, ContentQuery, boolean)}
+	 */
+	@Test
+	public void testSearchDirectory()
+	{
+		final List<File> actual = ContentSearchExtensions
+			.search(this.testDir, FilenameQuery.extensions(".txt"), ContentQuery.literals("foo"),
+				true)
+			.map(ContentMatch::getFile).distinct().sorted(Comparator.comparing(File::getName))
+			.collect(Collectors.toList());
+		assertEquals(Arrays.asList(testFile1, testFile2), actual);
+	}
+
+	/**
+	 * Test method for {@link ContentSearchExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ContentSearchExtensions.class);
+	}
+
+}
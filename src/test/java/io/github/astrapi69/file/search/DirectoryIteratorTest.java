@@ -0,0 +1,169 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DirectoryIterator}
+ */
+public class DirectoryIteratorTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testDirectoryIterator1.txt").getAbsoluteFile();
+		testFile2 = new File(this.deepDir, "testDirectoryIterator2.txt").getAbsoluteFile();
+		testFile3 = new File(this.deeperDir, "testDirectoryIterator3.cvs").getAbsoluteFile();
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+	}
+
+	/**
+	 * Test method for {@link DirectoryIterator#close()}
+	 */
+	@Test
+	public void testClose()
+	{
+		final DirectoryIterator iterator = new DirectoryIterator(this.testDir);
+		assertTrue(iterator.hasNext());
+		iterator.next();
+		iterator.close();
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, iterator::next);
+	}
+
+	/**
+	 * Test method for {@link DirectoryIterator#hasNext()} and {@link DirectoryIterator#next()}
+	 */
+	@Test
+	public void testIterate()
+	{
+		final List<File> actual = new ArrayList<>();
+		try (DirectoryIterator iterator = new DirectoryIterator(this.testDir))
+		{
+			while (iterator.hasNext())
+			{
+				final FileAttributeSnapshot entry = iterator.next();
+				// every directory is returned before its content
+				if (entry.getFile().getParentFile().equals(this.testDir.getAbsoluteFile()))
+				{
+					assertFalse(actual.contains(entry.getFile()));
+				}
+				else
+				{
+					assertTrue(actual.contains(entry.getFile().getParentFile()));
+				}
+				actual.add(entry.getFile());
+			}
+		}
+		assertEquals(
+			new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, true, "*")),
+			new HashSet<>(actual));
+		assertFalse(new DirectoryIterator(testFile1).hasNext());
+		assertFalse(new DirectoryIterator(new File(this.testDir, "none")).hasNext());
+	}
+
+	/**
+	 * Test method for {@link DirectoryIterator#hasNext()} and {@link DirectoryIterator#next()} with
+	 * a symbolic link that points back to the start directory
+	 */
+	@Test
+	public void testIterateWithSymbolicLinkCycle() throws IOException
+	{
+		final File cycle = new File(this.deeperDir, "cycle").getAbsoluteFile();
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), this.testDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try (Stream<FileAttributeSnapshot> stream = new DirectoryIterator(this.testDir).stream())
+		{
+			final List<File> actual = stream.map(FileAttributeSnapshot::getFile)
+				.collect(Collectors.toList());
+			// the link is returned but not entered
+			assertTrue(actual.contains(cycle));
+			assertTrue(actual.containsAll(Arrays.asList(testFile1, testFile2, testFile3)));
+			assertEquals(new HashSet<>(actual).size(), actual.size());
+			assertFalse(actual.contains(new File(cycle, testFile1.getName())));
+		}
+		finally
+		{
+			Files.deleteIfExists(cycle.toPath());
+		}
+	}
+
+	/**
+	 * Test method for {@link DirectoryIterator#stream()}
+	 */
+	@Test
+	public void testStream()
+	{
+		try (Stream<FileAttributeSnapshot> stream = new DirectoryIterator(this.testDir).stream())
+		{
+			assertEquals(1, stream.filter(entry -> entry.getFile().equals(testFile3)).count());
+		}
+		try (Stream<FileAttributeSnapshot> stream = new DirectoryIterator(this.testDir).stream())
+		{
+			assertEquals(new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*")),
+				stream.filter(FileAttributeSnapshot::isRegularFile)
+					.map(FileAttributeSnapshot::getFile).collect(Collectors.toSet()));
+		}
+	}
+
+}
@@ -0,0 +1,327 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DirectoryWalker}
+ */
+public class DirectoryWalkerTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testDirectoryWalker1.txt").getAbsoluteFile();
+		testFile2 = new File(this.deepDir, "testDirectoryWalker2.txt").getAbsoluteFile();
+		testFile3 = new File(this.deeperDir, "testDirectoryWalker3.cvs").getAbsoluteFile();
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#findFiles(File, java.util.function.Predicate)}
+	 */
+	@Test
+	public void testFindFiles()
+	{
+		final List<File> expected = new ArrayList<>();
+		expected.add(testFile1);
+		expected.add(testFile2);
+		expected.add(testFile3);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (final DirectoryWalker walker : new DirectoryWalker[] { DirectoryWalker.SEQUENTIAL,
+					DirectoryWalker.parallel(pool) })
+			{
+				final List<File> actual = walker.findFiles(this.testDir,
+					FileAttributeSnapshot::isRegularFile);
+				assertEquals(expected.size(), actual.size());
+				assertTrue(actual.containsAll(expected));
+				assertTrue(walker.findFiles(testFile1, entry -> true).isEmpty());
+				assertTrue(walker.findFiles(new File(this.testDir, "none"), entry -> true)
+					.isEmpty());
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#findSnapshots(File, java.util.function.Predicate)}
+	 */
+	@Test
+	public void testFindSnapshots()
+	{
+		final List<FileAttributeSnapshot> actual = DirectoryWalker.SEQUENTIAL
+			.findSnapshots(this.testDir, FileAttributeSnapshot::isDirectory);
+		final Set<File> directories = new HashSet<>();
+		for (final FileAttributeSnapshot snapshot : actual)
+		{
+			directories.add(snapshot.getFile());
+			assertTrue(snapshot.getFile().isDirectory());
+		}
+		assertTrue(directories.contains(this.deepDir.getAbsoluteFile()));
+		assertTrue(directories.contains(this.deeperDir.getAbsoluteFile()));
+		assertEquals(new HashSet<>(actual), new HashSet<>(DirectoryWalker.parallel()
+			.findSnapshots(this.testDir, FileAttributeSnapshot::isDirectory)));
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#isParallel()}
+	 */
+	@Test
+	public void testIsParallel()
+	{
+		assertFalse(DirectoryWalker.SEQUENTIAL.isParallel());
+		assertTrue(DirectoryWalker.parallel().isParallel());
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#walk(File, PruneRule, java.util.function.Predicate,
+	 * java.util.function.Consumer)} with a symbolic link that points back to the start directory
+	 */
+	@Test
+	public void testWalkWithSymbolicLinkCycle() throws IOException
+	{
+		final File cycle = new File(this.deeperDir, "cycle").getAbsoluteFile();
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), this.testDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (final DirectoryWalker walker : new DirectoryWalker[] { DirectoryWalker.SEQUENTIAL,
+					DirectoryWalker.parallel(pool) })
+			{
+				final List<File> actual = walker.findFiles(this.testDir,
+					FileAttributeSnapshot::isRegularFile);
+				assertEquals(3, actual.size());
+				assertTrue(actual.containsAll(Arrays.asList(testFile1, testFile2, testFile3)));
+				// the link is passed to the sink but not entered
+				assertTrue(walker.findFiles(this.testDir, FileAttributeSnapshot::isDirectory)
+					.contains(cycle));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+			Files.deleteIfExists(cycle.toPath());
+		}
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#walk(File, PruneRule, java.util.function.Predicate,
+	 * java.util.function.Consumer)} with a symbolic link to a directory that is not a parent
+	 * directory
+	 */
+	@Test
+	public void testWalkWithSymbolicLinkToSibling() throws IOException
+	{
+		final File link = new File(this.testDir, "linkToDeeperDir").getAbsoluteFile();
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), this.deeperDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (final DirectoryWalker walker : new DirectoryWalker[] { DirectoryWalker.SEQUENTIAL,
+					DirectoryWalker.parallel(pool) })
+			{
+				// the directory is walked through both paths, the link does not form a cycle
+				final List<File> actual = walker.findFiles(this.testDir,
+					FileAttributeSnapshot::isRegularFile);
+				assertEquals(4, actual.size());
+				assertTrue(actual.containsAll(Arrays.asList(testFile1, testFile2, testFile3,
+					new File(link, testFile3.getName()))));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+			Files.deleteIfExists(link.toPath());
+		}
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#withFollowLinks(boolean)} and
+	 * {@link DirectoryWalker#isFollowLinks()}
+	 */
+	@Test
+	public void testWithFollowLinks() throws IOException
+	{
+		assertTrue(DirectoryWalker.SEQUENTIAL.isFollowLinks());
+		assertSame(DirectoryWalker.SEQUENTIAL, DirectoryWalker.SEQUENTIAL.withFollowLinks(true));
+		final DirectoryWalker walker = DirectoryWalker.parallel().withPosixAttributes()
+			.withFollowLinks(false);
+		assertFalse(walker.isFollowLinks());
+		assertTrue(walker.isParallel());
+		assertTrue(walker.isPosixAttributes());
+		assertTrue(walker.withFollowLinks(true).isFollowLinks());
+
+		final File secondFile = new File(this.secondTestDir, "testDirectoryWalker4.txt");
+		StoreFileExtensions.toFile(secondFile, "Its a beautifull morning!!!");
+		final File link = new File(this.testDir, "linkToSecondTestDir").getAbsoluteFile();
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), this.secondTestDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			// the followed link is a directory with the content of its target
+			final List<FileAttributeSnapshot> followed = DirectoryWalker.SEQUENTIAL
+				.findSnapshots(this.testDir, entry -> entry.getFile().equals(link));
+			assertEquals(1, followed.size());
+			assertTrue(followed.get(0).isDirectory());
+			assertTrue(DirectoryWalker.SEQUENTIAL
+				.findFiles(this.testDir, FileAttributeSnapshot::isRegularFile)
+				.contains(new File(link, secondFile.getName())));
+			// the link that is not followed is a link without content
+			final List<FileAttributeSnapshot> notFollowed = walker.findSnapshots(this.testDir,
+				entry -> entry.getFile().equals(link));
+			assertEquals(1, notFollowed.size());
+			assertTrue(notFollowed.get(0).isSymbolicLink());
+			assertFalse(notFollowed.get(0).isDirectory());
+			final List<File> actual = walker.findFiles(this.testDir,
+				FileAttributeSnapshot::isRegularFile);
+			assertEquals(3, actual.size());
+			assertTrue(actual.containsAll(Arrays.asList(testFile1, testFile2, testFile3)));
+		}
+		finally
+		{
+			Files.deleteIfExists(link.toPath());
+		}
+	}
+
+	/**
+	 * Test method for {@link DirectoryWalker#withPosixAttributes()} and
+	 * {@link DirectoryWalker#isPosixAttributes()}
+	 */
+	@Test
+	public void testWithPosixAttributes()
+	{
+		assertFalse(DirectoryWalker.SEQUENTIAL.isPosixAttributes());
+		final DirectoryWalker walker = DirectoryWalker.parallel().withPosixAttributes();
+		assertTrue(walker.isPosixAttributes());
+		assertTrue(walker.isParallel());
+		assertSame(walker, walker.withPosixAttributes());
+		assertTrue(DirectoryWalker.SEQUENTIAL.withPosixAttributes().isPosixAttributes());
+		assertFalse(DirectoryWalker.SEQUENTIAL.withPosixAttributes().isParallel());
+
+		for (final FileAttributeSnapshot snapshot : DirectoryWalker.SEQUENTIAL
+			.findSnapshots(this.testDir, entry -> true))
+		{
+			assertNull(snapshot.getOwner());
+			assertNull(snapshot.getPermissions());
+		}
+		Assumptions.assumeTrue(
+			FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		final List<FileAttributeSnapshot> actual = walker.findSnapshots(this.testDir,
+			entry -> true);
+		assertEquals(
+			DirectoryWalker.SEQUENTIAL.findSnapshots(this.testDir, entry -> true).size(),
+			actual.size());
+		for (final FileAttributeSnapshot snapshot : actual)
+		{
+			assertNotNull(snapshot.getOwner());
+			assertTrue(snapshot.getPermissions().contains(PosixFilePermission.OWNER_READ));
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link DirectoryWalker#walk(File, java.util.function.Predicate, java.util.function.Consumer)}
+	 */
+	@Test
+	public void testWalk()
+	{
+		final Set<File> visited = ConcurrentHashMap.newKeySet();
+		DirectoryWalker.parallel().walk(this.testDir,
+			entry -> entry.getFile().getName().endsWith(".txt"),
+			entry -> visited.add(entry.getFile()));
+		final Set<File> expected = new HashSet<>();
+		expected.add(testFile1);
+		expected.add(testFile2);
+		assertEquals(expected, visited);
+		// exceptions of the sink are not swallowed
+		assertThrows(IllegalStateException.class,
+			() -> DirectoryWalker.parallel().walk(this.testDir, entry -> true, entry -> {
+				throw new IllegalStateException();
+			}));
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link DiskUsageExtensions}
+ */
+public class DiskUsageExtensionsTest extends FileTestCase
+{
+
+	File root;
+	File subDir;
+	File subSubDir;
+	File emptyDir;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		root = new File(this.testDir.getAbsoluteFile(), "diskUsage");
+		subDir = new File(root, "sub");
+		subSubDir = new File(subDir, "subSub");
+		emptyDir = new File(root, "empty");
+		subSubDir.mkdirs();
+		emptyDir.mkdirs();
+		StoreFileExtensions.toFile(new File(root, "a.txt"), "12345");
+		StoreFileExtensions.toFile(new File(subDir, "b.txt"), "1234567890");
+		StoreFileExtensions.toFile(new File(subSubDir, "c.txt"), "123");
+		StoreFileExtensions.toFile(new File(subSubDir, "d.txt"), "");
+	}
+
+	/**
+	 * Test method for {@link DiskUsageExtensions#computeDiskUsage(File)}
+	 */
+	@Test
+	public void testComputeDiskUsage()
+	{
+		final Map<File, DiskUsage> actual = DiskUsageExtensions.computeDiskUsage(root);
+		assertEquals(Arrays.asList(root, emptyDir, subDir, subSubDir),
+			new ArrayList<>(actual.keySet()));
+		final DiskUsage rootUsage = actual.get(root);
+		assertEquals(0, rootUsage.getDepth());
+		assertEquals(4L, rootUsage.getFileCount());
+		assertEquals(3L, rootUsage.getDirectoryCount());
+		assertEquals(18L, rootUsage.getLength());
+		assertEquals(0L, rootUsage.getAllocatedBytes() % 512L);
+		assertTrue(18L <= rootUsage.getAllocatedBytes());
+		assertEquals(new DiskUsage(emptyDir, 1, 0L, 0L, 0L, 0L), actual.get(emptyDir));
+		final DiskUsage subUsage = actual.get(subDir);
+		assertEquals(1, subUsage.getDepth());
+		assertEquals(3L, subUsage.getFileCount());
+		assertEquals(1L, subUsage.getDirectoryCount());
+		assertEquals(13L, subUsage.getLength());
+		final DiskUsage subSubUsage = actual.get(subSubDir);
+		assertEquals(2, subSubUsage.getDepth());
+		assertEquals(2L, subSubUsage.getFileCount());
+		assertEquals(3L, subSubUsage.getLength());
+		assertEquals(subSubUsage.getAllocatedBytes(),
+			DiskUsageExtensions.toAllocatedBytes(3L, subSubUsage.getAllocatedBytes()));
+
+		assertTrue(DiskUsageExtensions.computeDiskUsage(new File(root, "a.txt")).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link DiskUsageExtensions#computeDiskUsage(File, int, DirectoryWalker)}
+	 * and {@link DiskUsageExtensions#computeDiskUsage(File, int, PruneRule, DirectoryWalker)}
+	 */
+	@Test
+	public void testComputeDiskUsageWithDepth()
+	{
+		final Map<File, DiskUsage> expected = DiskUsageExtensions.computeDiskUsage(root);
+		Map<File, DiskUsage> actual = DiskUsageExtensions.computeDiskUsage(root, 1,
+			DirectoryWalker.parallel());
+		assertEquals(Arrays.asList(root, emptyDir, subDir), new ArrayList<>(actual.keySet()));
+		assertEquals(expected.get(root), actual.get(root));
+		assertEquals(expected.get(subDir), actual.get(subDir));
+
+		// the subdirectories of the depth 1 are counted but not entered
+		actual = DiskUsageExtensions.computeDiskUsage(root, 1, PruneRule.maxDepth(1),
+			DirectoryWalker.SEQUENTIAL);
+		assertEquals(new DiskUsage(subDir, 1, 0L, 0L, 0L, 0L), actual.get(subDir));
+		assertEquals(1L, actual.get(root).getFileCount());
+		assertEquals(2L, actual.get(root).getDirectoryCount());
+
+		assertThrows(IllegalArgumentException.class,
+			() -> DiskUsageExtensions.computeDiskUsage(root, -1, DirectoryWalker.SEQUENTIAL));
+	}
+
+	/**
+	 * Test method for
+	 * {@link DiskUsageExtensions#computeDiskUsage(java.util.Collection, DirectoryWalker)} and
+	 * {@link DiskUsageExtensions#getDiskUsage(File, DirectoryWalker)}
+	 */
+	@Test
+	public void testGetDiskUsage()
+	{
+		final Map<File, DiskUsage> expected = DiskUsageExtensions.computeDiskUsage(root);
+		final File none = new File(root, "none");
+		final Map<File, DiskUsage> actual = DiskUsageExtensions
+			.computeDiskUsage(Arrays.asList(subDir, none, root), DirectoryWalker.parallel());
+		assertEquals(Arrays.asList(subDir, root), new ArrayList<>(actual.keySet()));
+		assertEquals(expected.get(root), actual.get(root));
+		assertEquals(
+			new DiskUsage(subDir, 0, 3L, 1L, 13L, expected.get(subDir).getAllocatedBytes()),
+			actual.get(subDir));
+		assertNull(DiskUsageExtensions.getDiskUsage(none, DirectoryWalker.SEQUENTIAL));
+	}
+
+	/**
+	 * Test method for {@link DiskUsageExtensions#toAllocatedBytes(long, long)}
+	 */
+	@Test
+	public void testToAllocatedBytes()
+	{
+		assertEquals(0L, DiskUsageExtensions.toAllocatedBytes(0L, 4096L));
+		assertEquals(4096L, DiskUsageExtensions.toAllocatedBytes(1L, 4096L));
+		assertEquals(4096L, DiskUsageExtensions.toAllocatedBytes(4096L, 4096L));
+		assertEquals(8192L, DiskUsageExtensions.toAllocatedBytes(4097L, 4096L));
+	}
+
+	/**
+	 * Test method for {@link DiskUsageExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(DiskUsageExtensions.class);
+	}
+
+}
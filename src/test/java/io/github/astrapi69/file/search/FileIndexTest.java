@@ -0,0 +1,202 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.collection.list.ListFactory;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link FileIndex}
+ */
+public class FileIndexTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testFileIndex1.txt").getAbsoluteFile();
+		testFile2 = new File(this.deepDir, "testFileIndex2.txt").getAbsoluteFile();
+		testFile3 = new File(this.deeperDir, "testFileIndex3.cvs").getAbsoluteFile();
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+		testFile3.setLastModified(1_000_000_000_000L);
+	}
+
+	/**
+	 * Test method for {@link FileIndex#build(File)} and the find methods
+	 */
+	@Test
+	public void testBuildAndFind()
+	{
+		final FileIndex index = FileIndex.build(this.testDir);
+		assertEquals(this.testDir.getAbsoluteFile(), index.getRootDirectory());
+		assertEquals(new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*")),
+			new HashSet<>(index.findFiles(FilenameQuery.ALL)));
+		assertEquals(ListFactory.newArrayList(testFile3),
+			index.findFiles(FilenameQuery.extensions("cvs")));
+		assertEquals(ListFactory.newArrayList(testFile2),
+			index.findFilesByLength(testFile2.length(), testFile2.length()));
+		assertEquals(ListFactory.newArrayList(testFile3),
+			index.findFilesByLastModified(0L, 1_000_000_000_000L));
+		final List<FileIndexEntry> directories = index.findEntries(FileIndexEntry::isDirectory);
+		assertTrue(directories.stream()
+			.anyMatch(entry -> entry.getFile().equals(this.deeperDir.getAbsoluteFile())));
+		assertEquals(directories.size() + 1, index.getDirectoryCount());
+		assertThrows(IllegalArgumentException.class, () -> FileIndex.build(testFile1));
+	}
+
+	/**
+	 * Test method for {@link FileIndex#save(File)} and {@link FileIndex#load(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSaveAndLoad() throws IOException
+	{
+		final FileIndex index = FileIndex.build(this.testDir);
+		final File indexFile = new File(this.secondTestDir, "index.bin");
+		index.save(indexFile);
+		final FileIndex loaded = FileIndex.load(indexFile);
+		assertEquals(index.getRootDirectory(), loaded.getRootDirectory());
+		assertEquals(index.getDirectoryCount(), loaded.getDirectoryCount());
+		assertEquals(index.getEntryCount(), loaded.getEntryCount());
+		assertEquals(new HashSet<>(index.findEntries(entry -> true)),
+			new HashSet<>(loaded.findEntries(entry -> true)));
+		// a loaded index refreshes nothing while the tree is unchanged
+		assertEquals(0, loaded.refresh());
+
+		StoreFileExtensions.toFile(indexFile, "no index");
+		assertThrows(IOException.class, () -> FileIndex.load(indexFile));
+	}
+
+	/**
+	 * Test method for {@link FileIndex#refresh()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRefresh() throws IOException
+	{
+		final FileIndex index = FileIndex.build(this.testDir);
+		assertEquals(0, index.refresh());
+
+		final File newFile = new File(this.deepDir, "testFileIndexNew.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newFile, "Its a new day!!!");
+		final File newDir = new File(this.deepDir, "newDir").getAbsoluteFile();
+		Files.createDirectory(newDir.toPath());
+		final File newDirFile = new File(newDir, "testFileIndexNewDir.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newDirFile, "Its a new day!!!");
+		// the time is set explicitly, because the resolution of the file system time is coarse
+		this.deepDir.setLastModified(this.deepDir.lastModified() + 2000L);
+
+		assertEquals(1, index.refresh());
+		assertTrue(index.findFiles(FilenameQuery.ALL).contains(newFile));
+		assertTrue(index.findFiles(FilenameQuery.ALL).contains(newDirFile));
+
+		DeleteFileExtensions.delete(this.deeperDir);
+		this.deepDir.setLastModified(this.deepDir.lastModified() + 2000L);
+		assertEquals(1, index.refresh());
+		assertFalse(index.findFiles(FilenameQuery.ALL).contains(testFile3));
+		assertEquals(new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*")),
+			new HashSet<>(index.findFiles(FilenameQuery.ALL)));
+	}
+
+	/**
+	 * Test method for {@link FileIndex#refresh()} with a file that is created in the same tick as
+	 * the scan of its directory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRefreshRacilyClean() throws IOException
+	{
+		final FileIndex index = FileIndex.build(this.testDir);
+		final File newFile = new File(this.deepDir, "testFileIndexRacy.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newFile, "Its a new day!!!");
+		assertEquals(1, index.refresh());
+		assertTrue(index.findFiles(FilenameQuery.ALL).contains(newFile));
+		// the time of the directory is restored, so only the scan time reveals the change
+		final File otherFile = new File(this.deepDir, "testFileIndexRacy2.txt").getAbsoluteFile();
+		final long lastModified = this.deepDir.lastModified();
+		StoreFileExtensions.toFile(otherFile, "Its a new day!!!");
+		this.deepDir.setLastModified(lastModified);
+		assertEquals(1, index.refresh());
+		assertTrue(index.findFiles(FilenameQuery.ALL).contains(otherFile));
+	}
+
+	/**
+	 * Test method for {@link FileIndex#startWatching()}
+	 *
+	 * @throws Exception
+	 *             is thrown if an error occurs
+	 */
+	@Test
+	public void testStartWatching() throws Exception
+	{
+		try (FileIndex index = FileIndex.build(this.testDir))
+		{
+			index.startWatching();
+			assertTrue(index.isWatching());
+			// a changed file does not change the time of its directory, only the watch sees it
+			StoreFileExtensions.toFile(testFile2, "Its a much longer beautifull evening!!!");
+			final long deadline = System.currentTimeMillis() + 10_000L;
+			while (index.findFilesByLength(testFile2.length(), testFile2.length()).isEmpty()
+				&& System.currentTimeMillis() < deadline)
+			{
+				Thread.sleep(50L);
+				index.refresh();
+			}
+			assertEquals(ListFactory.newArrayList(testFile2),
+				index.findFilesByLength(testFile2.length(), testFile2.length()));
+		}
+	}
+
+}
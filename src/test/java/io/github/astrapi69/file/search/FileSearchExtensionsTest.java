@@ -36,15 +36,21 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
 
 import io.github.astrapi69.collection.set.SetFactory;
+import io.github.astrapi69.file.FileAttributeSnapshot;
 import io.github.astrapi69.file.FileTestCase;
 import io.github.astrapi69.file.copy.CopyFileExtensions;
 import io.github.astrapi69.file.create.FileFactory;
@@ -422,6 +428,113 @@ public class FileSearchExtensionsTest extends FileTestCase
 		assertTrue(this.actual);
 	}
 
+	/**
+	 * Test method for {@link FileSearchExtensions#containsFileRecursive(File, File, boolean)}
+	 */
+	@Test
+	public void testContainsFileRecursiveCanonical() throws IOException
+	{
+		final File testFile = new File(this.deeperDir, "testContainsFileCanonical.txt");
+		StoreFileExtensions.toFile(testFile, "Its a beautifull day!!!");
+		final File dotted = new File(new File(this.deepDir, "."),
+			this.deeperDir.getName() + File.separator + testFile.getName());
+		final File currentDir = new File(".").getAbsoluteFile();
+
+		assertFalse(FileSearchExtensions.containsFileRecursive(this.testDir, dotted, false));
+		assertTrue(FileSearchExtensions.containsFileRecursive(this.testDir, dotted, true));
+		assertTrue(FileSearchExtensions.containsFileRecursive(currentDir, testFile, true));
+		assertFalse(FileSearchExtensions.containsFileRecursive(this.deeperDir, this.deeperDir,
+			true));
+		assertFalse(FileSearchExtensions.containsFileRecursive(this.testDir,
+			new File(this.deepDir, "none.txt"), true));
+		assertFalse(
+			FileSearchExtensions.containsFileRecursive(this.deepDir, this.secondTestDir, true));
+
+		final File link = new File(this.secondTestDir, "linkToDeeperDir");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), this.deeperDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			final File linked = new File(link, testFile.getName());
+			assertTrue(FileSearchExtensions.containsFileRecursive(this.secondTestDir, linked));
+			assertFalse(
+				FileSearchExtensions.containsFileRecursive(this.secondTestDir, linked, true));
+			assertTrue(FileSearchExtensions.containsFileRecursive(this.deepDir, linked, true));
+			// the link itself is not resolved
+			assertTrue(FileSearchExtensions.containsFileRecursive(this.secondTestDir, link, true));
+		}
+		finally
+		{
+			Files.delete(link.toPath());
+		}
+	}
+
+	/**
+	 * Test method for {@link FileSearchExtensions#findContainedFiles(File, java.util.Collection)}
+	 */
+	@Test
+	public void testFindContainedFiles() throws IOException
+	{
+		final File testFile1 = new File(this.testDir, "testFindContainedFiles.txt");
+		final File testFile2 = new File(this.deeperDir, "testFindContainedFiles.txt");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		final File missing = new File(this.deepDir, "none.txt");
+		final File outside = new File(".").getAbsoluteFile();
+
+		final List<File> candidates = Arrays.asList(testFile2, missing, this.deepDir, testFile1,
+			outside, this.testDir);
+		final Set<File> actual = FileSearchExtensions.findContainedFiles(this.testDir,
+			candidates);
+		assertEquals(Arrays.asList(testFile2, this.deepDir, testFile1), new ArrayList<>(actual));
+		for (final File candidate : candidates)
+		{
+			assertEquals(FileSearchExtensions.containsFileRecursive(this.testDir, candidate),
+				actual.contains(candidate));
+		}
+		assertTrue(FileSearchExtensions
+			.findContainedFiles(this.testDir, Arrays.asList(outside, missing)).isEmpty());
+		assertTrue(FileSearchExtensions
+			.findContainedFiles(missing, Arrays.asList(new File(missing, "a"))).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link FileSearchExtensions#findFilesRecursive(File, AttributeQuery)},
+	 * {@link FileSearchExtensions#findFilesRecursive(File, AttributeQuery, DirectoryWalker)} and
+	 * {@link FileSearchExtensions#findFileSnapshotsRecursive(File, AttributeQuery, DirectoryWalker)}
+	 */
+	@Test
+	public void testFindFilesRecursiveWithAttributeQuery() throws IOException
+	{
+		final File testFile1 = new File(this.testDir.getAbsoluteFile(), "attributes1.txt");
+		final File testFile2 = new File(this.deepDir.getAbsoluteFile(), "attributes2.txt");
+		final File testFile3 = new File(this.deeperDir.getAbsoluteFile(), "attributes3.txt");
+		StoreFileExtensions.toFile(testFile1, "1");
+		StoreFileExtensions.toFile(testFile2, "12345");
+		StoreFileExtensions.toFile(testFile3, "1234567890");
+		testFile3.setLastModified(1_000_000_000_000L);
+		final AttributeQuery query = AttributeQuery.REGULAR_FILES
+			.and(AttributeQuery.lengthBetween(2L, 100L));
+
+		List<File> actual = FileSearchExtensions.findFilesRecursive(this.testDir, query);
+		assertEquals(new HashSet<>(Arrays.asList(testFile2, testFile3)), new HashSet<>(actual));
+		actual = FileSearchExtensions.findFilesRecursive(this.testDir,
+			query.and(AttributeQuery.modifiedBetween(0L, 1_000_000_000_000L)),
+			DirectoryWalker.parallel());
+		assertEquals(Arrays.asList(testFile3), actual);
+		final List<FileAttributeSnapshot> snapshots = FileSearchExtensions
+			.findFileSnapshotsRecursive(this.testDir, query.negate(), DirectoryWalker.SEQUENTIAL);
+		assertTrue(snapshots.contains(FileAttributeSnapshot.of(testFile1)));
+		assertTrue(snapshots.contains(FileAttributeSnapshot.of(this.deepDir.getAbsoluteFile())));
+		assertFalse(snapshots.contains(FileAttributeSnapshot.of(testFile2)));
+	}
+
 	/**
 	 * Test method for {@link FileSearchExtensions#countAllFilesInDirectory(File, long, boolean)}.
 	 *
@@ -629,6 +742,134 @@ public class FileSearchExtensionsTest extends FileTestCase
 		assertTrue(this.actual);
 	}
 
+	/**
+	 * Test method for {@link FileSearchExtensions#findFileSnapshotsRecursive(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testFindFileSnapshotsRecursive() throws IOException
+	{
+		final File testFile1 = new File(this.testDir, "testFindFileSnapshotsRecursive.txt");
+		final File testFile2 = new File(this.deepDir, "testFindFileSnapshotsRecursive.cvs");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull night!!!");
+		final List<FileAttributeSnapshot> snapshots = FileSearchExtensions
+			.findFileSnapshotsRecursive(this.testDir);
+		final List<File> files = new ArrayList<>();
+		for (final FileAttributeSnapshot snapshot : snapshots)
+		{
+			files.add(snapshot.getFile());
+			assertEquals(snapshot.getFile().length(), snapshot.getLength());
+			assertEquals(snapshot.getFile().lastModified(), snapshot.getLastModified());
+			assertTrue(snapshot.isRegularFile());
+		}
+		final List<File> expected = FileSearchExtensions.findFilesRecursive(this.testDir, "*");
+		assertEquals(expected.size(), files.size());
+		assertTrue(files.containsAll(expected));
+		assertTrue(FileSearchExtensions.findFileSnapshotsRecursive(testFile1).isEmpty());
+	}
+
+	/**
+	 * Test method for the search methods of {@link FileSearchExtensions} that take a
+	 * {@link DirectoryWalker}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSearchWithParallelDirectoryWalker() throws IOException
+	{
+		final File testFile1 = new File(this.testDir, "prefixWalker1.txt");
+		final File testFile2 = new File(this.deepDir, "prefixWalker2.txt");
+		final File testFile3 = new File(this.deeperDir, "otherWalker3.cvs");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+		final DirectoryWalker walker = DirectoryWalker.parallel();
+		final Set<File> expected = new HashSet<>();
+		expected.add(testFile1.getAbsoluteFile());
+		expected.add(testFile2.getAbsoluteFile());
+
+		assertEquals(
+			new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, true, "*")),
+			new HashSet<>(
+				FileSearchExtensions.findFilesRecursive(this.testDir, true, "*", walker)));
+		assertEquals(expected, new HashSet<>(
+			FileSearchExtensions.findFilesRecursive(this.testDir, false, "prefix*", walker)));
+		assertEquals(expected, new HashSet<>(FileSearchExtensions
+			.findFilesWithPrefixAndExtensionRecursive(this.testDir, "prefix", "txt", walker)));
+		assertEquals(SetFactory.newHashSet(testFile3.getAbsoluteFile()), new HashSet<>(
+			FileSearchExtensions.findAllFiles(this.testDir, ".*\\.cvs", walker)));
+		assertEquals(new HashSet<>(FileSearchExtensions.findFileSnapshotsRecursive(this.testDir)),
+			new HashSet<>(FileSearchExtensions.findFileSnapshotsRecursive(this.testDir, walker)));
+	}
+
+	/**
+	 * Test method for {@link FileSearchExtensions#findFilesRecursive(File, FilenameQuery)} and
+	 * {@link FileSearchExtensions#findFilesRecursive(File, boolean, FilenameQuery, DirectoryWalker)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testFindFilesRecursiveWithFilenameQuery() throws IOException
+	{
+		final File testFile1 = new File(this.testDir, "queryFile1.txt");
+		final File testFile2 = new File(this.deepDir, "queryFile2.TXT");
+		final File testFile3 = new File(this.deeperDir, "queryFile3.cvs");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+		final FilenameQuery query = FilenameQuery.prefix("queryFile")
+			.and(FilenameQuery.extensions("txt"));
+		final Set<File> expected = new HashSet<>();
+		expected.add(testFile1.getAbsoluteFile());
+		expected.add(testFile2.getAbsoluteFile());
+
+		assertEquals(expected,
+			new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, query)));
+		assertEquals(expected, new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir,
+			false, query, DirectoryWalker.parallel())));
+		final List<File> withDirs = FileSearchExtensions.findFilesRecursive(this.testDir, true,
+			query, DirectoryWalker.SEQUENTIAL);
+		assertTrue(withDirs.containsAll(expected));
+		assertTrue(withDirs.contains(this.deepDir.getAbsoluteFile()));
+	}
+
+	/**
+	 * Test method for {@link FileSearchExtensions#streamFilesRecursive(File, boolean)} and
+	 * {@link FileSearchExtensions#streamFilesRecursive(File, FilenameQuery)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testStreamFilesRecursive() throws IOException
+	{
+		final File testFile1 = new File(this.testDir, "streamFile1.txt");
+		final File testFile2 = new File(this.deeperDir, "streamFile2.cvs");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		try (Stream<Path> pathStream = FileSearchExtensions.streamFilesRecursive(this.testDir,
+			false))
+		{
+			assertEquals(new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*")),
+				pathStream.map(Path::toFile).collect(Collectors.toSet()));
+		}
+		try (Stream<Path> pathStream = FileSearchExtensions.streamFilesRecursive(this.testDir,
+			FilenameQuery.extensions("cvs")))
+		{
+			assertEquals(testFile2.getAbsoluteFile(), pathStream.findFirst().get().toFile());
+		}
+		try (Stream<Path> pathStream = FileSearchExtensions.streamFilesRecursive(this.testDir,
+			true))
+		{
+			assertEquals(2, pathStream.limit(2).count());
+		}
+	}
+
 	/**
 	 * Test method for {@link FileSearchExtensions#findFiles(String, String[])}
 	 */
@@ -735,6 +976,85 @@ public class FileSearchExtensionsTest extends FileTestCase
 		DeleteFileExtensions.delete(fileList);
 	}
 
+	/**
+	 * Test method for the recursive search methods of {@link FileSearchExtensions} with a symbolic
+	 * link that points back to the start directory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSearchWithSymbolicLinkCycle() throws IOException
+	{
+		final File testFile1 = new File(this.testDir.getAbsoluteFile(), "testCycle1.txt");
+		final File testFile2 = new File(this.deeperDir.getAbsoluteFile(), "testCycle2.txt");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		final File cycle = new File(this.deeperDir, "cycle");
+		try
+		{
+			Files.createSymbolicLink(cycle.toPath(), this.testDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			final Set<File> expected = new HashSet<>(Arrays.asList(testFile1, testFile2));
+			assertEquals(expected, FileSearchExtensions.findFiles(this.testDir, (Set<File>)null));
+			assertEquals(expected, new HashSet<>(FileSearchExtensions
+				.findFiles(this.testDir.getAbsolutePath(), new String[] { ".txt" })));
+			assertEquals(expected,
+				new HashSet<>(FileSearchExtensions.findFilesWithFilter(this.testDir, ".txt")));
+			assertEquals(expected,
+				new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*.txt")));
+		}
+		finally
+		{
+			Files.deleteIfExists(cycle.toPath());
+		}
+	}
+
+	/**
+	 * Test method for the recursive search methods of {@link FileSearchExtensions} with a symbolic
+	 * link to a sibling directory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSearchWithSymbolicLinkToSibling() throws IOException
+	{
+		final File testFile1 = new File(this.deepDir2.getAbsoluteFile(), "testSibling1.txt");
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		final File link = new File(this.deepDir.getAbsoluteFile(), "linkToDeepDir2");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), this.deepDir2.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			// the directory is found through both paths, because the link does not form a cycle
+			final Set<File> expected = new HashSet<>(
+				Arrays.asList(testFile1, new File(link, testFile1.getName())));
+			assertEquals(expected,
+				new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir, "*.txt")));
+			assertEquals(expected,
+				new HashSet<>(FileSearchExtensions.findAllFiles(this.testDir, ".*\\.txt")));
+			assertEquals(expected,
+				new HashSet<>(FileSearchExtensions.findFilesWithFilter(this.testDir, ".txt")));
+		}
+		finally
+		{
+			Files.deleteIfExists(link.toPath());
+		}
+	}
+
 	/**
 	 * Test method for {@link FileSearchExtensions#getAllFilesFromDir(File)}.
 	 *
@@ -0,0 +1,158 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link FilenameQuery}
+ */
+public class FilenameQueryTest
+{
+
+	/**
+	 * Test method for {@link FilenameQuery#and(FilenameQuery)},
+	 * {@link FilenameQuery#or(FilenameQuery)} and {@link FilenameQuery#negate()}
+	 */
+	@Test
+	public void testCombinations()
+	{
+		final FilenameQuery query = FilenameQuery.prefix("test")
+			.and(FilenameQuery.extensions("txt"));
+		assertTrue(query.matches("testFile.txt"));
+		assertFalse(query.matches("testFile.cvs"));
+		assertFalse(query.matches("otherFile.txt"));
+		assertTrue(query.negate().matches("otherFile.txt"));
+
+		final FilenameQuery merged = FilenameQuery.glob("a*b?c").or(FilenameQuery.regex("x+"));
+		assertTrue(merged.matches("a--b-c"));
+		assertTrue(merged.matches("xxx"));
+		assertFalse(merged.matches("a--bc"));
+		assertFalse(merged.matches("xxxa"));
+
+		final FilenameQuery mixed = FilenameQuery.suffix(".cvs").or(FilenameQuery.regex("x+"));
+		assertTrue(mixed.matches("a.cvs"));
+		assertTrue(mixed.matches("xx"));
+		assertFalse(mixed.matches("a.txt"));
+		assertEquals("FilenameQuery((suffix:.cvs or regex:x+))", mixed.toString());
+	}
+
+	/**
+	 * Test method for {@link FilenameQuery#or(FilenameQuery)} with patterns that refer to their
+	 * groups
+	 */
+	@Test
+	public void testOrWithGroupReferences()
+	{
+		// the numbers of the groups must not shift
+		final FilenameQuery backReferences = FilenameQuery.regex("(a)\\1")
+			.or(FilenameQuery.regex("(b)\\1"));
+		assertTrue(backReferences.matches("aa"));
+		assertTrue(backReferences.matches("bb"));
+		assertFalse(backReferences.matches("ab"));
+
+		// the names of the groups must not be defined twice
+		final FilenameQuery namedGroups = FilenameQuery.regex("(?<n>a).*\\k<n>")
+			.or(FilenameQuery.regex("(?<n>b).*"));
+		assertTrue(namedGroups.matches("axa"));
+		assertTrue(namedGroups.matches("bx"));
+		assertFalse(namedGroups.matches("ax"));
+
+		// quoted digits and lookbehinds are no group references
+		final FilenameQuery quoted = FilenameQuery.glob("a\\1*?")
+			.or(FilenameQuery.regex("(?<=x)y|z"));
+		assertTrue(quoted.matches("a\\1b"));
+		assertTrue(quoted.matches("z"));
+		assertFalse(quoted.matches("a1b"));
+	}
+
+	/**
+	 * Test method for {@link FilenameQuery#extensions(String...)}
+	 */
+	@Test
+	public void testExtensions()
+	{
+		final FilenameQuery query = FilenameQuery.extensions("txt", ".CVS");
+		assertTrue(query.matches("test.txt"));
+		assertTrue(query.matches("test.TXT"));
+		assertTrue(query.matches("test.tar.cvs"));
+		assertTrue(query.matches(new File("dir.txt", "test.cvs")));
+		assertFalse(query.matches("test.txt.gz"));
+		assertFalse(query.matches("txt"));
+	}
+
+	/**
+	 * Test method for {@link FilenameQuery#glob(String)}
+	 */
+	@Test
+	public void testGlob()
+	{
+		assertTrue(FilenameQuery.glob("*").matches("anything.txt"));
+		assertTrue(FilenameQuery.glob("**").matches(""));
+		assertTrue(FilenameQuery.glob("test.txt").matches("test.txt"));
+		assertFalse(FilenameQuery.glob("test.txt").matches("testatxt"));
+		assertTrue(FilenameQuery.glob("*.txt").matches("test.txt"));
+		assertFalse(FilenameQuery.glob("*.txt").matches("testatxt"));
+		assertTrue(FilenameQuery.glob("test*").matches("test"));
+		assertTrue(FilenameQuery.glob("te*xt").matches("text"));
+		assertFalse(FilenameQuery.glob("tex*ext").matches("text"));
+		assertTrue(FilenameQuery.glob("t?st*.t*").matches("test1.txt"));
+		assertFalse(FilenameQuery.glob("t?st*.t*").matches("tst1.txt"));
+		assertTrue(FilenameQuery.glob("a(b)*[c]").matches("a(b)-[c]"));
+	}
+
+	/**
+	 * Test method for {@link FilenameQuery#prefix(String)} and {@link FilenameQuery#suffix(String)}
+	 */
+	@Test
+	public void testPrefixAndSuffix()
+	{
+		assertTrue(FilenameQuery.prefix("test").matches("testFile.txt"));
+		assertFalse(FilenameQuery.prefix("test").matches("Test.txt"));
+		assertTrue(FilenameQuery.suffix(".txt").matches("testFile.txt"));
+		assertFalse(FilenameQuery.suffix(".txt").matches("testFile.txt.gz"));
+	}
+
+	/**
+	 * Test method for {@link FilenameQuery#regex(String)} and {@link FilenameQuery#regex(Pattern)}
+	 */
+	@Test
+	public void testRegex()
+	{
+		assertTrue(FilenameQuery.regex(".*").matches("test.txt"));
+		assertTrue(FilenameQuery.regex("test\\d+\\.txt").matches("test12.txt"));
+		assertFalse(FilenameQuery.regex("test\\d+").matches("test12.txt"));
+		assertTrue(FilenameQuery.regex(Pattern.compile("TEST.*", Pattern.CASE_INSENSITIVE))
+			.or(FilenameQuery.regex("x")).matches("test.txt"));
+	}
+
+}
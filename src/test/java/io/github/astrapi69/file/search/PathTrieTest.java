@@ -0,0 +1,311 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link PathTrie}
+ */
+public class PathTrieTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+	File testFile4;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testPathTrie1.txt").getAbsoluteFile();
+		testFile2 = new File(this.deepDir, "testPathTrie2.txt").getAbsoluteFile();
+		testFile3 = new File(this.deeperDir, "testPathTrie3.tar.gz").getAbsoluteFile();
+		testFile4 = new File(this.deeperDir, "otherName.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+		StoreFileExtensions.toFile(testFile4, "Its a beautifull dax!!!");
+	}
+
+	/**
+	 * Test method for {@link PathTrie#build(File)} and the find methods
+	 */
+	@Test
+	public void testBuildAndFind()
+	{
+		final PathTrie trie = PathTrie.build(this.testDir);
+		assertEquals(this.testDir.getAbsoluteFile(), trie.getRootDirectory());
+		assertEquals(Collections.singletonList(testFile1),
+			trie.findFilesWithPrefixAndExtension(this.testDir, "test", "txt"));
+		assertEquals(Collections.singletonList(testFile3),
+			trie.findFilesWithPrefixAndExtension(this.deeperDir, "test", "tar.gz"));
+		assertEquals(Collections.singletonList(testFile3),
+			trie.findFilesWithPrefixAndExtension(this.deeperDir, "", "gz"));
+		// the prefix and the extension must not overlap like in the regular expression
+		assertTrue(
+			trie.findFilesWithPrefixAndExtension(this.deeperDir, "otherName.txt", "txt").isEmpty());
+		assertEquals(new HashSet<>(Arrays.asList(testFile1, testFile2)),
+			new HashSet<>(trie.findFilesWithPrefixAndExtensionRecursive(this.testDir,
+				"testPathTrie", "txt")));
+		for (final String prefix : Arrays.asList("", "test", "testPathTrie", "other", "x"))
+		{
+			for (final String extension : Arrays.asList("txt", "gz", "tar.gz", "cvs"))
+			{
+				assertEquals(
+					new HashSet<>(FileSearchExtensions
+						.findFilesWithPrefixAndExtensionRecursive(this.testDir, prefix, extension)),
+					new HashSet<>(trie.findFilesWithPrefixAndExtensionRecursive(this.testDir,
+						prefix, extension)));
+				assertEquals(
+					new HashSet<>(FileSearchExtensions
+						.findFilesWithPrefixAndExtension(this.deeperDir, prefix, extension)),
+					new HashSet<>(
+						trie.findFilesWithPrefixAndExtension(this.deeperDir, prefix, extension)));
+			}
+		}
+		// a directory that is not in the trie has no files
+		assertTrue(
+			trie.findFilesWithPrefixAndExtension(this.secondTestDir, "", "txt").isEmpty());
+		assertEquals(4, trie.getFileCount());
+		assertEquals(4, trie.getDirectoryCount());
+		assertThrows(IllegalArgumentException.class, () -> PathTrie.build(testFile1));
+	}
+
+	/**
+	 * Test method for {@link PathTrie#build(File, DirectoryWalker)} with a parallel walker
+	 */
+	@Test
+	public void testBuildWithParallelWalker()
+	{
+		final PathTrie expected = PathTrie.build(this.testDir);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			final PathTrie actual = PathTrie.build(this.testDir, DirectoryWalker.parallel(pool));
+			assertEquals(expected.getFileCount(), actual.getFileCount());
+			assertEquals(expected.getDirectoryCount(), actual.getDirectoryCount());
+			assertEquals(expected.getMemoryFootprint(), actual.getMemoryFootprint());
+			assertEquals(
+				new HashSet<>(
+					expected.findFilesWithPrefixAndExtensionRecursive(this.testDir, "", "txt")),
+				new HashSet<>(
+					actual.findFilesWithPrefixAndExtensionRecursive(this.testDir, "", "txt")));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link PathTrie#getMemoryFootprint()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetMemoryFootprint() throws IOException
+	{
+		final PathTrie trie = PathTrie.build(this.testDir);
+		final long footprint = trie.getMemoryFootprint();
+		assertTrue(0 < footprint);
+		assertTrue(trie.toString().contains("memoryFootprint=" + footprint));
+		for (int i = 0; i < 10; i++)
+		{
+			StoreFileExtensions.toFile(new File(this.deepDir, "testPathTrieNew" + i + ".txt"),
+				"Its a new day!!!");
+		}
+		this.deepDir.setLastModified(this.deepDir.lastModified() + 2000L);
+		assertEquals(1, trie.refresh());
+		assertTrue(footprint < trie.getMemoryFootprint());
+	}
+
+	/**
+	 * Test method for {@link PathTrie#refresh()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRefresh() throws IOException
+	{
+		final PathTrie trie = PathTrie.build(this.testDir);
+		assertEquals(0, trie.refresh());
+
+		final File newFile = new File(this.deepDir, "testPathTrieNew.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newFile, "Its a new day!!!");
+		final File newDir = new File(this.deepDir, "newDir").getAbsoluteFile();
+		Files.createDirectory(newDir.toPath());
+		final File newDirFile = new File(newDir, "testPathTrieNewDir.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newDirFile, "Its a new day!!!");
+		// the time is set explicitly, because the resolution of the file system time is coarse
+		this.deepDir.setLastModified(this.deepDir.lastModified() + 2000L);
+
+		assertEquals(1, trie.refresh());
+		assertTrue(trie.findFilesWithPrefixAndExtension(this.deepDir, "testPathTrie", "txt")
+			.contains(newFile));
+		assertEquals(Collections.singletonList(newDirFile),
+			trie.findFilesWithPrefixAndExtension(newDir, "", "txt"));
+
+		DeleteFileExtensions.delete(this.deeperDir);
+		this.deepDir.setLastModified(this.deepDir.lastModified() + 2000L);
+		assertEquals(1, trie.refresh());
+		assertFalse(trie.findFilesWithPrefixAndExtensionRecursive(this.testDir, "", "gz")
+			.contains(testFile3));
+		assertEquals(
+			new HashSet<>(FileSearchExtensions
+				.findFilesWithPrefixAndExtensionRecursive(this.testDir, "", "txt")),
+			new HashSet<>(trie.findFilesWithPrefixAndExtensionRecursive(this.testDir, "", "txt")));
+
+		DeleteFileExtensions.delete(this.testDir);
+		trie.refresh();
+		assertEquals(0, trie.getFileCount());
+		assertEquals(1, trie.getDirectoryCount());
+	}
+
+	/**
+	 * Test method for {@link PathTrie#refresh()} with a file that is created in the same tick as
+	 * the scan of its directory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRefreshRacilyClean() throws IOException
+	{
+		final PathTrie trie = PathTrie.build(this.testDir);
+		final File newFile = new File(this.deepDir, "testPathTrieRacy.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(newFile, "Its a new day!!!");
+		assertEquals(1, trie.refresh());
+		assertTrue(trie.findFilesWithPrefixAndExtension(this.deepDir, "testPathTrieRacy", "txt")
+			.contains(newFile));
+		// the time of the directory is restored, so only the scan time reveals the change
+		final File otherFile = new File(this.deepDir, "testPathTrieRacy2.txt").getAbsoluteFile();
+		final long lastModified = this.deepDir.lastModified();
+		StoreFileExtensions.toFile(otherFile, "Its a new day!!!");
+		this.deepDir.setLastModified(lastModified);
+		assertEquals(1, trie.refresh());
+		assertTrue(trie.findFilesWithPrefixAndExtension(this.deepDir, "testPathTrieRacy", "txt")
+			.contains(otherFile));
+	}
+
+	/**
+	 * Test method for {@link PathTrie#refresh()} with a directory that is deleted and created again
+	 * with the same name and the same last modified time
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRefreshReplacedDirectory() throws IOException
+	{
+		final File replaced = new File(this.testDir, "replaced").getAbsoluteFile();
+		final File inner = new File(replaced, "inner");
+		inner.mkdirs();
+		StoreFileExtensions.toFile(new File(inner, "old.txt"), "Its an old day!!!");
+		Assumptions.assumeTrue(
+			Files.readAttributes(replaced.toPath(), BasicFileAttributes.class).fileKey() != null,
+			"The file system has no file keys");
+		// the times are in the past, so the directories are not racily clean
+		final long lastModified = System.currentTimeMillis() - 10000L;
+		for (final File directory : new File[] { inner, replaced, this.testDir })
+		{
+			directory.setLastModified(lastModified);
+		}
+		final PathTrie trie = PathTrie.build(this.testDir);
+
+		// the new directory is created before the old one is deleted, so it gets a new file key
+		final File replacement = new File(this.testDir, "replacement").getAbsoluteFile();
+		final File newFile = new File(replacement, "inner/new.txt");
+		newFile.getParentFile().mkdirs();
+		StoreFileExtensions.toFile(newFile, "Its a new day!!!");
+		DeleteFileExtensions.delete(replaced);
+		Files.move(replacement.toPath(), replaced.toPath());
+		for (final File directory : new File[] { inner, replaced, this.testDir })
+		{
+			directory.setLastModified(lastModified);
+		}
+
+		assertEquals(1, trie.refresh());
+		assertEquals(Collections.singletonList(new File(inner, "new.txt")),
+			trie.findFilesWithPrefixAndExtension(inner, "", "txt"));
+	}
+
+	/**
+	 * Test method for {@link PathTrie#build(File)} with a symbolic link that points back to one of
+	 * its parent directories
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testBuildWithSymbolicLinkCycle() throws IOException
+	{
+		final File link = new File(this.deeperDir, "linkToTestDir");
+		try
+		{
+			Files.createSymbolicLink(link.toPath(), this.testDir.getAbsoluteFile().toPath());
+		}
+		catch (final UnsupportedOperationException | IOException e)
+		{
+			Assumptions.abort("symbolic links are not supported: " + e.getMessage());
+		}
+		try
+		{
+			final PathTrie trie = PathTrie.build(this.testDir);
+			assertEquals(4, trie.getFileCount());
+			assertEquals(5, trie.getDirectoryCount());
+			assertTrue(trie.findFilesWithPrefixAndExtension(link, "", "txt").isEmpty());
+		}
+		finally
+		{
+			Files.deleteIfExists(link.toPath());
+		}
+	}
+
+}
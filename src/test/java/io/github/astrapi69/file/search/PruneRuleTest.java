@@ -0,0 +1,129 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link PruneRule}
+ */
+public class PruneRuleTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir, "testPruneRule1.txt").getAbsoluteFile();
+		testFile2 = new File(this.deepDir, "testPruneRule2.txt").getAbsoluteFile();
+		testFile3 = new File(this.deeperDir, "testPruneRule3.txt").getAbsoluteFile();
+		StoreFileExtensions.toFile(testFile1, "Its a beautifull day!!!");
+		StoreFileExtensions.toFile(testFile2, "Its a beautifull evening!!!");
+		StoreFileExtensions.toFile(testFile3, "Its a beautifull night!!!");
+	}
+
+	/**
+	 * Finds the files with the prefix of the test files with the sequential and the parallel
+	 * walker and with the lazy stream, and checks that all of them find the same files
+	 */
+	private Set<File> find(final PruneRule pruneRule)
+	{
+		final FilenameQuery query = FilenameQuery.prefix("testPruneRule");
+		final Set<File> found = new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir,
+			false, query, pruneRule, DirectoryWalker.SEQUENTIAL));
+		assertEquals(found, new HashSet<>(FileSearchExtensions.findFilesRecursive(this.testDir,
+			false, query, pruneRule, DirectoryWalker.parallel())));
+		try (Stream<Path> pathStream = FileSearchExtensions.streamFilesRecursive(this.testDir,
+			query, pruneRule))
+		{
+			assertEquals(found, pathStream.map(Path::toFile).collect(Collectors.toSet()));
+		}
+		return found;
+	}
+
+	/**
+	 * Test method for {@link PruneRule#directoryNames(String...)}
+	 */
+	@Test
+	public void testDirectoryNames()
+	{
+		assertEquals(Set.of(testFile1),
+			find(PruneRule.directoryNames(this.deepDir.getName(), "node_modules")));
+		assertEquals(Set.of(testFile1, testFile2),
+			find(PruneRule.directoryNames(this.deeperDir.getName())));
+		assertEquals(Set.of(testFile1, testFile2, testFile3), find(PruneRule.NONE));
+	}
+
+	/**
+	 * Test method for {@link PruneRule#directoryQuery(FilenameQuery)}
+	 */
+	@Test
+	public void testDirectoryQuery()
+	{
+		assertEquals(Set.of(testFile1, testFile2),
+			find(PruneRule.directoryQuery(FilenameQuery.glob("deeper*"))));
+	}
+
+	/**
+	 * Test method for {@link PruneRule#maxDepth(int)}
+	 */
+	@Test
+	public void testMaxDepth()
+	{
+		assertEquals(Set.of(testFile1), find(PruneRule.maxDepth(1)));
+		assertEquals(Set.of(testFile1, testFile2), find(PruneRule.maxDepth(2)));
+		assertThrows(IllegalArgumentException.class, () -> PruneRule.maxDepth(0));
+	}
+
+	/**
+	 * Test method for {@link PruneRule#or(PruneRule)}
+	 */
+	@Test
+	public void testOr()
+	{
+		assertEquals(Set.of(testFile1, testFile2),
+			find(PruneRule.directoryNames(".git").or(PruneRule.maxDepth(2))));
+	}
+
+}
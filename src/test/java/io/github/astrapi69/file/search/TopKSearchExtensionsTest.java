@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.file.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.FileTestCase;
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The unit test class for the class {@link TopKSearchExtensions}
+ */
+public class TopKSearchExtensionsTest extends FileTestCase
+{
+
+	File testFile1;
+	File testFile2;
+	File testFile3;
+	File testFile4;
+	File testFile5;
+
+	@Override
+	@BeforeEach
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		testFile1 = new File(this.testDir.getAbsoluteFile(), "topK1.txt");
+		testFile2 = new File(this.testDir.getAbsoluteFile(), "topK2.txt");
+		testFile3 = new File(this.deepDir.getAbsoluteFile(), "topK3.txt");
+		testFile4 = new File(this.deeperDir.getAbsoluteFile(), "topK4.txt");
+		testFile5 = new File(this.deeperDir.getAbsoluteFile(), "topK5.txt");
+		StoreFileExtensions.toFile(testFile1, "1");
+		StoreFileExtensions.toFile(testFile2, "1234567890");
+		StoreFileExtensions.toFile(testFile3, "12345");
+		StoreFileExtensions.toFile(testFile4, "1234567");
+		StoreFileExtensions.toFile(testFile5, "12345");
+		testFile1.setLastModified(1_000_000_004_000L);
+		testFile2.setLastModified(1_000_000_000_000L);
+		testFile3.setLastModified(1_000_000_003_000L);
+		testFile4.setLastModified(1_000_000_001_000L);
+		testFile5.setLastModified(1_000_000_002_000L);
+	}
+
+	/**
+	 * Gets the files of the given snapshots
+	 *
+	 * @param snapshots
+	 *            the snapshots
+	 * @return the files
+	 */
+	private static List<File> toFiles(final List<FileAttributeSnapshot> snapshots)
+	{
+		return snapshots.stream().map(FileAttributeSnapshot::getFile).collect(Collectors.toList());
+	}
+
+	/**
+	 * Test method for {@link TopKSearchExtensions#findLargestFiles(File, int, DirectoryWalker)}
+	 */
+	@Test
+	public void testFindLargestFiles()
+	{
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (final DirectoryWalker walker : Arrays.asList(DirectoryWalker.SEQUENTIAL,
+				DirectoryWalker.parallel(pool)))
+			{
+				// the files with the same length are ordered by their path
+				assertEquals(Arrays.asList(testFile2, testFile4, testFile5),
+					toFiles(TopKSearchExtensions.findLargestFiles(this.testDir, 3, walker)));
+				assertEquals(Arrays.asList(testFile2, testFile4, testFile5, testFile3, testFile1),
+					toFiles(TopKSearchExtensions.findLargestFiles(this.testDir, 10, walker)));
+				assertTrue(
+					TopKSearchExtensions.findLargestFiles(this.testDir, 0, walker).isEmpty());
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link TopKSearchExtensions#findOldestFiles(File, int, DirectoryWalker)}
+	 * and {@link TopKSearchExtensions#findNewestFiles(File, int, DirectoryWalker)}
+	 */
+	@Test
+	public void testFindOldestAndNewestFiles()
+	{
+		assertEquals(Arrays.asList(testFile2, testFile4),
+			toFiles(TopKSearchExtensions.findOldestFiles(this.testDir, 2,
+				DirectoryWalker.parallel())));
+		assertEquals(Arrays.asList(testFile1, testFile3, testFile5),
+			toFiles(TopKSearchExtensions.findNewestFiles(this.testDir, 3,
+				DirectoryWalker.SEQUENTIAL)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link TopKSearchExtensions#findTop(File, int, Comparator, PruneRule, java.util.function.Predicate, DirectoryWalker)}
+	 */
+	@Test
+	public void testFindTop()
+	{
+		final List<FileAttributeSnapshot> actual = TopKSearchExtensions.findTop(this.testDir, 2,
+			Comparator.comparing(FileAttributeSnapshot::getAbsolutePath).reversed(),
+			PruneRule.directoryNames(this.deeperDir.getName()), snapshot -> true,
+			DirectoryWalker.parallel());
+		assertEquals(Arrays.asList(testFile2, testFile1), toFiles(actual));
+		assertThrows(IllegalArgumentException.class,
+			() -> TopKSearchExtensions.findTop(this.testDir, -1,
+				TopKSearchExtensions.LARGEST_FIRST, snapshot -> true, DirectoryWalker.SEQUENTIAL));
+	}
+
+	/**
+	 * Test method for {@link TopKSearchExtensions#selectTop(Iterable, int, Comparator)}
+	 */
+	@Test
+	public void testSelectTop()
+	{
+		final List<FileAttributeSnapshot> snapshots = Arrays.asList(
+			FileAttributeSnapshot.of(testFile1), FileAttributeSnapshot.of(testFile2),
+			FileAttributeSnapshot.of(testFile3), FileAttributeSnapshot.of(testFile4),
+			FileAttributeSnapshot.of(testFile5));
+		assertEquals(Arrays.asList(testFile2, testFile4),
+			toFiles(TopKSearchExtensions.selectTop(snapshots, 2,
+				TopKSearchExtensions.LARGEST_FIRST)));
+		assertEquals(Arrays.asList(testFile1, testFile5, testFile3, testFile4, testFile2),
+			toFiles(TopKSearchExtensions.selectTop(snapshots, 5,
+				Comparator.comparingLong(FileAttributeSnapshot::getLength))));
+	}
+
+	/**
+	 * Test method for {@link TopKSearchExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(TopKSearchExtensions.class);
+	}
+
+}
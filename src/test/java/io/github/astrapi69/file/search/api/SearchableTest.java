@@ -30,14 +30,23 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.github.astrapi69.file.FileAttributeSnapshot;
+import io.github.astrapi69.file.search.DirectoryIterator;
+import io.github.astrapi69.file.search.FilenameQuery;
+import io.github.astrapi69.file.search.PruneRule;
+
 /**
  * Unit tests for {@link Searchable} methods.
  */
@@ -93,6 +102,16 @@ public class SearchableTest
 				files.stream().anyMatch(file -> file.getName().equals("logfile3.txt"))));
 	}
 
+	@Test
+	public void testFindAllFiles()
+	{
+		List<File> foundFiles = searchable.findAllFiles(testDirectory.toFile(),
+			"logfile\\d\\.txt");
+		assertEquals(3, foundFiles.size());
+		assertTrue(foundFiles.stream().allMatch(file -> file.getName().endsWith(".txt")));
+		assertEquals(6, searchable.getAllFilesFromDirRecursive(testDirectory.toFile()).size());
+	}
+
 	@Test
 	public void testFindFilesWithNoMatch()
 	{
@@ -136,4 +155,69 @@ public class SearchableTest
 		long fileCount = searchable.countAllFilesInDirectory(testDirectory.toFile(), 0, true);
 		assertTrue(fileCount > 0, "Should count files and directories");
 	}
+
+	@Test
+	public void testStreamFilesRecursive()
+	{
+		try (Stream<Path> pathStream = searchable.streamFilesRecursive(testDirectory.toFile(),
+			false))
+		{
+			assertEquals(6, pathStream.count());
+		}
+		try (Stream<Path> pathStream = searchable.streamFilesRecursive(testDirectory.toFile(),
+			true))
+		{
+			assertEquals(7, pathStream.count());
+		}
+		try (Stream<Path> pathStream = searchable.streamFilesRecursive(testDirectory.toFile(),
+			FilenameQuery.extensions("log")))
+		{
+			Set<String> names = pathStream.map(path -> path.getFileName().toString())
+				.collect(Collectors.toSet());
+			assertEquals(Set.of("logfile1.log", "logfile4.log"), names);
+		}
+		try (Stream<FileAttributeSnapshot> snapshotStream = searchable
+			.streamSnapshotsRecursive(testDirectory.toFile()))
+		{
+			assertTrue(snapshotStream.anyMatch(FileAttributeSnapshot::isDirectory));
+		}
+	}
+
+	@Test
+	public void testFindFirstFile()
+	{
+		Optional<File> found = searchable.findFirstFile(testDirectory.toFile(),
+			FilenameQuery.glob("logfile3.*"));
+		assertTrue(found.isPresent());
+		assertEquals(testDirectory.resolve("subDir").resolve("logfile3.txt").toFile(),
+			found.get());
+		assertFalse(searchable
+			.findFirstFile(testDirectory.toFile(), FilenameQuery.glob("missing.*")).isPresent());
+	}
+
+	@Test
+	public void testIterateFilesRecursive()
+	{
+		try (DirectoryIterator iterator = searchable.iterateFilesRecursive(testDirectory.toFile()))
+		{
+			Iterator<FileAttributeSnapshot> it = iterator;
+			assertTrue(it.hasNext());
+			assertNotNull(it.next());
+		}
+	}
+
+	@Test
+	public void testFindFilesRecursiveWithPruneRule()
+	{
+		Set<File> foundFiles = searchable.findFilesRecursive(testDirectory.toFile(),
+			file -> file.getName().endsWith(".txt"), PruneRule.directoryNames("subDir"));
+		assertEquals(3, foundFiles.size());
+		assertFalse(foundFiles.contains(
+			testDirectory.resolve("subDir").resolve("logfile3.txt").toAbsolutePath().toFile()));
+		try (Stream<Path> pathStream = searchable.streamFilesRecursive(testDirectory.toFile(),
+			FilenameQuery.extensions("log"), PruneRule.maxDepth(1)))
+		{
+			assertEquals(1, pathStream.count());
+		}
+	}
 }